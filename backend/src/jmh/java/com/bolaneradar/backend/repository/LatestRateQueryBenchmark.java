@@ -0,0 +1,182 @@
+package com.bolaneradar.backend.repository;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ================================================================
+ * LATEST RATE QUERY – BENCHMARK
+ * ================================================================
+ * <p>
+ * Senaste ränta per bank och bindningstid (findLatestRatesByType)
+ * när historiken växer: 12 banker × 11 bindningstider × dagliga
+ * listräntor i 1–8 år (daglig lagring, värsta fallet), med samma
+ * index som migreringen V5.
+ * <p>
+ * Strategier:
+ * - correlatedMax: tidigare fråga, MAX(effective_date)-subquery per rad
+ * - rowNumber: ROW_NUMBER() OVER (PARTITION BY ...) – portabel variant
+ * - distinctOn: DISTINCT ON (bank_id, term) – PostgreSQL-varianten
+ * <p>
+ * SQL för rowNumber / distinctOn hämtas från LatestRateQueriesImpl,
+ * tabellnamnet byts mot bench_latest_rates.
+ * <p>
+ * Resultat H2 (ms/op, 1 / 2 / 4 / 8 år):
+ * - correlatedMax: 3 020 / 12 530 / 58 000 / 282 000 (kvadratisk)
+ * - rowNumber:       125 /    328 /    681 /   1 566
+ * - distinctOn:       48 /     87 /    184 /     427
+ * OPTIMIZE_REUSE_RESULTS=0 hindrar H2 från att återanvända föregående resultat.
+ * <p>
+ * Körning (H2 in-memory som standard, PostgreSQL via -p url=...):
+ *   mvn -Pbenchmark -DskipTests test-compile exec:exec \
+ *       -Djmh.args="LatestRateQueryBenchmark -p url=jdbc:postgresql://localhost:5432/bench -p user=... -p password=..."
+ * ================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LatestRateQueryBenchmark {
+
+    private static final String TABLE = "bench_latest_rates";
+    private static final int BANKS = 12;
+    private static final int TERMS = 11;
+
+    @Param({"1", "2", "4", "8"})
+    int years;
+
+    @Param({"correlatedMax", "rowNumber", "distinctOn"})
+    String strategy;
+
+    @Param("jdbc:h2:mem:latest-rate;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=0")
+    String url;
+
+    @Param("sa")
+    String user;
+
+    @Param("")
+    String password;
+
+    private Connection connection;
+    private PreparedStatement query;
+
+    @Setup(Level.Trial)
+    public void createHistory() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + TABLE);
+            ddl.execute("CREATE TABLE " + TABLE + " (id BIGINT PRIMARY KEY, bank_id BIGINT NOT NULL,"
+                    + " term VARCHAR(32) NOT NULL, rate_type VARCHAR(32) NOT NULL,"
+                    + " rate_percent NUMERIC(4,2) NOT NULL, effective_date DATE NOT NULL)");
+            ddl.execute("CREATE INDEX " + TABLE + "_bank_term_type_date ON " + TABLE
+                    + " (bank_id, term, rate_type, effective_date DESC)");
+            ddl.execute("CREATE INDEX " + TABLE + "_type_date ON " + TABLE + " (rate_type, effective_date)");
+        }
+        insertHistory();
+
+        try (Statement analyze = connection.createStatement()) {
+            analyze.execute("ANALYZE " + (url.startsWith("jdbc:h2:") ? "TABLE " + TABLE : TABLE));
+        }
+        query = connection.prepareStatement(sql());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int latestListRates(Blackhole bh) throws SQLException {
+        int rows = 0;
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getBigDecimal("rate_percent"));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    // ============================================================
+    // Hjälpmetoder
+    // ============================================================
+
+    private String sql() {
+        String columns = "id, bank_id, term, rate_type, rate_percent, effective_date";
+        String filter = "rate_type = 'LISTRATE'";
+
+        return switch (strategy) {
+            case "correlatedMax" -> """
+                    SELECT %s FROM %s m
+                    WHERE m.rate_type = 'LISTRATE'
+                      AND m.effective_date = (
+                          SELECT MAX(m2.effective_date) FROM %s m2
+                          WHERE m2.bank_id = m.bank_id
+                            AND m2.term = m.term
+                            AND m2.rate_type = 'LISTRATE'
+                      )
+                    """.formatted(columns, TABLE, TABLE);
+            case "rowNumber" -> LatestRateQueriesImpl.latestPerSeriesSql(false, columns, filter)
+                    .replace("mortgage_rates", TABLE);
+            case "distinctOn" -> LatestRateQueriesImpl.latestPerSeriesSql(true, columns, filter)
+                    .replace("mortgage_rates", TABLE);
+            default -> throw new IllegalArgumentException("Okänd strategi: " + strategy);
+        };
+    }
+
+    /**
+     * Dagliga listräntor (ny ränta var 30:e dag) och månatliga snitträntor.
+     */
+    private void insertHistory() throws SQLException {
+        connection.setAutoCommit(false);
+        LocalDate start = LocalDate.of(2026, 1, 1).minusYears(years);
+        int days = years * 365;
+        long id = 1;
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE
+                + " (id, bank_id, term, rate_type, rate_percent, effective_date) VALUES (?, ?, ?, ?, ?, ?)")) {
+
+            for (int bank = 1; bank <= BANKS; bank++) {
+                for (int term = 0; term < TERMS; term++) {
+                    for (int day = 0; day < days; day++) {
+                        LocalDate date = start.plusDays(day);
+                        bind(insert, id++, bank, term, "LISTRATE", 350 + (day / 30 + bank + term) % 150, date);
+                        if (date.getDayOfMonth() == 1) {
+                            bind(insert, id++, bank, term, "AVERAGERATE", 330 + (day / 30 + term) % 150, date);
+                        }
+                    }
+                    insert.executeBatch();
+                }
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private static void bind(PreparedStatement insert, long id, int bank, int term, String type,
+                             int hundredths, LocalDate date) throws SQLException {
+        insert.setLong(1, id);
+        insert.setLong(2, bank);
+        insert.setString(3, "TERM_" + term);
+        insert.setString(4, type);
+        insert.setBigDecimal(5, BigDecimal.valueOf(hundredths, 2));
+        insert.setDate(6, Date.valueOf(date));
+        insert.addBatch();
+    }
+}
@@ -0,0 +1,190 @@
+package com.bolaneradar.backend.repository;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ================================================================
+ * RATE INSERT – BENCHMARK
+ * ================================================================
+ * <p>
+ * Lagring av ett års syntetiska listräntor (12 banker × 11 bindningstider
+ * × 365 dagar) i en transaktion, med samma SQL som Hibernate skickar för:
+ * - identity: GenerationType.IDENTITY → en INSERT per rad (id läses tillbaka),
+ *   JDBC-batchning är avstängd
+ * - pooledSequence: GenerationType.SEQUENCE, allocationSize 50 →
+ *   ett nextval per 50 rader + INSERT i batchar om 50
+ * <p>
+ * Antal rundresor per körning skrivs ut efter varje trial.
+ * <p>
+ * Körning (H2 in-memory som standard, PostgreSQL via -p url=...):
+ *   mvn -Pbenchmark -DskipTests test-compile exec:exec \
+ *       -Djmh.args="RateInsertBenchmark -p url=jdbc:postgresql://localhost:5432/bench -p user=... -p password=..."
+ * ================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RateInsertBenchmark {
+
+    private static final int BANKS = 12;
+    private static final int TERMS = 11;
+    private static final int DAYS = 365;
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"identity", "pooledSequence"})
+    String strategy;
+
+    @Param("jdbc:h2:mem:rate-insert;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+    String url;
+
+    @Param("sa")
+    String user;
+
+    @Param("")
+    String password;
+
+    private Connection connection;
+    private long roundTrips;
+
+    @Setup(Level.Trial)
+    public void createSchema() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_rates");
+            ddl.execute("DROP SEQUENCE IF EXISTS bench_rates_seq");
+
+            String id = strategy.equals("identity")
+                    ? "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY"
+                    : "id BIGINT PRIMARY KEY";
+            ddl.execute("CREATE TABLE bench_rates (" + id + ", bank_id BIGINT NOT NULL,"
+                    + " term VARCHAR(32) NOT NULL, rate_type VARCHAR(32) NOT NULL,"
+                    + " rate_percent NUMERIC(5,2) NOT NULL, effective_date DATE NOT NULL)");
+            ddl.execute("CREATE SEQUENCE bench_rates_seq START WITH 1 INCREMENT BY " + BATCH_SIZE);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DELETE FROM bench_rates");
+        }
+        connection.commit();
+        roundTrips = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        System.out.println();
+        System.out.println(strategy + ": " + BANKS * TERMS * DAYS + " rader, " + roundTrips + " rundresor");
+        connection.close();
+    }
+
+    @Benchmark
+    public long insertYear() throws SQLException {
+        long rows = strategy.equals("identity") ? insertIdentity() : insertPooled();
+        connection.commit();
+        return rows;
+    }
+
+    // ============================================================
+    // IDENTITY – en INSERT per rad
+    // ============================================================
+    private long insertIdentity() throws SQLException {
+        String sql = "INSERT INTO bench_rates (bank_id, term, rate_type, rate_percent, effective_date)"
+                + " VALUES (?, ?, ?, ?, ?)";
+        long rows = 0;
+
+        try (PreparedStatement insert = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < BANKS * TERMS * DAYS; i++) {
+                bind(insert, 1, i);
+                insert.executeUpdate();
+                roundTrips++;
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    rows += keys.getLong(1) > 0 ? 1 : 0;
+                }
+            }
+        }
+        return rows;
+    }
+
+    // ============================================================
+    // SEQUENCE (pooled) – nextval per block, INSERT i batchar
+    // ============================================================
+    private long insertPooled() throws SQLException {
+        String sql = "INSERT INTO bench_rates (id, bank_id, term, rate_type, rate_percent, effective_date)"
+                + " VALUES (?, ?, ?, ?, ?, ?)";
+        long rows = 0;
+        long nextId = 0;
+        long lastIdInBlock = -1;
+
+        try (PreparedStatement insert = connection.prepareStatement(sql);
+             PreparedStatement nextval = connection.prepareStatement("SELECT nextval('bench_rates_seq')")) {
+
+            for (int i = 0; i < BANKS * TERMS * DAYS; i++) {
+                if (nextId > lastIdInBlock) {
+                    try (ResultSet rs = nextval.executeQuery()) {
+                        rs.next();
+                        lastIdInBlock = rs.getLong(1) + BATCH_SIZE - 1;
+                        nextId = rs.getLong(1);
+                    }
+                    roundTrips++;
+                }
+
+                insert.setLong(1, nextId++);
+                bind(insert, 2, i);
+                insert.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    rows += sum(insert.executeBatch());
+                    roundTrips++;
+                }
+            }
+            rows += sum(insert.executeBatch());
+            roundTrips++;
+        }
+        return rows;
+    }
+
+    // ============================================================
+    // Hjälpmetoder
+    // ============================================================
+
+    /**
+     * Syntetisk rad nr i: bank, bindningstid och dag ur index.
+     */
+    private static void bind(PreparedStatement insert, int first, int i) throws SQLException {
+        int bank = i % BANKS;
+        int term = (i / BANKS) % TERMS;
+        int day = i / (BANKS * TERMS);
+
+        insert.setLong(first, bank + 1);
+        insert.setString(first + 1, "TERM_" + term);
+        insert.setString(first + 2, "LISTRATE");
+        insert.setBigDecimal(first + 3, BigDecimal.valueOf(350 + (i % 150), 2));
+        insert.setDate(first + 4, Date.valueOf(LocalDate.of(2025, 1, 1).plusDays(day)));
+    }
+
+    private static long sum(int[] counts) {
+        long total = 0;
+        for (int c : counts) {
+            total += c == Statement.SUCCESS_NO_INFO ? 1 : c;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,227 @@
+package com.bolaneradar.backend.service.core.readmodel;
+
+import com.bolaneradar.backend.BolaneradarBackendApplication;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.service.client.banks.BankHistoryService;
+import com.bolaneradar.backend.service.client.banks.BankRateReadService;
+import com.bolaneradar.backend.service.client.rates.MortgageRateComparisonService;
+import com.bolaneradar.backend.service.client.rates.RateUpdatePublicService;
+import com.bolaneradar.backend.service.client.smartrate.SmartRateMarketDataService;
+import com.bolaneradar.backend.service.core.CurrentRateService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ================================================================
+ * RATE READ MODEL – BENCHMARK
+ * ================================================================
+ * <p>
+ * Publika läsningar via JPA (current_rates / mortgage_rates) jämfört
+ * med läsmodellen i minnet (RateColumnStore), med samma services och
+ * samma data: 12 banker × 11 bindningstider, dagliga listräntor och
+ * månatliga snitträntor i 1–4 år (daglig lagring, värsta fallet).
+ * <p>
+ * Källor:
+ * - jpa: app.read-model.enabled=false, anropen körs i en read-only-
+ *   transaktion (motsvarar open-in-view i webbanrop)
+ * - columns: app.read-model.enabled=true, inga databasanrop
+ * <p>
+ * Mått:
+ * - SampleTime → p50 / p99 per endpoint i JMH-utskriften
+ * - Heap: behållet minne efter GC för hela historiken som entiteter
+ *   (findAll) resp. som kolumner, skrivs ut efter setup
+ * <p>
+ * Resultat H2 in-memory (µs/op, p99, 1 år ≈ 50 000 rader, jpa / columns):
+ * - comparisonAllTerms: 13 200 /  29
+ * - bankPage:           16 200 /   6
+ * - bankHistory:        22 700 /   0.4
+ * - rateUpdates:        75 600 / 310
+ * - marketSnapshot:     15 800 /  50
+ * Heap: entiteter ~7.9 MB, kolumner ~4.7 MB (inkl. tillfälliga
+ * projektioner som ännu inte samlats in vid mätningen)
+ * <p>
+ * Körning:
+ *   mvn -Pbenchmark -DskipTests test-compile exec:exec \
+ *       -Djmh.args="RateReadModelBenchmark -p years=1"
+ * ================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateReadModelBenchmark {
+
+    private static final int BANKS = 12;
+    private static final MortgageTerm[] TERMS = {
+            MortgageTerm.VARIABLE_3M, MortgageTerm.FIXED_1Y, MortgageTerm.FIXED_2Y, MortgageTerm.FIXED_3Y,
+            MortgageTerm.FIXED_4Y, MortgageTerm.FIXED_5Y, MortgageTerm.FIXED_6Y, MortgageTerm.FIXED_7Y,
+            MortgageTerm.FIXED_8Y, MortgageTerm.FIXED_9Y, MortgageTerm.FIXED_10Y
+    };
+
+    @Param({"1", "4"})
+    int years;
+
+    @Param({"jpa", "columns"})
+    String source;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+
+    private MortgageRateComparisonService comparisonService;
+    private BankRateReadService bankRateReadService;
+    private BankHistoryService bankHistoryService;
+    private RateUpdatePublicService rateUpdatePublicService;
+    private SmartRateMarketDataService marketDataService;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        boolean columns = source.equals("columns");
+
+        context = new SpringApplicationBuilder(BolaneradarBackendApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "app.read-model.enabled=" + columns,
+                        "spring.datasource.url=jdbc:h2:mem:read-model-" + source + "-" + years
+                                + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+                )
+                .run();
+
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        insertHistory(context.getBean(JdbcTemplate.class));
+        context.getBean(CurrentRateService.class).rebuild();
+
+        comparisonService = context.getBean(MortgageRateComparisonService.class);
+        bankRateReadService = context.getBean(BankRateReadService.class);
+        bankHistoryService = context.getBean(BankHistoryService.class);
+        rateUpdatePublicService = context.getBean(RateUpdatePublicService.class);
+        marketDataService = context.getBean(SmartRateMarketDataService.class);
+
+        printHeapFootprint(columns);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    // ============================================================
+    // Endpoints
+    // ============================================================
+
+    @Benchmark
+    public Object comparisonAllTerms() {
+        return read(comparisonService::getComparisonDataAllTerms);
+    }
+
+    @Benchmark
+    public Object bankPage() {
+        return read(() -> bankRateReadService.getRatesForBank("bank-7"));
+    }
+
+    @Benchmark
+    public Object bankHistory() {
+        return read(() -> bankHistoryService.getHistory("bank-7", MortgageTerm.FIXED_2Y, "all"));
+    }
+
+    @Benchmark
+    public Object rateUpdates() {
+        return read(rateUpdatePublicService::getRateUpdates);
+    }
+
+    @Benchmark
+    public Object marketSnapshot() {
+        return read(() -> marketDataService.getMarketSnapshot(7L, Set.of(TERMS)));
+    }
+
+    // ============================================================
+    // Hjälpmetoder
+    // ============================================================
+
+    private Object read(Supplier<Object> call) {
+        return source.equals("jpa") ? readOnly.execute(status -> call.get()) : call.get();
+    }
+
+    /**
+     * Behållet minne för hela historiken: entiteter (findAll i en
+     * transaktion) eller läsmodellens kolumner.
+     */
+    private void printHeapFootprint(boolean columns) {
+        long before = usedAfterGc();
+
+        Object retained = columns
+                ? context.getBean(RateColumnStore.class).rebuild()
+                : readOnly.execute(status -> context.getBean(MortgageRateRepository.class).findAll());
+
+        long after = usedAfterGc();
+        int rows = columns
+                ? ((RateColumns) retained).rowCount()
+                : ((List<?>) retained).size();
+
+        System.out.printf("%n[heap] %s, %d år: %,d rader → %,d KB behållet%n",
+                source, years, rows, (after - before) / 1024);
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Dagliga listräntor (ny ränta var 30:e dag) och månatliga snitträntor,
+     * med id satta direkt (benchmarken sparar inget via Hibernate).
+     */
+    private void insertHistory(JdbcTemplate jdbc) {
+        for (int bank = 1; bank <= BANKS; bank++) {
+            jdbc.update("INSERT INTO banks (id, name) VALUES (?, ?)", (long) bank, "bank-" + bank);
+        }
+
+        LocalDate start = LocalDate.of(2026, 1, 1).minusYears(years);
+        int days = years * 365;
+        long id = 1;
+
+        List<Object[]> batch = new ArrayList<>();
+        for (int bank = 1; bank <= BANKS; bank++) {
+            for (int term = 0; term < TERMS.length; term++) {
+                for (int day = 0; day < days; day++) {
+                    LocalDate date = start.plusDays(day);
+                    batch.add(row(id++, bank, TERMS[term], RateType.LISTRATE,
+                            350 + (day / 30 + bank + term) % 150, date));
+                    if (date.getDayOfMonth() == 1) {
+                        batch.add(row(id++, bank, TERMS[term], RateType.AVERAGERATE,
+                                330 + (day / 30 + term) % 150, date));
+                    }
+                }
+                jdbc.batchUpdate("INSERT INTO mortgage_rates"
+                        + " (id, bank_id, term, rate_type, rate_percent, effective_date) VALUES (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static Object[] row(long id, int bank, MortgageTerm term, RateType type, int hundredths, LocalDate date) {
+        return new Object[]{id, (long) bank, term.name(), type.name(), BigDecimal.valueOf(hundredths, 2), Date.valueOf(date)};
+    }
+}
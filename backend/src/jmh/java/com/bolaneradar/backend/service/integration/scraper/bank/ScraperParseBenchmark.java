@@ -0,0 +1,94 @@
+package com.bolaneradar.backend.service.integration.scraper.bank;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.BrowserSessionPool;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ================================================================
+ * SCRAPER PARSE – BENCHMARK
+ * ================================================================
+ * <p>
+ * Mäter parsning per bank mot inspelade sidor (FetchMode.REPLAY),
+ * helt utan nätverk. Svaren hålls i minnet efter första läsningen,
+ * så måttet är Jsoup-parsning + scraperns egen tolkning.
+ * <p>
+ * Spela in fixtures (skriver inget till databasen):
+ *   --mode=dry-run med app.scraper.fetch-mode=record
+ * <p>
+ * Körning (allokering per anrop med -prof gc):
+ *   mvn -Pbenchmark -DskipTests test-compile exec:exec \
+ *       -Djmh.args="ScraperParseBenchmark -prof gc -p fixtures=/sökväg/.scraper-fixtures"
+ * <p>
+ * SEB mäts endast för HTTP-vägen; webbläsaren används inte i benchmarken.
+ * ================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScraperParseBenchmark {
+
+    /** Scraperns klassnamn utan "Scraper" (ASCII, för -p på kommandoraden). */
+    @Param({
+            "Swedbank", "Nordea", "Handelsbanken", "SEB", "SBAB",
+            "DanskeBank", "IcaBanken", "IkanoBank", "LandshypotekBank",
+            "LansforsakringarBank", "Skandiabanken", "Alandsbanken"
+    })
+    String scraperName;
+
+    /** Katalog med inspelade svar. */
+    @Param(".scraper-fixtures")
+    String fixtures;
+
+    private BankScraper scraper;
+    private Bank bank;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ScraperHttpClient http = ScraperHttpClient.replaying(Path.of(fixtures));
+        BrowserSessionPool noBrowser = new BrowserSessionPool() {
+            @Override
+            public <T> T withPage(String url, java.time.Duration timeout, PageAction<T> action) {
+                throw new IllegalStateException("Webbläsare används inte i benchmark: " + url);
+            }
+        };
+
+        scraper = switch (scraperName) {
+            case "Swedbank" -> new SwedbankScraper(http);
+            case "Nordea" -> new NordeaScraper(http);
+            case "Handelsbanken" -> new HandelsbankenScraper(http);
+            case "SEB" -> new SEBScraper(http, noBrowser);
+            case "SBAB" -> new SBABScraper(http);
+            case "DanskeBank" -> new DanskeBankScraper(http);
+            case "IcaBanken" -> new IcaBankenScraper(http);
+            case "IkanoBank" -> new IkanoBankScraper(http);
+            case "LandshypotekBank" -> new LandshypotekBankScraper(http);
+            case "LansforsakringarBank" -> new LansforsakringarBankScraper(http);
+            case "Skandiabanken" -> new SkandiabankenScraper(http);
+            case "Alandsbanken" -> new AlandsbankenScraper(http);
+            default -> throw new IllegalArgumentException("Okänd scraper: " + scraperName);
+        };
+        bank = new Bank(scraper.getBankName());
+
+        // Första körningen läser in fixtures och verifierar att de räcker
+        if (scraper.scrapeRates(bank).isEmpty()) {
+            throw new IllegalStateException("Inga räntor för " + scraper.getBankName() + " i " + fixtures
+                    + " – spela in med --mode=dry-run och app.scraper.fetch-mode=record");
+        }
+    }
+
+    @Benchmark
+    public List<MortgageRate> parse() throws Exception {
+        return scraper.scrapeRates(bank);
+    }
+}
@@ -0,0 +1,87 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ================================================================
+ * RATE TEXT TOKENIZER – BENCHMARK
+ * ================================================================
+ * <p>
+ * Jämför tidigare ScraperUtils-parsning (LegacyScraperParsers) med
+ * RateTextTokenizer på samma celltexter (RateCellSamples).
+ * En operation = alla celler i respektive lista.
+ * <p>
+ * Räntor som tidigare skrev "Ogiltig ränta" till stderr exkluderas,
+ * så att utskrift inte dominerar mätningen.
+ * <p>
+ * Körning (med allokering):
+ *   mvn -Pbenchmark -DskipTests test-compile exec:exec \
+ *       -Djmh.args="RateTextTokenizerBenchmark -prof gc"
+ * ================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateTextTokenizerBenchmark {
+
+    private List<String> terms;
+    private List<String> rates;
+    private List<String> months;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        terms = RateCellSamples.TERMS;
+        rates = RateCellSamples.RATES.stream()
+                .filter(cell -> LegacyScraperParsers.parseRate(cell) != null
+                        || cell.replace("%", "").isBlank()
+                        || cell.strip().matches("(?i)n/a|na|-|–|ej|inte|nan"))
+                .toList();
+        months = RateCellSamples.MONTHS;
+    }
+
+    // ============================================================
+    // Bindningstid
+    // ============================================================
+    @Benchmark
+    public void termLegacy(Blackhole bh) {
+        for (String cell : terms) bh.consume(LegacyScraperParsers.parseTerm(cell));
+    }
+
+    @Benchmark
+    public void termTokenizer(Blackhole bh) {
+        for (String cell : terms) bh.consume(RateTextTokenizer.parseTerm(cell));
+    }
+
+    // ============================================================
+    // Ränta
+    // ============================================================
+    @Benchmark
+    public void rateLegacy(Blackhole bh) {
+        for (String cell : rates) bh.consume(LegacyScraperParsers.parseRate(cell));
+    }
+
+    @Benchmark
+    public void rateTokenizer(Blackhole bh) {
+        for (String cell : rates) bh.consume(RateTextTokenizer.parseRate(cell));
+    }
+
+    // ============================================================
+    // Månad
+    // ============================================================
+    @Benchmark
+    public void monthLegacy(Blackhole bh) {
+        for (String cell : months) bh.consume(LegacyScraperParsers.parseSwedishMonth(cell));
+    }
+
+    @Benchmark
+    public void monthTokenizer(Blackhole bh) {
+        for (String cell : months) bh.consume(ScraperUtils.parseSwedishMonth(cell));
+    }
+}
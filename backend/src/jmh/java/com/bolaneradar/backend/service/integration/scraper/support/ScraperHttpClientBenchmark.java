@@ -0,0 +1,211 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsServer;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ================================================================
+ * SCRAPER HTTP CLIENT – BENCHMARK
+ * ================================================================
+ * <p>
+ * Mäter kostnaden för en scrapingbatch (en sida per bank) med:
+ * - jsoupConnectPerPage: tidigare beteende, Jsoup.connect per URL
+ * - freshClientPerPage:  ny HttpClient per sida (ingen återanvändning)
+ * - pooledClient:        delad ScraperHttpClient (keep-alive)
+ * <p>
+ * Skillnaden mellan freshClientPerPage och pooledClient är
+ * uppkopplingskostnaden som sparas per batch. Lokalt körs både mot
+ * http och https (självsignerat certifikat via keytool), så att
+ * TLS-handskakningen syns. Med -p target=https://... mäts i stället
+ * mot en riktig värd (samma URL för alla sidor i batchen).
+ * <p>
+ * Körning:
+ *   mvn -Pbenchmark -DskipTests test-compile exec:exec
+ * ================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// JDK:s testserver väntar annars på fördröjd ACK (Nagle) på återanvända anslutningar
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class ScraperHttpClientBenchmark {
+
+    /** Antal sidor per batch (ungefär en per bank). */
+    @Param("14")
+    int pages;
+
+    /** Protokoll för den lokala servern. */
+    @Param({"http", "https"})
+    String scheme;
+
+    /** Tom = lokal server. Annars en extern URL som hämtas för varje sida. */
+    @Param("")
+    String target;
+
+    private HttpServer server;
+    private List<String> urls;
+    private ScraperHttpClient pooled;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        urls = new ArrayList<>();
+
+        if (target.isBlank()) {
+            byte[] html = ("<html><body><table>"
+                    + "<tr><td>3 mån</td><td>4,10 %</td></tr>".repeat(40)
+                    + "</table></body></html>").getBytes(StandardCharsets.UTF_8);
+
+            if ("https".equals(scheme)) {
+                HttpsServer https = HttpsServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+                https.setHttpsConfigurator(new HttpsConfigurator(selfSignedContext()));
+                server = https;
+            } else {
+                server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            }
+            server.setExecutor(Executors.newFixedThreadPool(4));
+            server.createContext("/", exchange -> {
+                exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+                exchange.sendResponseHeaders(200, html.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(html);
+                }
+            });
+            server.start();
+
+            String base = scheme + "://127.0.0.1:" + server.getAddress().getPort();
+            for (int i = 0; i < pages; i++) {
+                urls.add(base + "/bank-" + i);
+            }
+        } else {
+            for (int i = 0; i < pages; i++) {
+                urls.add(target);
+            }
+        }
+
+        pooled = new ScraperHttpClient(15_000, 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Skapar ett självsignerat certifikat för 127.0.0.1 och gör det
+     * betrott som standard för både HttpClient och Jsoup i denna JVM.
+     */
+    private static SSLContext selfSignedContext() throws Exception {
+        Path dir = Files.createTempDirectory("jmh-tls");
+        Path keystore = dir.resolve("bench.p12");
+        String keytool = Path.of(System.getProperty("java.home"), "bin", "keytool").toString();
+
+        Process process = new ProcessBuilder(
+                keytool, "-genkeypair", "-alias", "bench", "-keyalg", "RSA", "-keysize", "2048",
+                "-validity", "2", "-dname", "CN=localhost", "-ext", "SAN=ip:127.0.0.1",
+                "-storetype", "PKCS12", "-keystore", keystore.toString(),
+                "-storepass", "changeit", "-keypass", "changeit"
+        ).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("keytool misslyckades");
+        }
+
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keystore)) {
+            store.load(in, "changeit".toCharArray());
+        }
+
+        KeyManagerFactory keys = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keys.init(store, "changeit".toCharArray());
+        TrustManagerFactory trust = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trust.init(store);
+
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keys.getKeyManagers(), trust.getTrustManagers(), null);
+
+        SSLContext.setDefault(context);
+        HttpsURLConnection.setDefaultSSLSocketFactory(context.getSocketFactory());
+        return context;
+    }
+
+    // ============================================================
+    // Tidigare beteende
+    // ============================================================
+    @Benchmark
+    public void jsoupConnectPerPage(Blackhole bh) throws IOException {
+        for (String url : urls) {
+            Document doc = Jsoup.connect(url)
+                    .userAgent(ScraperHttpClient.DEFAULT_USER_AGENT)
+                    .timeout(15_000)
+                    .get();
+            bh.consume(doc.select("td").size());
+        }
+    }
+
+    // ============================================================
+    // Ny klient per sida → ny anslutning (och TLS-handskakning)
+    // ============================================================
+    @Benchmark
+    public void freshClientPerPage(Blackhole bh) throws Exception {
+        for (String url : urls) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            try {
+                HttpResponse<byte[]> response = client.send(
+                        HttpRequest.newBuilder(URI.create(url))
+                                .header("User-Agent", ScraperHttpClient.DEFAULT_USER_AGENT)
+                                .GET()
+                                .build(),
+                        HttpResponse.BodyHandlers.ofByteArray()
+                );
+                bh.consume(Jsoup.parse(new String(response.body(), StandardCharsets.UTF_8), url)
+                        .select("td").size());
+            } finally {
+                client.close();
+            }
+        }
+    }
+
+    // ============================================================
+    // Delad, poolad klient
+    // ============================================================
+    @Benchmark
+    public void pooledClient(Blackhole bh) throws IOException {
+        for (String url : urls) {
+            bh.consume(pooled.fetchDocument(url).select("td").size());
+        }
+    }
+}
@@ -1,7 +1,19 @@
 package com.bolaneradar.backend.batch;
 
+import com.bolaneradar.backend.service.admin.MortgageRateCompactionService;
+import com.bolaneradar.backend.service.admin.RateCompactionResult;
+import com.bolaneradar.backend.service.admin.snapshot.SnapshotPublishResult;
+import com.bolaneradar.backend.service.admin.snapshot.StaticSnapshotPublisher;
+import com.bolaneradar.backend.service.core.CurrentRateCheckResult;
+import com.bolaneradar.backend.service.core.CurrentRateRebuildResult;
+import com.bolaneradar.backend.service.core.CurrentRateService;
+import com.bolaneradar.backend.service.integration.scraper.core.BankScrapeTiming;
+import com.bolaneradar.backend.service.integration.scraper.core.ScrapeBatchResult;
 import com.bolaneradar.backend.service.integration.scraper.core.ScraperResult;
 import com.bolaneradar.backend.service.integration.scraper.core.ScraperService;
+import com.bolaneradar.backend.service.integration.scraper.support.CircuitBreaker;
+import com.bolaneradar.backend.service.integration.scraper.support.FetchStats;
+import com.bolaneradar.backend.service.integration.scraper.support.ResilienceStats;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
@@ -9,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * ================================================================
@@ -26,6 +39,13 @@ import java.time.LocalDateTime;
  * Stödda lägen:
  * - --mode=scrape      → kör scraping för alla banker
  * - --mode=scrape-ica  → kör scraping endast för ICA Banken
+ * - --mode=compact-rates → slår ihop dagliga listräntor till intervall
+ * - --mode=rebuild-current-rates → bygger om current_rates från historiken
+ * - --mode=check-current-rates   → kontrollerar current_rates mot historiken
+ * - --mode=dry-run     → kör alla scrapers utan att spara något
+ *                         (med app.scraper.fetch-mode=record/replay)
+ * - --mode=publish-snapshot → renderar alla publika svar till filer
+ *                         (görs även efter scrape om app.snapshot.enabled=true)
  * <p>
  * Design:
  * - Innehåller ingen scraping-logik
@@ -37,9 +57,20 @@ import java.time.LocalDateTime;
 public class ScraperBatchRunner implements ApplicationRunner {
 
     private final ScraperService scraperService;
+    private final MortgageRateCompactionService compactionService;
+    private final CurrentRateService currentRateService;
+    private final StaticSnapshotPublisher snapshotPublisher;
 
-    public ScraperBatchRunner(ScraperService scraperService) {
+    public ScraperBatchRunner(
+            ScraperService scraperService,
+            MortgageRateCompactionService compactionService,
+            CurrentRateService currentRateService,
+            StaticSnapshotPublisher snapshotPublisher
+    ) {
         this.scraperService = scraperService;
+        this.compactionService = compactionService;
+        this.currentRateService = currentRateService;
+        this.snapshotPublisher = snapshotPublisher;
     }
 
     private static final Logger log =
@@ -76,6 +107,13 @@ public class ScraperBatchRunner implements ApplicationRunner {
                 successCount = result.successfulBanks();
                 failureCount = result.failedBanks();
 
+                printTimings(result);
+
+                // Publiceringssteg: statiska svar från batchens slutdata
+                if (snapshotPublisher.isEnabled()) {
+                    printSnapshot(snapshotPublisher.publish());
+                }
+
             }
 
             // =====================================================
@@ -96,6 +134,85 @@ public class ScraperBatchRunner implements ApplicationRunner {
 
             }
 
+            // =====================================================
+            // KOMPAKTERING – engångsjobb för intervallagring
+            // =====================================================
+            else if ("compact-rates".equalsIgnoreCase(mode)) {
+
+                RateCompactionResult result = compactionService.compactListRates();
+
+                System.out.println("Listräntor före: " + result.rowsScanned());
+                System.out.println("Intervall efter: " + result.rowsKept());
+                System.out.println("Borttagna rader: " + result.rowsDeleted());
+
+                successCount = 1;
+
+            }
+
+            // =====================================================
+            // CURRENT_RATES – ombyggnad / kontroll mot historiken
+            // =====================================================
+            else if ("rebuild-current-rates".equalsIgnoreCase(mode)) {
+
+                CurrentRateRebuildResult result = currentRateService.rebuild();
+
+                System.out.println("Rader före: " + result.rowsDeleted());
+                System.out.println("Rader efter: " + result.rowsWritten());
+
+                successCount = 1;
+
+            }
+
+            else if ("check-current-rates".equalsIgnoreCase(mode)) {
+
+                CurrentRateCheckResult result = currentRateService.check();
+
+                System.out.println("Serier i historiken: " + result.seriesInHistory());
+                System.out.println("Rader i current_rates: " + result.currentRows());
+                result.missing().forEach(s -> System.out.println("  saknas:    " + s));
+                result.stale().forEach(s -> System.out.println("  inaktuell: " + s));
+                result.orphaned().forEach(s -> System.out.println("  utan historik: " + s));
+
+                if (result.isConsistent()) {
+                    successCount = 1;
+                } else {
+                    failureCount = 1;
+                }
+
+            }
+
+            // =====================================================
+            // TORRKÖRNING – spela in / spela upp fixtures
+            // =====================================================
+            else if ("dry-run".equalsIgnoreCase(mode)) {
+
+                Map<String, Integer> counts = scraperService.dryRunAllScrapers();
+
+                for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                    System.out.println(String.format("  %-24s %s", entry.getKey(),
+                            entry.getValue() < 0 ? "FEL" : entry.getValue() + " räntor"));
+                    if (entry.getValue() > 0) successCount++;
+                    else failureCount++;
+                }
+
+            }
+
+            // =====================================================
+            // SNAPSHOT – publicera statiska svar utan scraping
+            // =====================================================
+            else if ("publish-snapshot".equalsIgnoreCase(mode)) {
+
+                SnapshotPublishResult result = snapshotPublisher.publish();
+                printSnapshot(result);
+
+                if (result.failed() == 0) {
+                    successCount = 1;
+                } else {
+                    failureCount = 1;
+                }
+
+            }
+
             // =====================================================
             // OKÄNT MODE
             // =====================================================
@@ -126,4 +243,69 @@ public class ScraperBatchRunner implements ApplicationRunner {
             System.exit(1);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Skriver ut tidsmätning per bank samt vinsten mot sekventiell körning.
+     */
+    private void printTimings(ScrapeBatchResult result) {
+        System.out.println("----------------------------------------");
+        System.out.println("Tid per bank (start → klar, egen tid):");
+
+        for (BankScrapeTiming t : result.bankTimings()) {
+            System.out.println(String.format(
+                    "  %-24s %6d → %6d ms  (%d ms)%s%s",
+                    t.bankName(),
+                    t.startOffsetMs(),
+                    t.finishOffsetMs(),
+                    t.durationMs(),
+                    t.success() ? (t.shortCircuited() ? "  oförändrad" : "") : (t.timedOut() ? "  TIMEOUT" : "  FEL"),
+                    describe(t.resilience())
+            ));
+        }
+
+        System.out.println("Väggtid: " + result.wallClockMs() + " ms");
+        System.out.println("Summa banktid (sekventiellt): " + result.totalBankTimeMs() + " ms");
+        System.out.println("Kritisk väg: " + result.criticalPathMs() + " ms");
+        if (result.timedOutBanks() > 0) {
+            System.out.println("Avbrutna vid tidsgräns: " + result.timedOutBanks());
+        }
+
+        FetchStats fetch = result.fetchTotals();
+        if (fetch.pagesRequested() > 0) {
+            System.out.println("Oförändrade banker (ej parsade): " + result.shortCircuitedBanks());
+            System.out.println("Sidor: " + fetch.pagesRequested() + " hämtade, "
+                    + fetch.pagesNotModified() + " × 304, "
+                    + fetch.pagesUnchanged() + " × samma hash");
+            System.out.println("Nedladdat: " + fetch.bytesDownloaded() / 1024 + " kB, sparat: "
+                    + fetch.bytesSaved() / 1024 + " kB, parsning sparad: " + fetch.parseMsSaved() + " ms");
+        }
+        System.out.println("----------------------------------------");
+    }
+
+    /**
+     * Skriver ut resultatet av en snapshot-publicering.
+     */
+    private void printSnapshot(SnapshotPublishResult result) {
+        System.out.println("Snapshot: " + result.outputDir());
+        System.out.println("  Renderade svar: " + result.rendered());
+        System.out.println("  Skrivna filer: " + result.written()
+                + ", oförändrade: " + result.unchanged()
+                + ", borttagna: " + result.removed());
+        if (result.failed() > 0) {
+            System.out.println("  Fel: " + result.failed());
+        }
+        System.out.println("  Tid: " + result.durationMs() + " ms");
+    }
+
+    /**
+     * Omförsök, hedge-anrop och brytare för en bank – tomt om allt gick direkt.
+     */
+    private String describe(ResilienceStats r) {
+        StringBuilder text = new StringBuilder();
+        if (r.retries() > 0) text.append("  omförsök: ").append(r.retries());
+        if (r.hedges() > 0) text.append("  hedge: ").append(r.hedges());
+        if (r.rejected() > 0) text.append("  avvisade: ").append(r.rejected());
+        if (r.breakerState() != CircuitBreaker.State.CLOSED) text.append("  brytare: ").append(r.breakerState());
+        return text.toString();
+    }
+}
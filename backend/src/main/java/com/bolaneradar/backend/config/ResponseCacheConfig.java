@@ -0,0 +1,33 @@
+package com.bolaneradar.backend.config;
+
+import com.bolaneradar.backend.controller.api.cache.PublicResponseCacheAdvice;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * ================================================================
+ * RESPONSE CACHE CONFIGURATION
+ * ================================================================
+ * <p>
+ * Registrerar PublicResponseCacheAdvice som interceptor för de
+ * publika API-endpoints (/api/**), så att cachade svar kan besvaras
+ * innan controllern anropas.
+ * <p>
+ * Vilka endpoints som cachas styrs av @CachedPublicResponse.
+ * ================================================================
+ */
+@Configuration
+public class ResponseCacheConfig implements WebMvcConfigurer {
+
+    private final PublicResponseCacheAdvice responseCacheAdvice;
+
+    public ResponseCacheConfig(PublicResponseCacheAdvice responseCacheAdvice) {
+        this.responseCacheAdvice = responseCacheAdvice;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(responseCacheAdvice).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,42 @@
+package com.bolaneradar.backend.controller.admin.content;
+
+import com.bolaneradar.backend.service.client.banks.BankContentReloadResult;
+import com.bolaneradar.backend.service.client.banks.BankContentStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * ================================================================
+ * ADMIN CONTENT CONTROLLER
+ * ================================================================
+ * <p>
+ * Administrativt API för att läsa om redaktionellt bankinnehåll
+ * (intro, info och detaljer) utan omstart.
+ * <p>
+ * Anropar BankContentStore som innehåller all logik.
+ * ================================================================
+ */
+@RestController
+@Tag(name = "Admin / Content")
+@RequestMapping("/api/admin/content")
+public class AdminContentController {
+
+    private final BankContentStore bankContentStore;
+
+    public AdminContentController(BankContentStore bankContentStore) {
+        this.bankContentStore = bankContentStore;
+    }
+
+    // ======================================================
+    // POST /api/admin/content/reload – läs om bankinnehåll
+    // ======================================================
+    @Operation(summary = "Läs om bankinnehåll från JSON-filerna (admin)")
+    @PostMapping("/reload")
+    public ResponseEntity<BankContentReloadResult> reload() throws IOException {
+        return ResponseEntity.ok(bankContentStore.reload());
+    }
+}
@@ -1,12 +1,16 @@
 package com.bolaneradar.backend.controller.admin.logs;
 
 import com.bolaneradar.backend.dto.admin.RateUpdateLogDto;
+import com.bolaneradar.backend.dto.admin.RateUpdateLogPageDto;
 import com.bolaneradar.backend.dto.mapper.admin.RateUpdateLogMapper;
+import com.bolaneradar.backend.repository.RateUpdateLogFilter;
 import com.bolaneradar.backend.service.admin.RateUpdateLogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,6 +23,7 @@ import java.util.List;
  * <p>
  * Stödjer:
  * - Hämtning av alla loggar
+ * - Sidvis hämtning med filter (keyset-cursor) för stora loggar
  * - Hämtning av senaste logg per bank
  * ================================================================
  */
@@ -45,6 +50,30 @@ public class AdminRateUpdateLogController {
                 .toList();
     }
 
+    // ============================================================
+    // GET /api/admin/rates/updates/page  -> en sida loggar med filter
+    // ============================================================
+    @Operation(
+            summary = "Hämta en sida uppdateringsloggar (admin)",
+            description = "Senaste först. Skicka nextCursor som cursor för nästa sida. "
+                    + "Filter: bank, success, from (inklusive), to (exklusive)."
+    )
+    @GetMapping("/page")
+    public RateUpdateLogPageDto getUpdateLogPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String bank,
+            @RequestParam(required = false) Boolean success,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        RateUpdateLogFilter filter = new RateUpdateLogFilter(bank, success, from, to);
+
+        return RateUpdateLogMapper.toPageDto(
+                rateUpdateLogService.getLogPage(filter, cursor, limit)
+        );
+    }
+
     // ============================================================
     // GET /api/admin/rates/updates/latest  -> senaste logg per bank
     // ============================================================
@@ -2,6 +2,11 @@ package com.bolaneradar.backend.controller.admin.rates;
 
 import com.bolaneradar.backend.dto.admin.MortgageRateDto;
 import com.bolaneradar.backend.service.admin.MortgageRateAdminService;
+import com.bolaneradar.backend.service.admin.MortgageRateCompactionService;
+import com.bolaneradar.backend.service.admin.RateCompactionResult;
+import com.bolaneradar.backend.service.core.CurrentRateCheckResult;
+import com.bolaneradar.backend.service.core.CurrentRateRebuildResult;
+import com.bolaneradar.backend.service.core.CurrentRateService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +23,8 @@ import java.util.List;
  * Används främst för manuell hantering eller test/import-scenarion.
  * <p>
  * Tar emot DTO-listor och delegerar all logik till service-lagret.
+ * Exponerar även engångskompaktering av dagliga listräntor till intervall
+ * samt ombyggnad och kontroll av current_rates.
  * ================================================================
  */
 @RestController
@@ -26,9 +33,17 @@ import java.util.List;
 public class AdminMortgageRateController {
 
     private final MortgageRateAdminService adminService;
+    private final MortgageRateCompactionService compactionService;
+    private final CurrentRateService currentRateService;
 
-    public AdminMortgageRateController(MortgageRateAdminService adminService) {
+    public AdminMortgageRateController(
+            MortgageRateAdminService adminService,
+            MortgageRateCompactionService compactionService,
+            CurrentRateService currentRateService
+    ) {
         this.adminService = adminService;
+        this.compactionService = compactionService;
+        this.currentRateService = currentRateService;
     }
 
     // ======================================================
@@ -46,4 +61,31 @@ public class AdminMortgageRateController {
         List<MortgageRateDto> created = adminService.createRates(rateDtos);
         return ResponseEntity.status(201).body(created);
     }
-}
\ No newline at end of file
+
+    // ======================================================
+    // POST /api/admin/rates/compact – slå ihop dagliga listräntor
+    // ======================================================
+    @Operation(summary = "Kompaktera oförändrade dagliga listräntor till intervall (admin)")
+    @PostMapping("/compact")
+    public ResponseEntity<RateCompactionResult> compactListRates() {
+        return ResponseEntity.ok(compactionService.compactListRates());
+    }
+
+    // ======================================================
+    // POST /api/admin/rates/current/rebuild – bygg om current_rates
+    // ======================================================
+    @Operation(summary = "Bygg om current_rates från räntehistoriken (admin)")
+    @PostMapping("/current/rebuild")
+    public ResponseEntity<CurrentRateRebuildResult> rebuildCurrentRates() {
+        return ResponseEntity.ok(currentRateService.rebuild());
+    }
+
+    // ======================================================
+    // GET /api/admin/rates/current/check – kontrollera current_rates
+    // ======================================================
+    @Operation(summary = "Kontrollera att current_rates stämmer med räntehistoriken (admin)")
+    @GetMapping("/current/check")
+    public ResponseEntity<CurrentRateCheckResult> checkCurrentRates() {
+        return ResponseEntity.ok(currentRateService.check());
+    }
+}
@@ -0,0 +1,42 @@
+package com.bolaneradar.backend.controller.admin.snapshot;
+
+import com.bolaneradar.backend.service.admin.snapshot.SnapshotPublishResult;
+import com.bolaneradar.backend.service.admin.snapshot.StaticSnapshotPublisher;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * ================================================================
+ * ADMIN SNAPSHOT CONTROLLER
+ * ================================================================
+ * <p>
+ * Administrativt API för att publicera alla publika GET-svar som
+ * statiska, förkomprimerade JSON-filer (samma som --mode=publish-snapshot).
+ * <p>
+ * Anropar StaticSnapshotPublisher som innehåller all logik.
+ * ================================================================
+ */
+@RestController
+@Tag(name = "Admin / Snapshot")
+@RequestMapping("/api/admin/snapshot")
+public class AdminSnapshotController {
+
+    private final StaticSnapshotPublisher snapshotPublisher;
+
+    public AdminSnapshotController(StaticSnapshotPublisher snapshotPublisher) {
+        this.snapshotPublisher = snapshotPublisher;
+    }
+
+    // ======================================================
+    // POST /api/admin/snapshot/publish – publicera statiska svar
+    // ======================================================
+    @Operation(summary = "Publicera alla publika svar som statiska filer (admin)")
+    @PostMapping("/publish")
+    public ResponseEntity<SnapshotPublishResult> publish() throws IOException {
+        return ResponseEntity.ok(snapshotPublisher.publish());
+    }
+}
@@ -1,11 +1,14 @@
 package com.bolaneradar.backend.controller.api.banks;
 
 import com.bolaneradar.backend.dto.api.BankDetailsDto;
-import com.bolaneradar.backend.service.client.banks.BankDetailsService;
+import com.bolaneradar.backend.service.client.banks.BankContentStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,15 +30,16 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin
 public class BankDetailsController {
 
-    private final BankDetailsService bankDetailsService;
+    private final BankContentStore bankContentStore;
 
-    public BankDetailsController(BankDetailsService bankDetailsService) {
-        this.bankDetailsService = bankDetailsService;
+    public BankDetailsController(BankContentStore bankContentStore) {
+        this.bankContentStore = bankContentStore;
     }
 
     @Operation(summary = "Hämta detaljerad bankinformation")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BankDetailsDto.class)))
     @GetMapping("/{bankKey}/details")
-    public ResponseEntity<?> getBankDetails(
+    public ResponseEntity<byte[]> getBankDetails(
             @PathVariable String bankKey,
 
             @Parameter(
@@ -48,11 +52,10 @@ public class BankDetailsController {
             @RequestParam(defaultValue = "SV") String language
     ) {
 
-        BankDetailsDto dto =
-                bankDetailsService.getDetailsForBank(bankKey, language);
+        var entry = bankContentStore.details(bankKey, BankContentStore.language(language));
 
-        return (dto == null)
+        return (entry == null)
                 ? ResponseEntity.notFound().build()
-                : ResponseEntity.ok(dto);
+                : ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(entry.json());
     }
 }
\ No newline at end of file
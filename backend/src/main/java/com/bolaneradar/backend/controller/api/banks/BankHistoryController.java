@@ -1,9 +1,11 @@
 package com.bolaneradar.backend.controller.api.banks;
 
+import com.bolaneradar.backend.dto.api.BankHistoryDto;
 import com.bolaneradar.backend.dto.api.BankRateHistoryDto;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.service.client.banks.BankHistoryService;
 import com.bolaneradar.backend.service.client.banks.resolver.BankKeyResolver;
+import com.bolaneradar.backend.controller.api.cache.CachedPublicResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +23,7 @@ import java.util.List;
  * Stöder både:
  * - Historisk data per bindningstid
  * - Lista över tillgängliga bindningstider
+ * - Båda i ett anrop (historikvyns första laddning)
  * ================================================================
  */
 
@@ -40,15 +43,20 @@ public class BankHistoryController {
         this.bankKeyResolver = bankKeyResolver;
     }
 
-    @Operation(summary = "Hämta historiska snitträntor för en bank")
+    @Operation(
+            summary = "Hämta historiska snitträntor för en bank",
+            description = "Månadsmedel för valt fönster: window=12 (standard), 24, 60 eller all."
+    )
+    @CachedPublicResponse
     @GetMapping("/{bankKey}/history/data")
     public List<BankRateHistoryDto> getBankHistory(
             @PathVariable String bankKey,
-            @RequestParam MortgageTerm term
+            @RequestParam MortgageTerm term,
+            @RequestParam(defaultValue = BankHistoryService.DEFAULT_WINDOW) String window
     ) {
         String bankName = bankKeyResolver.resolve(bankKey);
 
-        return historyService.getHistoricalAverageRates(bankName, term);
+        return historyService.getHistoricalAverageRates(bankName, term, window);
     }
 
     @Operation(summary = "Hämta bindningstider med tillräcklig historik")
@@ -59,4 +67,17 @@ public class BankHistoryController {
 
         return historyService.getAvailableTerms(bankName);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Hämta tillgängliga bindningstider och historik i ett anrop")
+    @CachedPublicResponse
+    @GetMapping("/{bankKey}/history")
+    public BankHistoryDto getHistory(
+            @PathVariable String bankKey,
+            @RequestParam(required = false) MortgageTerm term,
+            @RequestParam(defaultValue = BankHistoryService.DEFAULT_WINDOW) String window
+    ) {
+        String bankName = bankKeyResolver.resolve(bankKey);
+
+        return historyService.getHistory(bankName, term, window);
+    }
+}
@@ -2,9 +2,13 @@ package com.bolaneradar.backend.controller.api.banks;
 
 import com.bolaneradar.backend.dto.api.BankInfoDto;
 import com.bolaneradar.backend.entity.enums.Language;
-import com.bolaneradar.backend.service.client.banks.BankInfoService;
+import com.bolaneradar.backend.service.client.banks.BankContentStore;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,10 +32,10 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin
 public class BankInfoController {
 
-    private final BankInfoService bankInfoService;
+    private final BankContentStore bankContentStore;
 
-    public BankInfoController(BankInfoService bankInfoService) {
-        this.bankInfoService = bankInfoService;
+    public BankInfoController(BankContentStore bankContentStore) {
+        this.bankContentStore = bankContentStore;
     }
 
     @Operation(
@@ -47,17 +51,17 @@ public class BankInfoController {
                     - CTA
                     """
     )
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BankInfoDto.Content.class)))
     @GetMapping("/{bankKey}/info")
-    public ResponseEntity<?> getBankInfo(
+    public ResponseEntity<byte[]> getBankInfo(
             @PathVariable String bankKey,
             @RequestParam(defaultValue = "SV") Language language
     ) {
 
-        BankInfoDto.Content content =
-                bankInfoService.getBankInfo(bankKey, language);
+        var entry = bankContentStore.info(bankKey, language);
 
-        return (content == null)
+        return (entry == null)
                 ? ResponseEntity.notFound().build()
-                : ResponseEntity.ok(content);
+                : ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(entry.json());
     }
 }
\ No newline at end of file
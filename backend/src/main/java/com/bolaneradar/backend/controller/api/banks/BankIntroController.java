@@ -1,11 +1,15 @@
 package com.bolaneradar.backend.controller.api.banks;
 
 import com.bolaneradar.backend.dto.api.BankIntroDto;
-import com.bolaneradar.backend.service.client.banks.BankIntroService;
+import com.bolaneradar.backend.service.client.banks.BankContentStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -16,7 +20,8 @@ import org.springframework.web.bind.annotation.*;
  * Publikt API för kort introduktionstext per bank.
  * Används för marknads- och översiktstexter i frontend.
  * <p>
- * Datat är filbaserat (JSON) och språkstyrt.
+ * Datat är filbaserat (JSON) och språkstyrt. Svaret är
+ * färdigserialiserat i BankContentStore.
  * ================================================================
  */
 
@@ -26,15 +31,16 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin
 public class BankIntroController {
 
-    private final BankIntroService bankIntroService;
+    private final BankContentStore bankContentStore;
 
-    public BankIntroController(BankIntroService bankIntroService) {
-        this.bankIntroService = bankIntroService;
+    public BankIntroController(BankContentStore bankContentStore) {
+        this.bankContentStore = bankContentStore;
     }
 
     @Operation(summary = "Hämta introduktionsinformation för en bank")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BankIntroDto.class)))
     @GetMapping("/{bankKey}/intro")
-    public BankIntroDto getBankIntro(
+    public ResponseEntity<byte[]> getBankIntro(
             @PathVariable String bankKey,
 
             @Parameter(description = "Språk för textinnehåll")
@@ -44,6 +50,11 @@ public class BankIntroController {
             )
             @RequestParam(defaultValue = "SV") String language
     ) {
-        return bankIntroService.getBankIntro(bankKey, language);
+        var entry = bankContentStore.intro(bankKey, BankContentStore.language(language));
+
+        // Saknad text: tomt 200-svar (som tidigare)
+        return (entry == null)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(entry.json());
     }
 }
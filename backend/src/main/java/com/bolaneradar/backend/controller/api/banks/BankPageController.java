@@ -0,0 +1,61 @@
+package com.bolaneradar.backend.controller.api.banks;
+
+import com.bolaneradar.backend.controller.api.cache.CachedPublicResponse;
+import com.bolaneradar.backend.dto.api.BankPageDto;
+import com.bolaneradar.backend.entity.enums.Language;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.service.client.banks.BankHistoryService;
+import com.bolaneradar.backend.service.client.banks.BankPageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * ================================================================
+ * BANK PAGE CONTROLLER
+ * ================================================================
+ * <p>
+ * Publikt API för hela banksidan i ett anrop: intro, info,
+ * detaljer, aktuella räntor och historik.
+ * <p>
+ * Ersätter sex separata anrop vid sidladdning. Med sections kan
+ * klienten begränsa svaret till de delar som behövs.
+ * ================================================================
+ */
+
+@Tag(name = "Public / Bank Page")
+@RestController
+@RequestMapping("/api/banks")
+public class BankPageController {
+
+    private final BankPageService bankPageService;
+
+    public BankPageController(BankPageService bankPageService) {
+        this.bankPageService = bankPageService;
+    }
+
+    @Operation(
+            summary = "Hämta hela banksidan i ett anrop",
+            description = """
+                    Samlar /intro, /info, /details, /rates och /history.
+                    sections (t.ex. INTRO,RATES) begränsar svaret; utan sections ingår alla.
+                    Sektioner som inte ingår eller saknar innehåll är null.
+                    """
+    )
+    @CachedPublicResponse
+    @GetMapping("/{bankKey}/page")
+    public BankPageDto getBankPage(
+            @PathVariable String bankKey,
+            @RequestParam(defaultValue = "SV") Language language,
+            @RequestParam(required = false) MortgageTerm term,
+            @RequestParam(defaultValue = BankHistoryService.DEFAULT_WINDOW) String window,
+
+            @Parameter(description = "Sektioner att ta med (standard: alla)")
+            @RequestParam(required = false) List<BankPageDto.Section> sections
+    ) {
+        return bankPageService.getBankPage(bankKey, language, term, window, sections);
+    }
+}
@@ -2,6 +2,7 @@ package com.bolaneradar.backend.controller.api.banks;
 
 import com.bolaneradar.backend.service.client.banks.resolver.BankKeyResolver;
 import com.bolaneradar.backend.service.client.banks.BankRateReadService;
+import com.bolaneradar.backend.controller.api.cache.CachedPublicResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.web.bind.annotation.*;
@@ -37,6 +38,7 @@ public class BankRateController {
     }
 
     @Operation(summary = "Hämta aktuella räntor för en bank")
+    @CachedPublicResponse
     @GetMapping("/{bankKey}/rates")
     public Map<String, Object> getBankRates(@PathVariable String bankKey) {
 
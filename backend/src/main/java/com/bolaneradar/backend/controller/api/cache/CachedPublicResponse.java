@@ -0,0 +1,24 @@
+package com.bolaneradar.backend.controller.api.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ================================================================
+ * CACHED PUBLIC RESPONSE
+ * ================================================================
+ * <p>
+ * Markerar en publik GET-endpoint vars svar endast ändras när
+ * räntedata committas. Svaret serialiseras en gång per URL och
+ * generation och besvaras därefter från PublicResponseCache
+ * (med ETag / 304).
+ * <p>
+ * Får endast användas på endpoints utan användarspecifikt innehåll.
+ * ================================================================
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedPublicResponse {
+}
@@ -0,0 +1,262 @@
+package com.bolaneradar.backend.controller.api.cache;
+
+import com.bolaneradar.backend.service.core.RateDataGeneration;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ================================================================
+ * PUBLIC RESPONSE CACHE
+ * ================================================================
+ * <p>
+ * Färdigserialiserade JSON-svar (rå och gzip) per URL för endpoints
+ * markerade med @CachedPublicResponse.
+ * <p>
+ * Giltighet:
+ * - Varje post hör till en RateDataGeneration
+ * - När generationen flyttas (räntedata committad) töms hela cachen
+ * - Ett svar som byggts under en äldre generation sparas inte
+ * - Skrivningar från en annan process (t.ex. --mode=scrape) syns när
+ *   databasens version läses nästa gång, dvs. inom
+ *   app.data-version.poll-ms
+ * <p>
+ * HTTP:
+ * - ETag = svag hash av JSON-innehållet (överlever omstart)
+ * - If-None-Match som matchar → 304 utan kropp
+ * - Accept-Encoding: gzip → förkomprimerade bytes
+ * - Cache-Control: no-cache (klienten validerar alltid med ETag)
+ * <p>
+ * Aktivering:
+ * - app.response-cache.enabled=true (av som standard)
+ * - app.response-cache.max-entries: nya URL:er sparas inte när
+ *   gränsen nåtts
+ * <p>
+ * Nyckel:
+ * - Sökväg + endpointens egna parametrar (se key()); okända
+ *   parametrar kan inte fylla cachen
+ * ================================================================
+ */
+@Component
+public class PublicResponseCache {
+
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private final RateDataGeneration rateDataGeneration;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxEntries;
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private volatile long entriesGeneration;
+
+    public PublicResponseCache(
+            RateDataGeneration rateDataGeneration,
+            ObjectMapper objectMapper,
+            @Value("${app.response-cache.enabled:false}") boolean enabled,
+            @Value("${app.response-cache.max-entries:500}") int maxEntries
+    ) {
+        this.rateDataGeneration = rateDataGeneration;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        // Okänd generation: första anropet läser databasens version
+        this.entriesGeneration = -1;
+    }
+
+    /**
+     * Ett serialiserat svar.
+     *
+     * @param json rå JSON
+     * @param gzip samma JSON gzip-komprimerad
+     * @param etag svag ETag (inklusive citattecken)
+     */
+    public record CachedResponse(byte[] json, byte[] gzip, String etag) {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Aktuell generation; läses innan svaret byggs. */
+    public long generation() {
+        return rateDataGeneration.current();
+    }
+
+    /** Antal sparade svar i aktuell generation. */
+    public int size() {
+        evictIfMoved();
+        return entries.size();
+    }
+
+    // ============================================================
+    // ===================    UPPSLAG / LAGRING   =================
+    // ============================================================
+
+    /**
+     * Sparat svar för URL:en, eller null.
+     */
+    public CachedResponse lookup(String key) {
+        evictIfMoved();
+        return entries.get(key);
+    }
+
+    /**
+     * Serialiserar svaret och sparar det om generationen inte har
+     * flyttats sedan svaret började byggas.
+     *
+     * @param generation generation när svaret började byggas
+     */
+    public CachedResponse store(String key, long generation, Object body) {
+        CachedResponse response = serialize(body);
+
+        evictIfMoved();
+        if (generation == entriesGeneration && entries.size() < maxEntries) {
+            entries.put(key, response);
+        }
+
+        return response;
+    }
+
+    /**
+     * Skriver svaret, eller 304 om klienten redan har samma version.
+     */
+    public void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = cached.json();
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.gzip();
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Nyckel per sökväg och handlerns @RequestParam-parametrar, i
+     * metodens ordning. Okända parametrar ignoreras och saknade får sitt
+     * standardvärde, så godtyckliga tillägg i URL:en ger ingen ny post.
+     * Värden används som de skickats (vissa svar upprepar dem).
+     */
+    public static String key(HttpServletRequest request, HandlerMethod handler) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        String[] parameterNames = PARAMETER_NAMES.getParameterNames(handler.getMethod());
+        char separator = '?';
+
+        for (MethodParameter parameter : handler.getMethodParameters()) {
+            RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+            if (requestParam == null) continue;
+
+            String name = !requestParam.name().isEmpty() ? requestParam.name()
+                    : !requestParam.value().isEmpty() ? requestParam.value()
+                    : parameterNames != null ? parameterNames[parameter.getParameterIndex()] : null;
+            if (name == null) continue;
+            String[] values = request.getParameterValues(name);
+            String value = values != null ? String.join(",", values)
+                    : ValueConstants.DEFAULT_NONE.equals(requestParam.defaultValue()) ? null
+                    : requestParam.defaultValue();
+            if (value == null) continue;
+
+            key.append(separator).append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return key.toString();
+    }
+
+    // ============================================================
+    // ===================     HJÄLPMETODER      ==================
+    // ============================================================
+
+    private void evictIfMoved() {
+        long current = rateDataGeneration.current();
+        if (current == entriesGeneration) return;
+
+        synchronized (entries) {
+            if (current != entriesGeneration) {
+                entries.clear();
+                entriesGeneration = current;
+            }
+        }
+    }
+
+    private CachedResponse serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new CachedResponse(json, gzip(json), etag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Kunde inte serialisera svar", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 saknas i JVM", e);
+        }
+    }
+
+    /** If-None-Match: lista eller *, svag jämförelse (W/ ignoreras). */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+
+        String opaque = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(opaque)) return true;
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
@@ -0,0 +1,114 @@
+package com.bolaneradar.backend.controller.api.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * ================================================================
+ * PUBLIC RESPONSE CACHE – ADVICE
+ * ================================================================
+ * <p>
+ * Kopplar PublicResponseCache till Spring MVC för endpoints
+ * markerade med @CachedPublicResponse.
+ * <p>
+ * Flöde:
+ * - preHandle (interceptor): träff → skriv sparade bytes / 304,
+ *   controllern anropas inte. Miss → generation och nyckel noteras på requesten
+ * - beforeBodyWrite (advice): controllerns svar serialiseras, sparas
+ *   och skrivs på samma sätt som en träff
+ * <p>
+ * Körs efter Spring Security och MVC:s CORS-hantering, så svaren från
+ * cachen får samma säkerhets- och CORS-headers som övriga svar.
+ * Fel (via GlobalExceptionHandler) cachas aldrig.
+ * ================================================================
+ */
+@ControllerAdvice
+public class PublicResponseCacheAdvice implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private static final String GENERATION_ATTRIBUTE = PublicResponseCacheAdvice.class.getName() + ".generation";
+    private static final String KEY_ATTRIBUTE = PublicResponseCacheAdvice.class.getName() + ".key";
+
+    private final PublicResponseCache cache;
+
+    public PublicResponseCacheAdvice(PublicResponseCache cache) {
+        this.cache = cache;
+    }
+
+    // ============================================================
+    // ===================      INTERCEPTOR      ==================
+    // ============================================================
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+
+        if (!cache.isEnabled() || !"GET".equals(request.getMethod())) return true;
+        if (!(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(CachedPublicResponse.class)) {
+            return true;
+        }
+
+        // Läses före lookup: ett svar som byggs nu hör till denna generation
+        request.setAttribute(GENERATION_ATTRIBUTE, cache.generation());
+
+        String key = PublicResponseCache.key(request, method);
+        request.setAttribute(KEY_ATTRIBUTE, key);
+
+        PublicResponseCache.CachedResponse cached = cache.lookup(key);
+        if (cached == null) return true;
+
+        cache.write(cached, request, response);
+        return false;
+    }
+
+    // ============================================================
+    // ===================     RESPONSE BODY     ==================
+    // ============================================================
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return cache.isEnabled() && returnType.hasMethodAnnotation(CachedPublicResponse.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)
+                || !(servletRequest.getServletRequest().getAttribute(GENERATION_ATTRIBUTE) instanceof Long generation)
+                || !(servletRequest.getServletRequest().getAttribute(KEY_ATTRIBUTE) instanceof String key)) {
+            return body;
+        }
+
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        PublicResponseCache.CachedResponse cached = cache.store(key, generation, body);
+
+        try {
+            cache.write(cached, httpRequest, servletResponse.getServletResponse());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Redan skrivet – ingen ytterligare serialisering
+        return null;
+    }
+}
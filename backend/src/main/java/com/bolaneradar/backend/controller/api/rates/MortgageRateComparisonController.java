@@ -1,6 +1,7 @@
 package com.bolaneradar.backend.controller.api.rates;
 
 import com.bolaneradar.backend.service.client.rates.MortgageRateComparisonService;
+import com.bolaneradar.backend.controller.api.cache.CachedPublicResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.web.bind.annotation.*;
@@ -14,7 +15,7 @@ import java.util.Map;
  * <p>
  * Publikt API för jämförelse av bolåneräntor.
  * Returnerar listräntor, snitträntor och ändringsinformation
- * för vald bindningstid.
+ * för vald bindningstid, eller för alla bindningstider i ett anrop.
  * <p>
  * Används av startsidans jämförelsetabell.
  * ================================================================
@@ -34,8 +35,19 @@ public class MortgageRateComparisonController {
             summary = "Hämta jämförelsedata",
             description = "Returnerar listräntor, snitträntor, ändringsdatum och gemensam snitträntemånad."
     )
+    @CachedPublicResponse
     @GetMapping("/comparison")
     public Map<String, Object> getComparison(@RequestParam String term) {
         return service.getComparisonDataFull(term);
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Hämta jämförelsedata för alla bindningstider",
+            description = "Samma struktur som /comparison per termkod (3m, 1y, ...) – alla flikar i ett anrop."
+    )
+    @CachedPublicResponse
+    @GetMapping("/comparison/all")
+    public Map<String, Map<String, Object>> getComparisonAllTerms() {
+        return service.getComparisonDataAllTerms();
+    }
+}
@@ -1,13 +1,12 @@
 package com.bolaneradar.backend.controller.api.rates;
 
 import com.bolaneradar.backend.dto.api.RateUpdateDayDto;
-import com.bolaneradar.backend.service.admin.RateUpdateLogService;
 import com.bolaneradar.backend.service.client.rates.RateUpdatePublicService;
+import com.bolaneradar.backend.controller.api.cache.CachedPublicResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -29,30 +28,20 @@ import java.util.Map;
 @RequestMapping("/api/rates/updates")
 public class RateUpdatePublicController {
 
-    private final RateUpdateLogService logService;
     private final RateUpdatePublicService rateUpdatePublicService;
 
-    public RateUpdatePublicController(
-            RateUpdateLogService logService,
-            RateUpdatePublicService rateUpdatePublicService
-    ) {
-        this.logService = logService;
+    public RateUpdatePublicController(RateUpdatePublicService rateUpdatePublicService) {
         this.rateUpdatePublicService = rateUpdatePublicService;
     }
 
     @Operation(summary = "Hämta senaste globala uppdateringstiden")
     @GetMapping("/latest/global")
     public Map<String, String> getLatestGlobalUpdate() {
-
-        LocalDateTime latest = logService.getLatestGlobalUpdate();
-
-        return Map.of(
-                "latestScrape",
-                latest != null ? latest.toString() : null
-        );
+        return rateUpdatePublicService.getLatestGlobalUpdate();
     }
 
     @Operation(summary = "Hämta senaste ränteändringar per bank")
+    @CachedPublicResponse
     @GetMapping
     public List<RateUpdateDayDto> getRateUpdates() {
         return rateUpdatePublicService.getRateUpdates();
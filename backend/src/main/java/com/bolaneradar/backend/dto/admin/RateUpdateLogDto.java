@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 /**
  * DTO för att skicka ut loggdata till klienten.
  * Innehåller relevant information utan att exponera hela Bank-objektet.
+ * outcome är SUCCESS, FAILED eller TIMEOUT.
  */
 public record RateUpdateLogDto(
         Long id,
@@ -12,6 +13,7 @@ public record RateUpdateLogDto(
         String sourceName,
         int importedCount,
         boolean success,
+        String outcome,
         String errorMessage,
         long durationMs,
         LocalDateTime occurredAt
@@ -0,0 +1,13 @@
+package com.bolaneradar.backend.dto.admin;
+
+import java.util.List;
+
+/**
+ * DTO för en sida i uppdateringsloggen.
+ * nextCursor skickas tillbaka som cursor för att hämta nästa sida;
+ * null betyder att det inte finns fler loggar.
+ */
+public record RateUpdateLogPageDto(
+        List<RateUpdateLogDto> items,
+        String nextCursor
+) {}
@@ -0,0 +1,18 @@
+package com.bolaneradar.backend.dto.api;
+
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+
+import java.util.List;
+
+/**
+ * DTO för bankens historikvy i ett anrop.
+ * <p>
+ * Innehåller bindningstiderna med tillräcklig historik,
+ * vald bindningstid och dess snitträntor per månad.
+ */
+public record BankHistoryDto(
+        List<MortgageTerm> availableTerms,
+        MortgageTerm term,
+        List<BankRateHistoryDto> history
+) {
+}
@@ -0,0 +1,28 @@
+package com.bolaneradar.backend.dto.api;
+
+import com.bolaneradar.backend.entity.enums.Language;
+
+import java.util.Map;
+
+/**
+ * DTO för banksidan i ett anrop.
+ * <p>
+ * Samlar det som annars hämtas från /intro, /info, /details,
+ * /rates och /history. Sektioner som inte efterfrågats, eller
+ * som saknar innehåll, är null.
+ */
+public record BankPageDto(
+        String bankKey,
+        Language language,
+        BankIntroDto intro,
+        BankInfoDto.Content info,
+        BankDetailsDto details,
+        Map<String, Object> rates,
+        BankHistoryDto history
+) {
+
+    /** Sektioner som kan väljas med parametern sections. */
+    public enum Section {
+        INTRO, INFO, DETAILS, RATES, HISTORY
+    }
+}
@@ -1,7 +1,11 @@
 package com.bolaneradar.backend.dto.mapper.admin;
 
 import com.bolaneradar.backend.dto.admin.RateUpdateLogDto;
+import com.bolaneradar.backend.dto.admin.RateUpdateLogPageDto;
 import com.bolaneradar.backend.entity.core.RateUpdateLog;
+import com.bolaneradar.backend.entity.enums.ScrapeOutcome;
+import com.bolaneradar.backend.repository.projection.RateUpdateLogRow;
+import com.bolaneradar.backend.service.admin.RateUpdateLogPage;
 
 /**
  * Mapper som konverterar RateUpdateLog-entiteter till RateUpdateLogDto.
@@ -17,9 +21,36 @@ public class RateUpdateLogMapper {
                 log.getSourceName(),
                 log.getImportedCount(),
                 log.isSuccess(),
+                log.getOutcome().name(),
                 log.getErrorMessage(),
                 log.getDurationMs(),
                 log.getOccurredAt()
         );
     }
-}
\ No newline at end of file
+
+    public static RateUpdateLogDto toDto(RateUpdateLogRow row) {
+        // Äldre rader saknar outcome – härleds från success som i entiteten
+        ScrapeOutcome outcome = row.outcome() != null
+                ? row.outcome()
+                : (row.success() ? ScrapeOutcome.SUCCESS : ScrapeOutcome.FAILED);
+
+        return new RateUpdateLogDto(
+                row.id(),
+                row.bankName(),
+                row.sourceName(),
+                row.importedCount(),
+                row.success(),
+                outcome.name(),
+                row.errorMessage(),
+                row.durationMs(),
+                row.occurredAt()
+        );
+    }
+
+    public static RateUpdateLogPageDto toPageDto(RateUpdateLogPage page) {
+        return new RateUpdateLogPageDto(
+                page.rows().stream().map(RateUpdateLogMapper::toDto).toList(),
+                page.nextCursor()
+        );
+    }
+}
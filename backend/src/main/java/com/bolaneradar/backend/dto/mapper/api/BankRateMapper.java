@@ -2,11 +2,11 @@ package com.bolaneradar.backend.dto.mapper.api;
 
 import com.bolaneradar.backend.dto.api.BankRateHistoryDto;
 import com.bolaneradar.backend.dto.api.BankRateRowDto;
-import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.repository.projection.BankRateRow;
+import com.bolaneradar.backend.repository.projection.MonthlyAverageRow;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * ================================================================
@@ -15,12 +15,12 @@ import java.util.stream.Collectors;
  * Mapper för bankens räntedata som visas på banksidorna.
  * <p>
  * Ansvar:
- * - Översätter MortgageRate-entiteter till enkla DTO:er
+ * - Översätter aktuella räntor (BankRateRow) och månadsmedel (MonthlyAverageRow) till enkla DTO:er
  * - Utför endast formatering och konvertering av värden
  * <p>
  * Innehåller:
  * - Mapping för aktuella räntor per bindningstid
- * - Mapping för historiska snitträntor (aggregerade per månad)
+ * - Mapping för historiska snitträntor (aggregerade per månad i databasen)
  * <p>
  * Designprinciper:
  * - Ingen affärslogik
@@ -33,8 +33,8 @@ public class BankRateMapper {
 
     public static BankRateRowDto toDto(
             String termLabel,
-            MortgageRate listRate,
-            MortgageRate avgRate
+            BankRateRow listRate,
+            BankRateRow avgRate
     ) {
         return new BankRateRowDto(
                 termLabel,
@@ -49,20 +49,13 @@ public class BankRateMapper {
         );
     }
 
-    public static List<BankRateHistoryDto> toHistoryDto(List<MortgageRate> rates) {
+    public static List<BankRateHistoryDto> toHistoryDto(List<MonthlyAverageRow> months) {
 
-        return rates.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getEffectiveDate().withDayOfMonth(1),
-                        Collectors.averagingDouble(m -> m.getRatePercent().doubleValue())
-                ))
-                .entrySet()
-                .stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(e -> new BankRateHistoryDto(
-                        e.getKey().toString(),   // "2024-03-01"
-                        e.getValue()
+        return months.stream()
+                .map(m -> new BankRateHistoryDto(
+                        LocalDate.of(m.getYear(), m.getMonth(), 1).toString(),   // "2024-03-01"
+                        m.getAvgRate()
                 ))
                 .toList();
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,7 @@
 package com.bolaneradar.backend.dto.mapper.api;
 
 import com.bolaneradar.backend.dto.api.MortgageRateComparisonDto;
-import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.repository.projection.BankRateRow;
 
 import java.time.LocalDate;
 
@@ -27,8 +27,8 @@ public class MortgageRateComparisonMapper {
      */
     public static MortgageRateComparisonDto toDto(
             String bankName,
-            MortgageRate listRate,
-            MortgageRate avgRate,
+            BankRateRow listRate,
+            BankRateRow avgRate,
             Double diff,
             LocalDate lastChanged
     ) {
@@ -0,0 +1,83 @@
+package com.bolaneradar.backend.entity.core;
+
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Senaste räntan per bank, bindningstid och räntetyp.
+ * <p>
+ * Materialiserad vy över mortgage_rates som underhålls vid skrivning
+ * (CurrentRateService), så att publika läsningar slipper söka i historiken.
+ * Innehåller samma värden som den senaste historikraden.
+ */
+@Entity
+@Table(
+        name = "current_rates",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_current_rates_bank_term_type",
+                columnNames = {"bank_id", "term", "rate_type"}
+        )
+)
+public class CurrentRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bank_id", nullable = false)
+    private Bank bank;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MortgageTerm term;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RateType rateType;
+
+    @Column(nullable = false, precision = 4, scale = 2)
+    private BigDecimal ratePercent;
+
+    @Column(precision = 4, scale = 2)
+    private BigDecimal rateChange;
+
+    private LocalDate lastChangedDate;
+
+    @Column(nullable = false)
+    private LocalDate effectiveDate;
+
+    // 🔹 Standardkonstruktör krävs av JPA
+    public CurrentRate() {}
+
+    // 🔹 Ny serie – värden kopieras från historikraden
+    public CurrentRate(MortgageRate rate) {
+        this.bank = rate.getBank();
+        this.term = rate.getTerm();
+        this.rateType = rate.getRateType();
+        copyFrom(rate);
+    }
+
+    /**
+     * Tar över värdena från en nyare historikrad i samma serie.
+     */
+    public void copyFrom(MortgageRate rate) {
+        this.ratePercent = rate.getRatePercent();
+        this.rateChange = rate.getRateChange();
+        this.lastChangedDate = rate.getLastChangedDate();
+        this.effectiveDate = rate.getEffectiveDate();
+    }
+
+    // 🔹 Getters
+    public Long getId() { return id; }
+    public Bank getBank() { return bank; }
+    public MortgageTerm getTerm() { return term; }
+    public RateType getRateType() { return rateType; }
+    public BigDecimal getRatePercent() { return ratePercent; }
+    public BigDecimal getRateChange() { return rateChange; }
+    public LocalDate getLastChangedDate() { return lastChangedDate; }
+    public LocalDate getEffectiveDate() { return effectiveDate; }
+}
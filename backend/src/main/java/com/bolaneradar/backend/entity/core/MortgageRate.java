@@ -15,8 +15,13 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 @Table(name = "mortgage_rates")
 public class MortgageRate {
 
+    /**
+     * Id från sekvensen mortgage_rates_seq i block om 50
+     * (pooled), så att saveAll kan skicka INSERT i JDBC-batchar.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mortgage_rates_seq")
+    @SequenceGenerator(name = "mortgage_rates_seq", sequenceName = "mortgage_rates_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -70,6 +75,13 @@ public class MortgageRate {
      */
     private LocalDate lastChangedDate;
 
+    /**
+     * Senaste dag då räntan observerades (intervallagring av listräntor).
+     * Raden gäller då från effectiveDate till och med lastSeenDate.
+     * Null betyder att raden endast gäller sitt effectiveDate (daglig lagring).
+     */
+    private LocalDate lastSeenDate;
+
     // 🔹 Standardkonstruktör krävs av JPA
     public MortgageRate() {}
 
@@ -106,4 +118,7 @@ public class MortgageRate {
 
     public LocalDate getLastChangedDate() { return lastChangedDate; }
     public void setLastChangedDate(LocalDate lastChangedDate) { this.lastChangedDate = lastChangedDate; }
+
+    public LocalDate getLastSeenDate() { return lastSeenDate; }
+    public void setLastSeenDate(LocalDate lastSeenDate) { this.lastSeenDate = lastSeenDate; }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.bolaneradar.backend.entity.core;
+
+import jakarta.persistence.*;
+
+/**
+ * Version för räntedata (en enda rad, id = 1).
+ * <p>
+ * Ökas i samma transaktion som varje skrivning av räntor eller banker,
+ * oavsett process, så att webbappen kan upptäcka ändringar som
+ * committats av batch-scrapern.
+ */
+@Entity
+@Table(name = "rate_data_version")
+public class RateDataVersion {
+
+    /** Id för den enda raden. */
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long version;
+
+    // 🔹 Standardkonstruktör krävs av JPA
+    public RateDataVersion() {}
+
+    public Integer getId() { return id; }
+
+    public Long getVersion() { return version; }
+}
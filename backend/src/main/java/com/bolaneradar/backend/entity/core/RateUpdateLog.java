@@ -1,5 +1,6 @@
 package com.bolaneradar.backend.entity.core;
 
+import com.bolaneradar.backend.entity.enums.ScrapeOutcome;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -8,8 +9,10 @@ import java.time.LocalDateTime;
 @Table(name = "rate_update_log")
 public class RateUpdateLog {
 
+    // Id från sekvensen rate_update_log_seq i block om 50 (JDBC-batchning möjlig)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rate_update_log_seq")
+    @SequenceGenerator(name = "rate_update_log_seq", sequenceName = "rate_update_log_seq", allocationSize = 50)
     private Long id;
 
     // När uppdateringen skedde
@@ -39,16 +42,28 @@ public class RateUpdateLog {
 
     private long durationMs; // hur lång tid skrapningen tog
 
+    // SUCCESS / FAILED / TIMEOUT (null för äldre rader, härleds då från success)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ScrapeOutcome outcome;
+
     // === Konstruktorer ===
     public RateUpdateLog() {}
 
     public RateUpdateLog(LocalDateTime occurredAt, String sourceName, int importedCount, Bank bank,
                          boolean success, String errorMessage, long durationMs) {
+        this(occurredAt, sourceName, importedCount, bank,
+                success ? ScrapeOutcome.SUCCESS : ScrapeOutcome.FAILED, errorMessage, durationMs);
+    }
+
+    public RateUpdateLog(LocalDateTime occurredAt, String sourceName, int importedCount, Bank bank,
+                         ScrapeOutcome outcome, String errorMessage, long durationMs) {
         this.occurredAt = occurredAt;
         this.sourceName = sourceName;
         this.importedCount = importedCount;
         this.bank = bank;
-        this.success = success;
+        this.success = outcome == ScrapeOutcome.SUCCESS;
+        this.outcome = outcome;
         this.errorMessage = errorMessage;
         this.durationMs = durationMs;
     }
@@ -76,4 +91,10 @@ public class RateUpdateLog {
 
     public long getDurationMs() { return durationMs; }
     public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public ScrapeOutcome getOutcome() {
+        if (outcome != null) return outcome;
+        return success ? ScrapeOutcome.SUCCESS : ScrapeOutcome.FAILED;
+    }
+    public void setOutcome(ScrapeOutcome outcome) { this.outcome = outcome; }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.bolaneradar.backend.entity.enums;
+
+/**
+ * Utfall för en banks uppdatering.
+ * SUCCESS = räntor hämtades (eller sidorna var oförändrade)
+ * FAILED  = scrapern kastade fel eller returnerade inga räntor
+ * TIMEOUT = bankens eller batchens tidsgräns nåddes, scrapern avbröts
+ */
+public enum ScrapeOutcome {
+    SUCCESS,
+    FAILED,
+    TIMEOUT
+}
@@ -0,0 +1,99 @@
+package com.bolaneradar.backend.repository;
+
+import com.bolaneradar.backend.entity.core.CurrentRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.projection.BankRateRow;
+import com.bolaneradar.backend.repository.projection.MarketRateSnapshotRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ================================================================
+ * CURRENTRATEREPOSITORY
+ * ================================================================
+ * Detta lager hanterar:
+ * - Databasåtkomst för CurrentRate (senaste ränta per serie)
+ * - Läsningar för publika endpoints utan att söka i historiken
+ * <p></p>
+ * Repository-lagret ska:
+ * - Aldrig innehålla affärslogik
+ * - Tabellen skrivs endast av CurrentRateService
+ * ================================================================
+ */
+@Repository
+public interface CurrentRateRepository extends JpaRepository<CurrentRate, Long> {
+
+    /**
+     * Bankens aktuella list- och snitträntor för alla bindningstider
+     * (banksidans räntetabell) i ett enda anrop.
+     */
+    @Query("""
+            SELECT
+                c.term              AS term,
+                c.rateType          AS rateType,
+                c.ratePercent       AS ratePercent,
+                c.rateChange        AS rateChange,
+                c.lastChangedDate   AS lastChangedDate,
+                c.effectiveDate     AS effectiveDate
+            FROM CurrentRate c
+            WHERE c.bank.id = :bankId
+            """)
+    List<BankRateRow> findBankRateRows(@Param("bankId") Long bankId);
+
+    /**
+     * Aktuella räntor för flera banker – används vid uppdatering efter skrivning.
+     */
+    List<CurrentRate> findByBankIdIn(Collection<Long> bankIds);
+
+    /**
+     * Alla bankers aktuella räntor för en bindningstid (jämförelsetabellen).
+     */
+    List<CurrentRate> findByTerm(MortgageTerm term);
+
+    /**
+     * Alla bankers aktuella räntor för flera bindningstider i ett anrop
+     * (jämförelsetabellens samtliga flikar).
+     */
+    List<CurrentRate> findByTermIn(Collection<MortgageTerm> terms);
+
+    /**
+     * Alla bankers aktuella räntor av en typ för en bindningstid.
+     */
+    List<CurrentRate> findByRateTypeAndTerm(RateType rateType, MortgageTerm term);
+
+    /**
+     * Aktuell ränta för en bank + bindningstid + rateType.
+     */
+    Optional<CurrentRate> findByBankIdAndTermAndRateType(Long bankId, MortgageTerm term, RateType rateType);
+
+    /**
+     * Ta bort bankens aktuella räntor (när historiken rensas).
+     */
+    void deleteByBankId(Long bankId);
+
+    /**
+     * Kompakt snapshot av aktuella räntor för givna bindningstider.
+     * <p>
+     * Används av SmartRate för att bygga MarketSnapshot i ett enda DB-anrop.
+     */
+    @Query("""
+            SELECT
+                c.term          AS term,
+                c.bank.id       AS bankId,
+                c.ratePercent   AS ratePercent
+            FROM CurrentRate c
+            WHERE c.rateType = :rateType
+              AND c.term IN :terms
+            """)
+    List<MarketRateSnapshotRow> findMarketSnapshotRows(
+            @Param("rateType") RateType rateType,
+            @Param("terms") Collection<MortgageTerm> terms
+    );
+}
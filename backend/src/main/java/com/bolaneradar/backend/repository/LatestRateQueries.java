@@ -0,0 +1,30 @@
+package com.bolaneradar.backend.repository;
+
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.RateType;
+
+import java.util.List;
+
+/**
+ * ================================================================
+ * LATEST RATE QUERIES
+ * ================================================================
+ * Frågor som hämtar senaste raden per serie (bank + bindningstid)
+ * för en räntetyp. Ingår i MortgageRateRepository som fragment.
+ * Används för att bygga om och kontrollera current_rates.
+ * <p>
+ * Implementationen (LatestRateQueriesImpl) väljer SQL per databas:
+ * - PostgreSQL: DISTINCT ON
+ * - Övriga (H2): ROW_NUMBER() OVER (PARTITION BY ...)
+ * <p>
+ * Delar flera rader samma senaste datum returneras endast raden
+ * med högst id (samma regel som ScraperService använder).
+ * ================================================================
+ */
+public interface LatestRateQueries {
+
+    /**
+     * Hämtar den senaste räntan per bank och term för en rateType.
+     */
+    List<MortgageRate> findLatestRatesByType(RateType rateType);
+}
@@ -0,0 +1,76 @@
+package com.bolaneradar.backend.repository;
+
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.RateType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.List;
+
+/**
+ * ================================================================
+ * LATEST RATE QUERIES – IMPLEMENTATION
+ * ================================================================
+ * Ersätter den korrelerade MAX(effectiveDate)-subqueryn, som kördes
+ * en gång per rad och växte med historikens längd per serie.
+ * <p>
+ * Båda varianterna läser typens rader en gång, sorterade per serie
+ * (index bank_id, term, rate_type, effective_date DESC):
+ * - PostgreSQL: DISTINCT ON (bank_id, term) behåller första raden
+ * - Övriga: ROW_NUMBER() = 1 per partition (portabel, stöds av H2)
+ * ================================================================
+ */
+public class LatestRateQueriesImpl implements LatestRateQueries {
+
+    private static final String RATE_COLUMNS = """
+            id, bank_id, term, rate_type, rate_percent, effective_date,
+            rate_change, last_changed_date, last_seen_date""";
+
+    private final EntityManager entityManager;
+    private final boolean postgres;
+
+    public LatestRateQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.postgres = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<MortgageRate> findLatestRatesByType(RateType rateType) {
+        return entityManager
+                .createNativeQuery(latestPerSeriesSql(postgres, RATE_COLUMNS,
+                        "rate_type = :rateType"), MortgageRate.class)
+                .setParameter("rateType", rateType.name())
+                .getResultList();
+    }
+
+    /**
+     * SQL för senaste raden per (bank_id, term) bland rader som matchar filter.
+     * Vid samma datum vinner högst id. Används även av LatestRateQueryBenchmark.
+     */
+    static String latestPerSeriesSql(boolean postgres, String columns, String filter) {
+        if (postgres) {
+            return """
+                    SELECT DISTINCT ON (bank_id, term) %s
+                    FROM mortgage_rates
+                    WHERE %s
+                    ORDER BY bank_id, term, effective_date DESC, id DESC
+                    """.formatted(columns, filter);
+        }
+        return """
+                SELECT %s FROM (
+                    SELECT m.*, ROW_NUMBER() OVER (
+                        PARTITION BY m.bank_id, m.term
+                        ORDER BY m.effective_date DESC, m.id DESC
+                    ) AS rn
+                    FROM mortgage_rates m
+                    WHERE %s
+                ) latest
+                WHERE rn = 1
+                """.formatted(columns, filter);
+    }
+}
@@ -2,7 +2,10 @@ package com.bolaneradar.backend.repository;
 
 import com.bolaneradar.backend.entity.core.Bank;
 import com.bolaneradar.backend.entity.core.MortgageRate;
-import com.bolaneradar.backend.repository.projection.MarketRateSnapshotRow;
+import com.bolaneradar.backend.repository.projection.AverageRateKeyRow;
+import com.bolaneradar.backend.repository.projection.MonthlyAverageRow;
+import com.bolaneradar.backend.repository.projection.RateColumnRow;
+import com.bolaneradar.backend.repository.projection.TermCountRow;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 
@@ -12,6 +15,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,7 +33,7 @@ import java.util.List;
  * ================================================================
  */
 @Repository
-public interface MortgageRateRepository extends JpaRepository<MortgageRate, Long> {
+public interface MortgageRateRepository extends JpaRepository<MortgageRate, Long>, LatestRateQueries {
 
     // ========================================================================
     // =============       BANK-SPECIFIKA OPERATIONER       ===================
@@ -130,6 +134,51 @@ public interface MortgageRateRepository extends JpaRepository<MortgageRate, Long
             RateType rateType
     );
 
+    /**
+     * Månadsmedel av snitträntor för en bank + term från och med ett datum
+     * (historikgrafen). Datumgräns och aggregering sker i databasen, så
+     * resultatet är högst en rad per månad även för långa fönster.
+     */
+    @Query("""
+            SELECT
+                YEAR(m.effectiveDate)   AS year,
+                MONTH(m.effectiveDate)  AS month,
+                AVG(m.ratePercent)      AS avgRate
+            FROM MortgageRate m
+            WHERE m.bank.id = :bankId
+              AND m.term = :term
+              AND m.rateType = 'AVERAGERATE'
+              AND m.effectiveDate >= :from
+            GROUP BY YEAR(m.effectiveDate), MONTH(m.effectiveDate)
+            ORDER BY YEAR(m.effectiveDate), MONTH(m.effectiveDate)
+            """)
+    List<MonthlyAverageRow> findMonthlyAveragesSince(
+            @Param("bankId") Long bankId,
+            @Param("term") MortgageTerm term,
+            @Param("from") LocalDate from
+    );
+
+    /**
+     * Antal snitträntor per bindningstid för en bank från och med ett datum.
+     * <p>
+     * Banken anges med namn (skiftlägesokänsligt) så att historikvyns
+     * tillgängliga bindningstider kräver ett enda DB-anrop.
+     */
+    @Query("""
+            SELECT
+                m.term      AS term,
+                COUNT(m)    AS rowCount
+            FROM MortgageRate m
+            WHERE LOWER(m.bank.name) = LOWER(:bankName)
+              AND m.rateType = 'AVERAGERATE'
+              AND m.effectiveDate >= :from
+            GROUP BY m.term
+            """)
+    List<TermCountRow> countAverageRatesPerTermSince(
+            @Param("bankName") String bankName,
+            @Param("from") LocalDate from
+    );
+
     /**
      * Kontroll om identisk snittränta redan finns.
      * Används för att undvika dubletter vid import.
@@ -141,6 +190,56 @@ public interface MortgageRateRepository extends JpaRepository<MortgageRate, Long
             LocalDate effectiveDate
     );
 
+    // ========================================================================
+    // ==========   SCRAPING – FÖRHÄMTNING PER BANK (ÄNDRINGSKOLL)   ==========
+    // ========================================================================
+
+    /**
+     * Hämtar bankens senaste rad per (term, rateType) i ett enda anrop.
+     * <p>
+     * Används av ScraperService för att beräkna rateChange / lastChangedDate
+     * utan att ladda hela historiken per bindningstid.
+     * <p>
+     * OBS:
+     * - Flera rader kan dela samma senaste datum (t.ex. två körningar samma dag).
+     *   Service-lagret väljer då raden med högst id.
+     */
+    @Query("""
+            SELECT m
+            FROM MortgageRate m
+            WHERE m.bank.id = :bankId
+              AND m.effectiveDate = (
+                  SELECT MAX(m2.effectiveDate)
+                  FROM MortgageRate m2
+                  WHERE m2.bank = m.bank
+                    AND m2.term = m.term
+                    AND m2.rateType = m.rateType
+              )
+            """)
+    List<MortgageRate> findLatestRatesForBank(@Param("bankId") Long bankId);
+
+    /**
+     * Hämtar befintliga snitträntor för en bank på givna datum.
+     * <p>
+     * Används för dubblettkontroll av skrapade snitträntor:
+     * datumen är de som faktiskt förekommer i den aktuella skrapningen,
+     * vilket håller resultatet litet oavsett hur lång historiken är.
+     */
+    @Query("""
+            SELECT
+                m.term           AS term,
+                m.effectiveDate  AS effectiveDate,
+                m.ratePercent    AS ratePercent
+            FROM MortgageRate m
+            WHERE m.bank.id = :bankId
+              AND m.rateType = 'AVERAGERATE'
+              AND m.effectiveDate IN :dates
+            """)
+    List<AverageRateKeyRow> findAverageRateKeys(
+            @Param("bankId") Long bankId,
+            @Param("dates") Collection<LocalDate> dates
+    );
+
     // ========================================================================
     // ==========    SENASTE RÄNTA FÖR BANK + TERM + RATE TYPE    ============
     // ========================================================================
@@ -165,25 +264,8 @@ public interface MortgageRateRepository extends JpaRepository<MortgageRate, Long
     // =============       SENASTE RÄNTOR PER RATE TYPE        =================
     // ========================================================================
 
-    /**
-     * Hämtar de senaste räntorna per bank, term och rateType.
-     * Använder en subquery för att hämta MAX(effectiveDate).
-     */
-    @Query("""
-            SELECT m
-            FROM MortgageRate m
-            WHERE m.rateType = :rateType
-              AND m.effectiveDate = (
-                  SELECT MAX(m2.effectiveDate)
-                  FROM MortgageRate m2
-                  WHERE m2.bank = m.bank
-                    AND m2.term = m.term
-                    AND m2.rateType = :rateType
-              )
-            """)
-    List<MortgageRate> findLatestRatesByType(
-            @Param("rateType") RateType rateType
-    );
+    // findLatestRatesByType finns i LatestRateQueries
+    // (DISTINCT ON / ROW_NUMBER per databas i stället för korrelerad MAX-subquery)
 
     // ========================================================================
     // ==========   GEMENSAM SNITTRÄNTA-MÅNAD FÖR ALLA BANKER   ===============
@@ -221,7 +303,7 @@ public interface MortgageRateRepository extends JpaRepository<MortgageRate, Long
     // ========================================================================
 
     /**
-     * Hämtar alla listräntor (LISTRATE) från och med ett visst datum,
+     * Hämtar alla listräntor (LISTRATE) som gäller från och med ett visst datum,
      * sorterade för effektiv vidare bearbetning i service-lagret.
      * <p>
      * Sorteringsordning:
@@ -236,12 +318,14 @@ public interface MortgageRateRepository extends JpaRepository<MortgageRate, Long
      * OBS:
      * - Ingen affärslogik här
      * - Tidsavgränsning styrs av service-lagret
+     * - Intervallrader (lastSeenDate) tas med om de fortfarande gällde
+     *   efter fromDate, även om de började gälla tidigare
      */
     @Query("""
                 SELECT m
                 FROM MortgageRate m
                 WHERE m.rateType = 'LISTRATE'
-                  AND m.effectiveDate >= :fromDate
+                  AND COALESCE(m.lastSeenDate, m.effectiveDate) >= :fromDate
                 ORDER BY
                     m.bank.id,
                     m.term,
@@ -252,6 +336,29 @@ public interface MortgageRateRepository extends JpaRepository<MortgageRate, Long
     );
 
 
+    // ========================================================================
+    // ==============   KOMPAKTERING AV DAGLIGA LISTRÄNTOR    ==================
+    // ========================================================================
+
+    /**
+     * Hämtar alla listräntor i kronologisk ordning per bank och bindningstid.
+     * <p>
+     * Används endast av engångskompakteringen som slår ihop
+     * oförändrade dagliga rader till intervall.
+     */
+    @Query("""
+                SELECT m
+                FROM MortgageRate m
+                WHERE m.rateType = 'LISTRATE'
+                ORDER BY
+                    m.bank.id,
+                    m.term,
+                    m.effectiveDate,
+                    m.id
+            """)
+    List<MortgageRate> findAllListRatesChronological();
+
+
     // ========================================================================
     // ==============     BANKENS SENASTE SNITTRÄNTA-MÅNAD     =================
     // ========================================================================
@@ -314,42 +421,45 @@ public interface MortgageRateRepository extends JpaRepository<MortgageRate, Long
 
 
     // ========================================================================
-    // ==========   MARKET SNAPSHOT – PRESTANDAKRITISK PROJECTION  ============
+    // ==============       LÄSMODELL I MINNET (KOLUMNER)      ================
     // ========================================================================
 
     /**
-     * Hämtar ett kompakt snapshot av senaste snitträntor (AVERAGERATE)
-     * för givna bindningstider.
-     * <p>
-     * Används av SmartRate för att:
-     * - bygga MarketSnapshot i ett enda DB-anrop
-     * - undvika upprepade queries per term och bank
-     * <p>
-     * Returnerar endast de fält som behövs för analys
-     * via en projection (MarketRateSnapshotRow).
-     * <p>
-     * OBS:
-     * - Ingen affärslogik här
-     * - Ingen aggregering – sker i service-lagret
+     * Hela historiken som kolumnrader, i insättningsordning (id).
+     * Används endast när RateColumnStore laddas.
      */
     @Query("""
             SELECT
-                m.term          AS term,
-                m.bank.id       AS bankId,
-                m.ratePercent   AS ratePercent
+                m.bank.id         AS bankId,
+                m.term            AS term,
+                m.rateType        AS rateType,
+                m.ratePercent     AS ratePercent,
+                m.effectiveDate   AS effectiveDate,
+                m.rateChange      AS rateChange,
+                m.lastChangedDate AS lastChangedDate,
+                m.lastSeenDate    AS lastSeenDate
             FROM MortgageRate m
-            WHERE m.rateType = :rateType
-              AND m.term IN :terms
-              AND m.effectiveDate = (
-                  SELECT MAX(m2.effectiveDate)
-                  FROM MortgageRate m2
-                  WHERE m2.bank = m.bank
-                    AND m2.term = m.term
-                    AND m2.rateType = :rateType
-              )
+            ORDER BY m.id
             """)
-    List<MarketRateSnapshotRow> findMarketSnapshotRows(
-            @Param("rateType") RateType rateType,
-            @Param("terms") List<MortgageTerm> terms
-    );
-}
\ No newline at end of file
+    List<RateColumnRow> findAllRateColumns();
+
+    /**
+     * Historiken för givna banker, i insättningsordning (id).
+     * Används när RateColumnStore laddar om banker efter en commit.
+     */
+    @Query("""
+            SELECT
+                m.bank.id         AS bankId,
+                m.term            AS term,
+                m.rateType        AS rateType,
+                m.ratePercent     AS ratePercent,
+                m.effectiveDate   AS effectiveDate,
+                m.rateChange      AS rateChange,
+                m.lastChangedDate AS lastChangedDate,
+                m.lastSeenDate    AS lastSeenDate
+            FROM MortgageRate m
+            WHERE m.bank.id IN :bankIds
+            ORDER BY m.id
+            """)
+    List<RateColumnRow> findRateColumnsForBanks(@Param("bankIds") Collection<Long> bankIds);
+}
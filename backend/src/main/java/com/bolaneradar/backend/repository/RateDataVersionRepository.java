@@ -0,0 +1,33 @@
+package com.bolaneradar.backend.repository;
+
+import com.bolaneradar.backend.entity.core.RateDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * ================================================================
+ * RATEDATAVERSIONREPOSITORY
+ * ================================================================
+ * Detta lager hanterar:
+ * - Läsning och ökning av räntedatans version (rate_data_version)
+ * <p></p>
+ * Repository-lagret ska:
+ * - Vara helt fritt från affärslogik
+ * - Öka versionen i anroparens transaktion (eller en egen om
+ *   ingen pågår)
+ * ================================================================
+ */
+@Repository
+public interface RateDataVersionRepository extends JpaRepository<RateDataVersion, Integer> {
+
+    @Query("SELECT v.version FROM RateDataVersion v WHERE v.id = " + RateDataVersion.ID)
+    Long findVersion();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RateDataVersion v SET v.version = v.version + 1 WHERE v.id = " + RateDataVersion.ID)
+    int increment();
+}
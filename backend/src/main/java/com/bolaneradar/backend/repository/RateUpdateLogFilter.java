@@ -0,0 +1,23 @@
+package com.bolaneradar.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter för bläddring i uppdateringsloggen. Null betyder "inget filter".
+ *
+ * @param bankName bankens namn (skiftlägesokänsligt)
+ * @param success  endast lyckade (true) eller misslyckade (false) körningar
+ * @param from     från och med tidpunkt (inklusive)
+ * @param to       till tidpunkt (exklusive)
+ */
+public record RateUpdateLogFilter(
+        String bankName,
+        Boolean success,
+        LocalDateTime from,
+        LocalDateTime to
+) {
+
+    public static RateUpdateLogFilter none() {
+        return new RateUpdateLogFilter(null, null, null, null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.bolaneradar.backend.repository;
+
+import com.bolaneradar.backend.repository.projection.RateUpdateLogRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ================================================================
+ * RATE UPDATE LOG QUERIES
+ * ================================================================
+ * Sidvis bläddring i uppdateringsloggen med keyset-paginering.
+ * Ingår i RateUpdateLogRepository som fragment.
+ * <p>
+ * Sorteras på (occurredAt, id) fallande. Nästa sida hämtas med
+ * sista radens (occurredAt, id) som cursor, så varje sida kostar
+ * lika mycket oavsett hur långt bak man bläddrar.
+ * ================================================================
+ */
+public interface RateUpdateLogQueries {
+
+    /**
+     * Hämtar upp till limit rader efter cursorn som matchar filtret.
+     * Utan cursor (null) börjar sidan vid senaste loggposten.
+     */
+    List<RateUpdateLogRow> findLogPage(
+            RateUpdateLogFilter filter,
+            LocalDateTime cursorOccurredAt,
+            Long cursorId,
+            int limit
+    );
+}
@@ -0,0 +1,82 @@
+package com.bolaneradar.backend.repository;
+
+import com.bolaneradar.backend.repository.projection.RateUpdateLogRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ================================================================
+ * RATE UPDATE LOG QUERIES – IMPLEMENTATION
+ * ================================================================
+ * Frågan byggs med endast de villkor som är satta, så att databasen
+ * kan välja index per kombination i stället för en generisk plan
+ * med "(:param IS NULL OR ...)":
+ * - Utan bankfilter: (occurred_at DESC, id DESC), migrering V7
+ * - Med bankfilter: (bank_id, occurred_at DESC), migrering V5
+ * <p>
+ * Banknamnet hämtas via LEFT JOIN i samma query (loggar utan bank
+ * behålls).
+ * ================================================================
+ */
+public class RateUpdateLogQueriesImpl implements RateUpdateLogQueries {
+
+    private final EntityManager entityManager;
+
+    public RateUpdateLogQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<RateUpdateLogRow> findLogPage(
+            RateUpdateLogFilter filter,
+            LocalDateTime cursorOccurredAt,
+            Long cursorId,
+            int limit
+    ) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.bankName() != null) {
+            conditions.add("LOWER(b.name) = LOWER(:bankName)");
+            params.put("bankName", filter.bankName());
+        }
+        if (filter.success() != null) {
+            conditions.add("l.success = :success");
+            params.put("success", filter.success());
+        }
+        if (filter.from() != null) {
+            conditions.add("l.occurredAt >= :from");
+            params.put("from", filter.from());
+        }
+        if (filter.to() != null) {
+            conditions.add("l.occurredAt < :to");
+            params.put("to", filter.to());
+        }
+        if (cursorOccurredAt != null) {
+            conditions.add("(l.occurredAt < :cursorAt OR (l.occurredAt = :cursorAt AND l.id < :cursorId))");
+            params.put("cursorAt", cursorOccurredAt);
+            params.put("cursorId", cursorId);
+        }
+
+        String jpql = """
+                SELECT new com.bolaneradar.backend.repository.projection.RateUpdateLogRow(
+                    l.id, b.name, l.sourceName, l.importedCount, l.success,
+                    l.outcome, l.errorMessage, l.durationMs, l.occurredAt)
+                FROM RateUpdateLog l
+                LEFT JOIN l.bank b
+                %s
+                ORDER BY l.occurredAt DESC, l.id DESC
+                """.formatted(conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions));
+
+        TypedQuery<RateUpdateLogRow> query = entityManager.createQuery(jpql, RateUpdateLogRow.class);
+        params.forEach(query::setParameter);
+
+        return query.setMaxResults(limit).getResultList();
+    }
+}
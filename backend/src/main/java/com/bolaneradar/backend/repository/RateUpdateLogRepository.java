@@ -3,8 +3,10 @@ package com.bolaneradar.backend.repository;
 import com.bolaneradar.backend.entity.core.Bank;
 import com.bolaneradar.backend.entity.core.RateUpdateLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -14,6 +16,7 @@ import java.util.List;
  * Detta lager hanterar:
  * - Databasåtkomst för RateUpdateLog
  * - Hämtning av uppdateringshistorik per bank eller globalt
+ * - Sidvis bläddring med filter (RateUpdateLogQueries)
  * <p></p>
  * Repository-lagret ska:
  * - Vara helt fritt från affärslogik
@@ -22,7 +25,45 @@ import java.util.List;
  * ================================================================
  */
 @Repository
-public interface RateUpdateLogRepository extends JpaRepository<RateUpdateLog, Long> {
+public interface RateUpdateLogRepository extends JpaRepository<RateUpdateLog, Long>, RateUpdateLogQueries {
     List<RateUpdateLog> findAllByOrderByOccurredAtDesc();
     List<RateUpdateLog> findByBankOrderByOccurredAtDesc(Bank bank);
+
+    /**
+     * Senaste loggposten per bank, med banken hämtad i samma query.
+     * <p>
+     * MAX(occurredAt) per bank räknas en gång (GROUP BY) i stället för att
+     * läsa hela loggen. Delar flera rader samma tidpunkt returneras alla,
+     * sorterade med högst id först – service-lagret behåller den första.
+     */
+    @Query("""
+            SELECT l
+            FROM RateUpdateLog l
+            JOIN FETCH l.bank
+            WHERE (l.bank.id, l.occurredAt) IN (
+                SELECT l2.bank.id, MAX(l2.occurredAt)
+                FROM RateUpdateLog l2
+                WHERE l2.bank IS NOT NULL
+                GROUP BY l2.bank.id
+            )
+            ORDER BY l.occurredAt DESC, l.id DESC
+            """)
+    List<RateUpdateLog> findLatestPerBank();
+
+    /**
+     * Senaste tidpunkt då någon bank uppdaterades.
+     */
+    @Query("""
+            SELECT MAX(l.occurredAt)
+            FROM RateUpdateLog l
+            WHERE l.bank IS NOT NULL
+            """)
+    LocalDateTime findLatestOccurredAt();
+
+    /**
+     * Högsta id – ändras vid varje ny loggpost (loggen skrivs bara till).
+     * Besvaras från primärnyckelindexet.
+     */
+    @Query("SELECT MAX(l.id) FROM RateUpdateLog l")
+    Long findMaxId();
 }
@@ -0,0 +1,32 @@
+package com.bolaneradar.backend.repository.projection;
+
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * ================================================================
+ * AVERAGE RATE KEY PROJECTION
+ * ================================================================
+ * Minimal projection av en befintlig snittränta (AVERAGERATE).
+ * <p>
+ * Används av:
+ * - ScraperService (dubblettkontroll vid import)
+ * <p>
+ * Syfte:
+ * - Kontrollera om en skrapad snittränta redan finns
+ *   utan att ladda bankens hela historik som entiteter
+ * <p>
+ * Designprinciper:
+ * - Endast läsning
+ * - Ingen logik
+ * ================================================================
+ */
+public interface AverageRateKeyRow {
+    MortgageTerm getTerm();
+
+    LocalDate getEffectiveDate();
+
+    BigDecimal getRatePercent();
+}
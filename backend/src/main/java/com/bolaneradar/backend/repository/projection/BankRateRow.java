@@ -0,0 +1,41 @@
+package com.bolaneradar.backend.repository.projection;
+
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * ================================================================
+ * BANK RATE ROW PROJECTION
+ * ================================================================
+ * Projection-interface för en banks aktuella räntor
+ * (en rad per bindningstid och räntetyp i current_rates).
+ * <p>
+ * Används av:
+ * - BankRateReadService (banksidans räntetabell)
+ * <p>
+ * Syfte:
+ * - Hela räntetabellen hämtas i ett enda DB-anrop
+ * - Kostnaden är oberoende av hur lång historiken är
+ * <p>
+ * Designprinciper:
+ * - Endast läsning
+ * - Ingen logik
+ * - Endast för interna beräkningar (ej API/DTO)
+ * ================================================================
+ */
+public interface BankRateRow {
+    MortgageTerm getTerm();
+
+    RateType getRateType();
+
+    BigDecimal getRatePercent();
+
+    BigDecimal getRateChange();
+
+    LocalDate getLastChangedDate();
+
+    LocalDate getEffectiveDate();
+}
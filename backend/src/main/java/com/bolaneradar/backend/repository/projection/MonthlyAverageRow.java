@@ -0,0 +1,27 @@
+package com.bolaneradar.backend.repository.projection;
+
+/**
+ * ================================================================
+ * MONTHLY AVERAGE PROJECTION
+ * ================================================================
+ * Snittränta aggregerad per kalendermånad (GROUP BY år, månad).
+ * <p>
+ * Används av:
+ * - BankHistoryService (historikgrafen)
+ * <p>
+ * Syfte:
+ * - Datumgräns och månadsmedel beräknas i databasen
+ * - En rad per månad oavsett hur många rader månaden har
+ * <p>
+ * Designprinciper:
+ * - Endast läsning
+ * - Ingen logik
+ * ================================================================
+ */
+public interface MonthlyAverageRow {
+    Integer getYear();
+
+    Integer getMonth();
+
+    Double getAvgRate();
+}
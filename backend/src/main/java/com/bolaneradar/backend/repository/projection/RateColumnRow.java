@@ -0,0 +1,43 @@
+package com.bolaneradar.backend.repository.projection;
+
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * ================================================================
+ * RATE COLUMN PROJECTION
+ * ================================================================
+ * En historikrad med exakt de fält som läsmodellen i minnet lagrar.
+ * <p>
+ * Används av:
+ * - RateColumnStore (laddning och omladdning per bank)
+ * <p>
+ * Syfte:
+ * - Hela historiken kan läsas utan att JPA-entiteter skapas
+ * - Raden kopieras direkt till primitiva kolumner
+ * <p>
+ * Designprinciper:
+ * - Endast läsning
+ * - Ingen logik
+ * ================================================================
+ */
+public interface RateColumnRow {
+    Long getBankId();
+
+    MortgageTerm getTerm();
+
+    RateType getRateType();
+
+    BigDecimal getRatePercent();
+
+    LocalDate getEffectiveDate();
+
+    BigDecimal getRateChange();
+
+    LocalDate getLastChangedDate();
+
+    LocalDate getLastSeenDate();
+}
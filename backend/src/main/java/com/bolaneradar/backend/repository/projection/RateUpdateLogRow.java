@@ -0,0 +1,34 @@
+package com.bolaneradar.backend.repository.projection;
+
+import com.bolaneradar.backend.entity.enums.ScrapeOutcome;
+
+import java.time.LocalDateTime;
+
+/**
+ * ================================================================
+ * RATE UPDATE LOG PROJECTION
+ * ================================================================
+ * En rad i uppdateringsloggen med bankens namn hämtat via join.
+ * <p>
+ * Används av:
+ * - RateUpdateLogService (sidvis bläddring i admin)
+ * <p>
+ * Syfte:
+ * - Banknamnet kommer med i samma query (ingen proxy per rad)
+ * - Inga managed entities för en lista som bara läses
+ * <p>
+ * Record i stället för interface eftersom frågan byggs dynamiskt
+ * (JPQL constructor expression).
+ * ================================================================
+ */
+public record RateUpdateLogRow(
+        Long id,
+        String bankName,
+        String sourceName,
+        int importedCount,
+        boolean success,
+        ScrapeOutcome outcome,
+        String errorMessage,
+        long durationMs,
+        LocalDateTime occurredAt
+) {}
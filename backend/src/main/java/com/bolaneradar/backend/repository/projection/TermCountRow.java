@@ -0,0 +1,26 @@
+package com.bolaneradar.backend.repository.projection;
+
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+
+/**
+ * ================================================================
+ * TERM COUNT PROJECTION
+ * ================================================================
+ * Antal rader per bindningstid (GROUP BY term).
+ * <p>
+ * Används av:
+ * - BankHistoryService (tillgängliga bindningstider i historikvyn)
+ * <p>
+ * Syfte:
+ * - Räkna datapunkter i databasen i stället för att ladda entiteter
+ * <p>
+ * Designprinciper:
+ * - Endast läsning
+ * - Ingen logik
+ * ================================================================
+ */
+public interface TermCountRow {
+    MortgageTerm getTerm();
+
+    Long getRowCount();
+}
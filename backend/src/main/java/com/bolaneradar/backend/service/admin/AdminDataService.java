@@ -2,7 +2,9 @@ package com.bolaneradar.backend.service.admin;
 
 import com.bolaneradar.backend.entity.core.Bank;
 import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.repository.CurrentRateRepository;
 import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,14 +40,20 @@ public class AdminDataService {
 
     private final BankRepository bankRepository;
     private final MortgageRateRepository rateRepository;
+    private final CurrentRateRepository currentRateRepository;
     private final RateUpdateLogService rateUpdateLogService;
+    private final RateColumnStore rateColumnStore;
 
     public AdminDataService(BankRepository bankRepository,
                             MortgageRateRepository rateRepository,
-                            RateUpdateLogService rateUpdateLogService) {
+                            CurrentRateRepository currentRateRepository,
+                            RateUpdateLogService rateUpdateLogService,
+                            RateColumnStore rateColumnStore) {
         this.bankRepository = bankRepository;
         this.rateRepository = rateRepository;
+        this.currentRateRepository = currentRateRepository;
         this.rateUpdateLogService = rateUpdateLogService;
+        this.rateColumnStore = rateColumnStore;
     }
 
     /**
@@ -56,8 +64,10 @@ public class AdminDataService {
     public void clearDatabase() {
         System.out.println("Rensar databas...");
 
-        // Ta bort räntor först
+        // Ta bort räntor först (aktuella + historik)
+        currentRateRepository.deleteAllInBatch();
         rateRepository.deleteAll();
+        rateColumnStore.rebuildAfterCommit();
 
         // Ta bort loggar (om de finns)
         rateUpdateLogService.clearAllLogs();
@@ -86,6 +96,9 @@ public class AdminDataService {
         Bank landshypotekbank = getOrCreateBank("Landshypotek Bank", "https://www.landshypotek.se/lana/bolanerantor/");
         Bank alandsbanken = getOrCreateBank("Ålandsbanken", "https://www.alandsbanken.se/banktjanster/lana-pengar/bolan");
         Bank ikanobank = getOrCreateBank("Ikano Bank", "https://ikanobank.se/bolan/bolanerantor");
+
+        // Nya banker ska synas i läsmodellens bankregister
+        rateColumnStore.rebuildAfterCommit();
     }
 
     /**
@@ -112,7 +125,9 @@ public class AdminDataService {
 
         Bank bank = optionalBank.get();
         int countBefore = rateRepository.findByBank(bank).size();
+        currentRateRepository.deleteByBankId(bank.getId());
         rateRepository.deleteByBank(bank);
+        rateColumnStore.rebuildAfterCommit();
 
         System.out.println("Rensade " + countBefore + " räntor för " + bank.getName());
         return "Rensade " + countBefore + " räntor för " + bank.getName() + ".";
@@ -4,11 +4,13 @@ import com.bolaneradar.backend.dto.admin.MortgageRateDto;
 import com.bolaneradar.backend.dto.mapper.admin.MortgageRateMapper;
 import com.bolaneradar.backend.entity.core.Bank;
 import com.bolaneradar.backend.entity.core.MortgageRate;
-import com.bolaneradar.backend.repository.MortgageRateRepository;
 import com.bolaneradar.backend.service.core.BankService;
+import com.bolaneradar.backend.service.core.CurrentRateService;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * ================================================================
@@ -22,7 +24,8 @@ import java.util.List;
  * Funktionalitet:
  * - Tar emot MortgageRateDto-objekt
  * - Slår upp tillhörande Bank
- * - Mappar DTO → Entity och sparar i databasen
+ * - Mappar DTO → Entity och sparar alla rader med en saveAll
+ * - Uppdaterar current_rates i samma transaktion (CurrentRateService)
  * - Returnerar sparade räntor som DTO
  * <p>
  * Designprinciper:
@@ -38,14 +41,14 @@ import java.util.List;
 @Service
 public class MortgageRateAdminService {
 
-    private final MortgageRateRepository rateRepository;
+    private final CurrentRateService currentRateService;
     private final BankService bankService;
 
     public MortgageRateAdminService(
-            MortgageRateRepository rateRepository,
+            CurrentRateService currentRateService,
             BankService bankService
     ) {
-        this.rateRepository = rateRepository;
+        this.currentRateService = currentRateService;
         this.bankService = bankService;
     }
 
@@ -55,18 +58,28 @@ public class MortgageRateAdminService {
      */
     public List<MortgageRateDto> createRates(List<MortgageRateDto> dtos) {
 
-        return dtos.stream()
-                .map(dto -> {
-                    Bank bank = bankService.getBankByName(dto.bankName())
-                            .orElseThrow(() ->
-                                    new IllegalArgumentException("Bank inte hittad: " + dto.bankName())
-                            );
+        // Varje bank slås upp en gång, även om den förekommer i många rader
+        Map<String, Bank> banks = new HashMap<>();
 
-                    MortgageRate rate = MortgageRateMapper.toEntity(dto, bank);
-                    rateRepository.save(rate);
+        List<MortgageRate> rates = dtos.stream()
+                .map(dto -> {
+                    Bank bank = banks.computeIfAbsent(dto.bankName(), name ->
+                            bankService.getBankByName(name)
+                                    .orElseThrow(() ->
+                                            new IllegalArgumentException("Bank inte hittad: " + name)
+                                    )
+                    );
 
-                    return MortgageRateMapper.toDto(rate);
+                    return MortgageRateMapper.toEntity(dto, bank);
                 })
                 .toList();
+
+        // En saveAll → INSERT i JDBC-batchar (hibernate.jdbc.batch_size),
+        // current_rates uppdateras i samma transaktion
+        currentRateService.saveRates(rates);
+
+        return rates.stream()
+                .map(MortgageRateMapper::toDto)
+                .toList();
     }
-}
\ No newline at end of file
+}
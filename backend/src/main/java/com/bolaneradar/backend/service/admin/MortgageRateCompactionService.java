@@ -0,0 +1,115 @@
+package com.bolaneradar.backend.service.admin;
+
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.service.core.CurrentRateService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ================================================================
+ * MORTGAGE RATE COMPACTION SERVICE
+ * ================================================================
+ * <p>
+ * Ansvar:
+ * - Engångskompaktering av historiska dagliga listräntor
+ * - Slår ihop på varandra följande rader med samma ränta
+ *   (per bank och bindningstid) till ett intervall
+ * <p>
+ * Funktionalitet:
+ * - Första raden i varje period behålls (rateChange / lastChangedDate
+ *   är redan korrekta där)
+ * - lastSeenDate sätts till periodens sista observerade datum
+ * - Övriga rader i perioden tas bort
+ * - current_rates byggs om i samma transaktion
+ * <p>
+ * Designprinciper:
+ * - Idempotent: en redan kompakterad tabell lämnas oförändrad
+ * - Snitträntor (AVERAGERATE) berörs inte
+ * - Körs via admin-endpoint eller batch-läget --mode=compact-rates
+ * <p>
+ * Säkerhet & drift:
+ * - Destruktiv – kör en databasbackup innan första körningen
+ * - Hela kompakteringen sker i en transaktion
+ * ================================================================
+ */
+@Service
+public class MortgageRateCompactionService {
+
+    // Håller IN-listan i delete-satsen på en rimlig storlek
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final MortgageRateRepository rateRepository;
+    private final CurrentRateService currentRateService;
+
+    public MortgageRateCompactionService(
+            MortgageRateRepository rateRepository,
+            CurrentRateService currentRateService
+    ) {
+        this.rateRepository = rateRepository;
+        this.currentRateService = currentRateService;
+    }
+
+    /**
+     * Kompakterar alla listräntor till intervall.
+     */
+    @Transactional
+    public RateCompactionResult compactListRates() {
+
+        List<MortgageRate> rates = rateRepository.findAllListRatesChronological();
+        List<Long> toDelete = new ArrayList<>();
+
+        MortgageRate runStart = null;
+
+        for (MortgageRate rate : rates) {
+
+            if (runStart != null && sameRun(runStart, rate)) {
+                // Samma ränta som pågående period → förläng och ta bort raden
+                LocalDate seen = lastSeen(rate);
+                if (seen.isAfter(lastSeen(runStart))) {
+                    runStart.setLastSeenDate(seen);
+                }
+                toDelete.add(rate.getId());
+                continue;
+            }
+
+            // Ny period
+            runStart = rate;
+            if (runStart.getLastSeenDate() == null) {
+                runStart.setLastSeenDate(runStart.getEffectiveDate());
+            }
+        }
+
+        for (int i = 0; i < toDelete.size(); i += DELETE_CHUNK_SIZE) {
+            rateRepository.deleteAllByIdInBatch(
+                    toDelete.subList(i, Math.min(i + DELETE_CHUNK_SIZE, toDelete.size()))
+            );
+        }
+
+        // Senaste raden per serie kan ha ändrat effectiveDate → bygg om current_rates
+        currentRateService.rebuild();
+
+        System.out.println("Kompaktering klar: " + rates.size() + " listräntor → "
+                + (rates.size() - toDelete.size()) + " intervall");
+
+        return new RateCompactionResult(
+                rates.size(),
+                rates.size() - toDelete.size(),
+                toDelete.size()
+        );
+    }
+
+    private boolean sameRun(MortgageRate current, MortgageRate next) {
+        return current.getBank().getId().equals(next.getBank().getId())
+                && current.getTerm() == next.getTerm()
+                && current.getRatePercent().compareTo(next.getRatePercent()) == 0;
+    }
+
+    private LocalDate lastSeen(MortgageRate rate) {
+        return rate.getLastSeenDate() != null ? rate.getLastSeenDate() : rate.getEffectiveDate();
+    }
+}
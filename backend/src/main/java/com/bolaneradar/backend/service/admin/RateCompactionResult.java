@@ -0,0 +1,14 @@
+package com.bolaneradar.backend.service.admin;
+
+/**
+ * Resultat av en kompaktering av listräntor.
+ *
+ * @param rowsScanned  antal listränterader före kompaktering
+ * @param rowsKept     antal rader (intervall) efter kompaktering
+ * @param rowsDeleted  antal borttagna dubbletter
+ */
+public record RateCompactionResult(
+        int rowsScanned,
+        int rowsKept,
+        int rowsDeleted
+) {}
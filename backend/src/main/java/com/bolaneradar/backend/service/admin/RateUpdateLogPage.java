@@ -0,0 +1,16 @@
+package com.bolaneradar.backend.service.admin;
+
+import com.bolaneradar.backend.repository.projection.RateUpdateLogRow;
+
+import java.util.List;
+
+/**
+ * En sida i uppdateringsloggen.
+ *
+ * @param rows       loggrader, senaste först
+ * @param nextCursor cursor för nästa sida, null om detta är sista sidan
+ */
+public record RateUpdateLogPage(
+        List<RateUpdateLogRow> rows,
+        String nextCursor
+) {}
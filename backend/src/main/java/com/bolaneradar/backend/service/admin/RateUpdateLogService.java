@@ -2,13 +2,21 @@ package com.bolaneradar.backend.service.admin;
 
 import com.bolaneradar.backend.entity.core.Bank;
 import com.bolaneradar.backend.entity.core.RateUpdateLog;
+import com.bolaneradar.backend.entity.enums.ScrapeOutcome;
+import com.bolaneradar.backend.repository.RateUpdateLogFilter;
 import com.bolaneradar.backend.repository.RateUpdateLogRepository;
+import com.bolaneradar.backend.repository.projection.RateUpdateLogRow;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * ================================================================
@@ -22,6 +30,17 @@ import java.util.stream.Collectors;
  * Funktionalitet:
  * - Sparar metadata om varje uppdateringskörning (tid, bank, status)
  * - Möjliggör vyer som ”senast uppdaterad per bank”
+ * - Sidvis bläddring med filter (keyset-cursor på occurredAt + id)
+ * <p>
+ * Cache:
+ * - Senaste logg per bank och global senaste tidpunkt hålls i minnet
+ *   tillsammans med loggens högsta id när de lästes
+ * - Varje läsning jämför mot MAX(id) (endast primärnyckelindexet);
+ *   loggen skrivs bara till, så en ny skrapning – även från en egen
+ *   process (--mode=scrape) – ger nytt id och laddar om
+ * - En versionsräknare ökas vid varje skrivning och rensning i denna
+ *   process; en läsning som startade före skrivningen sparar inte
+ *   sitt resultat
  * <p>
  * Designprinciper:
  * - Arbetar enbart med entiteter
@@ -35,8 +54,20 @@ import java.util.stream.Collectors;
 @Service
 public class RateUpdateLogService {
 
+    /** Största tillåtna sidstorlek för bläddring i loggen. */
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final RateUpdateLogRepository rateUpdateLogRepository;
 
+    /** Cachat värde och loggens högsta id när det lästes. */
+    private record Stamped<T>(Long maxId, T value) {
+    }
+
+    // null = ej laddad
+    private volatile Stamped<List<RateUpdateLog>> latestPerBankCache;
+    private volatile Stamped<LocalDateTime> latestGlobalCache;
+    private final AtomicLong cacheVersion = new AtomicLong();
+
     public RateUpdateLogService(RateUpdateLogRepository rateUpdateLogRepository) {
         this.rateUpdateLogRepository = rateUpdateLogRepository;
     }
@@ -59,17 +90,29 @@ public class RateUpdateLogService {
     public void logUpdate(Bank bank, String sourceName, int importedCount,
                           boolean success, String errorMessage, long durationMs) {
 
+        logUpdate(bank, sourceName, importedCount,
+                success ? ScrapeOutcome.SUCCESS : ScrapeOutcome.FAILED, errorMessage, durationMs);
+    }
+
+    /**
+     * Som ovan men med explicit utfall, t.ex. TIMEOUT när scrapern avbröts.
+     */
+    @Transactional
+    public void logUpdate(Bank bank, String sourceName, int importedCount,
+                          ScrapeOutcome outcome, String errorMessage, long durationMs) {
+
         RateUpdateLog log = new RateUpdateLog(
                 LocalDateTime.now(),
                 sourceName,
                 importedCount,
                 bank,
-                success,
+                outcome,
                 errorMessage,
                 durationMs
         );
 
         rateUpdateLogRepository.save(log);
+        invalidateLatest();
     }
 
     // ===========================================================
@@ -93,6 +136,41 @@ public class RateUpdateLogService {
         return logs;
     }
 
+    /**
+     * Hämtar en sida loggar (senaste först) som matchar filtret.
+     * <p>
+     * Cursorn är opak för klienten och pekar på sista raden i föregående
+     * sida; nextCursor är null när det inte finns fler rader.
+     *
+     * @param filter bank, lyckad/misslyckad och tidsintervall (null = inget filter)
+     * @param cursor nextCursor från föregående sida, eller null för första sidan
+     * @param limit  antal rader, 1–MAX_PAGE_SIZE
+     */
+    @Transactional(readOnly = true)
+    public RateUpdateLogPage getLogPage(RateUpdateLogFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Cursor after = (cursor == null || cursor.isBlank()) ? null : Cursor.decode(cursor);
+
+        // En extra rad avgör om det finns en nästa sida
+        List<RateUpdateLogRow> rows = rateUpdateLogRepository.findLogPage(
+                filter,
+                after != null ? after.occurredAt() : null,
+                after != null ? after.id() : null,
+                limit + 1
+        );
+
+        if (rows.size() <= limit) {
+            return new RateUpdateLogPage(rows, null);
+        }
+
+        List<RateUpdateLogRow> page = rows.subList(0, limit);
+        RateUpdateLogRow last = page.getLast();
+        return new RateUpdateLogPage(List.copyOf(page), new Cursor(last.occurredAt(), last.id()).encode());
+    }
+
     /**
      * Hämtar alla loggar för en specifik bank (senaste först).
      *
@@ -118,32 +196,53 @@ public class RateUpdateLogService {
      */
     @Transactional(readOnly = true)
     public List<RateUpdateLog> getLatestLogsPerBank() {
-        List<RateUpdateLog> allLogs = rateUpdateLogRepository.findAllByOrderByOccurredAtDesc();
-
-        Map<String, RateUpdateLog> latestPerBank = allLogs.stream()
-                .filter(log -> log.getBank() != null)
-                .collect(Collectors.toMap(
-                        log -> log.getBank().getName(),
-                        log -> log,
-                        (existing, replacement) -> existing // behåll första (nyaste)
-                ));
-
-        return latestPerBank.values().stream()
-                .sorted(Comparator.comparing(RateUpdateLog::getOccurredAt).reversed())
-                .toList();
+        return cached(latestPerBankCache, () -> {
+            // Databasen väljer senaste per bank; vid samma tidpunkt kommer högst id först
+            Map<Long, RateUpdateLog> latestPerBank = new LinkedHashMap<>();
+            for (RateUpdateLog log : rateUpdateLogRepository.findLatestPerBank()) {
+                latestPerBank.putIfAbsent(log.getBank().getId(), log);
+            }
+            return List.copyOf(latestPerBank.values());
+        }, loaded -> latestPerBankCache = loaded);
     }
 
+    /**
+     * Senaste tidpunkt då någon bank uppdaterades (MAX(occurredAt) i databasen).
+     * Cachas tills nästa loggpost skrivs; null om loggen är tom.
+     */
+    @Transactional(readOnly = true)
     public LocalDateTime getLatestGlobalUpdate() {
-        var latestPerBank = getLatestLogsPerBank();
-
-        return latestPerBank.stream()
-                .map(RateUpdateLog::getOccurredAt)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
+        return cached(latestGlobalCache, rateUpdateLogRepository::findLatestOccurredAt,
+                loaded -> latestGlobalCache = loaded);
     }
 
+    // ===========================================================
+    // ===================     CURSOR     ========================
+    // ===========================================================
 
+    /**
+     * Position i loggen: sista radens (occurredAt, id), Base64-kodad för klienten.
+     */
+    private record Cursor(LocalDateTime occurredAt, Long id) {
 
+        String encode() {
+            String raw = occurredAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(
+                        LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1))
+                );
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+    }
 
     // ===========================================================
     // ===================     DELETE LOGS     ===================
@@ -156,6 +255,59 @@ public class RateUpdateLogService {
     @Transactional
     public void clearAllLogs() {
         rateUpdateLogRepository.deleteAll();
+        invalidateLatest();
         System.out.println("Alla uppdateringsloggar borttagna.");
     }
+
+    // ===========================================================
+    // ===================     CACHE     =========================
+    // ===========================================================
+
+    /**
+     * Tömmer cachen och ökar versionen direkt och, inom en transaktion,
+     * igen efter commit – läsningar som pågår under tiden sparar inte
+     * sitt resultat. Skrivningar från andra processer fångas av MAX(id).
+     */
+    private void invalidateLatest() {
+        clearLatestCache();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clearLatestCache();
+                }
+            });
+        }
+    }
+
+    /**
+     * Cachat värde om loggens högsta id är oförändrat, annars laddas det
+     * om. Version och id läses före värdet: cachen är aldrig äldre än
+     * sitt id.
+     */
+    private <T> T cached(Stamped<T> cached, Supplier<T> loader, Consumer<Stamped<T>> store) {
+        long version = cacheVersion.get();
+        Long maxId = rateUpdateLogRepository.findMaxId();
+
+        if (cached != null && Objects.equals(cached.maxId(), maxId)) return cached.value();
+
+        T value = loader.get();
+
+        synchronized (cacheVersion) {
+            // En skrivning under läsningen: spara inte (kan vara data från före commit)
+            if (cacheVersion.get() == version) {
+                store.accept(new Stamped<>(maxId, value));
+            }
+        }
+        return value;
+    }
+
+    private void clearLatestCache() {
+        synchronized (cacheVersion) {
+            cacheVersion.incrementAndGet();
+            latestPerBankCache = null;
+            latestGlobalCache = null;
+        }
+    }
 }
\ No newline at end of file
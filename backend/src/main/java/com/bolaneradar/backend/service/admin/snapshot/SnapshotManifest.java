@@ -0,0 +1,40 @@
+package com.bolaneradar.backend.service.admin.snapshot;
+
+import java.util.Map;
+
+/**
+ * ================================================================
+ * SNAPSHOT MANIFEST
+ * ================================================================
+ * <p>
+ * Innehållsförteckning för en publicerad ögonblicksbild (manifest.json).
+ * <p>
+ * Nyckel i files: API-URL inklusive parametrar, t.ex.
+ * "/api/rates/comparison?term=3m" → fil, hash och storlek.
+ * <p>
+ * Används av:
+ * - Statisk värd / frontend (URL → fil, ETag = sha256)
+ * - StaticSnapshotPublisher (oförändrade filer skrivs inte om)
+ * ================================================================
+ */
+public record SnapshotManifest(
+        String generatedAt,
+        Map<String, SnapshotFile> files
+) {
+
+    /**
+     * En publicerad fil.
+     *
+     * @param file      relativ sökväg till JSON-filen (gzip: samma + ".gz")
+     * @param sha256    hash av okomprimerad JSON
+     * @param bytes     storlek okomprimerad
+     * @param gzipBytes storlek komprimerad
+     */
+    public record SnapshotFile(
+            String file,
+            String sha256,
+            int bytes,
+            int gzipBytes
+    ) {
+    }
+}
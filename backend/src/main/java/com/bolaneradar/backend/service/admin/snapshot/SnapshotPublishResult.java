@@ -0,0 +1,25 @@
+package com.bolaneradar.backend.service.admin.snapshot;
+
+/**
+ * Resultat av en publicering av statiska API-svar.
+ *
+ * @param rendered   antal renderade svar
+ * @param written    filer som skrevs (nya eller ändrade)
+ * @param unchanged  filer med samma hash som förra publiceringen (ej omskrivna)
+ * @param skipped    svar utan innehåll (t.ex. saknad text för en bank), ingen fil
+ * @param removed    filer som inte längre ingår och togs bort
+ * @param failed     svar som inte kunde renderas
+ * @param durationMs total tid
+ * @param outputDir  katalog som publicerades
+ */
+public record SnapshotPublishResult(
+        int rendered,
+        int written,
+        int unchanged,
+        int skipped,
+        int removed,
+        int failed,
+        long durationMs,
+        String outputDir
+) {
+}
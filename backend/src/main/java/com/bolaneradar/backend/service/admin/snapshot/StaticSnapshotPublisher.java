@@ -0,0 +1,413 @@
+package com.bolaneradar.backend.service.admin.snapshot;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.enums.Language;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.service.client.banks.BankContentStore;
+import com.bolaneradar.backend.service.client.banks.BankHistoryService;
+import com.bolaneradar.backend.service.client.banks.BankPageService;
+import com.bolaneradar.backend.service.client.banks.BankRateReadService;
+import com.bolaneradar.backend.service.client.banks.resolver.BankKeyResolver;
+import com.bolaneradar.backend.service.client.rates.MortgageRateComparisonService;
+import com.bolaneradar.backend.service.client.rates.RateUpdatePublicService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ================================================================
+ * STATIC SNAPSHOT PUBLISHER
+ * ================================================================
+ * <p>
+ * Renderar alla publika GET-svar till JSON-filer (rå + .gz) i en
+ * katalog, så att de kan serveras från disk eller en statisk värd
+ * utan databas- eller CPU-kostnad per anrop.
+ * <p>
+ * Innehåll:
+ * - Jämförelse (alla termer + per termkod), senaste förändringar,
+ *   senaste globala uppdatering
+ * - Per bank: räntor, tillgängliga termer, historik per fönster
+ *   och historikdata per tillgänglig term och fönster
+ * - Per bank och språk: intro, info och details, samt hela
+ *   banksidan (/page) med standardfönstret
+ * <p>
+ * Filer:
+ * - URL → fil: "/api/rates/comparison?term=3m" → api/rates/comparison/term-3m.json
+ * - manifest.json (SnapshotManifest) med sha256 och storlek per URL,
+ *   alla parametrar utskrivna (även standardvärden)
+ * <p>
+ * Designprinciper:
+ * - Samma services och samma ObjectMapper som API:et → identiska svar
+ * - Rendering parallellt på virtuella trådar (app.snapshot.parallelism)
+ * - Oförändrade filer (samma hash som förra manifestet) skrivs inte om
+ * - Filer skrivs atomiskt; manifestet skrivs sist
+ * - Svar som inte kunde renderas behåller förra publiceringens fil
+ * <p>
+ * Körs:
+ * - Efter varje scraping-batch om app.snapshot.enabled=true
+ * - --mode=publish-snapshot / POST /api/admin/snapshot/publish
+ * ================================================================
+ */
+@Service
+public class StaticSnapshotPublisher {
+
+    static final String MANIFEST = "manifest.json";
+
+    private final MortgageRateComparisonService comparisonService;
+    private final RateUpdatePublicService rateUpdatePublicService;
+    private final BankRateReadService bankRateReadService;
+    private final BankHistoryService bankHistoryService;
+    private final BankContentStore bankContentStore;
+    private final BankPageService bankPageService;
+    private final BankKeyResolver bankKeyResolver;
+    private final BankRepository bankRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+
+    private final boolean enabled;
+    private final Path outputDir;
+    private final int parallelism;
+
+    public StaticSnapshotPublisher(
+            MortgageRateComparisonService comparisonService,
+            RateUpdatePublicService rateUpdatePublicService,
+            BankRateReadService bankRateReadService,
+            BankHistoryService bankHistoryService,
+            BankContentStore bankContentStore,
+            BankPageService bankPageService,
+            BankKeyResolver bankKeyResolver,
+            BankRepository bankRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.snapshot.enabled:false}") boolean enabled,
+            @Value("${app.snapshot.output-dir:snapshot}") String outputDir,
+            @Value("${app.snapshot.parallelism:4}") int parallelism
+    ) {
+        this.comparisonService = comparisonService;
+        this.rateUpdatePublicService = rateUpdatePublicService;
+        this.bankRateReadService = bankRateReadService;
+        this.bankHistoryService = bankHistoryService;
+        this.bankContentStore = bankContentStore;
+        this.bankPageService = bankPageService;
+        this.bankKeyResolver = bankKeyResolver;
+        this.bankRepository = bankRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.outputDir = Path.of(outputDir);
+        this.parallelism = Math.max(1, parallelism);
+
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /** Ska ScraperBatchRunner publicera efter varje scraping-batch? */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Ett svar som ska renderas: URL och hur svaret byggs (DTO eller färdig JSON som byte[]). */
+    private record Render(String url, Supplier<Object> body) {
+    }
+
+    private enum Outcome { WRITTEN, UNCHANGED, SKIPPED, FAILED }
+
+    // ============================================================
+    // ===================      PUBLICERING      ==================
+    // ============================================================
+
+    /**
+     * Renderar alla publika svar och skriver ändrade filer och manifestet.
+     */
+    public synchronized SnapshotPublishResult publish() throws IOException {
+        long start = System.currentTimeMillis();
+
+        Files.createDirectories(outputDir);
+        Map<String, SnapshotManifest.SnapshotFile> previous = readManifest().files();
+        Map<String, SnapshotManifest.SnapshotFile> files = new ConcurrentHashMap<>();
+
+        List<Render> renders = readOnly.execute(status -> plan());
+        Map<Outcome, Integer> counts = new HashMap<>();
+
+        Semaphore permits = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            List<Future<Outcome>> futures = new ArrayList<>();
+            for (Render render : renders) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return publishOne(render, previous, files);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (Future<Outcome> future : futures) {
+                counts.merge(await(future), 1, Integer::sum);
+            }
+        }
+
+        int removed = removeStale(previous, files);
+        writeManifest(new SnapshotManifest(LocalDateTime.now().toString(), new TreeMap<>(files)));
+
+        SnapshotPublishResult result = new SnapshotPublishResult(
+                renders.size(),
+                counts.getOrDefault(Outcome.WRITTEN, 0),
+                counts.getOrDefault(Outcome.UNCHANGED, 0),
+                counts.getOrDefault(Outcome.SKIPPED, 0),
+                removed,
+                counts.getOrDefault(Outcome.FAILED, 0),
+                System.currentTimeMillis() - start,
+                outputDir.toAbsolutePath().toString()
+        );
+
+        System.out.println("Snapshot publicerad: " + result.rendered() + " svar, "
+                + result.written() + " skrivna, " + result.unchanged() + " oförändrade, "
+                + result.removed() + " borttagna, " + result.failed() + " fel ("
+                + result.durationMs() + " ms) → " + result.outputDir());
+
+        return result;
+    }
+
+    /**
+     * Alla URL:er som ska publiceras. Körs i en läs-transaktion
+     * (bankregister och tillgängliga termer per bank).
+     */
+    private List<Render> plan() {
+        List<Render> renders = new ArrayList<>();
+
+        // Räntor (gemensamma)
+        renders.add(new Render("/api/rates/comparison/all", comparisonService::getComparisonDataAllTerms));
+        for (String code : MortgageRateComparisonService.termCodes()) {
+            renders.add(new Render("/api/rates/comparison?term=" + code,
+                    () -> comparisonService.getComparisonDataFull(code)));
+        }
+        renders.add(new Render("/api/rates/updates", rateUpdatePublicService::getRateUpdates));
+        renders.add(new Render("/api/rates/updates/latest/global", rateUpdatePublicService::getLatestGlobalUpdate));
+
+        // Banker i databasen: räntor och historik
+        Set<String> bankKeys = new TreeSet<>(bankKeyResolver.bankKeys());
+        for (Bank bank : bankRepository.findAll()) {
+            String key = bankKeyResolver.keyFor(bank.getName());
+            String bankName = bank.getName();
+            String base = "/api/banks/" + encode(key);
+            bankKeys.add(key);
+
+            renders.add(new Render(base + "/rates", () -> bankRateReadService.getRatesForBank(bankName)));
+            renders.add(new Render(base + "/history/available-terms",
+                    () -> bankHistoryService.getAvailableTerms(bankName)));
+
+            List<MortgageTerm> terms = bankHistoryService.getAvailableTerms(bankName);
+            for (String window : BankHistoryService.WINDOWS) {
+                renders.add(new Render(base + "/history?window=" + window,
+                        () -> bankHistoryService.getHistory(bankName, null, window)));
+                for (MortgageTerm term : terms) {
+                    renders.add(new Render(base + "/history/data?term=" + term + "&window=" + window,
+                            () -> bankHistoryService.getHistoricalAverageRates(bankName, term, window)));
+                }
+            }
+
+            // Hela banksidan med standardval (alla sektioner, standardfönster)
+            for (Language language : Language.values()) {
+                renders.add(new Render(base + "/page?language=" + language + "&window=" + BankHistoryService.DEFAULT_WINDOW,
+                        () -> bankPageService.getBankPage(key, language, null, BankHistoryService.DEFAULT_WINDOW, null)));
+            }
+        }
+
+        // Alla kända banker: texter per språk (färdigserialiserade i BankContentStore)
+        for (String key : bankKeys) {
+            String base = "/api/banks/" + encode(key);
+            for (Language language : Language.values()) {
+                renders.add(new Render(base + "/intro?language=" + language,
+                        () -> json(bankContentStore.intro(key, language))));
+                renders.add(new Render(base + "/info?language=" + language,
+                        () -> json(bankContentStore.info(key, language))));
+                renders.add(new Render(base + "/details?language=" + language,
+                        () -> json(bankContentStore.details(key, language))));
+            }
+        }
+
+        return renders;
+    }
+
+    private static byte[] json(BankContentStore.Entry<?> entry) {
+        return entry != null ? entry.json() : null;
+    }
+
+    /**
+     * Renderar ett svar och skriver filerna om innehållet har ändrats.
+     */
+    private Outcome publishOne(
+            Render render,
+            Map<String, SnapshotManifest.SnapshotFile> previous,
+            Map<String, SnapshotManifest.SnapshotFile> files
+    ) {
+        SnapshotManifest.SnapshotFile known = previous.get(render.url());
+
+        try {
+            Object body = readOnly.execute(status -> render.body().get());
+            if (body == null) return Outcome.SKIPPED;
+
+            byte[] json = body instanceof byte[] bytes ? bytes : objectMapper.writeValueAsBytes(body);
+            String sha256 = sha256(json);
+            String file = fileFor(render.url());
+
+            Path jsonPath = outputDir.resolve(file);
+            Path gzipPath = outputDir.resolve(file + ".gz");
+
+            if (known != null && known.sha256().equals(sha256) && known.file().equals(file)
+                    && Files.exists(jsonPath) && Files.exists(gzipPath)) {
+                files.put(render.url(), known);
+                return Outcome.UNCHANGED;
+            }
+
+            byte[] gzip = gzip(json);
+            writeAtomically(jsonPath, json);
+            writeAtomically(gzipPath, gzip);
+
+            files.put(render.url(), new SnapshotManifest.SnapshotFile(file, sha256, json.length, gzip.length));
+            return Outcome.WRITTEN;
+
+        } catch (Exception e) {
+            System.err.println("Snapshot: kunde inte rendera " + render.url() + ": " + e.getMessage());
+            // Förra publiceringens fil ligger kvar
+            if (known != null) files.put(render.url(), known);
+            return Outcome.FAILED;
+        }
+    }
+
+    // ============================================================
+    // ===================        FILER          ==================
+    // ============================================================
+
+    /**
+     * Relativ filsökväg för en URL: sökvägen, parametrar som sista
+     * katalognivå (k-v_k-v) och ändelsen .json.
+     */
+    static String fileFor(String url) {
+        int q = url.indexOf('?');
+        String path = q < 0 ? url : url.substring(0, q);
+        String query = q < 0 ? "" : "/" + url.substring(q + 1).replace('&', '_').replace('=', '-');
+        return path.substring(1) + query + ".json";
+    }
+
+    private SnapshotManifest readManifest() throws IOException {
+        Path manifest = outputDir.resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return new SnapshotManifest(null, Map.of());
+        }
+        SnapshotManifest read = objectMapper.readValue(manifest.toFile(), SnapshotManifest.class);
+        return read.files() == null ? new SnapshotManifest(read.generatedAt(), Map.of()) : read;
+    }
+
+    private void writeManifest(SnapshotManifest manifest) throws IOException {
+        writeAtomically(outputDir.resolve(MANIFEST),
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifest));
+    }
+
+    /**
+     * Tar bort filer som fanns i förra manifestet men inte längre publiceras.
+     */
+    private int removeStale(
+            Map<String, SnapshotManifest.SnapshotFile> previous,
+            Map<String, SnapshotManifest.SnapshotFile> current
+    ) throws IOException {
+        Set<String> kept = new TreeSet<>();
+        current.values().forEach(f -> kept.add(f.file()));
+
+        int removed = 0;
+        for (SnapshotManifest.SnapshotFile old : previous.values()) {
+            if (kept.contains(old.file())) continue;
+            Files.deleteIfExists(outputDir.resolve(old.file()));
+            Files.deleteIfExists(outputDir.resolve(old.file() + ".gz"));
+            removed++;
+        }
+        return removed;
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".snapshot", ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // ============================================================
+    // ===================     HJÄLPMETODER      ==================
+    // ============================================================
+
+    private static Outcome await(Future<Outcome> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Publiceringen avbröts", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Publiceringen kraschade", e.getCause());
+        }
+    }
+
+    private static String encode(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8);
+    }
+
+    /** Högsta komprimering: filerna komprimeras en gång och läses många gånger. */
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] json) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 saknas i JVM", e);
+        }
+    }
+}
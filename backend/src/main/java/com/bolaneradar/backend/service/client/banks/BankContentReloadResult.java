@@ -0,0 +1,19 @@
+package com.bolaneradar.backend.service.client.banks;
+
+/**
+ * Resultat av en omladdning av bankinnehåll.
+ *
+ * @param introEntries   antal intro-texter (bank × språk)
+ * @param infoEntries    antal informationssidor (bank × språk)
+ * @param detailsEntries antal detaljsidor (bank × språk)
+ * @param durationMs     total tid
+ * @param source         katalog eller classpath som lästes
+ */
+public record BankContentReloadResult(
+        int introEntries,
+        int infoEntries,
+        int detailsEntries,
+        long durationMs,
+        String source
+) {
+}
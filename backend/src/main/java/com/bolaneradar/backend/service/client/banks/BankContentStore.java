@@ -0,0 +1,279 @@
+package com.bolaneradar.backend.service.client.banks;
+
+import com.bolaneradar.backend.dto.api.BankDetailsDto;
+import com.bolaneradar.backend.dto.api.BankInfoDto;
+import com.bolaneradar.backend.dto.api.BankIntroDto;
+import com.bolaneradar.backend.entity.enums.Language;
+import com.bolaneradar.backend.service.core.RateDataGeneration;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * ================================================================
+ * BANK CONTENT STORE
+ * ================================================================
+ * <p>
+ * Ansvar:
+ * - Tillhandahåller allt redaktionellt bankinnehåll: intro, info och detaljer
+ * <p>
+ * Datakälla:
+ * - data/bankIntroData.json, data/bankDetailsData.json och
+ *   data/bankinfo/{bank}.json på classpath
+ * - Alternativt samma struktur i katalogen app.bank-content.dir
+ *   (redigerbar utan ny release, laddas om via reload())
+ * <p>
+ * Funktionalitet:
+ * - Tolkar alla filer en gång till oföränderliga uppslag per
+ *   (bankKey, Language) med färdig DTO och färdigserialiserad JSON
+ * - Faller tillbaka till svenska om valt språk saknas (intro, detaljer)
+ * - reload() bygger en ny uppsättning och byter den atomiskt;
+ *   vid fel ligger den gamla kvar
+ * - Efter reload() flyttas RateDataGeneration så att cachade svar
+ *   med bankinnehåll (banksidan) byggs om
+ * <p>
+ * Designprinciper:
+ * - Ingen databasåtkomst (redaktionellt innehåll)
+ * - Ingen fil-I/O, tolkning eller serialisering per request
+ * - Intro och info matchar bankKey oberoende av skiftläge,
+ *   detaljer exakt som i datafilen
+ * <p>
+ * Prestanda:
+ * - Ett map-uppslag per anrop, svaret skrivs direkt som bytes
+ * ================================================================
+ */
+@Service
+public class BankContentStore {
+
+    private static final String INTRO_FILE = "bankIntroData.json";
+    private static final String DETAILS_FILE = "bankDetailsData.json";
+    private static final String INFO_DIR = "bankinfo";
+
+    /**
+     * Färdigt innehåll för en bank och ett språk.
+     *
+     * @param dto  innehållet (för intern användning)
+     * @param json dto serialiserad med applikationens ObjectMapper
+     */
+    public record Entry<T>(T dto, byte[] json) {
+    }
+
+    /** Uppslagsnyckel: bankKey (som i datafilen) och språk. */
+    private record ContentKey(String bankKey, Language language) {
+    }
+
+    /** En inläst, oföränderlig uppsättning innehåll. */
+    private record Contents(
+            Map<ContentKey, Entry<BankIntroDto>> intro,
+            Map<ContentKey, Entry<BankInfoDto.Content>> info,
+            Map<ContentKey, Entry<BankDetailsDto>> details
+    ) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final RateDataGeneration rateDataGeneration;
+    private final Path contentDir;
+
+    private volatile Contents contents;
+
+    public BankContentStore(
+            ObjectMapper objectMapper,
+            RateDataGeneration rateDataGeneration,
+            @Value("${app.bank-content.dir:}") String contentDir
+    ) throws IOException {
+        this.objectMapper = objectMapper;
+        this.rateDataGeneration = rateDataGeneration;
+        this.contentDir = contentDir.isBlank() ? null : Path.of(contentDir);
+        this.contents = load();
+    }
+
+    // ============================================================
+    // ===================       UPPSLAG         ==================
+    // ============================================================
+
+    /** Språk från request-parameter: "EN" (valfritt skiftläge) ger engelska, annars svenska. */
+    public static Language language(String language) {
+        return "EN".equalsIgnoreCase(language) ? Language.EN : Language.SV;
+    }
+
+    /**
+     * Introduktionstext och USP-punkter. Svaret innehåller bankKey
+     * som den angavs i anropet.
+     */
+    public Entry<BankIntroDto> intro(String bankKey, Language language) {
+        Entry<BankIntroDto> entry = contents.intro().get(new ContentKey(bankKey.toLowerCase(), language));
+
+        if (entry == null || entry.dto().bankKey().equals(bankKey)) {
+            return entry;
+        }
+
+        BankIntroDto dto = entry.dto();
+        return entry(new BankIntroDto(bankKey, dto.description(), dto.uspItems()));
+    }
+
+    /** Fördjupad bankinformation (ingen språkfallback). */
+    public Entry<BankInfoDto.Content> info(String bankKey, Language language) {
+        return contents.info().get(new ContentKey(bankKey.toLowerCase(), language));
+    }
+
+    /** Detaljer för banksidan (bankKey som i datafilen). */
+    public Entry<BankDetailsDto> details(String bankKey, Language language) {
+        return contents.details().get(new ContentKey(bankKey, language));
+    }
+
+    // ============================================================
+    // ===================       INLÄSNING       ==================
+    // ============================================================
+
+    /**
+     * Läser om allt innehåll och byter uppsättning atomiskt.
+     * Kastar om någon fil inte kan tolkas; då används den gamla.
+     */
+    public BankContentReloadResult reload() throws IOException {
+        long start = System.currentTimeMillis();
+
+        Contents loaded = load();
+        contents = loaded;
+        rateDataGeneration.advance();
+
+        return new BankContentReloadResult(
+                loaded.intro().size(),
+                loaded.info().size(),
+                loaded.details().size(),
+                System.currentTimeMillis() - start,
+                contentDir != null ? contentDir.toAbsolutePath().toString() : "classpath:data"
+        );
+    }
+
+    private Contents load() throws IOException {
+        Map<ContentKey, Entry<BankIntroDto>> intro = new HashMap<>();
+        Map<ContentKey, Entry<BankInfoDto.Content>> info = new HashMap<>();
+        Map<ContentKey, Entry<BankDetailsDto>> details = new HashMap<>();
+
+        // Intro: { bankKey: { sv: {...}, en: {...} } }
+        forEachBank(readTree(INTRO_FILE), (bankKey, bankNode) -> {
+            for (Language language : Language.values()) {
+                JsonNode langNode = languageNode(bankNode, language);
+                if (langNode == null) continue;
+
+                intro.put(new ContentKey(bankKey, language), entry(new BankIntroDto(
+                        bankKey,
+                        langNode.hasNonNull("description") ? langNode.get("description").asText() : null,
+                        objectMapper.convertValue(langNode.get("uspItems"), new TypeReference<List<String>>() {
+                        })
+                )));
+            }
+        });
+
+        // Detaljer: { bankKey: { sv: {...}, en: {...} } }
+        forEachBank(readTree(DETAILS_FILE), (bankKey, bankNode) -> {
+            for (Language language : Language.values()) {
+                JsonNode langNode = languageNode(bankNode, language);
+                if (langNode == null) continue;
+
+                details.put(new ContentKey(bankKey, language),
+                        entry(objectMapper.treeToValue(langNode, BankDetailsDto.class)));
+            }
+        });
+
+        // Info: en fil per bank, { sv: {...}, en: {...} }
+        for (Map.Entry<String, byte[]> file : readInfoFiles().entrySet()) {
+            BankInfoDto dto = objectMapper.readValue(file.getValue(), BankInfoDto.class);
+
+            putIfPresent(info, new ContentKey(file.getKey(), Language.SV), dto.sv);
+            putIfPresent(info, new ContentKey(file.getKey(), Language.EN), dto.en);
+        }
+
+        return new Contents(Map.copyOf(intro), Map.copyOf(info), Map.copyOf(details));
+    }
+
+    /** Valt språk om det finns, annars svenska. */
+    private static JsonNode languageNode(JsonNode bankNode, Language language) {
+        String langKey = language.name().toLowerCase();
+        return bankNode.has(langKey) ? bankNode.get(langKey) : bankNode.get("sv");
+    }
+
+    private void putIfPresent(
+            Map<ContentKey, Entry<BankInfoDto.Content>> info,
+            ContentKey key,
+            BankInfoDto.Content content
+    ) {
+        if (content != null) info.put(key, entry(content));
+    }
+
+    private <T> Entry<T> entry(T dto) {
+        try {
+            return new Entry<>(dto, objectMapper.writeValueAsBytes(dto));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ============================================================
+    // ===================        FILER          ==================
+    // ============================================================
+
+    @FunctionalInterface
+    private interface BankNodeConsumer {
+        void accept(String bankKey, JsonNode bankNode) throws IOException;
+    }
+
+    private static void forEachBank(JsonNode root, BankNodeConsumer consumer) throws IOException {
+        for (Map.Entry<String, JsonNode> field : root.properties()) {
+            consumer.accept(field.getKey(), field.getValue());
+        }
+    }
+
+    private JsonNode readTree(String file) throws IOException {
+        if (contentDir != null) {
+            return objectMapper.readTree(contentDir.resolve(file).toFile());
+        }
+        try (InputStream in = new ClassPathResource("data/" + file).getInputStream()) {
+            return objectMapper.readTree(in);
+        }
+    }
+
+    /** Bankinfo-filer: bankKey (filnamn utan .json) → innehåll. */
+    private Map<String, byte[]> readInfoFiles() throws IOException {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+
+        if (contentDir != null) {
+            try (Stream<Path> paths = Files.list(contentDir.resolve(INFO_DIR))) {
+                for (Path path : paths.filter(p -> p.toString().endsWith(".json")).toList()) {
+                    files.put(bankKeyOf(path.getFileName().toString()), Files.readAllBytes(path));
+                }
+            }
+            return files;
+        }
+
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:data/" + INFO_DIR + "/*.json");
+        for (Resource resource : resources) {
+            try (InputStream in = resource.getInputStream()) {
+                files.put(bankKeyOf(resource.getFilename()), in.readAllBytes());
+            }
+        }
+        return files;
+    }
+
+    private static String bankKeyOf(String fileName) {
+        return fileName.substring(0, fileName.length() - ".json".length()).toLowerCase();
+    }
+}
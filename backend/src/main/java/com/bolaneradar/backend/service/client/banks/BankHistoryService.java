@@ -1,16 +1,21 @@
 package com.bolaneradar.backend.service.client.banks;
 
+import com.bolaneradar.backend.dto.api.BankHistoryDto;
 import com.bolaneradar.backend.dto.api.BankRateHistoryDto;
 import com.bolaneradar.backend.dto.mapper.api.BankRateMapper;
 import com.bolaneradar.backend.entity.core.Bank;
-import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
-import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.repository.BankRepository;
 import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.projection.MonthlyAverageRow;
+import com.bolaneradar.backend.repository.projection.TermCountRow;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
+import com.bolaneradar.backend.service.core.readmodel.RateColumns;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -29,11 +34,13 @@ import java.util.List;
  * <p>
  * Funktionalitet:
  * - Hämtar snitträntor (AVERAGERATE) för vald bank och bindningstid
- * - Begränsar historiken till de senaste 12 månaderna
+ * - Begränsar historiken till valt fönster (12 / 24 / 60 månader eller all),
+ *   standard 12 månader
  * - Returnerar data i graf-vänligt DTO-format
  * <p>
  * Kompletterande logik:
  * - Identifierar vilka bindningstider som har tillräcklig historik
+ * - Samlad historikvy: tillgängliga termer + historik för vald term
  * - En term anses giltig om den har minst ~10 datapunkter senaste året
  * <p>
  * Designprinciper:
@@ -42,78 +49,251 @@ import java.util.List;
  * - Mapper ansvarar för DTO-konvertering
  * <p>
  * Prestanda:
- * - Begränsad historik (12 månader)
- * - Små datamängder per bank och term
- * - Optimerad för grafrendering i frontend
+ * - Datumgräns och månadsmedel beräknas i databasen (projection),
+ *   högst en rad per månad även för fönstret "all"
+ * - Tillgängliga termer räknas med en GROUP BY-query (ett DB-anrop)
+ * - Historikvyn kan hämtas i ett anrop (getHistory)
+ * - Med app.read-model.enabled räknas termer och månadsmedel i minnet
+ *   (RateColumnStore), utan databasanrop
  * ================================================================
  */
 @Service
 public class BankHistoryService {
 
+    /** Minsta antal datapunkter senaste året för att en term ska visas. */
+    private static final int MIN_POINTS_LAST_12_MONTHS = 10;
+
+    /** Tillåtna historikfönster i månader; "all" ger hela historiken. */
+    public static final List<String> WINDOWS = List.of("12", "24", "60", "all");
+    public static final String DEFAULT_WINDOW = "12";
+
     private final BankRepository bankRepository;
     private final MortgageRateRepository rateRepository;
+    private final RateColumnStore rateColumnStore;
 
     public BankHistoryService(
             BankRepository bankRepository,
-            MortgageRateRepository rateRepository
+            MortgageRateRepository rateRepository,
+            RateColumnStore rateColumnStore
     ) {
         this.bankRepository = bankRepository;
         this.rateRepository = rateRepository;
+        this.rateColumnStore = rateColumnStore;
     }
 
     // -------------------------------------------------------------
-    // HISTORIK (senaste 12 månaderna)
+    // HISTORIK (valt fönster, standard 12 månader)
     // -------------------------------------------------------------
     public List<BankRateHistoryDto> getHistoricalAverageRates(
             String bankName,
-            MortgageTerm term
+            MortgageTerm term,
+            String window
     ) {
+        LocalDate from = windowStart(window);
+
+        if (rateColumnStore.isEnabled()) {
+            RateColumns columns = rateColumnStore.columns();
+            return BankRateMapper.toHistoryDto(monthlyAverages(columns, bankIndex(columns, bankName), term, from));
+        }
+
         Bank bank = bankRepository.findByNameIgnoreCase(bankName)
                 .orElseThrow(() -> new IllegalArgumentException("Bank not found: " + bankName));
 
-        List<MortgageRate> allRates =
-                rateRepository.findByBankAndTermAndRateTypeOrderByEffectiveDateDesc(
-                        bank, term, RateType.AVERAGERATE
-                );
+        return loadHistory(bank.getId(), term, from);
+    }
+
+    // -------------------------------------------------------------
+    // TILLGÄNGLIGA TERMER
+    // -------------------------------------------------------------
+    public List<MortgageTerm> getAvailableTerms(String bankName) {
 
-        LocalDate start = LocalDate.now().minusMonths(12).withDayOfMonth(1);
+        if (rateColumnStore.isEnabled()) {
+            RateColumns columns = rateColumnStore.columns();
+            return availableTerms(columns, bankIndex(columns, bankName));
+        }
 
-        List<MortgageRate> last12 =
-                allRates.stream().filter(r -> !r.getEffectiveDate().isBefore(start)).toList();
+        List<TermCountRow> counts =
+                rateRepository.countAverageRatesPerTermSince(bankName, windowStart(DEFAULT_WINDOW));
 
-        return BankRateMapper.toHistoryDto(last12);
+        // Tomt resultat: skilj okänd bank från bank utan historik
+        if (counts.isEmpty() && bankRepository.findByNameIgnoreCase(bankName).isEmpty()) {
+            throw new IllegalArgumentException("Bank not found: " + bankName);
+        }
+
+        return availableTerms(counts);
     }
 
     // -------------------------------------------------------------
-    // TILLGÄNGLIGA TERMER
+    // HISTORIKVY – tillgängliga termer + historik i ett anrop
     // -------------------------------------------------------------
-    public List<MortgageTerm> getAvailableTerms(String bankName) {
+
+    /**
+     * Tillgängliga termer och historik för vald term.
+     * Utan term (eller ej tillgänglig term) väljs första tillgängliga.
+     */
+    public BankHistoryDto getHistory(String bankName, MortgageTerm requestedTerm, String window) {
+
+        LocalDate from = windowStart(window);
+
+        if (rateColumnStore.isEnabled()) {
+            return historyFromColumns(bankName, requestedTerm, from);
+        }
 
         Bank bank = bankRepository.findByNameIgnoreCase(bankName)
                 .orElseThrow(() -> new IllegalArgumentException("Bank not found: " + bankName));
 
-        LocalDate start = LocalDate.now().minusMonths(12).withDayOfMonth(1);
+        return historyFromDatabase(bank, requestedTerm, from);
+    }
 
-        List<MortgageTerm> available = new ArrayList<>();
+    /**
+     * Som getHistory(String, ...) för en redan uppslagen bank
+     * (ingen ny bankuppslagning, t.ex. i banksidans samlade svar).
+     */
+    public BankHistoryDto getHistory(Bank bank, MortgageTerm requestedTerm, String window) {
 
-        for (MortgageTerm term : MortgageTerm.values()) {
+        LocalDate from = windowStart(window);
+
+        return rateColumnStore.isEnabled()
+                ? historyFromColumns(bank.getName(), requestedTerm, from)
+                : historyFromDatabase(bank, requestedTerm, from);
+    }
+
+    private BankHistoryDto historyFromColumns(String bankName, MortgageTerm requestedTerm, LocalDate from) {
+        RateColumns columns = rateColumnStore.columns();
+        int bank = bankIndex(columns, bankName);
+
+        List<MortgageTerm> available = availableTerms(columns, bank);
+        MortgageTerm term = chooseTerm(available, requestedTerm);
+        List<BankRateHistoryDto> history = term != null
+                ? BankRateMapper.toHistoryDto(monthlyAverages(columns, bank, term, from))
+                : List.of();
+
+        return new BankHistoryDto(available, term, history);
+    }
+
+    private BankHistoryDto historyFromDatabase(Bank bank, MortgageTerm requestedTerm, LocalDate from) {
+        List<MortgageTerm> available = availableTerms(
+                rateRepository.countAverageRatesPerTermSince(bank.getName(), windowStart(DEFAULT_WINDOW)));
+
+        MortgageTerm term = chooseTerm(available, requestedTerm);
+
+        List<BankRateHistoryDto> history =
+                term != null ? loadHistory(bank.getId(), term, from) : List.of();
+
+        return new BankHistoryDto(available, term, history);
+    }
 
-            List<MortgageRate> allRates =
-                    rateRepository.findByBankAndTermAndRateTypeOrderByEffectiveDateDesc(
-                            bank,
-                            term,
-                            RateType.AVERAGERATE
-                    );
+    // -------------------------------------------------------------
+    // Hjälpmetoder
+    // -------------------------------------------------------------
+
+    private List<BankRateHistoryDto> loadHistory(Long bankId, MortgageTerm term, LocalDate from) {
+        return BankRateMapper.toHistoryDto(
+                rateRepository.findMonthlyAveragesSince(bankId, term, from)
+        );
+    }
+
+    /** Termer med minst MIN_POINTS_LAST_12_MONTHS snitträntor, i enum-ordning. */
+    private static List<MortgageTerm> availableTerms(List<TermCountRow> counts) {
+        return counts.stream()
+                .filter(row -> row.getRowCount() >= MIN_POINTS_LAST_12_MONTHS)
+                .map(TermCountRow::getTerm)
+                .sorted()
+                .toList();
+    }
+
+    private static MortgageTerm chooseTerm(List<MortgageTerm> available, MortgageTerm requestedTerm) {
+        return available.contains(requestedTerm)
+                ? requestedTerm
+                : available.stream().findFirst().orElse(null);
+    }
+
+    // -------------------------------------------------------------
+    // Läsmodellen i minnet (RateColumnStore)
+    // -------------------------------------------------------------
+
+    private static int bankIndex(RateColumns columns, String bankName) {
+        int bank = columns.bankIndex(bankName);
+        if (bank < 0) {
+            throw new IllegalArgumentException("Bank not found: " + bankName);
+        }
+        return bank;
+    }
 
-            long countLast12 = allRates.stream()
-                    .filter(r -> !r.getEffectiveDate().isBefore(start))
-                    .count();
+    /**
+     * Termer med minst MIN_POINTS_LAST_12_MONTHS snitträntor i
+     * standardfönstret, i enum-ordning.
+     */
+    private static List<MortgageTerm> availableTerms(RateColumns columns, int bank) {
+        int fromDay = (int) windowStart(DEFAULT_WINDOW).toEpochDay();
 
-            if (countLast12 >= 10) {
+        List<MortgageTerm> available = new ArrayList<>();
+        for (MortgageTerm term : MortgageTerm.values()) {
+            int count = columns.seriesEnd(bank, term, RateType.AVERAGERATE)
+                    - columns.seriesFrom(bank, term, RateType.AVERAGERATE, fromDay);
+            if (count >= MIN_POINTS_LAST_12_MONTHS) {
                 available.add(term);
             }
         }
-
         return available;
     }
-}
\ No newline at end of file
+
+    /**
+     * Månadsmedel av snitträntor från och med from; seriens rader är
+     * datumsorterade, så varje månad är ett sammanhängande intervall.
+     */
+    private static List<MonthlyAverageRow> monthlyAverages(
+            RateColumns columns, int bank, MortgageTerm term, LocalDate from
+    ) {
+        int end = columns.seriesEnd(bank, term, RateType.AVERAGERATE);
+        int row = columns.seriesFrom(bank, term, RateType.AVERAGERATE, (int) from.toEpochDay());
+
+        List<MonthlyAverageRow> months = new ArrayList<>();
+        while (row < end) {
+            YearMonth month = YearMonth.from(columns.effectiveDate(row));
+            int monthEnd = (int) month.plusMonths(1).atDay(1).toEpochDay();
+
+            long sumBps = 0;
+            int count = 0;
+            for (; row < end && columns.epochDay(row) < monthEnd; row++) {
+                sumBps += columns.rateBps(row);
+                count++;
+            }
+            months.add(new MonthAverage(month, sumBps / (count * 100.0)));
+        }
+        return months;
+    }
+
+    /** Månadsmedel beräknat i minnet, samma form som databasens projection. */
+    private record MonthAverage(YearMonth month, double avgRate) implements MonthlyAverageRow {
+
+        @Override
+        public Integer getYear() {
+            return month.getYear();
+        }
+
+        @Override
+        public Integer getMonth() {
+            return month.getMonthValue();
+        }
+
+        @Override
+        public Double getAvgRate() {
+            return avgRate;
+        }
+    }
+
+    /**
+     * Första dagen i fönstret: "12" → första dagen för 12 månader sedan.
+     * "all" ger LocalDate.EPOCH (äldre än all lagrad historik).
+     */
+    private static LocalDate windowStart(String window) {
+        if (!WINDOWS.contains(window)) {
+            throw new IllegalArgumentException("Unknown history window: " + window + " (allowed: " + WINDOWS + ")");
+        }
+        if ("all".equals(window)) {
+            return LocalDate.EPOCH;
+        }
+        return LocalDate.now().minusMonths(Integer.parseInt(window)).withDayOfMonth(1);
+    }
+}
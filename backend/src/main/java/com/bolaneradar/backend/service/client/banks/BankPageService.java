@@ -0,0 +1,149 @@
+package com.bolaneradar.backend.service.client.banks;
+
+import com.bolaneradar.backend.dto.api.BankHistoryDto;
+import com.bolaneradar.backend.dto.api.BankPageDto;
+import com.bolaneradar.backend.dto.api.BankPageDto.Section;
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.enums.Language;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.service.client.banks.resolver.BankKeyResolver;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ================================================================
+ * BANK PAGE SERVICE
+ * ================================================================
+ * <p>
+ * Ansvar:
+ * - Bygger hela banksidan i ett svar: intro, info, detaljer,
+ *   aktuella räntor och historik
+ * <p>
+ * Användning:
+ * - Anropas av bank-page-controller
+ * - Klienten kan välja sektioner och hoppa över tunga delar
+ * <p>
+ * Funktionalitet:
+ * - Banken slås upp en gång och skickas vidare till
+ *   BankRateReadService och BankHistoryService
+ * - Räntor och historik beräknas samtidigt på virtuella trådar
+ * - Texterna hämtas färdiga ur BankContentStore under tiden
+ * <p>
+ * Designprinciper:
+ * - Ingen egen affärslogik; samma services och regler som de
+ *   separata endpoints (språkfallback, val av term, fönster)
+ * - Okänd bank ger samma fel som /rates och /history
+ *   (endast när räntesektioner efterfrågas)
+ * <p>
+ * Prestanda:
+ * - En bankuppslagning i stället för en per sektion
+ * - Svarstiden styrs av den långsammaste sektionen, inte summan
+ * ================================================================
+ */
+@Service
+public class BankPageService {
+
+    private final BankContentStore bankContentStore;
+    private final BankRateReadService bankRateReadService;
+    private final BankHistoryService bankHistoryService;
+    private final BankKeyResolver bankKeyResolver;
+    private final BankRepository bankRepository;
+
+    public BankPageService(
+            BankContentStore bankContentStore,
+            BankRateReadService bankRateReadService,
+            BankHistoryService bankHistoryService,
+            BankKeyResolver bankKeyResolver,
+            BankRepository bankRepository
+    ) {
+        this.bankContentStore = bankContentStore;
+        this.bankRateReadService = bankRateReadService;
+        this.bankHistoryService = bankHistoryService;
+        this.bankKeyResolver = bankKeyResolver;
+        this.bankRepository = bankRepository;
+    }
+
+    /**
+     * Banksidan för valt språk. Tomt eller saknat sections ger alla
+     * sektioner; term och window gäller historiken.
+     */
+    public BankPageDto getBankPage(
+            String bankKey,
+            Language language,
+            MortgageTerm term,
+            String window,
+            Collection<Section> sections
+    ) {
+        Set<Section> included = (sections == null || sections.isEmpty())
+                ? EnumSet.allOf(Section.class)
+                : EnumSet.copyOf(sections);
+
+        Bank bank = (included.contains(Section.RATES) || included.contains(Section.HISTORY))
+                ? findBank(bankKey)
+                : null;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            Future<Map<String, Object>> rates = included.contains(Section.RATES)
+                    ? executor.submit(() -> bankRateReadService.getRatesForBank(bank))
+                    : null;
+
+            Future<BankHistoryDto> history = included.contains(Section.HISTORY)
+                    ? executor.submit(() -> bankHistoryService.getHistory(bank, term, window))
+                    : null;
+
+            // Texterna är färdiga i minnet – hämtas medan räntorna beräknas
+            return new BankPageDto(
+                    bankKey,
+                    language,
+                    included.contains(Section.INTRO) ? dto(bankContentStore.intro(bankKey, language)) : null,
+                    included.contains(Section.INFO) ? dto(bankContentStore.info(bankKey, language)) : null,
+                    included.contains(Section.DETAILS) ? dto(bankContentStore.details(bankKey, language)) : null,
+                    await(rates),
+                    await(history)
+            );
+        }
+    }
+
+    // -------------------------------------------------------------
+    // Hjälpmetoder
+    // -------------------------------------------------------------
+
+    private Bank findBank(String bankKey) {
+        String bankName = bankKeyResolver.resolve(bankKey);
+
+        return bankRepository.findByNameIgnoreCase(bankName)
+                .orElseThrow(() -> new IllegalArgumentException("Bank not found: " + bankName));
+    }
+
+    private static <T> T dto(BankContentStore.Entry<T> entry) {
+        return entry != null ? entry.dto() : null;
+    }
+
+    /**
+     * Väntar in en sektion. Fel från services kastas vidare oförändrade
+     * (t.ex. IllegalArgumentException → 400 som i de separata endpoints).
+     */
+    private static <T> T await(Future<T> future) {
+        if (future == null) return null;
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Banksidan avbröts", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Banksidan kunde inte byggas", e.getCause());
+        }
+    }
+}
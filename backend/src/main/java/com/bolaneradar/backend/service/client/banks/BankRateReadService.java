@@ -3,17 +3,18 @@ package com.bolaneradar.backend.service.client.banks;
 import com.bolaneradar.backend.dto.api.BankRateRowDto;
 import com.bolaneradar.backend.dto.mapper.api.BankRateMapper;
 import com.bolaneradar.backend.entity.core.Bank;
-import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.repository.BankRepository;
-import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.repository.CurrentRateRepository;
+import com.bolaneradar.backend.repository.projection.BankRateRow;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
+import com.bolaneradar.backend.service.core.readmodel.RateColumns;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.format.TextStyle;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * ================================================================
@@ -40,8 +41,10 @@ import java.util.stream.Collectors;
  * - Mapper ansvarar för översättning till DTO-strukturer
  * <p>
  * Prestanda:
- * - Ett begränsat antal riktade queries per bank
- * - Ingen onödig historik laddas
+ * - Två queries per anrop: banken + en projection mot current_rates
+ * - Ingen historik laddas – kostnaden växer inte med historiken
+ * - Med app.read-model.enabled läses raderna från RateColumnStore
+ *   (inga databasanrop)
  * - Optimerad för tydlighet, stabilitet och underhållbarhet
  * ================================================================
  */
@@ -49,7 +52,8 @@ import java.util.stream.Collectors;
 public class BankRateReadService {
 
     private final BankRepository bankRepository;
-    private final MortgageRateRepository rateRepository;
+    private final CurrentRateRepository currentRateRepository;
+    private final RateColumnStore rateColumnStore;
 
     private static final List<MortgageTerm> SORT_ORDER = List.of(
             MortgageTerm.VARIABLE_3M,
@@ -67,10 +71,12 @@ public class BankRateReadService {
 
     public BankRateReadService(
             BankRepository bankRepository,
-            MortgageRateRepository rateRepository
+            CurrentRateRepository currentRateRepository,
+            RateColumnStore rateColumnStore
     ) {
         this.bankRepository = bankRepository;
-        this.rateRepository = rateRepository;
+        this.currentRateRepository = currentRateRepository;
+        this.rateColumnStore = rateColumnStore;
     }
 
     // -------------------------------------------------------------
@@ -78,49 +84,61 @@ public class BankRateReadService {
     // -------------------------------------------------------------
     public Map<String, Object> getRatesForBank(String bankName) {
 
-        Bank bank = bankRepository.findByNameIgnoreCase(bankName)
-                .orElseThrow(() -> new IllegalArgumentException("Bank not found: " + bankName));
+        List<BankRateRow> currentRows = rateColumnStore.isEnabled()
+                ? currentRowsFromColumns(bankName)
+                : currentRowsFromDatabase(bankName);
+
+        return toResponse(currentRows);
+    }
 
-        // Hämta senaste månad med snitträntedata
-        LocalDate latestAvgDate = rateRepository.findLatestAverageDateForBank(bank.getId());
-        LocalDate latestMonth = latestAvgDate != null ? latestAvgDate.withDayOfMonth(1) : null;
+    /**
+     * Som getRatesForBank(String) för en redan uppslagen bank
+     * (ingen ny bankuppslagning, t.ex. i banksidans samlade svar).
+     */
+    public Map<String, Object> getRatesForBank(Bank bank) {
+
+        List<BankRateRow> currentRows = rateColumnStore.isEnabled()
+                ? currentRowsFromColumns(bank.getName())
+                : currentRateRepository.findBankRateRows(bank.getId());
+
+        return toResponse(currentRows);
+    }
 
-        Map<MortgageTerm, List<MortgageRate>> grouped =
-                bank.getMortgageRates().stream()
-                        .collect(Collectors.groupingBy(MortgageRate::getTerm));
+    private Map<String, Object> toResponse(List<BankRateRow> currentRows) {
+
+        // Bankens aktuella räntor, per bindningstid och typ
+        Map<MortgageTerm, BankRateRow> listByTerm = new EnumMap<>(MortgageTerm.class);
+        Map<MortgageTerm, BankRateRow> avgByTerm = new EnumMap<>(MortgageTerm.class);
+
+        for (BankRateRow rate : currentRows) {
+            (rate.getRateType() == RateType.LISTRATE ? listByTerm : avgByTerm).put(rate.getTerm(), rate);
+        }
+
+        // Senaste månad med snitträntedata
+        LocalDate latestMonth = avgByTerm.values().stream()
+                .map(BankRateRow::getEffectiveDate)
+                .max(Comparator.naturalOrder())
+                .map(date -> date.withDayOfMonth(1))
+                .orElse(null);
+
+        Set<MortgageTerm> terms = EnumSet.noneOf(MortgageTerm.class);
+        terms.addAll(listByTerm.keySet());
+        terms.addAll(avgByTerm.keySet());
 
         List<BankRateRowDto> rows = new ArrayList<>();
 
-        for (var entry : grouped.entrySet()) {
-
-            MortgageTerm term = entry.getKey();
-            String termCode = term.name();
-
-            MortgageRate latestList =
-                    rateRepository.findFirstByBankIdAndTermAndRateTypeOrderByEffectiveDateDesc(
-                            bank.getId(), term, RateType.LISTRATE
-                    );
-
-            MortgageRate latestAvg = null;
-            if (latestMonth != null) {
-
-                List<MortgageRate> avgCandidates =
-                        rateRepository.findAverageRatesForBankAndTermAndMonth(
-                                bank.getId(), term, latestMonth, latestMonth.plusMonths(1)
-                        );
-
-                latestAvg = avgCandidates.stream()
-                        .max(Comparator
-                                .comparing(
-                                        MortgageRate::getLastChangedDate,
-                                        Comparator.nullsLast(Comparator.naturalOrder())
-                                )
-                                .thenComparing(MortgageRate::getId)
-                        )
-                        .orElse(null);
+        for (MortgageTerm term : terms) {
+
+            BankRateRow latestList = listByTerm.get(term);
+
+            // Snitträntan visas endast om den gäller bankens senaste månad
+            BankRateRow latestAvg = avgByTerm.get(term);
+            if (latestAvg != null
+                    && !latestAvg.getEffectiveDate().withDayOfMonth(1).equals(latestMonth)) {
+                latestAvg = null;
             }
 
-            rows.add(BankRateMapper.toDto(termCode, latestList, latestAvg));
+            rows.add(BankRateMapper.toDto(term.name(), latestList, latestAvg));
         }
 
         // Sortera efter logisk ordning
@@ -137,6 +155,37 @@ public class BankRateReadService {
         return result;
     }
 
+    /**
+     * Banken + en projection mot current_rates (två queries).
+     */
+    private List<BankRateRow> currentRowsFromDatabase(String bankName) {
+        Bank bank = bankRepository.findByNameIgnoreCase(bankName)
+                .orElseThrow(() -> new IllegalArgumentException("Bank not found: " + bankName));
+
+        return currentRateRepository.findBankRateRows(bank.getId());
+    }
+
+    /**
+     * Seriernas senaste rader ur läsmodellen (ingen databas).
+     */
+    private List<BankRateRow> currentRowsFromColumns(String bankName) {
+        RateColumns columns = rateColumnStore.columns();
+
+        int bank = columns.bankIndex(bankName);
+        if (bank < 0) {
+            throw new IllegalArgumentException("Bank not found: " + bankName);
+        }
+
+        List<BankRateRow> rows = new ArrayList<>();
+        for (MortgageTerm term : MortgageTerm.values()) {
+            for (RateType type : RateType.values()) {
+                int latest = columns.latest(bank, term, type);
+                if (latest >= 0) rows.add(columns.rateRow(latest));
+            }
+        }
+        return rows;
+    }
+
     private String formatMonth(LocalDate date) {
         if (date == null) return null;
         return date.getMonth()
@@ -3,6 +3,7 @@ package com.bolaneradar.backend.service.client.banks.resolver;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.Set;
 
 /**
  * ================================================================
@@ -45,6 +46,25 @@ public class BankKeyResolver {
             Map.entry("alandsbanken", "Ålandsbanken")
     );
 
+    /**
+     * Alla kända banknycklar.
+     */
+    public Set<String> bankKeys() {
+        return BANK_KEY_MAP.keySet();
+    }
+
+    /**
+     * Banknyckel för ett banknamn (omvänd uppslagning).
+     * Okända namn returneras oförändrade, precis som resolve().
+     */
+    public String keyFor(String bankName) {
+        return BANK_KEY_MAP.entrySet().stream()
+                .filter(e -> e.getValue().equals(bankName))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(bankName);
+    }
+
     public String resolve(String bankKey) {
         if (bankKey == null) {
             return null;
@@ -3,13 +3,17 @@ package com.bolaneradar.backend.service.client.rates;
 import com.bolaneradar.backend.dto.api.MortgageRateComparisonDto;
 import com.bolaneradar.backend.dto.mapper.api.MortgageRateComparisonMapper;
 import com.bolaneradar.backend.entity.core.Bank;
-import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.core.CurrentRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.repository.BankRepository;
-import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.repository.CurrentRateRepository;
+import com.bolaneradar.backend.repository.projection.BankRateRow;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
+import com.bolaneradar.backend.service.core.readmodel.RateColumns;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.TextStyle;
 import java.util.*;
@@ -34,23 +38,46 @@ import java.util.*;
  * - Mapper ansvarar för DTO-översättning
  * <p>
  * Prestanda:
- * - En uppsättning riktade queries per bank
- * - Ingen onödig historik laddas
- * - Optimerad för läsbarhet och stabilitet
+ * - Två queries totalt: banker + current_rates (en eller alla bindningstider)
+ * - Tabellen byggs i minnet från resultatet, ingen query per bank
+ * - Alla flikar kan hämtas i ett anrop (getComparisonDataAllTerms)
+ * - Med app.read-model.enabled besvaras anropen från RateColumnStore
+ *   (seriernas senaste rader), utan databasanrop
  * ================================================================
  */
 @Service
 public class MortgageRateComparisonService {
 
+    /**
+     * Frontendens termkoder → bindningstid, i flikarnas ordning.
+     */
+    private static final Map<String, MortgageTerm> TERM_CODES;
+
+    static {
+        Map<String, MortgageTerm> codes = new LinkedHashMap<>();
+        codes.put("3m", MortgageTerm.VARIABLE_3M);
+        codes.put("1y", MortgageTerm.FIXED_1Y);
+        codes.put("2y", MortgageTerm.FIXED_2Y);
+        codes.put("3y", MortgageTerm.FIXED_3Y);
+        codes.put("4y", MortgageTerm.FIXED_4Y);
+        codes.put("5y", MortgageTerm.FIXED_5Y);
+        codes.put("7y", MortgageTerm.FIXED_7Y);
+        codes.put("10y", MortgageTerm.FIXED_10Y);
+        TERM_CODES = Collections.unmodifiableMap(codes);
+    }
+
     private final BankRepository bankRepository;
-    private final MortgageRateRepository rateRepository;
+    private final CurrentRateRepository currentRateRepository;
+    private final RateColumnStore rateColumnStore;
 
     public MortgageRateComparisonService(
             BankRepository bankRepository,
-            MortgageRateRepository rateRepository
+            CurrentRateRepository currentRateRepository,
+            RateColumnStore rateColumnStore
     ) {
         this.bankRepository = bankRepository;
-        this.rateRepository = rateRepository;
+        this.currentRateRepository = currentRateRepository;
+        this.rateColumnStore = rateColumnStore;
     }
 
     /**
@@ -61,29 +88,116 @@ public class MortgageRateComparisonService {
         // 1. Översätt "3m" → MortgageTerm.VARIABLE_3M
         MortgageTerm term = mapTermCode(termCode);
 
-        // 2. Hämta alla banker
+        // 2. Läsmodellen i minnet (om aktiverad)
+        if (rateColumnStore.isEnabled()) {
+            return buildTable(rateColumnStore.columns(), term);
+        }
+
+        // 3. Hämta alla banker och bindningstidens aktuella räntor
         List<Bank> banks = bankRepository.findAll();
+        List<CurrentRate> rates = currentRateRepository.findByTerm(term);
+
+        return buildTable(banks, rates);
+    }
+
+    /**
+     * Samtliga flikar i ett anrop: termkod → samma struktur som
+     * getComparisonDataFull. Två queries oavsett antal bindningstider.
+     */
+    public Map<String, Map<String, Object>> getComparisonDataAllTerms() {
+
+        if (rateColumnStore.isEnabled()) {
+            RateColumns columns = rateColumnStore.columns();
+            Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+            TERM_CODES.forEach((code, term) -> result.put(code, buildTable(columns, term)));
+            return result;
+        }
+
+        List<Bank> banks = bankRepository.findAll();
+
+        // En query för alla bindningstider, grupperas i minnet
+        Map<MortgageTerm, List<CurrentRate>> ratesByTerm = new EnumMap<>(MortgageTerm.class);
+        for (CurrentRate rate : currentRateRepository.findByTermIn(TERM_CODES.values())) {
+            ratesByTerm.computeIfAbsent(rate.getTerm(), t -> new ArrayList<>()).add(rate);
+        }
+
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        TERM_CODES.forEach((code, term) ->
+                result.put(code, buildTable(banks, ratesByTerm.getOrDefault(term, List.of()))));
+
+        return result;
+    }
+
+    /**
+     * Bygger tabellen för en bindningstid från bankerna och
+     * bindningstidens rader i current_rates.
+     */
+    private Map<String, Object> buildTable(List<Bank> banks, List<CurrentRate> rates) {
+
+        Map<Long, String> bankNames = new LinkedHashMap<>();
+        banks.forEach(bank -> bankNames.put(bank.getId(), bank.getName()));
+
+        // Aktuella list- och snitträntor, per bank
+        Map<Long, BankRateRow> listRates = new HashMap<>();
+        Map<Long, BankRateRow> averageRates = new HashMap<>();
+
+        for (CurrentRate rate : rates) {
+            Map<Long, BankRateRow> target =
+                    rate.getRateType() == RateType.LISTRATE ? listRates : averageRates;
+            target.put(rate.getBank().getId(), asRow(rate));
+        }
 
-        // 3. Förbered variabler som ska fyllas i loopen
+        return buildTable(bankNames, listRates, averageRates);
+    }
+
+    /**
+     * Bygger tabellen för en bindningstid från läsmodellen:
+     * seriens senaste rad per bank, ingen databas.
+     */
+    private Map<String, Object> buildTable(RateColumns columns, MortgageTerm term) {
+
+        Map<Long, String> bankNames = new LinkedHashMap<>();
+        Map<Long, BankRateRow> listRates = new HashMap<>();
+        Map<Long, BankRateRow> averageRates = new HashMap<>();
+
+        for (int bank = 0; bank < columns.bankCount(); bank++) {
+            long bankId = columns.bankId(bank);
+            bankNames.put(bankId, columns.bankName(bank));
+
+            int list = columns.latest(bank, term, RateType.LISTRATE);
+            if (list >= 0) listRates.put(bankId, columns.rateRow(list));
+
+            int average = columns.latest(bank, term, RateType.AVERAGERATE);
+            if (average >= 0) averageRates.put(bankId, columns.rateRow(average));
+        }
+
+        return buildTable(bankNames, listRates, averageRates);
+    }
+
+    /**
+     * Bygger tabellen från bankerna (id → namn, i visningsordning)
+     * och deras aktuella list- och snitträntor.
+     */
+    private Map<String, Object> buildTable(
+            Map<Long, String> banks,
+            Map<Long, BankRateRow> listRates,
+            Map<Long, BankRateRow> averageRates
+    ) {
+
+        // 1. Förbered variabler som ska fyllas i loopen
         List<MortgageRateComparisonDto> rows = new ArrayList<>();
         LocalDate commonMonth = null;
 
         // ============================================================
-        // 4. Hämta data per bank
+        // 2. Bygg rad per bank
         // ============================================================
-        for (Bank bank : banks) {
+        for (Map.Entry<Long, String> bank : banks.entrySet()) {
 
             // a) Senaste listränta
-            MortgageRate latestListRate =
-                    rateRepository.findFirstByBankIdAndTermAndRateTypeOrderByEffectiveDateDesc(
-                            bank.getId(), term, RateType.LISTRATE
-                    );
+            BankRateRow latestListRate = listRates.get(bank.getKey());
 
             // b) Senaste snittränta
-            MortgageRate latestAverageRate =
-                    rateRepository.findFirstByBankIdAndTermAndRateTypeOrderByEffectiveDateDesc(
-                            bank.getId(), term, RateType.AVERAGERATE
-                    );
+            BankRateRow latestAverageRate = averageRates.get(bank.getKey());
 
             // c) Sätt gemensam snitträntemånad (för rubriken)
             if (latestAverageRate != null && commonMonth == null) {
@@ -97,7 +211,7 @@ public class MortgageRateComparisonService {
             // e) Bygg radens DTO
             MortgageRateComparisonDto dto =
                     MortgageRateComparisonMapper.toDto(
-                            bank.getName(),
+                            bank.getValue(),
                             latestListRate,
                             latestAverageRate,
                             diff,
@@ -108,7 +222,7 @@ public class MortgageRateComparisonService {
         }
 
         // ============================================================
-        // 5. Bygg responsobjektet till frontend
+        // 3. Bygg responsobjektet till frontend
         // ============================================================
         Map<String, Object> result = new HashMap<>();
 
@@ -123,21 +237,36 @@ public class MortgageRateComparisonService {
     // Hjälpfunktioner (gör huvudloopen mycket lättare att läsa)
     // ------------------------------------------------------------
 
-    private MortgageTerm mapTermCode(String code) {
-        return switch (code.toLowerCase()) {
-            case "3m" -> MortgageTerm.VARIABLE_3M;
-            case "1y" -> MortgageTerm.FIXED_1Y;
-            case "2y" -> MortgageTerm.FIXED_2Y;
-            case "3y" -> MortgageTerm.FIXED_3Y;
-            case "4y" -> MortgageTerm.FIXED_4Y;
-            case "5y" -> MortgageTerm.FIXED_5Y;
-            case "7y" -> MortgageTerm.FIXED_7Y;
-            case "10y" -> MortgageTerm.FIXED_10Y;
-            default -> throw new IllegalArgumentException("Unknown mortgage term: " + code);
+    /**
+     * current_rates-raden som BankRateRow, samma form som läsmodellens rader.
+     */
+    private static BankRateRow asRow(CurrentRate rate) {
+        return new BankRateRow() {
+            @Override public MortgageTerm getTerm() { return rate.getTerm(); }
+            @Override public RateType getRateType() { return rate.getRateType(); }
+            @Override public BigDecimal getRatePercent() { return rate.getRatePercent(); }
+            @Override public BigDecimal getRateChange() { return rate.getRateChange(); }
+            @Override public LocalDate getLastChangedDate() { return rate.getLastChangedDate(); }
+            @Override public LocalDate getEffectiveDate() { return rate.getEffectiveDate(); }
         };
     }
 
-    private Double extractDiff(MortgageRate listRate) {
+    /**
+     * Frontendens termkoder (3m, 1y, ...) i flikarnas ordning.
+     */
+    public static List<String> termCodes() {
+        return List.copyOf(TERM_CODES.keySet());
+    }
+
+    private MortgageTerm mapTermCode(String code) {
+        MortgageTerm term = TERM_CODES.get(code.toLowerCase());
+        if (term == null) {
+            throw new IllegalArgumentException("Unknown mortgage term: " + code);
+        }
+        return term;
+    }
+
+    private Double extractDiff(BankRateRow listRate) {
         if (listRate == null) {
             return null;
         }
@@ -150,7 +279,7 @@ public class MortgageRateComparisonService {
     }
 
 
-    private LocalDate extractLastChanged(MortgageRate listRate) {
+    private LocalDate extractLastChanged(BankRateRow listRate) {
         if (listRate == null) {
             return null;
         }
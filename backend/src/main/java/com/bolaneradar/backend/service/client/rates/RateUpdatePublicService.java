@@ -4,10 +4,15 @@ import com.bolaneradar.backend.dto.api.RateUpdateDayDto;
 import com.bolaneradar.backend.dto.api.RateUpdateDto;
 import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.service.admin.RateUpdateLogService;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
+import com.bolaneradar.backend.service.core.readmodel.RateColumns;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 
@@ -19,6 +24,7 @@ import java.util.*;
  * - Identifiera faktiska ändringar i bankernas listräntor
  * - Jämföra historiska räntor per bank och bindningstid
  * - Gruppera ändringar per datum för presentation i frontend
+ * - Senaste globala uppdateringstid (samma svar för API och snapshot)
  * <p>
  * Datakälla:
  * - MortgageRate (endast LISTRATE)
@@ -27,6 +33,8 @@ import java.util.*;
  * - Ett enda databasanrop
  * - All jämförelse- och grupplogik sker i minnet
  * - Historiken begränsas i tid för rimlig svarstid
+ * - Med app.read-model.enabled jämförs serierna direkt i RateColumnStore
+ *   (inga databasanrop, inga entiteter)
  * <p>
  * Sortering:
  * - Datum: senaste först
@@ -41,9 +49,26 @@ import java.util.*;
 public class RateUpdatePublicService {
 
     private final MortgageRateRepository mortgageRateRepository;
-
-    public RateUpdatePublicService(MortgageRateRepository mortgageRateRepository) {
+    private final RateColumnStore rateColumnStore;
+    private final RateUpdateLogService rateUpdateLogService;
+
+    public RateUpdatePublicService(
+            MortgageRateRepository mortgageRateRepository,
+            RateColumnStore rateColumnStore,
+            RateUpdateLogService rateUpdateLogService
+    ) {
         this.mortgageRateRepository = mortgageRateRepository;
+        this.rateColumnStore = rateColumnStore;
+        this.rateUpdateLogService = rateUpdateLogService;
+    }
+
+    /**
+     * Senaste globala uppdateringstid: { "latestScrape": "..." },
+     * värdet är null om inga loggar finns.
+     */
+    public Map<String, String> getLatestGlobalUpdate() {
+        LocalDateTime latest = rateUpdateLogService.getLatestGlobalUpdate();
+        return Collections.singletonMap("latestScrape", latest != null ? latest.toString() : null);
     }
 
     /**
@@ -55,15 +80,46 @@ public class RateUpdatePublicService {
         // 1. Begränsa hur långt bak vi tittar (justerbart)
         LocalDate fromDate = LocalDate.now().minusMonths(12);
 
-        // 2. Hämta alla relevanta listräntor i korrekt sortering
+        // 2. Ändringar per datum, från läsmodellen eller databasen
+        Map<LocalDate, List<RateUpdateDto>> updatesByDate = rateColumnStore.isEnabled()
+                ? changesFromColumns(rateColumnStore.columns(), fromDate)
+                : changesFromDatabase(fromDate);
+
+        // 3. Sortera ändringar per datum:
+        //    - Bank (A–Ö)
+        //    - Bindningstid (enum-ordning: 3 mån → 10 år)
+        for (List<RateUpdateDto> updates : updatesByDate.values()) {
+            updates.sort(
+                    Comparator
+                            .comparing(RateUpdateDto::getBankName)
+                            .thenComparing(dto ->
+                                    MortgageTerm.valueOf(dto.getBindingPeriod()).ordinal()
+                            )
+            );
+        }
+
+        // 4. Bygg slutlig DTO-lista, sorterad på datum (senaste först)
+        return updatesByDate.entrySet()
+                .stream()
+                .sorted(Map.Entry.<LocalDate, List<RateUpdateDto>>comparingByKey().reversed())
+                .map(entry -> new RateUpdateDayDto(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Listräntor från databasen (ett anrop), jämförs sekventiellt.
+     */
+    private Map<LocalDate, List<RateUpdateDto>> changesFromDatabase(LocalDate fromDate) {
+
+        // 1. Hämta alla relevanta listräntor i korrekt sortering
         //    (bank → term → effectiveDate desc)
         List<MortgageRate> rates =
                 mortgageRateRepository.findAllListRatesSortedFrom(fromDate);
 
-        // 3. Temporär struktur: datum -> ändringar
+        // 2. Temporär struktur: datum -> ändringar
         Map<LocalDate, List<RateUpdateDto>> updatesByDate = new HashMap<>();
 
-        // 4. Jämför sekventiellt (listan är redan sorterad)
+        // 3. Jämför sekventiellt (listan är redan sorterad)
         for (int i = 0; i < rates.size() - 1; i++) {
 
             MortgageRate current = rates.get(i);
@@ -95,24 +151,46 @@ public class RateUpdatePublicService {
             }
         }
 
-        // 5. Sortera ändringar per datum:
-        //    - Bank (A–Ö)
-        //    - Bindningstid (enum-ordning: 3 mån → 10 år)
-        for (List<RateUpdateDto> updates : updatesByDate.values()) {
-            updates.sort(
-                    Comparator
-                            .comparing(RateUpdateDto::getBankName)
-                            .thenComparing(dto ->
-                                    MortgageTerm.valueOf(dto.getBindingPeriod()).ordinal()
-                            )
-            );
+        return updatesByDate;
+    }
+
+    /**
+     * Samma jämförelse direkt i läsmodellens serier: varje serie
+     * (bank + bindningstid) gås igenom från senaste raden och bakåt.
+     */
+    private Map<LocalDate, List<RateUpdateDto>> changesFromColumns(RateColumns columns, LocalDate fromDate) {
+
+        int fromDay = (int) fromDate.toEpochDay();
+        Map<LocalDate, List<RateUpdateDto>> updatesByDate = new HashMap<>();
+
+        for (int bank = 0; bank < columns.bankCount(); bank++) {
+            for (MortgageTerm term : MortgageTerm.values()) {
+
+                int start = columns.seriesStart(bank, term, RateType.LISTRATE);
+                int newer = -1;
+
+                for (int row = columns.seriesEnd(bank, term, RateType.LISTRATE) - 1; row >= start; row--) {
+
+                    // Samma tidsgräns som databasfrågan (intervall som fortfarande gällde)
+                    if (columns.lastSeenDay(row) < fromDay) {
+                        continue;
+                    }
+
+                    if (newer >= 0 && columns.rateBps(newer) != columns.rateBps(row)) {
+                        updatesByDate
+                                .computeIfAbsent(columns.effectiveDate(newer), d -> new ArrayList<>())
+                                .add(new RateUpdateDto(
+                                        columns.bankName(bank),
+                                        term.name(),
+                                        columns.ratePercent(row),
+                                        columns.ratePercent(newer)
+                                ));
+                    }
+                    newer = row;
+                }
+            }
         }
 
-        // 6. Bygg slutlig DTO-lista, sorterad på datum (senaste först)
-        return updatesByDate.entrySet()
-                .stream()
-                .sorted(Map.Entry.<LocalDate, List<RateUpdateDto>>comparingByKey().reversed())
-                .map(entry -> new RateUpdateDayDto(entry.getKey(), entry.getValue()))
-                .toList();
+        return updatesByDate;
     }
-}
\ No newline at end of file
+}
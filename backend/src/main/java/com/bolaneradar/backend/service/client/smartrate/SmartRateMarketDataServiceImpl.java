@@ -1,11 +1,15 @@
 package com.bolaneradar.backend.service.client.smartrate;
 
+import com.bolaneradar.backend.entity.core.CurrentRate;
 import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.entity.enums.smartrate.RatePreference;
+import com.bolaneradar.backend.repository.CurrentRateRepository;
 import com.bolaneradar.backend.repository.MortgageRateRepository;
 import com.bolaneradar.backend.repository.projection.MarketRateSnapshotRow;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
+import com.bolaneradar.backend.service.core.readmodel.RateColumns;
 import com.bolaneradar.backend.service.client.smartrate.model.MarketSnapshot;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +17,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -40,9 +45,12 @@ import java.util.stream.Collectors;
  * - Snapshot används för att undvika upprepade DB-anrop
  * <p>
  * Prestanda:
+ * - Aktuella räntor läses från current_rates, inte ur historiken
  * - Snapshot byggs med en enda DB-query (projection)
  * - Inga JPA-entiteter exponeras i analysflödet
  * - Optimerad för upprepade beräkningar i samma analys
+ * - Med app.read-model.enabled besvaras alla metoder från
+ *   RateColumnStore (inga databasanrop)
  * ================================================================
  */
 
@@ -50,9 +58,17 @@ import java.util.stream.Collectors;
 public class SmartRateMarketDataServiceImpl implements SmartRateMarketDataService {
 
     private final MortgageRateRepository repo;
+    private final CurrentRateRepository currentRateRepository;
+    private final RateColumnStore rateColumnStore;
 
-    public SmartRateMarketDataServiceImpl(MortgageRateRepository repo) {
+    public SmartRateMarketDataServiceImpl(
+            MortgageRateRepository repo,
+            CurrentRateRepository currentRateRepository,
+            RateColumnStore rateColumnStore
+    ) {
         this.repo = repo;
+        this.currentRateRepository = currentRateRepository;
+        this.rateColumnStore = rateColumnStore;
     }
 
     // =========================================================================
@@ -60,14 +76,17 @@ public class SmartRateMarketDataServiceImpl implements SmartRateMarketDataServic
     // =========================================================================
     @Override
     public BigDecimal getBankAverageRate(Long bankId, MortgageTerm term) {
-        MortgageRate rate =
-                repo.findFirstByBankIdAndTermAndRateTypeOrderByEffectiveDateDesc(
-                        bankId,
-                        term,
-                        RateType.AVERAGERATE
-                );
+        if (rateColumnStore.isEnabled()) {
+            RateColumns columns = rateColumnStore.columns();
+            int bank = columns.bankIndexOf(bankId);
+            int latest = bank >= 0 ? columns.latest(bank, term, RateType.AVERAGERATE) : -1;
+            return latest >= 0 ? columns.ratePercent(latest) : null;
+        }
 
-        return rate != null ? rate.getRatePercent() : null;
+        return currentRateRepository
+                .findByBankIdAndTermAndRateType(bankId, term, RateType.AVERAGERATE)
+                .map(CurrentRate::getRatePercent)
+                .orElse(null);
     }
 
     // =========================================================================
@@ -75,9 +94,7 @@ public class SmartRateMarketDataServiceImpl implements SmartRateMarketDataServic
     // =========================================================================
     @Override
     public BigDecimal getMarketBestRate(MortgageTerm term) {
-        return repo.findLatestRatesByType(RateType.AVERAGERATE).stream()
-                .filter(r -> r.getTerm() == term)
-                .map(MortgageRate::getRatePercent)
+        return currentAverageRates(term).stream()
                 .min(Comparator.naturalOrder())
                 .orElse(null);
     }
@@ -88,10 +105,8 @@ public class SmartRateMarketDataServiceImpl implements SmartRateMarketDataServic
     @Override
     public BigDecimal getMarketMedianRate(MortgageTerm term) {
 
-        List<BigDecimal> values = repo.findLatestRatesByType(RateType.AVERAGERATE)
+        List<BigDecimal> values = currentAverageRates(term)
                 .stream()
-                .filter(r -> r.getTerm() == term)
-                .map(MortgageRate::getRatePercent)
                 .sorted()
                 .toList();
 
@@ -115,6 +130,10 @@ public class SmartRateMarketDataServiceImpl implements SmartRateMarketDataServic
 
         YearMonth ym = YearMonth.from(date);
 
+        if (rateColumnStore.isEnabled()) {
+            return historicVariableRateFromColumns(rateColumnStore.columns(), bankId, ym);
+        }
+
         List<MortgageRate> rates =
                 repo.findAverageRatesForBankAndTermAndMonth(
                         bankId,
@@ -158,9 +177,10 @@ public class SmartRateMarketDataServiceImpl implements SmartRateMarketDataServic
             Set<MortgageTerm> terms
     ) {
 
-        // EN query, inga entities
-        List<MarketRateSnapshotRow> rows =
-                repo.findMarketSnapshotRows(
+        // EN query (eller läsmodellen), inga entities
+        List<MarketRateSnapshotRow> rows = rateColumnStore.isEnabled()
+                ? snapshotRowsFromColumns(rateColumnStore.columns(), terms)
+                : currentRateRepository.findMarketSnapshotRows(
                         RateType.AVERAGERATE,
                         List.copyOf(terms)
                 );
@@ -227,4 +247,69 @@ public class SmartRateMarketDataServiceImpl implements SmartRateMarketDataServic
                 Map.copyOf(bankAvgByTerm)
         );
     }
-}
\ No newline at end of file
+
+    // =========================================================================
+    // Hjälpmetoder – current_rates eller läsmodellen
+    // =========================================================================
+
+    /**
+     * Aktuell snittränta per bank för bindningstiden.
+     */
+    private List<BigDecimal> currentAverageRates(MortgageTerm term) {
+        if (!rateColumnStore.isEnabled()) {
+            return currentRateRepository.findByRateTypeAndTerm(RateType.AVERAGERATE, term).stream()
+                    .map(CurrentRate::getRatePercent)
+                    .toList();
+        }
+
+        RateColumns columns = rateColumnStore.columns();
+        List<BigDecimal> values = new ArrayList<>();
+        for (int bank = 0; bank < columns.bankCount(); bank++) {
+            int latest = columns.latest(bank, term, RateType.AVERAGERATE);
+            if (latest >= 0) values.add(columns.ratePercent(latest));
+        }
+        return values;
+    }
+
+    /**
+     * Senaste snitträntan per bank och vald bindningstid, som projection.
+     */
+    private static List<MarketRateSnapshotRow> snapshotRowsFromColumns(
+            RateColumns columns,
+            Set<MortgageTerm> terms
+    ) {
+        List<MarketRateSnapshotRow> rows = new ArrayList<>();
+        for (int bank = 0; bank < columns.bankCount(); bank++) {
+            for (MortgageTerm term : terms) {
+                int latest = columns.latest(bank, term, RateType.AVERAGERATE);
+                if (latest >= 0) rows.add(columns.snapshotRow(latest));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Månadens rörliga snittränta: senaste effectiveDate, därefter
+     * senaste lastChangedDate och högst id – samma ordning som
+     * findAverageRatesForBankAndTermAndMonth.
+     */
+    private static BigDecimal historicVariableRateFromColumns(RateColumns columns, Long bankId, YearMonth ym) {
+        int bank = columns.bankIndexOf(bankId);
+        if (bank < 0) return null;
+
+        int monthEnd = (int) ym.plusMonths(1).atDay(1).toEpochDay();
+        int end = columns.seriesEnd(bank, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE);
+
+        int best = -1;
+        for (int row = columns.seriesFrom(bank, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE,
+                (int) ym.atDay(1).toEpochDay()); row < end && columns.epochDay(row) < monthEnd; row++) {
+            // Raderna är sorterade på datum och id → senare rad vinner vid lika
+            if (best < 0
+                    || columns.epochDay(row) > columns.epochDay(best)
+                    || columns.lastChangedDay(row) >= columns.lastChangedDay(best)) {
+                best = row;
+            }
+        }
+        return best >= 0 ? columns.ratePercent(best) : null;
+    }
+}
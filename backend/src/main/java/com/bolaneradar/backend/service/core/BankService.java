@@ -2,6 +2,7 @@ package com.bolaneradar.backend.service.core;
 
 import com.bolaneradar.backend.entity.core.Bank;
 import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -28,13 +29,18 @@ import java.util.Optional;
 public class BankService {
 
     private final BankRepository bankRepository;
+    private final RateColumnStore rateColumnStore;
 
     /**
      * Konstruktorinjektion.
      * Spring skapar automatiskt en instans av BankRepository och injicerar den här.
      */
-    public BankService(BankRepository bankRepository) {
+    public BankService(
+            BankRepository bankRepository,
+            RateColumnStore rateColumnStore
+    ) {
         this.bankRepository = bankRepository;
+        this.rateColumnStore = rateColumnStore;
     }
 
     // ============================================================
@@ -92,7 +98,10 @@ public class BankService {
      * @return den sparade banken
      */
     public Bank saveBank(Bank bank) {
-        return bankRepository.save(bank);
+        Bank saved = bankRepository.save(bank);
+        // Bankregistret i läsmodellen (nya banker, namnbyten)
+        rateColumnStore.rebuildAfterCommit();
+        return saved;
     }
 
     // ============================================================
@@ -106,5 +115,6 @@ public class BankService {
      */
     public void deleteBank(Long id) {
         bankRepository.deleteById(id);
+        rateColumnStore.rebuildAfterCommit();
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.bolaneradar.backend.service.core;
+
+import java.util.List;
+
+/**
+ * Resultat av en kontroll av current_rates mot historiken (mortgage_rates).
+ * Serier anges som "Bank TERM RATETYPE".
+ *
+ * @param seriesInHistory antal serier (bank + term + typ) i historiken
+ * @param currentRows     antal rader i current_rates
+ * @param missing         serier som finns i historiken men saknas i current_rates
+ * @param stale           serier vars värden skiljer sig från senaste historikraden
+ * @param orphaned        rader i current_rates utan historik
+ */
+public record CurrentRateCheckResult(
+        int seriesInHistory,
+        int currentRows,
+        List<String> missing,
+        List<String> stale,
+        List<String> orphaned
+) {
+
+    public boolean isConsistent() {
+        return missing.isEmpty() && stale.isEmpty() && orphaned.isEmpty();
+    }
+}
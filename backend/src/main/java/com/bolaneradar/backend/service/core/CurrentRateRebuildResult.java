@@ -0,0 +1,12 @@
+package com.bolaneradar.backend.service.core;
+
+/**
+ * Resultat av en ombyggnad av current_rates från historiken.
+ *
+ * @param rowsDeleted antal rader i current_rates före ombyggnad
+ * @param rowsWritten antal rader efter ombyggnad (en per serie)
+ */
+public record CurrentRateRebuildResult(
+        int rowsDeleted,
+        int rowsWritten
+) {}
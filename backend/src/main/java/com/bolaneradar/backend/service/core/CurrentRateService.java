@@ -0,0 +1,221 @@
+package com.bolaneradar.backend.service.core;
+
+import com.bolaneradar.backend.entity.core.CurrentRate;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.CurrentRateRepository;
+import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * ================================================================
+ * CURRENT RATE SERVICE
+ * ================================================================
+ * <p>
+ * Underhåller current_rates: senaste list- och snittränta per
+ * bank och bindningstid, så att publika läsningar inte behöver
+ * söka fram senaste raden i hela historiken.
+ * <p>
+ * Ansvar:
+ * - Spara nya historikrader och uppdatera current_rates i samma transaktion
+ * - Bygga om tabellen från historiken (reparation, efter kompaktering)
+ * - Kontrollera att tabellen stämmer med historiken
+ * - Meddela läsmodellen (RateColumnStore) vilka banker som ändrats;
+ *   den flyttar RateDataGeneration efter commit (svarscachen töms)
+ * <p>
+ * Designprinciper:
+ * - Enda stället som skriver current_rates
+ * - Senaste effectiveDate vinner; vid samma datum vinner senast sparad
+ *   rad (högst id), samma regel som LatestRateQueries
+ * - Äldre rader (t.ex. import av historik) ändrar inte current_rates
+ * ================================================================
+ */
+@Service
+public class CurrentRateService {
+
+    private final MortgageRateRepository rateRepository;
+    private final CurrentRateRepository currentRateRepository;
+    private final RateColumnStore rateColumnStore;
+
+    public CurrentRateService(
+            MortgageRateRepository rateRepository,
+            CurrentRateRepository currentRateRepository,
+            RateColumnStore rateColumnStore
+    ) {
+        this.rateRepository = rateRepository;
+        this.currentRateRepository = currentRateRepository;
+        this.rateColumnStore = rateColumnStore;
+    }
+
+    // ============================================================
+    // ===================       SKRIVNING       ==================
+    // ============================================================
+
+    /**
+     * Sparar historikrader och uppdaterar current_rates i samma transaktion.
+     * Används av ScraperService och MortgageRateAdminService.
+     */
+    @Transactional
+    public void saveRates(List<MortgageRate> rates) {
+        rateRepository.saveAll(rates);
+        apply(rates);
+        rateColumnStore.refreshAfterCommit(bankIds(rates));
+    }
+
+    /**
+     * Sparar förlängda intervall (endast lastSeenDate ändrad).
+     * current_rates påverkas inte, men läsmodellen laddar om bankerna.
+     */
+    @Transactional
+    public void saveSeenIntervals(List<MortgageRate> rates) {
+        rateRepository.saveAll(rates);
+        rateColumnStore.refreshAfterCommit(bankIds(rates));
+    }
+
+    /**
+     * För över sparade historikrader till current_rates.
+     * Ett anrop hämtar berörda bankers rader; endast ändrade rader sparas.
+     */
+    private void apply(List<MortgageRate> rates) {
+        if (rates.isEmpty()) return;
+
+        Map<SeriesKey, CurrentRate> current = new HashMap<>();
+        currentRateRepository.findByBankIdIn(bankIds(rates))
+                .forEach(c -> current.put(SeriesKey.of(c), c));
+
+        Set<CurrentRate> changed = new LinkedHashSet<>();
+
+        for (MortgageRate rate : rates) {
+            SeriesKey key = SeriesKey.of(rate);
+            CurrentRate existing = current.get(key);
+
+            if (existing == null) {
+                CurrentRate created = new CurrentRate(rate);
+                current.put(key, created);
+                changed.add(created);
+            } else if (!rate.getEffectiveDate().isBefore(existing.getEffectiveDate())) {
+                existing.copyFrom(rate);
+                changed.add(existing);
+            }
+        }
+
+        currentRateRepository.saveAll(changed);
+    }
+
+    // ============================================================
+    // ===================   OMBYGGNAD / KONTROLL   ===============
+    // ============================================================
+
+    /**
+     * Bygger om current_rates från historiken.
+     * Körs vid reparation och efter kompaktering av listräntor.
+     */
+    @Transactional
+    public CurrentRateRebuildResult rebuild() {
+        int before = (int) currentRateRepository.count();
+        currentRateRepository.deleteAllInBatch();
+
+        List<CurrentRate> rebuilt = latestFromHistory().stream()
+                .map(CurrentRate::new)
+                .toList();
+        currentRateRepository.saveAll(rebuilt);
+        rateColumnStore.rebuildAfterCommit();
+
+        System.out.println("current_rates ombyggd: " + before + " → " + rebuilt.size() + " rader");
+
+        return new CurrentRateRebuildResult(before, rebuilt.size());
+    }
+
+    /**
+     * Jämför current_rates med senaste historikraden per serie.
+     */
+    @Transactional(readOnly = true)
+    public CurrentRateCheckResult check() {
+        Map<SeriesKey, MortgageRate> expected = new HashMap<>();
+        latestFromHistory().forEach(r -> expected.put(SeriesKey.of(r), r));
+
+        List<CurrentRate> actual = currentRateRepository.findAll();
+
+        List<String> missing = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        List<String> orphaned = new ArrayList<>();
+        Set<SeriesKey> seen = new LinkedHashSet<>();
+
+        for (CurrentRate row : actual) {
+            SeriesKey key = SeriesKey.of(row);
+            seen.add(key);
+            MortgageRate latest = expected.get(key);
+
+            if (latest == null) {
+                orphaned.add(describe(row.getBank().getName(), key));
+            } else if (!matches(row, latest)) {
+                stale.add(describe(row.getBank().getName(), key));
+            }
+        }
+
+        expected.forEach((key, rate) -> {
+            if (!seen.contains(key)) {
+                missing.add(describe(rate.getBank().getName(), key));
+            }
+        });
+
+        return new CurrentRateCheckResult(expected.size(), actual.size(), missing, stale, orphaned);
+    }
+
+    // ============================================================
+    // ===================     HJÄLPMETODER      ==================
+    // ============================================================
+
+    private static Set<Long> bankIds(List<MortgageRate> rates) {
+        Set<Long> bankIds = new LinkedHashSet<>();
+        rates.forEach(r -> bankIds.add(r.getBank().getId()));
+        return bankIds;
+    }
+
+    private List<MortgageRate> latestFromHistory() {
+        List<MortgageRate> latest = new ArrayList<>(rateRepository.findLatestRatesByType(RateType.LISTRATE));
+        latest.addAll(rateRepository.findLatestRatesByType(RateType.AVERAGERATE));
+        return latest;
+    }
+
+    private static boolean matches(CurrentRate row, MortgageRate rate) {
+        return sameValue(row.getRatePercent(), rate.getRatePercent())
+                && sameValue(row.getRateChange(), rate.getRateChange())
+                && Objects.equals(row.getLastChangedDate(), rate.getLastChangedDate())
+                && Objects.equals(row.getEffectiveDate(), rate.getEffectiveDate());
+    }
+
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static String describe(String bankName, SeriesKey key) {
+        return bankName + " " + key.term() + " " + key.rateType();
+    }
+
+    /**
+     * En serie i current_rates: bank + bindningstid + räntetyp.
+     */
+    private record SeriesKey(Long bankId, MortgageTerm term, RateType rateType) {
+
+        static SeriesKey of(MortgageRate rate) {
+            return new SeriesKey(rate.getBank().getId(), rate.getTerm(), rate.getRateType());
+        }
+
+        static SeriesKey of(CurrentRate rate) {
+            return new SeriesKey(rate.getBank().getId(), rate.getTerm(), rate.getRateType());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.bolaneradar.backend.service.core;
+
+import com.bolaneradar.backend.repository.RateDataVersionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * ================================================================
+ * RATE DATA GENERATION
+ * ================================================================
+ * <p>
+ * Global räknare som ökar varje gång räntedata har committats
+ * (historik, current_rates eller bankregistret), samt när
+ * bankinnehållet laddas om (BankContentStore.reload()).
+ * <p>
+ * Används av:
+ * - PublicResponseCache (allt kastas när generationen flyttas)
+ * - RateColumnStore (laddar om när databasens version flyttas)
+ * <p>
+ * Två delar:
+ * - Databasens version (rate_data_version) ökas i samma transaktion
+ *   som skrivningen – även av batch-processen (--mode=scrape) – och
+ *   läses högst en gång per app.data-version.poll-ms
+ * - En lokal räknare ökas direkt efter commit i denna process, så att
+ *   egna skrivningar syns utan att vänta på nästa läsning av versionen
+ * - current() är summan; den flyttas när någon av delarna gör det
+ * <p>
+ * Designprinciper:
+ * - Ökas efter commit, aldrig vid rollback (versionen ingår i
+ *   transaktionen och rullas tillbaka med den)
+ * - Skrivande services meddelar läsmodellen (RateColumnStore), som
+ *   anropar advanceAfterCommit() och får veta vilken version den skrev
+ * - Ändringar från andra processer syns inom pollintervallet
+ * ================================================================
+ */
+@Component
+public class RateDataGeneration {
+
+    /** Skriven version okänd (ingen transaktion). */
+    public static final long UNKNOWN_VERSION = -1;
+
+    private final RateDataVersionRepository versionRepository;
+    private final long pollNanos;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile long databaseVersion;
+    private volatile long nextPoll = System.nanoTime();
+
+    public RateDataGeneration(
+            RateDataVersionRepository versionRepository,
+            @Value("${app.data-version.poll-ms:2000}") long pollMs
+    ) {
+        this.versionRepository = versionRepository;
+        this.pollNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, pollMs));
+    }
+
+    /** Aktuell generation: lokala commits + databasens version. */
+    public long current() {
+        return generation.get() + databaseVersion();
+    }
+
+    /**
+     * Databasens version, läst högst en gång per pollintervall.
+     */
+    public long databaseVersion() {
+        if (System.nanoTime() - nextPoll >= 0) {
+            synchronized (this) {
+                if (System.nanoTime() - nextPoll >= 0) {
+                    return refreshDatabaseVersion();
+                }
+            }
+        }
+        return databaseVersion;
+    }
+
+    /**
+     * Läser databasens version direkt (t.ex. innan läsmodellen laddas).
+     * Om läsningen misslyckas behålls senast kända värde.
+     */
+    public synchronized long refreshDatabaseVersion() {
+        try {
+            Long version = versionRepository.findVersion();
+            databaseVersion = version != null ? version : 0;
+        } catch (DataAccessException e) {
+            System.err.println("Kunde inte läsa rate_data_version: " + e.getMessage());
+        }
+        nextPoll = System.nanoTime() + pollNanos;
+        return databaseVersion;
+    }
+
+    /** Ökar den lokala generationen direkt (endast denna process). */
+    public void advance() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Ökar databasens version i pågående transaktion (strax före commit)
+     * och den lokala generationen efter commit. Utan transaktion görs
+     * båda direkt.
+     * <p>
+     * committed anropas efter commit med den version som transaktionen
+     * skrev. Versionen läses tillbaka medan raden är låst, så ingen annan
+     * skrivning kan ligga mellan. Utan transaktion är versionen okänd
+     * (UNKNOWN_VERSION).
+     */
+    public void advanceAfterCommit(LongConsumer committed) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private long written = UNKNOWN_VERSION;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    versionRepository.increment();
+                    Long version = versionRepository.findVersion();
+                    if (version != null) written = version;
+                }
+
+                @Override
+                public void afterCommit() {
+                    advance();
+                    committed.accept(written);
+                }
+            });
+        } else {
+            versionRepository.increment();
+            advance();
+            committed.accept(UNKNOWN_VERSION);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.bolaneradar.backend.service.core.readmodel;
+
+import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.service.core.RateDataGeneration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ================================================================
+ * RATE COLUMN STORE – LÄSMODELL I MINNET
+ * ================================================================
+ * <p>
+ * Håller hela mortgage_rates som en kolumnorienterad ögonblicksbild
+ * (RateColumns) så att publika läsningar kan besvaras utan databas.
+ * <p>
+ * Aktivering:
+ * - app.read-model.enabled=true (av som standard → JPA som tidigare)
+ * - Läsande services frågar isEnabled() och väljer källa per anrop
+ * <p>
+ * Uppdatering:
+ * - Laddas vid första läsningen
+ * - Efter commit i CurrentRateService (skrapning, admin-import,
+ *   förlängda intervall) laddas berörda banker om; övriga bankers
+ *   rader kopieras från föregående ögonblicksbild
+ * - Ombyggnad av current_rates (kompaktering, reparation), ändrade
+ *   banker och rensning (AdminDataService, BankService) laddar om allt
+ * - Varje sådan commit flyttar RateDataGeneration (även när läsmodellen
+ *   är avstängd) och får tillbaka databasversionen den skrev; var det
+ *   enda ändringen sedan senaste laddningen räknas den som inläst
+ * - Skrivningar från andra processer (t.ex. --mode=scrape) syns via
+ *   databasens version (högst en läsning per app.data-version.poll-ms):
+ *   har den flyttats laddas allt om i en bakgrundstråd
+ * - Ny ögonblicksbild publiceras atomiskt (volatile); läsare ser antingen
+ *   den gamla eller den nya, aldrig en halvfärdig
+ * <p>
+ * Trådsäkerhet:
+ * - Läsning är låsfri; under en omladdning i bakgrunden besvaras
+ *   läsningar från den gamla ögonblicksbilden
+ * - Omladdningar serialiseras (synchronized), så parallella skrapningar
+ *   inte skriver över varandras ändringar
+ * ================================================================
+ */
+@Component
+public class RateColumnStore {
+
+    private final MortgageRateRepository rateRepository;
+    private final BankRepository bankRepository;
+    private final RateDataGeneration rateDataGeneration;
+    private final boolean enabled;
+
+    private volatile RateColumns columns;
+    private volatile long loadedVersion;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private Executor reloadExecutor = task -> Thread.ofVirtual().name("read-model-reload").start(task);
+
+    public RateColumnStore(
+            MortgageRateRepository rateRepository,
+            BankRepository bankRepository,
+            RateDataGeneration rateDataGeneration,
+            @Value("${app.read-model.enabled:false}") boolean enabled
+    ) {
+        this.rateRepository = rateRepository;
+        this.bankRepository = bankRepository;
+        this.rateDataGeneration = rateDataGeneration;
+        this.enabled = enabled;
+    }
+
+    /** Ska publika läsningar besvaras från minnet? */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Aktuell ögonblicksbild; laddas vid första anropet. Har databasens
+     * version flyttats sedan senaste laddningen startas en omladdning i
+     * bakgrunden och den nuvarande ögonblicksbilden returneras.
+     */
+    public RateColumns columns() {
+        RateColumns current = columns;
+        if (current == null) return loadIfMissing();
+
+        // Versionen ökar bara; den pollade kan ligga efter loadedVersion efter en egen commit
+        if (rateDataGeneration.databaseVersion() > loadedVersion && reloading.compareAndSet(false, true)) {
+            reloadExecutor.execute(this::reloadInBackground);
+        }
+        return current;
+    }
+
+    // ============================================================
+    // ===================      OMLADDNING       ==================
+    // ============================================================
+
+    /**
+     * Laddar hela historiken och publicerar en ny ögonblicksbild.
+     */
+    public synchronized RateColumns rebuild() {
+        // Läses före datan: en skrivning under laddningen ger en ny omladdning
+        long version = rateDataGeneration.refreshDatabaseVersion();
+
+        RateColumns.Builder builder = new RateColumns.Builder(bankRepository.findAll());
+        rateRepository.findAllRateColumns().forEach(builder::add);
+
+        RateColumns rebuilt = builder.build(nextGeneration());
+        columns = rebuilt;
+        loadedVersion = version;
+
+        System.out.println("Läsmodell laddad: " + rebuilt.rowCount() + " rader, "
+                + rebuilt.bankCount() + " banker (generation " + rebuilt.generation() + ")");
+
+        return rebuilt;
+    }
+
+    /**
+     * Laddar om givna banker; övriga bankers rader kopieras oförändrade.
+     * Bankregistret läses alltid om (nya, bytt namn eller borttagna banker).
+     */
+    public void refreshBanks(Collection<Long> bankIds) {
+        refreshBanks(bankIds, RateDataGeneration.UNKNOWN_VERSION);
+    }
+
+    /**
+     * Som ovan; written är databasversionen som ändringen skrev. Var
+     * den enda ändringen sedan senaste laddningen räknas den som inläst.
+     */
+    private synchronized void refreshBanks(Collection<Long> bankIds, long written) {
+        RateColumns current = columns;
+        if (current == null || bankIds.isEmpty()) return;
+
+        Set<Long> refreshed = new HashSet<>(bankIds);
+        RateColumns.Builder builder = new RateColumns.Builder(bankRepository.findAll());
+
+        // Gammalt bankindex → nytt (-1 = laddas om eller finns inte längre)
+        int[] remap = new int[current.bankCount()];
+        for (int b = 0; b < remap.length; b++) {
+            long bankId = current.bankId(b);
+            remap[b] = refreshed.contains(bankId) ? -1 : builder.bankIndexOf(bankId);
+        }
+
+        for (int row = 0; row < current.rowCount(); row++) {
+            int bankIndex = remap[current.bankIndexAt(row)];
+            if (bankIndex >= 0) {
+                builder.copy(current, row, bankIndex);
+            }
+        }
+
+        rateRepository.findRateColumnsForBanks(refreshed).forEach(builder::add);
+
+        columns = builder.build(nextGeneration());
+        if (written != RateDataGeneration.UNKNOWN_VERSION && written == loadedVersion + 1) {
+            loadedVersion = written;
+        }
+    }
+
+    // ============================================================
+    // ===================    EFTER COMMIT       ==================
+    // ============================================================
+
+    /**
+     * Flyttar RateDataGeneration och laddar om bankerna när pågående
+     * transaktion har committats (direkt om ingen transaktion pågår).
+     * Inget händer vid rollback; omladdningen hoppas över om
+     * läsmodellen är avstängd.
+     */
+    public void refreshAfterCommit(Collection<Long> bankIds) {
+        List<Long> ids = List.copyOf(bankIds);
+        rateDataGeneration.advanceAfterCommit(written -> {
+            if (enabled) refreshBanks(ids, written);
+        });
+    }
+
+    /**
+     * Flyttar RateDataGeneration och laddar om hela läsmodellen efter
+     * commit (om den är påslagen och redan laddad).
+     */
+    public void rebuildAfterCommit() {
+        rateDataGeneration.advanceAfterCommit(written -> {
+            if (enabled && columns != null) rebuild();
+        });
+    }
+
+    // ============================================================
+    // ===================     HJÄLPMETODER      ==================
+    // ============================================================
+
+    private void reloadInBackground() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            System.err.println("Kunde inte ladda om läsmodellen: " + e.getMessage());
+        } finally {
+            reloading.set(false);
+        }
+    }
+
+    private synchronized RateColumns loadIfMissing() {
+        return columns != null ? columns : rebuild();
+    }
+
+    private long nextGeneration() {
+        RateColumns current = columns;
+        return current == null ? 1 : current.generation() + 1;
+    }
+}
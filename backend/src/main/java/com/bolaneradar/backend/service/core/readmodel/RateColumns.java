@@ -0,0 +1,432 @@
+package com.bolaneradar.backend.service.core.readmodel;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.projection.BankRateRow;
+import com.bolaneradar.backend.repository.projection.MarketRateSnapshotRow;
+import com.bolaneradar.backend.repository.projection.RateColumnRow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ================================================================
+ * RATE COLUMNS (ÖGONBLICKSBILD)
+ * ================================================================
+ * <p>
+ * Oföränderlig ögonblicksbild av hela mortgage_rates i primitiva,
+ * kolumnorienterade arrayer. Byggs av RateColumnStore och delas
+ * utan lås mellan alla läsande trådar.
+ * <p>
+ * Kolumner (en position per historikrad):
+ * - bankindex, bindningstid (ordinal), räntetyp (ordinal)
+ * - effectiveDate som epoch-dag (int)
+ * - ränta och förändring i baspunkter (int, NUMERIC(4,2) × 100)
+ * - lastChangedDate och lastSeenDate som epoch-dag (NONE = null)
+ * <p>
+ * Sortering:
+ * - Bank (id) → bindningstid → räntetyp → effectiveDate → id
+ * - Varje serie (bank + bindningstid + räntetyp) är ett sammanhängande
+ *   intervall; senaste raden är seriens sista, samma regel som
+ *   current_rates (senaste datum, vid lika datum högst id)
+ * ================================================================
+ */
+public final class RateColumns {
+
+    /** Saknat värde i int-kolumnerna (null i databasen). */
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private static final MortgageTerm[] TERMS = MortgageTerm.values();
+    private static final RateType[] TYPES = RateType.values();
+    private static final int SERIES_PER_BANK = TERMS.length * TYPES.length;
+
+    private final long generation;
+
+    // Bankregister, sorterat på id
+    private final long[] bankIds;
+    private final String[] bankNames;
+    private final Map<String, Integer> bankIndexByName;
+
+    // Kolumner
+    private final int[] bank;
+    private final byte[] term;
+    private final byte[] type;
+    private final int[] day;
+    private final int[] bps;
+    private final int[] changeBps;
+    private final int[] changedDay;
+    private final int[] seenDay;
+
+    // Serie s = (bank × TERMS + term) × TYPES + typ har raderna [offsets[s], offsets[s + 1])
+    private final int[] seriesOffsets;
+
+    private RateColumns(long generation, long[] bankIds, String[] bankNames,
+                        int[] bank, byte[] term, byte[] type, int[] day, int[] bps,
+                        int[] changeBps, int[] changedDay, int[] seenDay, int[] seriesOffsets) {
+        this.generation = generation;
+        this.bankIds = bankIds;
+        this.bankNames = bankNames;
+        this.bank = bank;
+        this.term = term;
+        this.type = type;
+        this.day = day;
+        this.bps = bps;
+        this.changeBps = changeBps;
+        this.changedDay = changedDay;
+        this.seenDay = seenDay;
+        this.seriesOffsets = seriesOffsets;
+
+        Map<String, Integer> byName = new HashMap<>();
+        for (int b = 0; b < bankNames.length; b++) {
+            byName.put(bankNames[b].toLowerCase(Locale.ROOT), b);
+        }
+        this.bankIndexByName = byName;
+    }
+
+    // ============================================================
+    // ===================   METADATA / BANKER   ==================
+    // ============================================================
+
+    /** Ökar vid varje ny ögonblicksbild (omladdning eller tillägg). */
+    public long generation() {
+        return generation;
+    }
+
+    public int rowCount() {
+        return day.length;
+    }
+
+    public int bankCount() {
+        return bankIds.length;
+    }
+
+    public long bankId(int bankIndex) {
+        return bankIds[bankIndex];
+    }
+
+    public String bankName(int bankIndex) {
+        return bankNames[bankIndex];
+    }
+
+    /** Bankindex för namnet (skiftlägesokänsligt), -1 om banken saknas. */
+    public int bankIndex(String bankName) {
+        return bankIndexByName.getOrDefault(bankName.toLowerCase(Locale.ROOT), -1);
+    }
+
+    /** Bankindex för id, -1 om banken saknas. */
+    public int bankIndexOf(long bankId) {
+        int index = Arrays.binarySearch(bankIds, bankId);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Ungefärligt minnesbehov för kolumnerna och indexen i byte
+     * (utan objekt-headers och bankregister).
+     */
+    public long estimatedBytes() {
+        return (long) rowCount() * (6 * Integer.BYTES + 2)
+                + (long) seriesOffsets.length * Integer.BYTES
+                + (long) bankIds.length * Long.BYTES;
+    }
+
+    // ============================================================
+    // ===================        SERIER         ==================
+    // ============================================================
+
+    /** Första raden i serien (bank + bindningstid + räntetyp). */
+    public int seriesStart(int bankIndex, MortgageTerm term, RateType type) {
+        return seriesOffsets[series(bankIndex, term.ordinal(), type.ordinal())];
+    }
+
+    /** Positionen efter seriens sista rad. */
+    public int seriesEnd(int bankIndex, MortgageTerm term, RateType type) {
+        return seriesOffsets[series(bankIndex, term.ordinal(), type.ordinal()) + 1];
+    }
+
+    /** Seriens senaste rad, -1 om serien är tom. */
+    public int latest(int bankIndex, MortgageTerm term, RateType type) {
+        int end = seriesEnd(bankIndex, term, type);
+        return end > seriesStart(bankIndex, term, type) ? end - 1 : -1;
+    }
+
+    /**
+     * Första raden i serien med effectiveDate på eller efter epoch-dagen
+     * (binärsökning; seriens rader är datumsorterade).
+     */
+    public int seriesFrom(int bankIndex, MortgageTerm term, RateType type, int fromEpochDay) {
+        int low = seriesStart(bankIndex, term, type);
+        int high = seriesEnd(bankIndex, term, type);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (day[mid] < fromEpochDay) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static int series(int bankIndex, int term, int type) {
+        return (bankIndex * TERMS.length + term) * TYPES.length + type;
+    }
+
+    // ============================================================
+    // ===================      RADVÄRDEN        ==================
+    // ============================================================
+
+    public int bankIndexAt(int row) {
+        return bank[row];
+    }
+
+    public MortgageTerm term(int row) {
+        return TERMS[term[row]];
+    }
+
+    public RateType rateType(int row) {
+        return TYPES[type[row]];
+    }
+
+    public int epochDay(int row) {
+        return day[row];
+    }
+
+    public LocalDate effectiveDate(int row) {
+        return LocalDate.ofEpochDay(day[row]);
+    }
+
+    public int rateBps(int row) {
+        return bps[row];
+    }
+
+    public BigDecimal ratePercent(int row) {
+        return BigDecimal.valueOf(bps[row], 2);
+    }
+
+    public BigDecimal rateChange(int row) {
+        return changeBps[row] == NONE ? null : BigDecimal.valueOf(changeBps[row], 2);
+    }
+
+    public int lastChangedDay(int row) {
+        return changedDay[row];
+    }
+
+    public LocalDate lastChangedDate(int row) {
+        return changedDay[row] == NONE ? null : LocalDate.ofEpochDay(changedDay[row]);
+    }
+
+    /** Sista dag raden gällde: lastSeenDate, annars effectiveDate. */
+    public int lastSeenDay(int row) {
+        return seenDay[row] == NONE ? day[row] : seenDay[row];
+    }
+
+    /** Raden som projection, för mappers som tar BankRateRow. */
+    public BankRateRow rateRow(int row) {
+        return new Row(row);
+    }
+
+    /** Raden som projection, för SmartRate-snapshot. */
+    public MarketRateSnapshotRow snapshotRow(int row) {
+        return new Row(row);
+    }
+
+    /**
+     * Vy över en rad; värden läses ur kolumnerna vid anrop.
+     */
+    private final class Row implements BankRateRow, MarketRateSnapshotRow {
+
+        private final int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Long getBankId() {
+            return bankIds[bank[row]];
+        }
+
+        @Override
+        public MortgageTerm getTerm() {
+            return term(row);
+        }
+
+        @Override
+        public RateType getRateType() {
+            return rateType(row);
+        }
+
+        @Override
+        public BigDecimal getRatePercent() {
+            return ratePercent(row);
+        }
+
+        @Override
+        public BigDecimal getRateChange() {
+            return rateChange(row);
+        }
+
+        @Override
+        public LocalDate getLastChangedDate() {
+            return lastChangedDate(row);
+        }
+
+        @Override
+        public LocalDate getEffectiveDate() {
+            return effectiveDate(row);
+        }
+    }
+
+    // ============================================================
+    // ===================       BYGGARE         ==================
+    // ============================================================
+
+    /**
+     * Samlar rader i valfri ordning och bygger en sorterad ögonblicksbild.
+     * Rader med samma datum behåller inbördes ordning (id-ordning).
+     */
+    static final class Builder {
+
+        private final long[] bankIds;
+        private final String[] bankNames;
+
+        private int size;
+        private int[] bank = new int[1024];
+        private byte[] term = new byte[1024];
+        private byte[] type = new byte[1024];
+        private int[] day = new int[1024];
+        private int[] bps = new int[1024];
+        private int[] changeBps = new int[1024];
+        private int[] changedDay = new int[1024];
+        private int[] seenDay = new int[1024];
+
+        Builder(List<Bank> banks) {
+            List<Bank> sorted = banks.stream()
+                    .sorted(Comparator.comparing(Bank::getId))
+                    .toList();
+            this.bankIds = sorted.stream().mapToLong(Bank::getId).toArray();
+            this.bankNames = sorted.stream().map(Bank::getName).toArray(String[]::new);
+        }
+
+        int bankIndexOf(long bankId) {
+            int index = Arrays.binarySearch(bankIds, bankId);
+            return index >= 0 ? index : -1;
+        }
+
+        /** Lägger till en rad från databasen; rader för okända banker hoppas över. */
+        void add(RateColumnRow row) {
+            int bankIndex = bankIndexOf(row.getBankId());
+            if (bankIndex < 0) return;
+
+            append(bankIndex,
+                    row.getTerm().ordinal(),
+                    row.getRateType().ordinal(),
+                    (int) row.getEffectiveDate().toEpochDay(),
+                    toBps(row.getRatePercent()),
+                    row.getRateChange() == null ? NONE : toBps(row.getRateChange()),
+                    row.getLastChangedDate() == null ? NONE : (int) row.getLastChangedDate().toEpochDay(),
+                    row.getLastSeenDate() == null ? NONE : (int) row.getLastSeenDate().toEpochDay());
+        }
+
+        /** Kopierar en rad från en tidigare ögonblicksbild till nytt bankindex. */
+        void copy(RateColumns from, int row, int bankIndex) {
+            append(bankIndex, from.term[row], from.type[row], from.day[row], from.bps[row],
+                    from.changeBps[row], from.changedDay[row], from.seenDay[row]);
+        }
+
+        private void append(int bankIndex, int termOrdinal, int typeOrdinal, int epochDay, int rateBps,
+                            int changeValue, int changedEpochDay, int seenEpochDay) {
+            if (size == day.length) grow();
+            bank[size] = bankIndex;
+            term[size] = (byte) termOrdinal;
+            type[size] = (byte) typeOrdinal;
+            day[size] = epochDay;
+            bps[size] = rateBps;
+            changeBps[size] = changeValue;
+            changedDay[size] = changedEpochDay;
+            seenDay[size] = seenEpochDay;
+            size++;
+        }
+
+        private void grow() {
+            int capacity = day.length * 2;
+            bank = Arrays.copyOf(bank, capacity);
+            term = Arrays.copyOf(term, capacity);
+            type = Arrays.copyOf(type, capacity);
+            day = Arrays.copyOf(day, capacity);
+            bps = Arrays.copyOf(bps, capacity);
+            changeBps = Arrays.copyOf(changeBps, capacity);
+            changedDay = Arrays.copyOf(changedDay, capacity);
+            seenDay = Arrays.copyOf(seenDay, capacity);
+        }
+
+        /**
+         * Sorterar raderna per serie (counting sort, stabil) och därefter
+         * på datum inom serien (insättningssortering – historiken kommer
+         * nästan alltid redan i datumordning).
+         */
+        RateColumns build(long generation) {
+            int seriesCount = bankIds.length * SERIES_PER_BANK;
+            int[] offsets = new int[seriesCount + 1];
+
+            for (int i = 0; i < size; i++) {
+                offsets[series(bank[i], term[i], type[i]) + 1]++;
+            }
+            for (int s = 0; s < seriesCount; s++) {
+                offsets[s + 1] += offsets[s];
+            }
+
+            // order[position] = ursprunglig rad
+            int[] order = new int[size];
+            int[] next = Arrays.copyOf(offsets, seriesCount);
+            for (int i = 0; i < size; i++) {
+                order[next[series(bank[i], term[i], type[i])]++] = i;
+            }
+
+            for (int s = 0; s < seriesCount; s++) {
+                sortByDay(order, offsets[s], offsets[s + 1]);
+            }
+
+            return new RateColumns(
+                    generation, bankIds, bankNames,
+                    gather(bank, order), gather(term, order), gather(type, order),
+                    gather(day, order), gather(bps, order), gather(changeBps, order),
+                    gather(changedDay, order), gather(seenDay, order),
+                    offsets
+            );
+        }
+
+        private void sortByDay(int[] order, int from, int to) {
+            for (int i = from + 1; i < to; i++) {
+                int row = order[i];
+                int j = i - 1;
+                while (j >= from && day[order[j]] > day[row]) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = row;
+            }
+        }
+
+        private static int[] gather(int[] column, int[] order) {
+            int[] sorted = new int[order.length];
+            for (int i = 0; i < order.length; i++) sorted[i] = column[order[i]];
+            return sorted;
+        }
+
+        private static byte[] gather(byte[] column, int[] order) {
+            byte[] sorted = new byte[order.length];
+            for (int i = 0; i < order.length; i++) sorted[i] = column[order[i]];
+            return sorted;
+        }
+
+        private static int toBps(BigDecimal percent) {
+            return percent.setScale(2, RoundingMode.HALF_UP).unscaledValue().intValueExact();
+        }
+    }
+}
@@ -28,4 +28,25 @@ public interface BankScraper {
      * @throws IOException om något går fel vid hämtning av data
      */
     List<MortgageRate> scrapeRates(Bank bank) throws IOException;
-}
\ No newline at end of file
+
+    /**
+     * True om scrapern hämtar alla sina sidor via ScraperHttpClient.fetchDocument.
+     * <p>
+     * Endast då kan ScraperService med säkerhet hoppa över banken när
+     * fetch-cachen visar att samtliga sidor är oförändrade. Scrapers som
+     * hämtar data på annat sätt (JSON-API, Selenium) skrapas alltid fullt ut.
+     */
+    default boolean supportsConditionalFetch() {
+        return false;
+    }
+
+    /**
+     * Anropas av ScraperService när bankens tidsgräns har nåtts.
+     * <p>
+     * Scraperns tråd avbryts redan (interrupt), vilket räcker för
+     * HTTP-anrop. Scrapers med egna resurser som inte reagerar på
+     * interrupt (t.ex. webbläsare) frigör dem här.
+     */
+    default void cancel() {
+    }
+}
@@ -5,8 +5,8 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -27,20 +27,28 @@ public class AlandsbankenScraper implements BankScraper {
 
     private static final String URL = "https://www.alandsbanken.se/banktjanster/lana-pengar/bolan";
 
+    private final ScraperHttpClient http;
+
+    public AlandsbankenScraper(ScraperHttpClient http) {
+        this.http = http;
+    }
+
     @Override
     public String getBankName() {
         return "Ålandsbanken";
     }
 
+    @Override
+    public boolean supportsConditionalFetch() {
+        return true;
+    }
+
     @Override
     public List<MortgageRate> scrapeRates(Bank bank) throws IOException {
         System.out.println("Startar skrapning för Alandsbanken...");
         List<MortgageRate> rates = new ArrayList<>();
 
-        Document doc = Jsoup.connect(URL)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64)")
-                .timeout(15000)
-                .get();
+        Document doc = http.fetchDocument(URL);
 
         Elements tables = doc.select("table");
         if (tables.isEmpty()) {
@@ -5,6 +5,7 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -30,17 +31,28 @@ public class DanskeBankScraper implements BankScraper {
     private static final String URL =
             "https://danskebank.se/privat/produkter/bolan/relaterat/aktuella-bolanerantor";
 
+    private final ScraperHttpClient http;
+
+    public DanskeBankScraper(ScraperHttpClient http) {
+        this.http = http;
+    }
+
     @Override
     public String getBankName() {
         return "Danske Bank";
     }
 
+    @Override
+    public boolean supportsConditionalFetch() {
+        return true;
+    }
+
     @Override
     public List<MortgageRate> scrapeRates(Bank bank) throws IOException {
         List<MortgageRate> rates = new ArrayList<>();
 
         // Hämta dokument via ScraperUtils
-        Document doc = ScraperUtils.fetchDocument(URL);
+        Document doc = http.fetchDocument(URL);
         Elements articles = doc.select("article.responsive-nav-article");
 
         boolean addedAverage = false;
@@ -5,6 +5,7 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,14 +13,11 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Handelsbanken Scraper – JSON-baserad
@@ -37,9 +35,16 @@ public class HandelsbankenScraper implements BankScraper {
     private static final String AVERAGE_URL =
             "https://www.handelsbanken.se/tron/slana/slan/service/mortgagerates/v1/averagerates";
 
-    private final HttpClient client = HttpClient.newHttpClient();
+    private static final Map<String, String> USER_AGENT = Map.of("User-Agent", "BolåneRadar/1.0");
+
     private final ObjectMapper mapper = new ObjectMapper();
 
+    private final ScraperHttpClient http;
+
+    public HandelsbankenScraper(ScraperHttpClient http) {
+        this.http = http;
+    }
+
     @Override
     public String getBankName() {
         return "Handelsbanken";
@@ -62,31 +67,20 @@ public class HandelsbankenScraper implements BankScraper {
     private List<MortgageRate> fetchListRates(Bank bank) throws IOException {
         List<MortgageRate> list = new ArrayList<>();
 
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(LIST_URL))
-                .header("User-Agent", "BolåneRadar/1.0")
-                .GET()
-                .build();
-
-        try {
-            HttpResponse<String> res = client.send(req, HttpResponse.BodyHandlers.ofString());
-            if (res.statusCode() != 200) return list;
+        ScraperHttpClient.Response res = http.get(LIST_URL, USER_AGENT);
+        if (res.statusCode() != 200) return list;
 
-            JsonNode root = mapper.readTree(res.body()).path("interestRates");
+        JsonNode root = mapper.readTree(res.body()).path("interestRates");
 
-            for (JsonNode item : root) {
-                String term = item.path("term").asText();
-                String basis = item.path("periodBasisType").asText();
-                BigDecimal rate = item.path("rateValue").path("valueRaw").decimalValue();
+        for (JsonNode item : root) {
+            String term = item.path("term").asText();
+            String basis = item.path("periodBasisType").asText();
+            BigDecimal rate = item.path("rateValue").path("valueRaw").decimalValue();
 
-                MortgageTerm mapped = mapTerm(term, basis);
-                if (mapped != null) {
-                    list.add(new MortgageRate(bank, mapped, RateType.LISTRATE, rate, LocalDate.now()));
-                }
+            MortgageTerm mapped = mapTerm(term, basis);
+            if (mapped != null) {
+                list.add(new MortgageRate(bank, mapped, RateType.LISTRATE, rate, LocalDate.now()));
             }
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
 
         return list;
@@ -98,53 +92,42 @@ public class HandelsbankenScraper implements BankScraper {
     private List<MortgageRate> fetchLatestAverageRates(Bank bank) throws IOException {
         List<MortgageRate> list = new ArrayList<>();
 
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(AVERAGE_URL))
-                .header("User-Agent", "BolåneRadar/1.0")
-                .GET()
-                .build();
-
-        try {
-            HttpResponse<String> res = client.send(req, HttpResponse.BodyHandlers.ofString());
-            if (res.statusCode() != 200) return list;
+        ScraperHttpClient.Response res = http.get(AVERAGE_URL, USER_AGENT);
+        if (res.statusCode() != 200) return list;
 
-            JsonNode periods = mapper.readTree(res.body()).path("averageRatePeriods");
+        JsonNode periods = mapper.readTree(res.body()).path("averageRatePeriods");
 
-            // Hitta SENASTE period, exempel: "202510"
-            YearMonth latest = null;
-            JsonNode latestNode = null;
+        // Hitta SENASTE period, exempel: "202510"
+        YearMonth latest = null;
+        JsonNode latestNode = null;
 
-            for (JsonNode node : periods) {
-                String p = node.path("period").asText();
-                if (p == null || p.isBlank()) continue;
+        for (JsonNode node : periods) {
+            String p = node.path("period").asText();
+            if (p == null || p.isBlank()) continue;
 
-                YearMonth ym = YearMonth.parse(
-                        p.substring(0, 4) + "-" + p.substring(4, 6)
-                );
+            YearMonth ym = YearMonth.parse(
+                    p.substring(0, 4) + "-" + p.substring(4, 6)
+            );
 
-                if (latest == null || ym.isAfter(latest)) {
-                    latest = ym;
-                    latestNode = node;
-                }
+            if (latest == null || ym.isAfter(latest)) {
+                latest = ym;
+                latestNode = node;
             }
+        }
 
-            if (latestNode == null) return list;
+        if (latestNode == null) return list;
 
-            LocalDate effectiveDate = latest.atDay(1);
+        LocalDate effectiveDate = latest.atDay(1);
 
-            for (JsonNode item : latestNode.path("rates")) {
-                String term = item.path("term").asText();
-                String basis = item.path("periodBasisType").asText();
-                BigDecimal rate = item.path("rateValue").path("valueRaw").decimalValue();
+        for (JsonNode item : latestNode.path("rates")) {
+            String term = item.path("term").asText();
+            String basis = item.path("periodBasisType").asText();
+            BigDecimal rate = item.path("rateValue").path("valueRaw").decimalValue();
 
-                MortgageTerm mapped = mapTerm(term, basis);
-                if (mapped != null) {
-                    list.add(new MortgageRate(bank, mapped, RateType.AVERAGERATE, rate, effectiveDate));
-                }
+            MortgageTerm mapped = mapTerm(term, basis);
+            if (mapped != null) {
+                list.add(new MortgageRate(bank, mapped, RateType.AVERAGERATE, rate, effectiveDate));
             }
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
 
         return list;
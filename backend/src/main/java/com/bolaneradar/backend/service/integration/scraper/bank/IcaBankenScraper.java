@@ -5,9 +5,9 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
 import org.jsoup.HttpStatusException;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -18,6 +18,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Webbskrapare för ICA Banken.
@@ -32,11 +33,22 @@ public class IcaBankenScraper implements BankScraper {
 
     private static final String URL = "https://www.icabanken.se/lana/bolan/bolanerantor/";
 
+    private final ScraperHttpClient http;
+
+    public IcaBankenScraper(ScraperHttpClient http) {
+        this.http = http;
+    }
+
     @Override
     public String getBankName() {
         return "ICA Banken";
     }
 
+    @Override
+    public boolean supportsConditionalFetch() {
+        return true;
+    }
+
     @Override
     public List<MortgageRate> scrapeRates(Bank bank) throws IOException {
         System.out.println("Startar ICA Banken scraper (CI-safe log)");
@@ -46,20 +58,15 @@ public class IcaBankenScraper implements BankScraper {
 
         Document doc;
         try {
-            doc = Jsoup.connect(URL)
-                    .userAgent(
-                            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
-                                    "AppleWebKit/537.36 (KHTML, like Gecko) " +
-                                    "Chrome/124.0.0.0 Safari/537.36"
-                    )
-                    .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8")
-                    .header("Accept-Language", "sv-SE,sv;q=0.9,en;q=0.8")
-                    .header("Accept-Encoding", "gzip, deflate, br")
-                    .header("Upgrade-Insecure-Requests", "1")
-                    .header("Connection", "keep-alive")
-                    .referrer("https://www.google.com")
-                    .timeout(15_000)
-                    .get();
+            doc = http.fetchDocument(URL, Map.of(
+                    "User-Agent",
+                    "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
+                            "AppleWebKit/537.36 (KHTML, like Gecko) " +
+                            "Chrome/124.0.0.0 Safari/537.36",
+                    "Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8",
+                    "Accept-Language", "sv-SE,sv;q=0.9,en;q=0.8",
+                    "Upgrade-Insecure-Requests", "1"
+            ));
         } catch (HttpStatusException e) {
             if (e.getStatusCode() == 403) {
                 System.out.println("ICA Banken: blockeras (403) – använder senaste kända data");
@@ -5,8 +5,8 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.*;
 import org.jsoup.select.Elements;
 import org.springframework.stereotype.Service;
@@ -27,6 +27,12 @@ public class IkanoBankScraper implements BankScraper {
     private static final String API_URL = "https://ikanobank.se/api/econansforeteller/gettabledata";
     private static final String SNITT_URL = "https://ikanobank.se/bolan/bolanerantor";
 
+    private final ScraperHttpClient http;
+
+    public IkanoBankScraper(ScraperHttpClient http) {
+        this.http = http;
+    }
+
     @Override
     public String getBankName() {
         return "Ikano Bank";
@@ -39,7 +45,7 @@ public class IkanoBankScraper implements BankScraper {
 
         try {
             // === Listräntor via JSON-API (timeout-säkrad) ===
-            var response = ScraperUtils.fetchJson(API_URL);
+            var response = http.fetchJson(API_URL);
 
             @SuppressWarnings("unchecked")
             var dataList = (List<Map<String, Object>>) response.get("dataList");
@@ -62,8 +68,7 @@ public class IkanoBankScraper implements BankScraper {
             });
 
             // === Snitträntor via HTML ===
-            Document doc = Jsoup.connect(SNITT_URL)
-                    .userAgent("Mozilla/5.0").timeout(10000).get();
+            Document doc = http.fetchDocument(SNITT_URL, Map.of("User-Agent", "Mozilla/5.0"));
 
             Elements rows = doc.select("table:last-of-type tbody tr");
             if (rows.isEmpty()) {
@@ -5,6 +5,7 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -24,16 +25,27 @@ public class LandshypotekBankScraper implements BankScraper {
     private static final String URL =
             "https://www.landshypotek.se/lana/bolanerantor/";
 
+    private final ScraperHttpClient http;
+
+    public LandshypotekBankScraper(ScraperHttpClient http) {
+        this.http = http;
+    }
+
     @Override
     public String getBankName() {
         return "Landshypotek Bank";
     }
 
+    @Override
+    public boolean supportsConditionalFetch() {
+        return true;
+    }
+
     @Override
     public List<MortgageRate> scrapeRates(Bank bank) throws IOException {
         List<MortgageRate> rates = new ArrayList<>();
 
-        Document doc = ScraperUtils.fetchDocument(URL);
+        Document doc = http.fetchDocument(URL);
 
         // =========================
         // LISTRÄNTOR
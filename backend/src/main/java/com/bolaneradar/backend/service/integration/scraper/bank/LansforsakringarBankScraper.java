@@ -5,6 +5,7 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -28,15 +29,26 @@ public class LansforsakringarBankScraper implements BankScraper {
     private static final String URL =
             "https://www.lansforsakringar.se/norrbotten/privat/bank/bolan/bolaneranta/";
 
+    private final ScraperHttpClient http;
+
+    public LansforsakringarBankScraper(ScraperHttpClient http) {
+        this.http = http;
+    }
+
     @Override
     public String getBankName() {
         return "Länsförsäkringar Bank";
     }
 
+    @Override
+    public boolean supportsConditionalFetch() {
+        return true;
+    }
+
     @Override
     public List<MortgageRate> scrapeRates(Bank bank) throws IOException {
         List<MortgageRate> rates = new ArrayList<>();
-        Document doc = ScraperUtils.fetchDocument(URL);
+        Document doc = http.fetchDocument(URL);
 
         LocalDate avgDate = extractAverageDate(doc);
         Elements tables = doc.select("table.lf-table");
@@ -5,6 +5,7 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -28,17 +29,28 @@ public class NordeaScraper implements BankScraper {
 
     private static final String URL = "https://www.nordea.se/privat/produkter/bolan/bolanerantor.html";
 
+    private final ScraperHttpClient http;
+
+    public NordeaScraper(ScraperHttpClient http) {
+        this.http = http;
+    }
+
     @Override
     public String getBankName() {
         return "Nordea";
     }
 
+    @Override
+    public boolean supportsConditionalFetch() {
+        return true;
+    }
+
     @Override
     public List<MortgageRate> scrapeRates(Bank bank) throws IOException {
         List<MortgageRate> rates = new ArrayList<>();
 
         // Standardiserad hämtning
-        Document doc = ScraperUtils.fetchDocument(URL);
+        Document doc = http.fetchDocument(URL);
 
         // Försök hitta månadskod (YYYYMM) i snitträntetabell; fallback till svensk månad i fri text
         LocalDate avgRateMonth = extractAverageRateMonth(doc);
@@ -5,6 +5,7 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,14 +13,10 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Hämtar SBAB:s bolåneräntor via deras publika JSON-API.
@@ -33,11 +30,16 @@ public class SBABScraper implements BankScraper {
     private static final String AVERAGERATE_URL =
             "https://www.sbab.se/api/historical-average-interest-rate-service/interest-rate/average-interest-rate-last-twelve-months-by-period";
 
-    private final HttpClient client = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(10))
-            .build();
+    private static final Map<String, String> USER_AGENT = Map.of("User-Agent", "BolåneRadar/1.0");
+
     private final ObjectMapper mapper = new ObjectMapper();
 
+    private final ScraperHttpClient http;
+
+    public SBABScraper(ScraperHttpClient http) {
+        this.http = http;
+    }
+
     @Override
     public String getBankName() {
         return "SBAB";
@@ -55,28 +57,18 @@ public class SBABScraper implements BankScraper {
     private List<MortgageRate> fetchListRates(Bank bank) throws IOException {
         List<MortgageRate> listRates = new ArrayList<>();
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(LISTRATE_URL))
-                .header("User-Agent", "BolåneRadar/1.0")
-                .GET()
-                .build();
-
-        try {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) return listRates;
-
-            JsonNode root = mapper.readTree(response.body()).path("listInterests");
-            for (JsonNode item : root) {
-                String period = item.path("interestPeriod").asText("");
-                String rateString = item.path("interestRate").asText("");
-                MortgageTerm term = mapToTerm(period);
-                BigDecimal rate = ScraperUtils.parseRate(rateString);
-                if (term != null && rate != null) {
-                    listRates.add(new MortgageRate(bank, term, RateType.LISTRATE, rate, LocalDate.now()));
-                }
+        ScraperHttpClient.Response response = http.get(LISTRATE_URL, USER_AGENT);
+        if (response.statusCode() != 200) return listRates;
+
+        JsonNode root = mapper.readTree(response.body()).path("listInterests");
+        for (JsonNode item : root) {
+            String period = item.path("interestPeriod").asText("");
+            String rateString = item.path("interestRate").asText("");
+            MortgageTerm term = mapToTerm(period);
+            BigDecimal rate = ScraperUtils.parseRate(rateString);
+            if (term != null && rate != null) {
+                listRates.add(new MortgageRate(bank, term, RateType.LISTRATE, rate, LocalDate.now()));
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
         return listRates;
     }
@@ -84,34 +76,23 @@ public class SBABScraper implements BankScraper {
     private List<MortgageRate> fetchAverageRates(Bank bank) throws IOException {
         List<MortgageRate> list = new ArrayList<>();
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(AVERAGERATE_URL))
-                .header("User-Agent", "BolåneRadar/1.0")
-                .GET()
-                .build();
+        ScraperHttpClient.Response response = http.get(AVERAGERATE_URL, USER_AGENT);
+        if (response.statusCode() != 200) return list;
 
-        try {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) return list;
-
-            JsonNode latest = mapper.readTree(response.body())
-                    .path("average_interest_rate_last_twelve_months")
-                    .get(0);
-
-            LocalDate date = parseDate(latest.path("period").asText(null));
-
-            addIfPresent(list, bank, latest, "three_months", MortgageTerm.VARIABLE_3M, date);
-            addIfPresent(list, bank, latest, "one_year", MortgageTerm.FIXED_1Y, date);
-            addIfPresent(list, bank, latest, "two_years", MortgageTerm.FIXED_2Y, date);
-            addIfPresent(list, bank, latest, "three_years", MortgageTerm.FIXED_3Y, date);
-            addIfPresent(list, bank, latest, "four_years", MortgageTerm.FIXED_4Y, date);
-            addIfPresent(list, bank, latest, "five_years", MortgageTerm.FIXED_5Y, date);
-            addIfPresent(list, bank, latest, "seven_years", MortgageTerm.FIXED_7Y, date);
-            addIfPresent(list, bank, latest, "ten_years", MortgageTerm.FIXED_10Y, date);
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        JsonNode latest = mapper.readTree(response.body())
+                .path("average_interest_rate_last_twelve_months")
+                .get(0);
+
+        LocalDate date = parseDate(latest.path("period").asText(null));
+
+        addIfPresent(list, bank, latest, "three_months", MortgageTerm.VARIABLE_3M, date);
+        addIfPresent(list, bank, latest, "one_year", MortgageTerm.FIXED_1Y, date);
+        addIfPresent(list, bank, latest, "two_years", MortgageTerm.FIXED_2Y, date);
+        addIfPresent(list, bank, latest, "three_years", MortgageTerm.FIXED_3Y, date);
+        addIfPresent(list, bank, latest, "four_years", MortgageTerm.FIXED_4Y, date);
+        addIfPresent(list, bank, latest, "five_years", MortgageTerm.FIXED_5Y, date);
+        addIfPresent(list, bank, latest, "seven_years", MortgageTerm.FIXED_7Y, date);
+        addIfPresent(list, bank, latest, "ten_years", MortgageTerm.FIXED_10Y, date);
         return list;
     }
 
@@ -5,16 +5,19 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.BrowserSessionPool;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -23,117 +26,175 @@ import java.util.List;
 
 /**
  * Webbskrapare för SEB.
- * Seiten visar räntor i två iframes (list/snitts), därför används Selenium.
+ * Seiten visar räntor i två iframes (list/snitts).
+ * Sidorna läses i första hand via HTTP + Jsoup; den delade webbläsaren
+ * (BrowserSessionPool) används endast när HTML-svaret saknar iframes/tabell.
  */
 @Service
 public class SEBScraper implements BankScraper {
 
     private static final String BASE_URL = "https://seb.se/privat/bolan/bolanerantor";
 
+    private final ScraperHttpClient http;
+    private final BrowserSessionPool browser;
+    private final String baseUrl;
+
+    @Autowired
+    public SEBScraper(ScraperHttpClient http, BrowserSessionPool browser) {
+        this(http, browser, BASE_URL);
+    }
+
+    SEBScraper(ScraperHttpClient http, BrowserSessionPool browser, String baseUrl) {
+        this.http = http;
+        this.browser = browser;
+        this.baseUrl = baseUrl;
+    }
+
     @Override
     public String getBankName() {
         return "SEB";
     }
 
+    /**
+     * Tidsgräns nådd: stäng webbläsaren så att en hängande sida släpper.
+     */
+    @Override
+    public void cancel() {
+        browser.abort();
+    }
+
     @Override
     public List<MortgageRate> scrapeRates(Bank bank) {
         List<MortgageRate> rates = new ArrayList<>();
 
-        WebDriverManager.chromedriver().setup();
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless=new", "--no-sandbox", "--disable-dev-shm-usage");
+        try {
+            for (String url : findIframeUrls()) {
+                RateType rateType = url.toLowerCase().contains("average") ? RateType.AVERAGERATE : RateType.LISTRATE;
+                rates.addAll(scrapeIframe(bank, url, rateType));
+            }
+        } catch (Exception e) {
+            System.err.println("SEB-scraping fel: " + e.getMessage());
+        }
 
-        WebDriver driver = new ChromeDriver(options);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(12));
+        ScraperUtils.logResult("SEB", rates.size());
+        return rates;
+    }
 
+    /**
+     * Hittar iframe-URL:erna för list- och snitträntor.
+     * Statisk HTML först, webbläsare om iframes renderas med JavaScript.
+     */
+    private List<String> findIframeUrls() throws Exception {
         try {
-            driver.get(BASE_URL);
+            Document doc = http.fetchDocument(baseUrl);
+            List<String> urls = doc.select("iframe[src]").stream()
+                    .map(i -> i.absUrl("src"))
+                    .filter(src -> src.contains("mortgage"))
+                    .toList();
+            if (!urls.isEmpty()) {
+                return urls;
+            }
+            System.out.println("SEB: inga iframes i HTML – använder webbläsare.");
+        } catch (Exception e) {
+            System.out.println("SEB: huvudsidan via HTTP misslyckades (" + e.getMessage() + ") – använder webbläsare.");
+        }
 
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("iframe")));
-            List<WebElement> iframes = driver.findElements(By.tagName("iframe"));
+        return browser.withPage(baseUrl, Duration.ofSeconds(12), (driver, wait) -> {
+            try {
+                wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("iframe")));
+            } catch (TimeoutException e) {
+                try {
+                    java.nio.file.Files.writeString(java.nio.file.Path.of("seb_debug.html"), driver.getPageSource());
+                } catch (Exception ignored) {}
+                throw e;
+            }
 
-            List<String> iframeUrls = iframes.stream()
+            return driver.findElements(By.tagName("iframe")).stream()
                     .map(i -> i.getDomAttribute("src"))
                     .filter(src -> src != null && src.contains("mortgage"))
+                    .map(src -> URI.create(baseUrl).resolve(src).toString())
                     .toList();
+        });
+    }
 
-            driver.quit(); // stäng huvuddrivern – vi öppnar varje iframe separat
+    /**
+     * Läser en iframe och returnerar extraherade räntor (list/snitts).
+     */
+    private List<MortgageRate> scrapeIframe(Bank bank, String url, RateType rateType) {
+        try {
+            Document doc = http.fetchDocument(url);
+            Elements rows = doc.select("table tbody tr");
+            if (rows.isEmpty()) rows = doc.select("table tr");
 
-            for (String url : iframeUrls) {
-                RateType rateType = url.toLowerCase().contains("average") ? RateType.AVERAGERATE : RateType.LISTRATE;
-                rates.addAll(scrapeIframe(bank, url, rateType, options));
-            }
+            List<List<String>> cells = rows.stream()
+                    .map(row -> row.select("td").stream().map(Element::text).toList())
+                    .toList();
 
+            List<MortgageRate> parsed = parseRows(bank, rateType, cells, doc.text());
+            if (!parsed.isEmpty()) {
+                return parsed;
+            }
+            System.out.println("SEB: ingen tabell i HTML (" + rateType + ") – använder webbläsare.");
         } catch (Exception e) {
-            System.err.println("SEB-scraping fel: " + e.getMessage());
-            try {
-                java.nio.file.Files.writeString(java.nio.file.Path.of("seb_debug.html"), driver.getPageSource());
-            } catch (Exception ignored) {}
-        } finally {
-            try { driver.quit(); } catch (Exception ignored) {}
+            System.out.println("SEB: iframe via HTTP misslyckades (" + rateType + ", " + e.getMessage() + ") – använder webbläsare.");
         }
 
-        ScraperUtils.logResult("SEB", rates.size());
-        return rates;
+        try {
+            return browser.withPage(url, Duration.ofSeconds(10), (driver, wait) -> {
+                wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector("table tbody tr, table tr")));
+
+                List<WebElement> rows = driver.findElements(By.cssSelector("table tbody tr"));
+                if (rows.isEmpty()) rows = driver.findElements(By.cssSelector("table tr"));
+
+                List<List<String>> cells = rows.stream()
+                        .map(row -> row.findElements(By.tagName("td")).stream().map(WebElement::getText).toList())
+                        .toList();
+
+                String pageText = driver.getPageSource().replaceAll("<[^>]*>", " ");
+                return parseRows(bank, rateType, cells, pageText);
+            });
+        } catch (Exception e) {
+            System.err.println("SEB iframe-fel (" + rateType + "): " + e.getMessage());
+            return List.of();
+        }
     }
 
     /**
-     * Läser en iframe och returnerar extraherade räntor (list/snitts).
+     * Tolkar tabellrader (cellernas text) oavsett om de kommer från Jsoup eller webbläsaren.
      */
-    private List<MortgageRate> scrapeIframe(Bank bank, String url, RateType rateType, ChromeOptions options) {
+    private List<MortgageRate> parseRows(Bank bank, RateType rateType, List<List<String>> rows, String pageText) {
         List<MortgageRate> list = new ArrayList<>();
 
-        WebDriver d = new ChromeDriver(options);
-        WebDriverWait wait = new WebDriverWait(d, Duration.ofSeconds(10));
-
-        try {
-            d.get(url);
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector("table tbody tr, table tr")));
-
-            List<WebElement> rows = d.findElements(By.cssSelector("table tbody tr"));
-            if (rows.isEmpty()) rows = d.findElements(By.cssSelector("table tr"));
-
-            // Försök läsa ut månad för snittränta från tabell eller omgivande text
-            LocalDate avgMonthDate = null;
-            if (rateType == RateType.AVERAGERATE) {
-                String pageText = d.getPageSource().replaceAll("<[^>]*>", " ");
-                YearMonth ym = ScraperUtils.parseSwedishMonth(pageText);
-                avgMonthDate = ym.atDay(1);
-            }
-
-            for (WebElement row : rows) {
-                List<WebElement> cols = row.findElements(By.tagName("td"));
-                if (cols.size() < 2) continue;
+        // Försök läsa ut månad för snittränta från tabell eller omgivande text
+        LocalDate avgMonthDate = null;
+        if (rateType == RateType.AVERAGERATE) {
+            YearMonth ym = ScraperUtils.parseSwedishMonth(pageText);
+            avgMonthDate = ym.atDay(1);
+        }
 
-                String termText = cols.get(0).getText();
-                String rateText = cols.get(1).getText();
+        for (List<String> cols : rows) {
+            if (cols.size() < 2) continue;
 
-                MortgageTerm term = ScraperUtils.parseTerm(termText);
-                BigDecimal rate = ScraperUtils.parseRate(rateText);
-                if (term == null || rate == null) continue;
+            MortgageTerm term = ScraperUtils.parseTerm(cols.get(0));
+            BigDecimal rate = ScraperUtils.parseRate(cols.get(1));
+            if (term == null || rate == null) continue;
 
-                LocalDate date = (rateType == RateType.AVERAGERATE && avgMonthDate != null)
-                        ? avgMonthDate
-                        : LocalDate.now();
+            LocalDate date = (rateType == RateType.AVERAGERATE && avgMonthDate != null)
+                    ? avgMonthDate
+                    : LocalDate.now();
 
-                // Om snitt-tabellen har en kolumn med “Avser månad”, använd den i första hand
-                if (rateType == RateType.AVERAGERATE && cols.size() > 2) {
-                    String monthText = cols.get(2).getText();
-                    if (monthText != null && !monthText.isBlank()) {
-                        YearMonth ym = ScraperUtils.parseSwedishMonth(monthText);
-                        date = ym.atDay(1);
-                    }
+            // Om snitt-tabellen har en kolumn med “Avser månad”, använd den i första hand
+            if (rateType == RateType.AVERAGERATE && cols.size() > 2) {
+                String monthText = cols.get(2);
+                if (monthText != null && !monthText.isBlank()) {
+                    YearMonth ym = ScraperUtils.parseSwedishMonth(monthText);
+                    date = ym.atDay(1);
                 }
-
-                list.add(new MortgageRate(bank, term, rateType, rate, date));
             }
 
-        } catch (Exception e) {
-            System.err.println("SEB iframe-fel (" + rateType + "): " + e.getMessage());
-        } finally {
-            d.quit();
+            list.add(new MortgageRate(bank, term, rateType, rate, date));
         }
 
         return list;
     }
-}
\ No newline at end of file
+}
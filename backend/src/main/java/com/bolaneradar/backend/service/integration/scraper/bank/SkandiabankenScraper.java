@@ -5,6 +5,7 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -35,16 +36,27 @@ public class SkandiabankenScraper implements BankScraper {
 
     private final ObjectMapper mapper = new ObjectMapper();
 
+    private final ScraperHttpClient http;
+
+    public SkandiabankenScraper(ScraperHttpClient http) {
+        this.http = http;
+    }
+
     @Override
     public String getBankName() {
         return "Skandiabanken";
     }
 
+    @Override
+    public boolean supportsConditionalFetch() {
+        return true;
+    }
+
     @Override
     public List<MortgageRate> scrapeRates(Bank bank) throws IOException {
         List<MortgageRate> rates = new ArrayList<>();
 
-        Document doc = ScraperUtils.fetchDocument(URL);
+        Document doc = http.fetchDocument(URL);
         String html = doc.html();
 
         Matcher matcher = PAGE_CONTENT_PATTERN.matcher(html);
@@ -5,6 +5,7 @@ import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
 import com.bolaneradar.backend.service.integration.scraper.support.ScraperUtils;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -41,21 +42,32 @@ public class SwedbankScraper implements BankScraper {
     private static final String AVERAGE_URL =
             "https://www.swedbank.se/privat/boende-och-bolan/bolanerantor/historiska-genomsnittsrantor.html";
 
+    private final ScraperHttpClient http;
+
+    public SwedbankScraper(ScraperHttpClient http) {
+        this.http = http;
+    }
+
     @Override
     public String getBankName() {
         return "Swedbank";
     }
 
+    @Override
+    public boolean supportsConditionalFetch() {
+        return true;
+    }
+
     @Override
     public List<MortgageRate> scrapeRates(Bank bank) throws IOException {
         List<MortgageRate> rates = new ArrayList<>();
 
         // 1) LISTRÄNTOR (från LIST_URL)
-        Document listDoc = ScraperUtils.fetchDocument(LIST_URL);
+        Document listDoc = http.fetchDocument(LIST_URL);
         extractListRates(listDoc, bank, rates);
 
         // 2) SNITTRÄNTOR (från AVERAGE_URL)
-        Document avgDoc = ScraperUtils.fetchDocument(AVERAGE_URL);
+        Document avgDoc = http.fetchDocument(AVERAGE_URL);
         extractLatestAverageRates(avgDoc, bank, rates);
 
         ScraperUtils.logResult("Swedbank", rates.size());
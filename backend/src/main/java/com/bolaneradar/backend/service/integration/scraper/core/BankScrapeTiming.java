@@ -0,0 +1,32 @@
+package com.bolaneradar.backend.service.integration.scraper.core;
+
+import com.bolaneradar.backend.entity.enums.ScrapeOutcome;
+import com.bolaneradar.backend.service.integration.scraper.support.FetchStats;
+import com.bolaneradar.backend.service.integration.scraper.support.ResilienceStats;
+
+/**
+ * Tidsmätning för en enskild bank inom en scraping-batch.
+ * <p>
+ * Alla offsets är räknade från batchens start:
+ * - startOffsetMs: när bankens scraping faktiskt startade (efter eventuell kö/väntan)
+ * - durationMs: bankens egen körtid
+ * - finishOffsetMs: när banken var klar, dvs. bankens tid på den kritiska vägen
+ * <p>
+ * shortCircuited / fetchStats / outcome / resilience speglar bankens ScraperResult.
+ */
+public record BankScrapeTiming(
+        String bankName,
+        boolean success,
+        long startOffsetMs,
+        long durationMs,
+        long finishOffsetMs,
+        boolean shortCircuited,
+        FetchStats fetchStats,
+        ScrapeOutcome outcome,
+        ResilienceStats resilience
+) {
+
+    public boolean timedOut() {
+        return outcome == ScrapeOutcome.TIMEOUT;
+    }
+}
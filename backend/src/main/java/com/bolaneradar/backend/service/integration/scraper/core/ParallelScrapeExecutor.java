@@ -0,0 +1,198 @@
+package com.bolaneradar.backend.service.integration.scraper.core;
+
+import com.bolaneradar.backend.entity.core.Bank;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * ================================================================
+ * PARALLEL SCRAPE EXECUTOR
+ * ================================================================
+ * <p>
+ * Kör scraping för flera banker parallellt på virtuella trådar.
+ * <p>
+ * Begränsningar:
+ * - Global parallellism (max antal banker som körs samtidigt)
+ * - Max antal samtidiga körningar per värd (bankens webbplats)
+ * <p>
+ * Schemaläggningsregel:
+ * - Banker som ska köras sist (t.ex. SEB med Selenium) startar först
+ *   när alla övriga banker är klara, precis som i sekventiellt läge
+ * <p>
+ * Design:
+ * - Innehåller ingen scraping-logik, tar emot själva körningen som funktion
+ * - Ett fel i en bank påverkar inte övriga banker
+ * ================================================================
+ */
+class ParallelScrapeExecutor {
+
+    private final int maxConcurrency;
+    private final int perHostLimit;
+
+    ParallelScrapeExecutor(int maxConcurrency, int perHostLimit) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.perHostLimit = Math.max(1, perHostLimit);
+    }
+
+    /**
+     * Kör alla banker och returnerar tidsmätning per bank.
+     *
+     * @param banks     banker som ska köras
+     * @param runsLast  avgör vilka banker som måste vänta tills alla andra är klara
+     * @param scrape    själva körningen för en bank
+     * @param batchStart batchens starttid (System.currentTimeMillis)
+     */
+    List<BankScrapeTiming> run(
+            List<Bank> banks,
+            Predicate<Bank> runsLast,
+            Function<Bank, ScraperResult> scrape,
+            long batchStart
+    ) {
+        Semaphore global = new Semaphore(maxConcurrency, true);
+        Map<String, Semaphore> hostLimits = new ConcurrentHashMap<>();
+
+        List<Bank> firstWave = banks.stream().filter(runsLast.negate()).toList();
+        List<Bank> lastWave = banks.stream().filter(runsLast).toList();
+
+        List<BankScrapeTiming> timings = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            // 1. Alla vanliga banker parallellt
+            timings.addAll(awaitAll(
+                    submitAll(executor, firstWave, global, hostLimits, scrape, batchStart)
+            ));
+
+            // 2. Banker som ska köras sist startar först när första vågen är klar
+            timings.addAll(awaitAll(
+                    submitAll(executor, lastWave, global, hostLimits, scrape, batchStart)
+            ));
+        }
+
+        return timings;
+    }
+
+    private List<Future<BankScrapeTiming>> submitAll(
+            ExecutorService executor,
+            List<Bank> banks,
+            Semaphore global,
+            Map<String, Semaphore> hostLimits,
+            Function<Bank, ScraperResult> scrape,
+            long batchStart
+    ) {
+        return banks.stream()
+                .map(bank -> executor.submit(() ->
+                        runLimited(bank, global, hostLimits, scrape, batchStart)))
+                .toList();
+    }
+
+    private BankScrapeTiming runLimited(
+            Bank bank,
+            Semaphore global,
+            Map<String, Semaphore> hostLimits,
+            Function<Bank, ScraperResult> scrape,
+            long batchStart
+    ) throws InterruptedException {
+
+        Semaphore host = hostLimits.computeIfAbsent(
+                hostKey(bank), key -> new Semaphore(perHostLimit, true)
+        );
+
+        // Värdgränsen tas först så att en väntande bank inte blockerar en global plats
+        host.acquire();
+        try {
+            global.acquire();
+            try {
+                return timed(bank, scrape, batchStart);
+            } finally {
+                global.release();
+            }
+        } finally {
+            host.release();
+        }
+    }
+
+    /**
+     * Kör en bank och mäter tiden. Används även av sekventiellt läge.
+     */
+    static BankScrapeTiming timed(
+            Bank bank,
+            Function<Bank, ScraperResult> scrape,
+            long batchStart
+    ) {
+        long start = System.currentTimeMillis();
+
+        ScraperResult result;
+        try {
+            result = scrape.apply(bank);
+        } catch (Exception e) {
+            System.err.println("Oväntat fel vid scraping av " + bank.getName() + ": " + e.getMessage());
+            result = new ScraperResult(bank.getName(), 0, false, e.getMessage(), 0);
+        }
+
+        long end = System.currentTimeMillis();
+
+        return new BankScrapeTiming(
+                bank.getName(),
+                result.success(),
+                start - batchStart,
+                end - start,
+                end - batchStart,
+                result.shortCircuited(),
+                result.fetchStats(),
+                result.outcome(),
+                result.resilience()
+        );
+    }
+
+    private List<BankScrapeTiming> awaitAll(List<Future<BankScrapeTiming>> futures) {
+        List<BankScrapeTiming> done = new ArrayList<>();
+
+        for (Future<BankScrapeTiming> future : futures) {
+            try {
+                done.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Scraping-batchen avbröts", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Scraping-batchen kraschade", e.getCause());
+            }
+        }
+
+        return done;
+    }
+
+    /**
+     * Värdnyckel för per-värd-begränsning, baserad på bankens webbplats.
+     * Faller tillbaka till banknamnet om webbplats saknas.
+     */
+    static String hostKey(Bank bank) {
+        String website = bank.getWebsite();
+
+        if (website != null && !website.isBlank()) {
+            try {
+                String host = URI.create(website.trim()).getHost();
+                if (host != null) {
+                    host = host.toLowerCase(Locale.ROOT);
+                    return host.startsWith("www.") ? host.substring(4) : host;
+                }
+            } catch (IllegalArgumentException ignored) {
+                // ogiltig URL → använd banknamnet
+            }
+        }
+
+        return bank.getName() == null ? "" : bank.getName().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,106 @@
+package com.bolaneradar.backend.service.integration.scraper.core;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.repository.projection.AverageRateKeyRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * ================================================================
+ * RATE HISTORY LOOKUP
+ * ================================================================
+ * <p>
+ * Minnesuppslag för ändringskontroll under en skrapning av en bank.
+ * <p>
+ * Ansvar:
+ * - Hålla bankens senaste rad per (term, rateType)
+ * - Hålla befintliga snitträntor för de datum som skrapats
+ * <p>
+ * Designprinciper:
+ * - Laddas en gång per bank (två frågor oavsett antal räntor)
+ * - Oföränderligt under körningen, precis som tidigare där nya rader
+ *   sparas först efter att alla skrapade räntor har filtrerats
+ * ================================================================
+ */
+final class RateHistoryLookup {
+
+    private record SeriesKey(MortgageTerm term, RateType rateType) {}
+
+    private record AverageKey(MortgageTerm term, LocalDate effectiveDate, BigDecimal ratePercent) {
+        // Normaliserad skala så att 4.1 och 4.10 räknas som samma ränta
+        AverageKey {
+            ratePercent = ratePercent == null ? null : ratePercent.stripTrailingZeros();
+        }
+    }
+
+    private static final Comparator<MortgageRate> NEWEST_ID =
+            Comparator.comparing(MortgageRate::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Map<SeriesKey, MortgageRate> latestBySeries;
+    private final Set<AverageKey> averageKeys;
+
+    private RateHistoryLookup(Map<SeriesKey, MortgageRate> latestBySeries, Set<AverageKey> averageKeys) {
+        this.latestBySeries = latestBySeries;
+        this.averageKeys = averageKeys;
+    }
+
+    /**
+     * Förhämtar det som behövs för att filtrera bankens skrapade räntor.
+     */
+    static RateHistoryLookup load(
+            MortgageRateRepository repository,
+            Bank bank,
+            List<MortgageRate> scraped
+    ) {
+        Map<SeriesKey, MortgageRate> latest = new HashMap<>();
+        for (MortgageRate rate : repository.findLatestRatesForBank(bank.getId())) {
+            // Samma senaste datum mer än en gång → senast sparade raden vinner
+            latest.merge(
+                    new SeriesKey(rate.getTerm(), rate.getRateType()),
+                    rate,
+                    (a, b) -> NEWEST_ID.compare(a, b) >= 0 ? a : b
+            );
+        }
+
+        Set<LocalDate> averageDates = scraped.stream()
+                .filter(r -> r.getRateType() == RateType.AVERAGERATE)
+                .map(MortgageRate::getEffectiveDate)
+                .collect(Collectors.toSet());
+
+        Set<AverageKey> averages = new HashSet<>();
+        if (!averageDates.isEmpty()) {
+            for (AverageRateKeyRow row : repository.findAverageRateKeys(bank.getId(), averageDates)) {
+                averages.add(new AverageKey(row.getTerm(), row.getEffectiveDate(), row.getRatePercent()));
+            }
+        }
+
+        return new RateHistoryLookup(latest, averages);
+    }
+
+    /**
+     * Senaste sparade rad för samma bindningstid och räntetyp.
+     */
+    Optional<MortgageRate> latest(MortgageTerm term, RateType rateType) {
+        return Optional.ofNullable(latestBySeries.get(new SeriesKey(term, rateType)));
+    }
+
+    /**
+     * True om exakt samma snittränta (term, datum, värde) redan finns sparad.
+     */
+    boolean hasAverageRate(MortgageTerm term, LocalDate effectiveDate, BigDecimal ratePercent) {
+        return averageKeys.contains(new AverageKey(term, effectiveDate, ratePercent));
+    }
+}
@@ -0,0 +1,21 @@
+package com.bolaneradar.backend.service.integration.scraper.core;
+
+/**
+ * ================================================================
+ * RATE STORAGE MODE
+ * ================================================================
+ * <p>
+ * Styr hur skrapade listräntor lagras (app.rates.storage-mode).
+ * <p>
+ * Lägen:
+ * - DAILY    → en ny rad per skrapning, även när räntan är oförändrad
+ * - INTERVAL → en rad per period med samma ränta; oförändrade
+ *              skrapningar förlänger radens lastSeenDate
+ * <p>
+ * Snitträntor (AVERAGERATE) påverkas inte – de lagras alltid per månad.
+ * ================================================================
+ */
+public enum RateStorageMode {
+    DAILY,
+    INTERVAL
+}
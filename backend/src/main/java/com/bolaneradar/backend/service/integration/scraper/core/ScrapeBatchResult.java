@@ -1,15 +1,39 @@
 package com.bolaneradar.backend.service.integration.scraper.core;
 
+import com.bolaneradar.backend.service.integration.scraper.support.FetchStats;
+
+import java.util.List;
+
 /**
  * Resultatobjekt för en scraping-batch.
  * <p>
  * Innehåller en sammanfattning av hur många banker
- * som uppdaterades korrekt respektive misslyckades.
+ * som uppdaterades korrekt respektive misslyckades,
+ * samt tidsmätning för hela batchen och per bank.
+ * <p>
+ * Tidsfält:
+ * - wallClockMs: faktisk tid från batchstart till sista banken är klar
+ * - totalBankTimeMs: summan av alla bankers körtid (= sekventiell kostnad)
+ * - criticalPathMs: längsta beroendekedjan (långsammaste banken + banker som måste köras sist)
+ * <p>
+ * Fetch-cache:
+ * - shortCircuitedBanks: banker vars sidor var oförändrade och därför inte parsades
+ * - fetchTotals: summerad nätverks- och parsningsstatistik för batchen
+ * <p>
+ * Tidsgränser:
+ * - timedOutBanks: banker som avbröts vid tidsgräns (ingår även i failedBanks)
  * <p>
  * Används som returtyp från batch-körningar i scraper-lagret.
  */
 public record ScrapeBatchResult(
         int successfulBanks,
-        int failedBanks
+        int failedBanks,
+        long wallClockMs,
+        long totalBankTimeMs,
+        long criticalPathMs,
+        List<BankScrapeTiming> bankTimings,
+        int shortCircuitedBanks,
+        FetchStats fetchTotals,
+        int timedOutBanks
 ) {
-}
\ No newline at end of file
+}
@@ -1,16 +1,50 @@
 package com.bolaneradar.backend.service.integration.scraper.core;
 
+import com.bolaneradar.backend.entity.enums.ScrapeOutcome;
+import com.bolaneradar.backend.service.integration.scraper.support.FetchStats;
+import com.bolaneradar.backend.service.integration.scraper.support.ResilienceStats;
+
 /**
  * Resultat från en enskild bank-scraper.
  * <p>
  * Innehåller utfall, antal importerade räntor
  * samt exekveringstid för banken.
+ * <p>
+ * shortCircuited = true betyder att bankens sidor var oförändrade
+ * sedan förra körningen, så parsning och lagring hoppades över.
+ * <p>
+ * outcome skiljer på vanliga fel (FAILED) och avbrott vid
+ * tidsgräns (TIMEOUT). success är true endast för SUCCESS.
+ * <p>
+ * resilience visar omförsök, hedge-anrop och brytartillstånd
+ * för bankens HTTP-anrop.
  */
 public record ScraperResult(
         String bankName,
         int importedCount,
         boolean success,
         String error,
-        long durationMs
+        long durationMs,
+        boolean shortCircuited,
+        FetchStats fetchStats,
+        ScrapeOutcome outcome,
+        ResilienceStats resilience
 ) {
+
+    public ScraperResult(String bankName, int importedCount, boolean success, String error, long durationMs) {
+        this(bankName, importedCount, success, error, durationMs, false, FetchStats.NONE,
+                success ? ScrapeOutcome.SUCCESS : ScrapeOutcome.FAILED, ResilienceStats.NONE);
+    }
+
+    /**
+     * Resultat för en bank som avbröts vid tidsgräns. Inget sparades.
+     */
+    public static ScraperResult timedOut(String bankName, String error, long durationMs, FetchStats fetchStats) {
+        return new ScraperResult(bankName, 0, false, error, durationMs, false, fetchStats,
+                ScrapeOutcome.TIMEOUT, ResilienceStats.NONE);
+    }
+
+    public boolean timedOut() {
+        return outcome == ScrapeOutcome.TIMEOUT;
+    }
 }
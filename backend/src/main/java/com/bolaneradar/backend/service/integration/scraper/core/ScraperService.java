@@ -3,16 +3,31 @@ package com.bolaneradar.backend.service.integration.scraper.core;
 import com.bolaneradar.backend.entity.core.Bank;
 import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.entity.enums.ScrapeOutcome;
 import com.bolaneradar.backend.repository.BankRepository;
 import com.bolaneradar.backend.repository.MortgageRateRepository;
 import com.bolaneradar.backend.service.admin.RateUpdateLogService;
+import com.bolaneradar.backend.service.core.CurrentRateService;
 import com.bolaneradar.backend.service.integration.EmailService;
 import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.FetchCache;
+import com.bolaneradar.backend.service.integration.scraper.support.FetchContext;
+import com.bolaneradar.backend.service.integration.scraper.support.FetchStats;
+import com.bolaneradar.backend.service.integration.scraper.support.ResilienceTracker;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * ================================================================
@@ -26,7 +41,9 @@ import java.util.Optional;
  * - Köra scraping för enskild bank eller alla banker
  * - Matcha bank mot korrekt BankScraper-implementation
  * - Filtrera bort dubletter och hantera rateChange / lastChanged
- * - Spara nya räntor till databasen
+ * - Lagra listräntor dagligen eller som intervall (app.rates.storage-mode)
+ * - Hoppa över banker vars sidor är oförändrade (fetch-cache, app.scraper.fetch-cache.*)
+ * - Spara nya räntor till databasen (historik + current_rates via CurrentRateService)
  * - Logga resultat via RateUpdateLogService
  * - Skicka notifiering vid fel (om EmailService finns)
  * <p>
@@ -37,8 +54,14 @@ import java.util.Optional;
  * <p>
  * Prestanda & robusthet:
  * - Körs bank för bank med individuell felhantering
+ * - Valfritt parallellt läge på virtuella trådar (app.scraper.parallel.*)
+ *   med global och per-värd-begränsning – SEB körs alltid sist
  * - Misslyckad bank stoppar inte övriga
- * - Tidsmätning och resultat loggas per bank
+ * - Tillfälliga HTTP-fel försöks igen och nere värdar hoppas över
+ *   (ScraperResilience, app.scraper.http.retry.* / breaker.*)
+ * - Tidsgräns per bank och för hela batchen (app.scraper.deadline.*):
+ *   hängande scrapers avbryts och loggas som TIMEOUT
+ * - Tidsmätning och resultat loggas per bank och för hela batchen
  * ================================================================
  */
 @Service
@@ -49,19 +72,52 @@ public class ScraperService {
     private final List<BankScraper> scrapers;
     private final RateUpdateLogService rateUpdateLogService;
     private final Optional<EmailService> emailService;
+    private final FetchCache fetchCache;
+    private final CurrentRateService currentRateService;
+
+    // Parallellt läge (av som standard → sekventiell körning som tidigare)
+    @Value("${app.scraper.parallel.enabled:false}")
+    private boolean parallelEnabled;
+
+    // Lagring av listräntor: DAILY (en rad per dag) eller INTERVAL (förläng oförändrad rad)
+    @Value("${app.rates.storage-mode:daily}")
+    private RateStorageMode storageMode;
+
+    // Max antal banker som skrapas samtidigt
+    @Value("${app.scraper.parallel.max-concurrency:4}")
+    private int maxConcurrency;
+
+    // Max antal samtidiga körningar mot samma värd
+    @Value("${app.scraper.parallel.per-host-limit:1}")
+    private int perHostLimit;
+
+    // Tidsgräns per bank (0 = ingen gräns)
+    @Value("${app.scraper.deadline.per-bank-seconds:120}")
+    private long perBankDeadlineSeconds;
+
+    // Tidsgräns för hela batchen; banker som inte hunnit starta blir TIMEOUT (0 = ingen gräns)
+    @Value("${app.scraper.deadline.batch-seconds:900}")
+    private long batchDeadlineSeconds;
+
+    /** Ingen batchgräns – endast bankens egen tidsgräns gäller. */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
 
     public ScraperService(
             BankRepository bankRepository,
             MortgageRateRepository mortgageRateRepository,
             List<BankScraper> scrapers,
             RateUpdateLogService rateUpdateLogService,
-            Optional<EmailService> emailService
+            Optional<EmailService> emailService,
+            FetchCache fetchCache,
+            CurrentRateService currentRateService
     ) {
         this.bankRepository = bankRepository;
         this.mortgageRateRepository = mortgageRateRepository;
         this.scrapers = scrapers;
         this.rateUpdateLogService = rateUpdateLogService;
         this.emailService = emailService;
+        this.fetchCache = fetchCache;
+        this.currentRateService = currentRateService;
     }
 
     // ==========================================================
@@ -79,10 +135,7 @@ public class ScraperService {
     }
 
     public ScrapeBatchResult scrapeAllBanks() {
-        int success = 0;
-        int failure = 0;
-
-        List<String> failedBanks = new ArrayList<>();
+        long batchStart = System.currentTimeMillis();
 
         // 1. Hämta banker och sortera så att SEB körs sist
         List<Bank> banks = new ArrayList<>(bankRepository.findAll());
@@ -95,18 +148,35 @@ public class ScraperService {
             return Boolean.compare(aIsSeb, bIsSeb);
         });
 
-        // 2. Kör scraping i vald ordning
-        for (Bank bank : banks) {
-            ScraperResult r = runScrapeForBank(bank.getName());
-
-            if (r.success()) {
-                success++;
-            } else {
-                failure++;
-                failedBanks.add(bank.getName());
+        // 2. Kör scraping – parallellt eller i vald ordning, senast till batchens tidsgräns
+        long batchDeadline = batchDeadlineSeconds > 0
+                ? batchStart + batchDeadlineSeconds * 1000
+                : NO_DEADLINE;
+
+        List<BankScrapeTiming> timings;
+
+        if (parallelEnabled) {
+            timings = new ParallelScrapeExecutor(maxConcurrency, perHostLimit)
+                    .run(banks, this::isSeb, bank -> runScrapeForBank(bank.getName(), batchDeadline), batchStart);
+        } else {
+            timings = new ArrayList<>();
+            for (Bank bank : banks) {
+                timings.add(ParallelScrapeExecutor.timed(
+                        bank, b -> runScrapeForBank(b.getName(), batchDeadline), batchStart
+                ));
             }
         }
 
+        long wallClockMs = System.currentTimeMillis() - batchStart;
+
+        List<String> failedBanks = timings.stream()
+                .filter(t -> !t.success())
+                .map(t -> t.timedOut() ? t.bankName() + " (tidsgräns)" : t.bankName())
+                .toList();
+
+        int success = timings.size() - failedBanks.size();
+        int failure = failedBanks.size();
+
         // 3. Mail vid fel
         if (!failedBanks.isEmpty()) {
             emailService.ifPresent(mail ->
@@ -118,12 +188,66 @@ public class ScraperService {
             );
         }
 
-        return new ScrapeBatchResult(success, failure);
+        int shortCircuited = (int) timings.stream()
+                .filter(BankScrapeTiming::shortCircuited)
+                .count();
+
+        FetchStats fetchTotals = timings.stream()
+                .map(BankScrapeTiming::fetchStats)
+                .reduce(FetchStats.NONE, FetchStats::plus);
+
+        int timedOut = (int) timings.stream()
+                .filter(BankScrapeTiming::timedOut)
+                .count();
+
+        return new ScrapeBatchResult(
+                success,
+                failure,
+                wallClockMs,
+                totalBankTime(timings),
+                criticalPath(timings),
+                timings,
+                shortCircuited,
+                fetchTotals,
+                timedOut
+        );
+    }
+
+    /**
+     * Summan av alla bankers körtid, dvs. vad batchen kostar sekventiellt.
+     */
+    private long totalBankTime(List<BankScrapeTiming> timings) {
+        return timings.stream().mapToLong(BankScrapeTiming::durationMs).sum();
+    }
+
+    /**
+     * Längsta beroendekedjan: långsammaste vanliga banken
+     * plus långsammaste banken som måste köras sist (SEB).
+     * Det är den lägsta väggtid som parallell körning kan nå.
+     */
+    private long criticalPath(List<BankScrapeTiming> timings) {
+        long slowestFirst = timings.stream()
+                .filter(t -> !isSebName(t.bankName()))
+                .mapToLong(BankScrapeTiming::durationMs)
+                .max()
+                .orElse(0);
+
+        long slowestLast = timings.stream()
+                .filter(t -> isSebName(t.bankName()))
+                .mapToLong(BankScrapeTiming::durationMs)
+                .max()
+                .orElse(0);
+
+        return slowestFirst + slowestLast;
     }
 
     private boolean isSeb(Bank bank) {
-        return bank.getName() != null &&
-                bank.getName().toLowerCase().contains("seb");
+        return isSebName(bank.getName());
+    }
+
+    private boolean isSebName(String bankName) {
+        return bankName != null &&
+                bankName.toLowerCase().contains("seb");
     }
 
     // ==========================================================
@@ -131,6 +255,18 @@ public class ScraperService {
     // ==========================================================
 
     public ScraperResult runScrapeForBank(String bankName) {
+        return runScrapeForBank(bankName, NO_DEADLINE);
+    }
+
+    /**
+     * Kör en bank med bankens tidsgräns, dock senast batchDeadlineMs
+     * (epoch-millis, NO_DEADLINE = endast bankens egen gräns).
+     * <p>
+     * Hämtning och parsning sker på en egen virtuell tråd. Om tidsgränsen
+     * nås avbryts tråden, scrapern får frigöra sina resurser (cancel)
+     * och ingenting sparas – utfallet loggas som TIMEOUT.
+     */
+    public ScraperResult runScrapeForBank(String bankName, long batchDeadlineMs) {
 
         long start = System.currentTimeMillis();
         int savedCount = 0;
@@ -155,74 +291,51 @@ public class ScraperService {
                     "Ingen scraper hittades", dur);
         }
 
-        List<MortgageRate> finalRates = new ArrayList<>();
-
-        try {
-            // 3. Scrape
-            List<MortgageRate> scraped = scraper.scrapeRates(bank);
-            if (scraped == null || scraped.isEmpty()) {
-                error = "Scraper returnerade 0 räntor";
-            }
-
-// 4. Filter logic (duplicates + rateChange + lastChanged)
-            for (MortgageRate newRate : scraped) {
+        // 3. Tidsgräns – bankens egen eller batchens, den som kommer först
+        long deadline = perBankDeadlineSeconds > 0
+                ? Math.min(batchDeadlineMs, start + perBankDeadlineSeconds * 1000)
+                : batchDeadlineMs;
 
-                List<MortgageRate> previous =
-                        mortgageRateRepository.findByBankAndTermAndRateTypeOrderByEffectiveDateDesc(
-                                newRate.getBank(),
-                                newRate.getTerm(),
-                                newRate.getRateType()
-                        );
+        if (deadline <= start) {
+            return timedOut(bank, "Batchens tidsgräns passerad – banken kördes inte", start, FetchStats.NONE);
+        }
 
-                // ==== AVERAGERATE – undvik dubletter exakt efter datum ====
-                if (newRate.getRateType() == RateType.AVERAGERATE) {
+        ScrapeAttempt attempt;
+        try {
+            attempt = fetchAndParse(bank, scraper, deadline);
+        } catch (TimeoutException e) {
+            scraper.cancel();
+            long seconds = (System.currentTimeMillis() - start) / 1000;
+            return timedOut(bank, "Tidsgräns överskriden (" + seconds + " s)", start, FetchStats.NONE);
+        }
 
-                    boolean duplicate = previous.stream().anyMatch(p ->
-                            p.getEffectiveDate().equals(newRate.getEffectiveDate()) &&
-                                    p.getRatePercent().compareTo(newRate.getRatePercent()) == 0
-                    );
+        error = attempt.error();
 
-                    if (duplicate) {
-                        continue; // hoppa över denna
-                    }
+        try {
+            if (error == null && attempt.unchanged()) {
+                // 4a. Alla sidor oförändrade sedan förra körningen → hoppa över parsning och lagring
+                touchOpenIntervals(bank);
+            } else if (error == null) {
+                List<MortgageRate> scraped = attempt.scraped();
+                if (scraped == null || scraped.isEmpty()) {
+                    error = "Scraper returnerade 0 räntor";
+                    scraped = List.of();
                 }
 
-                // ==== LISTRATE – hantera rateChange + lastChanged (ALTERNATIV A) ====
-                if (!previous.isEmpty()) {
-
-                    MortgageRate latest = previous.get(0);
+                savedCount = saveScrapedRates(bank, scraped);
 
-                    boolean isNewerDate = newRate.getEffectiveDate().isAfter(latest.getEffectiveDate());
-                    boolean differentValue = newRate.getRatePercent().compareTo(latest.getRatePercent()) != 0;
-
-                    if (isNewerDate && differentValue) {
-                        // Räntan ändras på riktigt
-                        newRate.setRateChange(newRate.getRatePercent().subtract(latest.getRatePercent()));
-                        newRate.setLastChangedDate(newRate.getEffectiveDate());
-                    } else {
-                        // Räntan är oförändrad → behåll senaste lastChangedDate
-                        newRate.setRateChange(latest.getRateChange());
-                        newRate.setLastChangedDate(latest.getLastChangedDate());
-                    }
+                // Sidornas cacheposter sparas endast när banken lyckades
+                if (error == null) {
+                    attempt.fetch().commitParsed();
                 }
-
-                finalRates.add(newRate);
-            }
-
-
-            // Save if anything new
-            if (!finalRates.isEmpty()) {
-                mortgageRateRepository.saveAll(finalRates);
-                savedCount = finalRates.size();
             }
-
         } catch (Exception e) {
             error = e.getMessage();
         }
 
         long duration = System.currentTimeMillis() - start;
 
-        // 5. Logging
+        // 7. Logging
         rateUpdateLogService.logUpdate(
                 bank,
                 "ScraperService",
@@ -232,16 +345,229 @@ public class ScraperService {
                 duration
         );
 
-        // 6. Result return
+        // 8. Result return
         return new ScraperResult(
                 bank.getName(),
                 savedCount,
                 error == null,
                 error,
-                duration
+                duration,
+                error == null && attempt.unchanged(),
+                attempt.fetch().stats(),
+                error == null ? ScrapeOutcome.SUCCESS : ScrapeOutcome.FAILED,
+                attempt.requests().stats()
         );
     }
 
+    /**
+     * Utfallet av hämtning + parsning för en bank, innan något sparats.
+     * unchanged = alla sidor oförändrade (scrapern kördes inte).
+     */
+    private record ScrapeAttempt(
+            List<MortgageRate> scraped,
+            boolean unchanged,
+            String error,
+            FetchContext fetch,
+            ResilienceTracker requests
+    ) {}
+
+    /**
+     * Kör preflight och scraper på en virtuell tråd och väntar till deadline.
+     * FetchContext och ResilienceTracker binds till arbetstråden,
+     * där ScraperHttpClient letar efter dem.
+     */
+    private ScrapeAttempt fetchAndParse(Bank bank, BankScraper scraper, long deadline) throws TimeoutException {
+        FutureTask<ScrapeAttempt> task = new FutureTask<>(() -> {
+            try (FetchContext fetch = fetchCache.open(bank.getName());
+                 ResilienceTracker requests = ResilienceTracker.open()) {
+                try {
+                    if (scraper.supportsConditionalFetch() && fetch.allPagesUnchanged()) {
+                        return new ScrapeAttempt(List.of(), true, null, fetch, requests);
+                    }
+                    return new ScrapeAttempt(scraper.scrapeRates(bank), false, null, fetch, requests);
+                } catch (Exception e) {
+                    return new ScrapeAttempt(List.of(), false, e.getMessage(), fetch, requests);
+                }
+            }
+        });
+
+        Thread.ofVirtual().name("scrape-" + bank.getName()).start(task);
+
+        try {
+            return deadline == NO_DEADLINE
+                    ? task.get()
+                    : task.get(Math.max(deadline - System.currentTimeMillis(), 1), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            throw e;
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Avbruten");
+        } catch (ExecutionException e) {
+            // Endast Error (t.ex. OutOfMemoryError) når hit – Exception fångas i tråden
+            throw new IllegalStateException("Scraping kraschade för " + bank.getName(), e.getCause());
+        }
+    }
+
+    /**
+     * Loggar och returnerar TIMEOUT för en bank. Inga räntor sparas.
+     */
+    private ScraperResult timedOut(Bank bank, String error, long start, FetchStats fetchStats) {
+        long duration = System.currentTimeMillis() - start;
+        System.err.println("Tidsgräns för " + bank.getName() + ": " + error);
+
+        rateUpdateLogService.logUpdate(bank, "ScraperService", 0, ScrapeOutcome.TIMEOUT, error, duration);
+
+        return ScraperResult.timedOut(bank.getName(), error, duration, fetchStats);
+    }
+
+    /**
+     * Filtrerar skrapade räntor (dubletter, rateChange / lastChanged,
+     * intervall) och sparar dem. Förlängda intervall sparas separat och
+     * endast om lastSeenDate flyttades. Returnerar antal nya rader.
+     */
+    private int saveScrapedRates(Bank bank, List<MortgageRate> scraped) {
+        List<MortgageRate> finalRates = new ArrayList<>();
+        List<MortgageRate> extended = new ArrayList<>();
+
+        // 4. Förhämta senaste rad per serie + befintliga snitträntor (O(1) frågor per bank)
+        RateHistoryLookup history = RateHistoryLookup.load(mortgageRateRepository, bank, scraped);
+
+        // 5. Filter logic (duplicates + rateChange + lastChanged)
+        for (MortgageRate newRate : scraped) {
+
+            // ==== AVERAGERATE – undvik dubletter exakt efter datum ====
+            if (newRate.getRateType() == RateType.AVERAGERATE &&
+                    history.hasAverageRate(
+                            newRate.getTerm(),
+                            newRate.getEffectiveDate(),
+                            newRate.getRatePercent()
+                    )) {
+                continue; // hoppa över denna
+            }
+
+            // ==== LISTRATE – hantera rateChange + lastChanged (ALTERNATIV A) ====
+            Optional<MortgageRate> previous = history.latest(newRate.getTerm(), newRate.getRateType());
+
+            if (previous.isPresent()) {
+
+                MortgageRate latest = previous.get();
+
+                boolean isNewerDate = newRate.getEffectiveDate().isAfter(latest.getEffectiveDate());
+                boolean differentValue = newRate.getRatePercent().compareTo(latest.getRatePercent()) != 0;
+
+                // ==== INTERVAL – oförändrad listränta förlänger befintlig rad ====
+                LocalDate seenBefore = latest.getLastSeenDate();
+                if (extendsInterval(newRate, latest, differentValue)) {
+                    if (!Objects.equals(seenBefore, latest.getLastSeenDate()) && !extended.contains(latest)) {
+                        extended.add(latest);
+                    }
+                    continue;
+                }
+
+                if (isNewerDate && differentValue) {
+                    // Räntan ändras på riktigt
+                    newRate.setRateChange(newRate.getRatePercent().subtract(latest.getRatePercent()));
+                    newRate.setLastChangedDate(newRate.getEffectiveDate());
+                } else {
+                    // Räntan är oförändrad → behåll senaste lastChangedDate
+                    newRate.setRateChange(latest.getRateChange());
+                    newRate.setLastChangedDate(latest.getLastChangedDate());
+                }
+            }
+
+            if (storageMode == RateStorageMode.INTERVAL && newRate.getRateType() == RateType.LISTRATE) {
+                newRate.setLastSeenDate(newRate.getEffectiveDate());
+            }
+
+            finalRates.add(newRate);
+        }
+
+
+        // 6. Save if anything new (historik + current_rates i samma transaktion)
+        if (!finalRates.isEmpty()) {
+            currentRateService.saveRates(finalRates);
+        }
+        if (!extended.isEmpty()) {
+            currentRateService.saveSeenIntervals(extended);
+        }
+
+        return finalRates.size();
+    }
+
+    /**
+     * Oförändrade sidor: i intervalläge förlängs bankens öppna listräntor
+     * till idag, i dagligt läge sparas ingenting.
+     */
+    private void touchOpenIntervals(Bank bank) {
+        if (storageMode != RateStorageMode.INTERVAL) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+
+        List<MortgageRate> open = mortgageRateRepository.findLatestRatesForBank(bank.getId()).stream()
+                .filter(r -> r.getRateType() == RateType.LISTRATE)
+                .filter(r -> r.getLastSeenDate() == null || r.getLastSeenDate().isBefore(today))
+                .toList();
+
+        open.forEach(r -> r.setLastSeenDate(today));
+
+        if (!open.isEmpty()) {
+            currentRateService.saveSeenIntervals(open);
+        }
+    }
+
+    /**
+     * I intervalläge förlängs senaste listräntan i stället för att en
+     * identisk rad läggs till. Returnerar true om raden förlängdes.
+     */
+    private boolean extendsInterval(MortgageRate newRate, MortgageRate latest, boolean differentValue) {
+        if (storageMode != RateStorageMode.INTERVAL
+                || newRate.getRateType() != RateType.LISTRATE
+                || differentValue) {
+            return false;
+        }
+
+        LocalDate seen = latest.getLastSeenDate() != null
+                ? latest.getLastSeenDate()
+                : latest.getEffectiveDate();
+
+        if (newRate.getEffectiveDate().isAfter(seen)) {
+            latest.setLastSeenDate(newRate.getEffectiveDate());
+        } else if (latest.getLastSeenDate() == null) {
+            latest.setLastSeenDate(seen);
+        }
+        return true;
+    }
+
+    // ==========================================================
+    // TORRKÖRNING (record / replay av fixtures)
+    // ==========================================================
+
+    /**
+     * Kör samtliga scrapers utan att spara räntor, loggar eller fetch-cache.
+     * Med app.scraper.fetch-mode=record spelas bankernas sidor in,
+     * med replay verifieras parsningen offline.
+     *
+     * @return antal räntor per bank, -1 om scrapern kastade fel
+     */
+    public Map<String, Integer> dryRunAllScrapers() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+
+        for (BankScraper scraper : scrapers) {
+            String bankName = scraper.getBankName();
+            try {
+                counts.put(bankName, scraper.scrapeRates(new Bank(bankName)).size());
+            } catch (Exception e) {
+                System.err.println("Torrkörning misslyckades för " + bankName + ": " + e.getMessage());
+                counts.put(bankName, -1);
+            }
+        }
+        return counts;
+    }
+
     // ==========================================================
     // SCRAPER MATCHING
     // ==========================================================
@@ -0,0 +1,48 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * ================================================================
+ * BROWSER SESSION POOL
+ * ================================================================
+ * <p>
+ * Delad headless-webbläsare för scrapers som kräver JavaScript.
+ * <p>
+ * Ansvar:
+ * - Hålla en varm webbläsarinstans mellan sidor och banker
+ * - Öppna varje sida i en egen flik och stänga den efteråt
+ * - Starta om webbläsaren vid krasch eller när livslängden gått ut
+ * <p>
+ * Designprinciper:
+ * - Scrapers får aldrig skapa eller stänga en WebDriver själva
+ * - Används endast när sidan inte går att läsa via ScraperHttpClient
+ * ================================================================
+ */
+public interface BrowserSessionPool {
+
+    /**
+     * Arbete som utförs i en öppen flik. Fliken har redan laddat URL:en.
+     */
+    @FunctionalInterface
+    interface PageAction<T> {
+        T apply(WebDriver driver, WebDriverWait wait) throws Exception;
+    }
+
+    /**
+     * Öppnar url i en ny flik, kör action och stänger fliken.
+     * Vid krasch startas webbläsaren om och anropet görs en gång till.
+     */
+    <T> T withPage(String url, Duration timeout, PageAction<T> action) throws Exception;
+
+    /**
+     * Avbryter pågående sida genom att stänga webbläsaren.
+     * Får anropas från annan tråd än den som kör withPage;
+     * nästa anrop startar en ny webbläsare.
+     */
+    default void abort() {
+    }
+}
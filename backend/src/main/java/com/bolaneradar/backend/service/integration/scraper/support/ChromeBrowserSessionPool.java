@@ -0,0 +1,230 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import jakarta.annotation.PreDestroy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ================================================================
+ * CHROME BROWSER SESSION POOL
+ * ================================================================
+ * <p>
+ * BrowserSessionPool med en varm headless Chrome-instans.
+ * <p>
+ * Livscykel:
+ * - Startas vid första anropet (ingen Chrome om ingen scraper behöver den)
+ * - Varje sida öppnas i en ny flik som stängs efteråt
+ * - Startas om efter max-pages sidor eller max-age-minutes minuter
+ * - Stängs när den varit oanvänd i idle-seconds sekunder
+ *   (så att ingen Chrome ligger kvar i webbläget efter en manuell körning)
+ * - Stängs vid nedstängning av applikationen
+ * <p>
+ * Krasch:
+ * - Om webbläsaren inte längre svarar efter ett fel startas den om
+ *   och sidan laddas en gång till
+ * - Vanliga sidfel (t.ex. timeout) kastas vidare utan omstart
+ * <p>
+ * Avbrott:
+ * - abort() stänger webbläsaren från en annan tråd (bankens tidsgräns)
+ *   utan att vänta på låset; pågående sida avbryts utan nytt försök
+ * <p>
+ * Trådsäkerhet:
+ * - WebDriver är inte trådsäker, anrop serialiseras med ett lås
+ * ================================================================
+ */
+@Component
+public class ChromeBrowserSessionPool implements BrowserSessionPool {
+
+    private final int maxPages;
+    private final Duration maxAge;
+    private final Duration idleTimeout;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final ScheduledExecutorService reaper;
+
+    private final AtomicInteger aborts = new AtomicInteger();
+
+    private volatile WebDriver driver;
+    private String homeHandle;
+    private Instant startedAt;
+    private Instant lastUsed;
+    private int pagesServed;
+    private boolean driverResolved;
+
+    public ChromeBrowserSessionPool(
+            @Value("${app.scraper.browser.max-pages:50}") int maxPages,
+            @Value("${app.scraper.browser.max-age-minutes:30}") long maxAgeMinutes,
+            @Value("${app.scraper.browser.idle-seconds:120}") long idleSeconds
+    ) {
+        this.maxPages = maxPages;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.idleTimeout = Duration.ofSeconds(idleSeconds);
+
+        if (idleSeconds > 0) {
+            this.reaper = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().daemon().name("browser-pool-reaper").factory());
+            this.reaper.scheduleWithFixedDelay(this::closeIfIdle, idleSeconds, idleSeconds, TimeUnit.SECONDS);
+        } else {
+            this.reaper = null;
+        }
+    }
+
+    @Override
+    public <T> T withPage(String url, Duration timeout, PageAction<T> action) throws Exception {
+        lock.lockInterruptibly();
+        int abortsBefore = aborts.get();
+        try {
+            try {
+                return runInTab(url, timeout, action);
+            } catch (Exception e) {
+                if (aborts.get() != abortsBefore || Thread.currentThread().isInterrupted()) {
+                    // Avbruten av tidsgräns → inget nytt försök
+                    quit();
+                    throw e;
+                }
+                if (!isCrashed()) {
+                    throw e;
+                }
+                System.err.println("Webbläsaren svarar inte (" + e.getMessage() + ") – startar om.");
+                quit();
+                return runInTab(url, timeout, action);
+            }
+        } finally {
+            lastUsed = Instant.now();
+            lock.unlock();
+        }
+    }
+
+    private <T> T runInTab(String url, Duration timeout, PageAction<T> action) throws Exception {
+        WebDriver d = ensureStarted();
+        d.switchTo().newWindow(WindowType.TAB);
+        pagesServed++;
+        try {
+            d.get(url);
+            return action.apply(d, new WebDriverWait(d, timeout));
+        } finally {
+            closeTab(d);
+        }
+    }
+
+    // ============================================================
+    // Livscykel
+    // ============================================================
+
+    private WebDriver ensureStarted() {
+        if (driver != null && (pagesServed >= maxPages
+                || Duration.between(startedAt, Instant.now()).compareTo(maxAge) > 0)) {
+            System.out.println("Webbläsaren har nått sin livslängd – startar om.");
+            quit();
+        }
+
+        if (driver == null) {
+            if (!driverResolved) {
+                WebDriverManager.chromedriver().setup();
+                driverResolved = true;
+            }
+
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments("--headless=new", "--no-sandbox", "--disable-dev-shm-usage");
+
+            long start = System.currentTimeMillis();
+            driver = new ChromeDriver(options);
+            homeHandle = driver.getWindowHandle();
+            startedAt = Instant.now();
+            pagesServed = 0;
+            System.out.println("Webbläsare startad på " + (System.currentTimeMillis() - start) + " ms.");
+        }
+        return driver;
+    }
+
+    private void closeTab(WebDriver d) {
+        try {
+            if (!homeHandle.equals(d.getWindowHandle())) {
+                d.close();
+            }
+            d.switchTo().window(homeHandle);
+        } catch (WebDriverException ignored) {
+            // Hanteras av krasch-kontrollen vid nästa anrop
+        }
+    }
+
+    private boolean isCrashed() {
+        if (driver == null) {
+            return true;
+        }
+        try {
+            driver.getWindowHandles();
+            return false;
+        } catch (WebDriverException e) {
+            return true;
+        }
+    }
+
+    private void closeIfIdle() {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            if (driver != null && lastUsed != null
+                    && Duration.between(lastUsed, Instant.now()).compareTo(idleTimeout) > 0) {
+                quit();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void quit() {
+        if (driver != null) {
+            try {
+                driver.quit();
+            } catch (Exception ignored) {
+                // Processen kan redan vara död
+            }
+            driver = null;
+            homeHandle = null;
+        }
+    }
+
+    @Override
+    public void abort() {
+        WebDriver current = driver;
+        if (current == null) {
+            return;
+        }
+        aborts.incrementAndGet();
+        System.err.println("Webbläsaren avbryts (tidsgräns) – stänger.");
+        try {
+            current.quit();
+        } catch (Exception ignored) {
+            // Processen kan redan vara död
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+        lock.lock();
+        try {
+            quit();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
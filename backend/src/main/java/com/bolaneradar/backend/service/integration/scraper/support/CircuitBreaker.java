@@ -0,0 +1,96 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * ================================================================
+ * CIRCUIT BREAKER
+ * ================================================================
+ * <p>
+ * Brytare per bankvärd i ScraperResilience.
+ * <p>
+ * Tillstånd:
+ * - CLOSED: anrop går igenom, misslyckade anrop i följd räknas
+ * - OPEN: efter failureThreshold misslyckanden i följd avvisas alla
+ *   anrop direkt under openDuration (ingen väntan på timeouts)
+ * - HALF_OPEN: när openDuration gått ut släpps ett provanrop igenom;
+ *   lyckas det stängs brytaren, annars öppnas den igen
+ * <p>
+ * Ett "misslyckande" är ett anrop som misslyckats även efter omförsök.
+ * failureThreshold <= 0 stänger av brytaren.
+ * ================================================================
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private int consecutiveFailures;
+    private Instant openUntil;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * True om anropet får göras. I HALF_OPEN släpps endast ett provanrop.
+     */
+    synchronized boolean tryAcquire() {
+        return switch (state()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) yield false;
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        openUntil = null;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        if (failureThreshold <= 0) {
+            return;
+        }
+        consecutiveFailures++;
+        if (trialInFlight || consecutiveFailures >= failureThreshold) {
+            openUntil = clock.instant().plus(openDuration);
+        }
+        trialInFlight = false;
+    }
+
+    /**
+     * Provanropet avbröts utan utfall (t.ex. tidsgräns) – släpp nästa.
+     */
+    synchronized void onAbandoned() {
+        trialInFlight = false;
+    }
+
+    public synchronized State state() {
+        if (openUntil == null) {
+            return State.CLOSED;
+        }
+        return clock.instant().isBefore(openUntil) ? State.OPEN : State.HALF_OPEN;
+    }
+
+    synchronized Instant openUntil() {
+        return openUntil;
+    }
+}
@@ -0,0 +1,189 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ================================================================
+ * FETCH CACHE
+ * ================================================================
+ * <p>
+ * Persistent cache över hämtade banksidor mellan batchkörningar.
+ * <p>
+ * Ansvar:
+ * - Spara ETag / Last-Modified och SHA-256 av innehållet per URL
+ * - Komma ihåg vilka URL:er varje bank läste vid senaste lyckade körning
+ * - Skriva cachen till disk (JSON) efter varje bank
+ * <p>
+ * Designprinciper:
+ * - Av som standard (app.scraper.fetch-cache.enabled)
+ * - Uppdateras endast när bankens skrapning lyckades, så att en
+ *   misslyckad parsning aldrig markerar en sida som "redan hanterad"
+ * - En full skrapning tvingas fram efter max-skip-days även om
+ *   sidorna verkar oförändrade
+ * <p>
+ * Trådsäkerhet:
+ * - Kartorna är concurrent och skrivning till disk är synkroniserad,
+ *   så cachen fungerar även i parallellt batchläge
+ * ================================================================
+ */
+@Component
+public class FetchCache {
+
+    /**
+     * Senaste kända tillstånd för en URL.
+     */
+    public record PageEntry(
+            String etag,
+            String lastModified,
+            String sha256,
+            long contentLength,
+            long parseMs,
+            LocalDate lastSeen
+    ) {}
+
+    /**
+     * Vilka sidor en bank läste och när de senast parsades fullt ut.
+     */
+    public record BankEntry(
+            List<String> urls,
+            LocalDate lastParsed,
+            LocalDate lastSeen
+    ) {}
+
+    record Snapshot(
+            Map<String, PageEntry> pages,
+            Map<String, BankEntry> banks
+    ) {}
+
+    private final ScraperHttpClient http;
+    private final boolean enabled;
+    private final Path file;
+    private final int maxSkipDays;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final Map<String, PageEntry> pages = new ConcurrentHashMap<>();
+    private final Map<String, BankEntry> banks = new ConcurrentHashMap<>();
+
+    public FetchCache(
+            ScraperHttpClient http,
+            @Value("${app.scraper.fetch-cache.enabled:false}") boolean enabled,
+            @Value("${app.scraper.fetch-cache.file:.scraper-cache/fetch-cache.json}") Path file,
+            @Value("${app.scraper.fetch-cache.max-skip-days:7}") int maxSkipDays
+    ) {
+        this.http = http;
+        this.enabled = enabled;
+        this.file = file;
+        this.maxSkipDays = maxSkipDays;
+
+        if (enabled) {
+            load();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Öppnar en hämtningskontext för en bank och binder den till aktuell tråd.
+     * Måste stängas (try-with-resources) när bankens körning är klar.
+     */
+    public FetchContext open(String bankName) {
+        return FetchContext.bind(this, http, bankName);
+    }
+
+    PageEntry page(String url) {
+        return pages.get(url);
+    }
+
+    BankEntry bank(String bankName) {
+        return banks.get(key(bankName));
+    }
+
+    /**
+     * True om bankens sidor är kända och senaste fulla parsning är färsk nog.
+     */
+    boolean canSkip(String bankName, LocalDate today) {
+        BankEntry entry = bank(bankName);
+        return entry != null
+                && entry.urls() != null
+                && !entry.urls().isEmpty()
+                && entry.lastParsed() != null
+                && !entry.lastParsed().plusDays(maxSkipDays).isBefore(today)
+                && entry.urls().stream().allMatch(pages::containsKey);
+    }
+
+    /**
+     * Sparar resultatet av en lyckad full skrapning.
+     */
+    void commitParsed(String bankName, Map<String, PageEntry> parsedPages, LocalDate today) {
+        pages.putAll(parsedPages);
+        banks.put(key(bankName), new BankEntry(List.copyOf(parsedPages.keySet()), today, today));
+        save();
+    }
+
+    /**
+     * Markerar att bankens sidor sågs oförändrade idag.
+     */
+    void commitUnchanged(String bankName, Map<String, PageEntry> seenPages, LocalDate today) {
+        pages.putAll(seenPages);
+        banks.computeIfPresent(key(bankName),
+                (k, e) -> new BankEntry(e.urls(), e.lastParsed(), today));
+        save();
+    }
+
+    private String key(String bankName) {
+        return bankName.toLowerCase();
+    }
+
+    // ============================================================
+    // Persistens
+    // ============================================================
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try {
+            Snapshot snapshot = mapper.readValue(file.toFile(), Snapshot.class);
+            if (snapshot.pages() != null) pages.putAll(snapshot.pages());
+            if (snapshot.banks() != null) banks.putAll(snapshot.banks());
+            System.out.println("Fetch-cache laddad: " + pages.size() + " sidor från " + file);
+        } catch (IOException e) {
+            // Trasig cache ska aldrig stoppa scraping – börja om från tom cache
+            System.err.println("Kunde inte läsa fetch-cache (" + file + "): " + e.getMessage());
+        }
+    }
+
+    synchronized void save() {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            if (dir != null) {
+                Files.createDirectories(dir);
+            }
+
+            // Skriv till temporär fil och flytta, så att en avbruten körning inte lämnar halv JSON
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            mapper.writeValue(tmp.toFile(), new Snapshot(Map.copyOf(pages), Map.copyOf(banks)));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Kunde inte spara fetch-cache (" + file + "): " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ================================================================
+ * FETCH CONTEXT
+ * ================================================================
+ * <p>
+ * Hämtningstillstånd för en banks skrapning, bundet till aktuell tråd.
+ * <p>
+ * Ansvar:
+ * - Förhandskontroll (preflight) av bankens kända sidor med villkorade
+ *   anrop (If-None-Match / If-Modified-Since) och innehållshash
+ * - Leverera redan hämtade sidor till ScraperHttpClient.fetchDocument
+ *   så att samma sida inte laddas ner två gånger
+ * - Samla nya cacheposter som sparas först när banken lyckats
+ * - Räkna statistik (FetchStats)
+ * <p>
+ * Designprinciper:
+ * - ScraperHttpClient hittar kontexten via ThreadLocal, så bank-scrapers
+ *   behöver inte känna till cachen
+ * - Varje bank körs på en egen tråd (även i parallellt läge)
+ * ================================================================
+ */
+public final class FetchContext implements AutoCloseable {
+
+    private static final ThreadLocal<FetchContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * En hämtad men ännu inte parsad sida.
+     */
+    private record FetchedPage(ScraperHttpClient.Response response, FetchCache.PageEntry entry) {}
+
+    private final FetchCache cache;
+    private final ScraperHttpClient http;
+    private final String bankName;
+    private final LocalDate today = LocalDate.now();
+
+    // Sidor som redan laddats ner under preflight (ändrade sidor)
+    private final Map<String, FetchedPage> prefetched = new LinkedHashMap<>();
+
+    // Nya cacheposter från denna körning, i den ordning sidorna lästes
+    private final Map<String, FetchCache.PageEntry> pending = new LinkedHashMap<>();
+
+    private int pagesRequested;
+    private int pagesNotModified;
+    private int pagesUnchanged;
+    private long bytesDownloaded;
+    private long bytesSaved;
+    private long parseMsSaved;
+
+    private FetchContext(FetchCache cache, ScraperHttpClient http, String bankName) {
+        this.cache = cache;
+        this.http = http;
+        this.bankName = bankName;
+    }
+
+    static FetchContext bind(FetchCache cache, ScraperHttpClient http, String bankName) {
+        FetchContext context = new FetchContext(cache, http, bankName);
+        if (cache.isEnabled()) {
+            CURRENT.set(context);
+        }
+        return context;
+    }
+
+    /**
+     * Aktiv kontext för aktuell tråd, eller null om cachen inte används.
+     */
+    static FetchContext current() {
+        return CURRENT.get();
+    }
+
+    // ============================================================
+    // Preflight
+    // ============================================================
+
+    /**
+     * Kontrollerar bankens kända sidor med villkorade anrop.
+     * <p>
+     * Returnerar true endast om samtliga sidor är oförändrade
+     * (304 eller samma hash). Avbryter vid första ändrade sidan –
+     * den är då redan nedladdad och återanvänds av scrapern.
+     */
+    public boolean allPagesUnchanged() {
+        if (!cache.isEnabled() || !cache.canSkip(bankName, today)) {
+            return false;
+        }
+
+        Map<String, FetchCache.PageEntry> seen = new LinkedHashMap<>();
+
+        for (String url : cache.bank(bankName).urls()) {
+            FetchCache.PageEntry known = cache.page(url);
+
+            Map<String, String> conditional = new HashMap<>();
+            if (known.etag() != null) {
+                conditional.put("If-None-Match", known.etag());
+            }
+            if (known.lastModified() != null) {
+                conditional.put("If-Modified-Since", known.lastModified());
+            }
+
+            ScraperHttpClient.Response response;
+            try {
+                response = http.get(url, conditional);
+            } catch (IOException e) {
+                // Nätverksfel här avgörs av den riktiga skrapningen
+                return false;
+            }
+
+            pagesRequested++;
+
+            if (response.statusCode() == 304) {
+                pagesNotModified++;
+                bytesSaved += known.contentLength();
+                seen.put(url, withLastSeen(known));
+                continue;
+            }
+
+            if (response.statusCode() >= 400) {
+                return false;
+            }
+
+            bytesDownloaded += response.wireBytes();
+            String hash = sha256(response.body());
+            FetchCache.PageEntry fresh = entry(response, hash, known.parseMs());
+
+            if (hash.equals(known.sha256())) {
+                pagesUnchanged++;
+                seen.put(url, fresh);
+                continue;
+            }
+
+            // Ändrad sida → spara för scrapern och avbryt preflight
+            prefetched.put(url, new FetchedPage(response, fresh));
+            return false;
+        }
+
+        parseMsSaved = seen.values().stream().mapToLong(FetchCache.PageEntry::parseMs).sum();
+        cache.commitUnchanged(bankName, seen, today);
+        return true;
+    }
+
+    // ============================================================
+    // Hämtning (anropas via ScraperHttpClient.fetchDocument)
+    // ============================================================
+
+    Document fetchDocument(String url, Map<String, String> headers) throws IOException {
+        FetchedPage page = prefetched.remove(url);
+
+        if (page == null) {
+            ScraperHttpClient.Response response = http.getOk(url, headers);
+
+            pagesRequested++;
+            bytesDownloaded += response.wireBytes();
+
+            page = new FetchedPage(response, entry(response, sha256(response.body()), 0));
+        }
+
+        long start = System.nanoTime();
+        Document doc = ScraperHttpClient.parse(page.response(), url);
+        long parseMs = (System.nanoTime() - start) / 1_000_000;
+
+        FetchCache.PageEntry e = page.entry();
+        pending.put(url, new FetchCache.PageEntry(
+                e.etag(), e.lastModified(), e.sha256(), e.contentLength(), parseMs, today));
+
+        return doc;
+    }
+
+    // ============================================================
+    // Avslut
+    // ============================================================
+
+    /**
+     * Sparar sidornas nya tillstånd – anropas endast när banken lyckades.
+     */
+    public void commitParsed() {
+        if (cache.isEnabled() && !pending.isEmpty()) {
+            cache.commitParsed(bankName, pending, today);
+        }
+    }
+
+    public FetchStats stats() {
+        if (!cache.isEnabled()) {
+            return FetchStats.NONE;
+        }
+        return new FetchStats(
+                pagesRequested,
+                pagesNotModified,
+                pagesUnchanged,
+                bytesDownloaded,
+                bytesSaved,
+                parseMsSaved
+        );
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    // ============================================================
+    // Hjälpmetoder
+    // ============================================================
+
+    private FetchCache.PageEntry withLastSeen(FetchCache.PageEntry e) {
+        return new FetchCache.PageEntry(
+                e.etag(), e.lastModified(), e.sha256(), e.contentLength(), e.parseMs(), today);
+    }
+
+    private FetchCache.PageEntry entry(ScraperHttpClient.Response response, String hash, long parseMs) {
+        return new FetchCache.PageEntry(
+                response.header("ETag"),
+                response.header("Last-Modified"),
+                hash,
+                response.wireBytes(),
+                parseMs,
+                today
+        );
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 saknas i JVM", e);
+        }
+    }
+}
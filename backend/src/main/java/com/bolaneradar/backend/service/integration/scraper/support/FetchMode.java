@@ -0,0 +1,14 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+/**
+ * Hur ScraperHttpClient hämtar sidor (app.scraper.fetch-mode).
+ * <p>
+ * - LIVE:   hämtar från bankerna (standard)
+ * - RECORD: hämtar från bankerna och sparar varje svar som fixture
+ * - REPLAY: svarar endast från sparade fixtures, inget nätverk
+ */
+public enum FetchMode {
+    LIVE,
+    RECORD,
+    REPLAY
+}
@@ -0,0 +1,38 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+/**
+ * Nätverks- och parsningsstatistik för en banks skrapning.
+ * <p>
+ * Fylls av FetchContext när fetch-cachen är aktiv.
+ *
+ * @param pagesRequested   antal HTTP-anrop som gjordes
+ * @param pagesNotModified antal sidor som svarade 304 Not Modified
+ * @param pagesUnchanged   antal sidor med 200 men samma innehållshash som senast
+ * @param bytesDownloaded  antal byte som faktiskt laddades ner
+ * @param bytesSaved       antal byte som inte behövde laddas ner (304)
+ * @param parseMsSaved     uppskattad parsningstid som sparades (senast uppmätt)
+ */
+public record FetchStats(
+        int pagesRequested,
+        int pagesNotModified,
+        int pagesUnchanged,
+        long bytesDownloaded,
+        long bytesSaved,
+        long parseMsSaved
+) {
+    public static final FetchStats NONE = new FetchStats(0, 0, 0, 0, 0, 0);
+
+    /**
+     * Summerar två bankers statistik (används för batchtotaler).
+     */
+    public FetchStats plus(FetchStats other) {
+        return new FetchStats(
+                pagesRequested + other.pagesRequested,
+                pagesNotModified + other.pagesNotModified,
+                pagesUnchanged + other.pagesUnchanged,
+                bytesDownloaded + other.bytesDownloaded,
+                bytesSaved + other.bytesSaved,
+                parseMsSaved + other.parseMsSaved
+        );
+    }
+}
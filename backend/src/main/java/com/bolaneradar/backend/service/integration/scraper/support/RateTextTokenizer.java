@@ -0,0 +1,278 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Locale;
+
+/**
+ * ================================================================
+ * RATE TEXT TOKENIZER
+ * ================================================================
+ * <p>
+ * Tolkning av tabellceller (bindningstid, ränta, månad) i ett pass
+ * över texten, utan mellanliggande strängar, regex eller Pattern.
+ * <p>
+ * Ansvar:
+ * - Bindningstid: svenska ("3 mån", "rörlig", "5 år") och engelska
+ *   ("three month", "five year") nyckelord via switch på första tecknet
+ * - Ränta: siffror läses direkt till ett skalat heltal (4,10 → 410, skala 2)
+ * - Månad: svenska månadsnamn + första årtalet 20xx
+ * <p>
+ * Designprinciper:
+ * - Samma resultat som tidigare ScraperUtils-implementation;
+ *   ScraperUtils delegerar hit
+ * - Gemener jämförs tecken för tecken (Character.toLowerCase)
+ * - Ovanliga räntesträngar (exponent, > 18 siffror, icke-ASCII-siffror,
+ *   text) går till en långsam väg med exakt tidigare beteende
+ * - Vid flera månadsnamn i samma text väljs det första i texten
+ *   (tidigare berodde valet på Map-ordning)
+ * ================================================================
+ */
+public final class RateTextTokenizer {
+
+    private RateTextTokenizer() {}
+
+    // ============================================================
+    // BINDNINGSTID
+    // ============================================================
+
+    /**
+     * Resultat per prioritet (lägst vinner oavsett position i texten):
+     * 0–1 "3 mån"/"rörlig", 2–11 "1 år".."10 år",
+     * 12 "three month", 13–22 "one year".."ten year".
+     */
+    private static final MortgageTerm[] TERM_RESULTS = {
+            MortgageTerm.VARIABLE_3M, MortgageTerm.VARIABLE_3M,
+            MortgageTerm.FIXED_1Y, MortgageTerm.FIXED_2Y, MortgageTerm.FIXED_3Y, MortgageTerm.FIXED_4Y,
+            MortgageTerm.FIXED_5Y, MortgageTerm.FIXED_6Y, MortgageTerm.FIXED_7Y, MortgageTerm.FIXED_8Y,
+            MortgageTerm.FIXED_9Y, MortgageTerm.FIXED_10Y,
+            MortgageTerm.VARIABLE_3M, MortgageTerm.FIXED_1Y, MortgageTerm.FIXED_2Y, MortgageTerm.FIXED_3Y,
+            MortgageTerm.FIXED_4Y, MortgageTerm.FIXED_5Y, MortgageTerm.FIXED_6Y, MortgageTerm.FIXED_7Y,
+            MortgageTerm.FIXED_8Y, MortgageTerm.FIXED_9Y, MortgageTerm.FIXED_10Y
+    };
+
+    private static final int THREE_MONTH = 12;
+    private static final int ONE_YEAR = 13;
+    private static final int TWO_YEAR = 14;
+    private static final int THREE_YEAR = 15;
+    private static final int FOUR_YEAR = 16;
+    private static final int FIVE_YEAR = 17;
+    private static final int SIX_YEAR = 18;
+    private static final int SEVEN_YEAR = 19;
+    private static final int EIGHT_YEAR = 20;
+    private static final int NINE_YEAR = 21;
+    private static final int TEN_YEAR = 22;
+
+    /**
+     * Bindningstid ur text som "3 mån", "Bunden 5 år" eller "three months".
+     */
+    public static MortgageTerm parseTerm(CharSequence text) {
+        if (text == null) return null;
+
+        int best = Integer.MAX_VALUE;
+        int length = text.length();
+
+        for (int i = 0; i < length && best > 0; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            switch (c) {
+                case '1' -> {
+                    if (matches(text, i, "10 år")) best = Math.min(best, 11);
+                    else if (matches(text, i, "1 år")) best = Math.min(best, 2);
+                }
+                case '2', '4', '5', '6', '7', '8', '9' -> {
+                    if (matches(text, i + 1, " år")) best = Math.min(best, c - '0' + 1);
+                }
+                case '3' -> {
+                    if (matches(text, i, "3 mån")) best = 0;
+                    else if (matches(text, i, "3 år")) best = Math.min(best, 4);
+                }
+                case 'r' -> {
+                    if (matches(text, i, "rörlig")) best = 0;
+                }
+                case 't' -> {
+                    if (matches(text, i, "three ")) {
+                        if (matches(text, i + 6, "month")) best = Math.min(best, THREE_MONTH);
+                        else if (matches(text, i + 6, "year")) best = Math.min(best, THREE_YEAR);
+                    } else if (matches(text, i, "two year")) best = Math.min(best, TWO_YEAR);
+                    else if (matches(text, i, "ten year")) best = Math.min(best, TEN_YEAR);
+                }
+                case 'o' -> {
+                    if (matches(text, i, "one year")) best = Math.min(best, ONE_YEAR);
+                }
+                case 'f' -> {
+                    if (matches(text, i, "four year")) best = Math.min(best, FOUR_YEAR);
+                    else if (matches(text, i, "five year")) best = Math.min(best, FIVE_YEAR);
+                }
+                case 's' -> {
+                    if (matches(text, i, "six year")) best = Math.min(best, SIX_YEAR);
+                    else if (matches(text, i, "seven year")) best = Math.min(best, SEVEN_YEAR);
+                }
+                case 'e' -> {
+                    if (matches(text, i, "eight year")) best = Math.min(best, EIGHT_YEAR);
+                }
+                case 'n' -> {
+                    if (matches(text, i, "nine year")) best = Math.min(best, NINE_YEAR);
+                }
+                default -> {
+                    // Inget nyckelord börjar med detta tecken
+                }
+            }
+        }
+
+        return best == Integer.MAX_VALUE ? null : TERM_RESULTS[best];
+    }
+
+    // ============================================================
+    // RÄNTA
+    // ============================================================
+
+    private static final int MAX_DIGITS = 18;
+
+    /**
+     * Ränta ur text som "4,10 %", "−0,15" eller "3.85".
+     * "%" ignoreras, "," och "." är decimaltecken, "−" är minus.
+     * Returnerar null för tom text och för "n/a", "-", "ej" m.fl.
+     */
+    public static BigDecimal parseRate(CharSequence text) {
+        if (text == null) return null;
+
+        int length = text.length();
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        boolean negative = false;
+        boolean signSeen = false;
+        boolean trailingSpace = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (c == '%') continue;
+
+            if (c <= ' ') {
+                // Blanksteg tillåts endast före och efter talet
+                if (digits > 0 || signSeen || scale >= 0) trailingSpace = true;
+                continue;
+            }
+            if (trailingSpace) return slowParseRate(text);
+
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_DIGITS) return slowParseRate(text);
+                unscaled = unscaled * 10 + (c - '0');
+                if (scale >= 0) scale++;
+            } else if (c == ',' || c == '.') {
+                if (scale >= 0) return slowParseRate(text);
+                scale = 0;
+            } else if ((c == '-' || c == '−' || c == '+') && !signSeen && digits == 0 && scale < 0) {
+                signSeen = true;
+                negative = c != '+';
+            } else {
+                return slowParseRate(text);
+            }
+        }
+
+        if (digits == 0) {
+            // Tom text → null; "-", "." m.fl. hanteras som tidigare
+            return (signSeen || scale >= 0) ? slowParseRate(text) : null;
+        }
+
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    /**
+     * Tidigare implementation, för strängar utanför den snabba vägen.
+     */
+    private static BigDecimal slowParseRate(CharSequence input) {
+        String text = input.toString()
+                .replace("%", "")
+                .replace(",", ".")
+                .replace("−", "-")
+                .trim()
+                .toLowerCase(Locale.ROOT);
+
+        if (text.isEmpty() || isNoRate(text)) return null;
+
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            System.err.println("Ogiltig ränta: '" + text + "'");
+            return null;
+        }
+    }
+
+    private static boolean isNoRate(String text) {
+        return switch (text) {
+            case "n/a", "na", "-", "–", "ej", "inte", "nan" -> true;
+            default -> false;
+        };
+    }
+
+    // ============================================================
+    // MÅNAD
+    // ============================================================
+
+    /**
+     * Svensk månad + år ur text som "september 2025" eller
+     * "Snitträntor för oktober 2025". Null om månad eller år saknas.
+     */
+    public static YearMonth parseSwedishMonth(CharSequence text) {
+        if (text == null) return null;
+
+        int month = 0;
+        int year = 0;
+        int length = text.length();
+
+        for (int i = 0; i < length && (month == 0 || year == 0); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+
+            if (year == 0 && c == '2' && i + 3 < length
+                    && text.charAt(i + 1) == '0'
+                    && isAsciiDigit(text.charAt(i + 2))
+                    && isAsciiDigit(text.charAt(i + 3))) {
+                year = 2000 + (text.charAt(i + 2) - '0') * 10 + (text.charAt(i + 3) - '0');
+            }
+
+            if (month == 0) {
+                month = switch (c) {
+                    case 'j' -> matches(text, i, "januari") ? 1
+                            : matches(text, i, "juni") ? 6
+                            : matches(text, i, "juli") ? 7 : 0;
+                    case 'f' -> matches(text, i, "februari") ? 2 : 0;
+                    case 'm' -> matches(text, i, "mars") ? 3
+                            : matches(text, i, "maj") ? 5 : 0;
+                    case 'a' -> matches(text, i, "april") ? 4
+                            : matches(text, i, "augusti") ? 8 : 0;
+                    case 's' -> matches(text, i, "september") ? 9 : 0;
+                    case 'o' -> matches(text, i, "oktober") ? 10 : 0;
+                    case 'n' -> matches(text, i, "november") ? 11 : 0;
+                    case 'd' -> matches(text, i, "december") ? 12 : 0;
+                    default -> 0;
+                };
+            }
+        }
+
+        return (month == 0 || year == 0) ? null : YearMonth.of(year, month);
+    }
+
+    // ============================================================
+    // HJÄLPMETODER
+    // ============================================================
+
+    /**
+     * True om text på position offset börjar med keyword (keyword i gemener).
+     */
+    private static boolean matches(CharSequence text, int offset, String keyword) {
+        int n = keyword.length();
+        if (offset < 0 || offset + n > text.length()) return false;
+        for (int k = 0; k < n; k++) {
+            if (Character.toLowerCase(text.charAt(offset + k)) != keyword.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
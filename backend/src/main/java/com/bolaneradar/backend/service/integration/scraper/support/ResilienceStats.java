@@ -0,0 +1,21 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+/**
+ * Statistik från ScraperResilience för en banks skrapning.
+ * <p>
+ * - attempts: skickade anrop (inklusive omförsök, exklusive hedge-anrop)
+ * - retries: omförsök efter 5xx / 429 / nätverksfel
+ * - hedges: extra parallella anrop för långsamma svar
+ * - rejected: anrop som avvisades direkt av en öppen brytare
+ * - breakerState: sämsta brytartillståndet bland bankens värdar
+ */
+public record ResilienceStats(
+        int attempts,
+        int retries,
+        int hedges,
+        int rejected,
+        CircuitBreaker.State breakerState
+) {
+
+    public static final ResilienceStats NONE = new ResilienceStats(0, 0, 0, 0, CircuitBreaker.State.CLOSED);
+}
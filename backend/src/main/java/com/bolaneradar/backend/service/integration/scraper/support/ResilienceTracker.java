@@ -0,0 +1,70 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+/**
+ * ================================================================
+ * RESILIENCE TRACKER
+ * ================================================================
+ * <p>
+ * Räknar omförsök, hedge-anrop och brytartillstånd för en banks
+ * skrapning, bundet till aktuell tråd (som FetchContext).
+ * <p>
+ * ScraperService öppnar en tracker på bankens arbetstråd;
+ * ScraperResilience rapporterar till den via current().
+ * ================================================================
+ */
+public final class ResilienceTracker implements AutoCloseable {
+
+    private static final ThreadLocal<ResilienceTracker> CURRENT = new ThreadLocal<>();
+
+    private int attempts;
+    private int retries;
+    private int hedges;
+    private int rejected;
+    private CircuitBreaker.State breakerState = CircuitBreaker.State.CLOSED;
+
+    private ResilienceTracker() {
+    }
+
+    public static ResilienceTracker open() {
+        ResilienceTracker tracker = new ResilienceTracker();
+        CURRENT.set(tracker);
+        return tracker;
+    }
+
+    static ResilienceTracker current() {
+        return CURRENT.get();
+    }
+
+    void attempt() {
+        attempts++;
+    }
+
+    void retry() {
+        retries++;
+    }
+
+    void hedge() {
+        hedges++;
+    }
+
+    void rejected() {
+        rejected++;
+    }
+
+    void observe(CircuitBreaker.State state) {
+        if (state.ordinal() > breakerState.ordinal()) {
+            breakerState = state;
+        }
+    }
+
+    public ResilienceStats stats() {
+        return new ResilienceStats(attempts, retries, hedges, rejected, breakerState);
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+}
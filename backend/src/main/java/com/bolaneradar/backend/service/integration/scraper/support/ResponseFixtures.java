@@ -0,0 +1,134 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ================================================================
+ * RESPONSE FIXTURES
+ * ================================================================
+ * <p>
+ * Inspelade HTTP-svar på disk för record/replay (FetchMode).
+ * <p>
+ * Format per URL:
+ * - {nyckel}.body       – dekomprimerad svarskropp (rå bytes)
+ * - {nyckel}.meta.json  – URL, status, charset och headers
+ * <p>
+ * Nyckeln är värd + sökväg (läsbar) + kort SHA-256 av hela URL:en,
+ * så att query-parametrar ger separata fixtures.
+ * <p>
+ * Vid replay hålls lästa svar i minnet, så att upprepade anrop
+ * (t.ex. i benchmarks) inte mäter diskläsning.
+ * ================================================================
+ */
+class ResponseFixtures {
+
+    record Meta(
+            String url,
+            int statusCode,
+            String charset,
+            Map<String, List<String>> headers
+    ) {}
+
+    // Kroppen sparas dekomprimerad – dessa headers gäller inte längre
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "content-encoding", "content-length", "transfer-encoding", ":status"
+    );
+
+    private final Path dir;
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<String, ScraperHttpClient.Response> loaded = new ConcurrentHashMap<>();
+
+    ResponseFixtures(Path dir) {
+        this.dir = dir;
+    }
+
+    Path dir() {
+        return dir;
+    }
+
+    /**
+     * Sparar ett svar. Skriver över tidigare inspelning av samma URL.
+     */
+    void save(String url, ScraperHttpClient.Response response) throws IOException {
+        Files.createDirectories(dir);
+        String key = key(url);
+
+        Map<String, List<String>> headers = new TreeMap<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, values);
+            }
+        });
+
+        Files.write(dir.resolve(key + ".body"), response.body());
+        mapper.writeValue(dir.resolve(key + ".meta.json").toFile(),
+                new Meta(url, response.statusCode(), response.charset(), headers));
+    }
+
+    /**
+     * Läser ett inspelat svar. IOException om URL:en aldrig spelats in.
+     */
+    ScraperHttpClient.Response load(String url) throws IOException {
+        ScraperHttpClient.Response cached = loaded.get(url);
+        if (cached != null) {
+            return cached;
+        }
+
+        String key = key(url);
+        Path metaFile = dir.resolve(key + ".meta.json");
+        if (!Files.exists(metaFile)) {
+            throw new IOException("Fixture saknas för " + url + " (" + metaFile + ")");
+        }
+
+        Meta meta = mapper.readValue(metaFile.toFile(), Meta.class);
+        byte[] body = Files.readAllBytes(dir.resolve(key + ".body"));
+
+        ScraperHttpClient.Response response = new ScraperHttpClient.Response(
+                meta.statusCode(),
+                body,
+                meta.charset(),
+                HttpHeaders.of(meta.headers(), (name, value) -> true),
+                URI.create(url),
+                body.length
+        );
+        loaded.put(url, response);
+        return response;
+    }
+
+    static String key(String url) {
+        URI uri = URI.create(url);
+        String readable = (uri.getHost() + (uri.getPath() != null ? uri.getPath() : ""))
+                .replaceAll("[^A-Za-z0-9.]+", "-")
+                .replaceAll("(^-|-$)", "");
+        if (readable.length() > 80) {
+            readable = readable.substring(0, 80);
+        }
+        return readable + "_" + sha256(url).substring(0, 10);
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
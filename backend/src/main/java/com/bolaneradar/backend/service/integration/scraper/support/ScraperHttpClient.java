@@ -0,0 +1,318 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * ================================================================
+ * SCRAPER HTTP CLIENT
+ * ================================================================
+ * <p>
+ * Gemensam, poolad HTTP-klient för alla bank-scrapers.
+ * <p>
+ * Ansvar:
+ * - En delad java.net.http.HttpClient för hela applikationen:
+ *   HTTP/2 (med fallback till 1.1), keep-alive och TLS-sessioner
+ *   återanvänds mellan sidor och banker
+ * - gzip-komprimering (Accept-Encoding + dekomprimering)
+ * - Begränsning av samtidiga anrop per värd
+ * - HTML-hämtning där Jsoup parsar direkt från svarskroppen
+ * - JSON-hämtning för bankernas öppna API:er
+ * - Inspelning och uppspelning av svar (app.scraper.fetch-mode),
+ *   så att parsning kan mätas och testas utan nätverk
+ * - Omförsök, hedge-anrop och brytare per värd via ScraperResilience
+ * <p>
+ * Designprinciper:
+ * - Injiceras i varje BankScraper (konstruktorinjektion)
+ * - Går via FetchContext när fetch-cachen är aktiv för banken
+ * - Samma felbeteende som tidigare Jsoup-hämtning:
+ *   HTTP-status >= 400 ger HttpStatusException
+ * ================================================================
+ */
+@Component
+public class ScraperHttpClient {
+
+    /**
+     * Rått HTTP-svar. body är dekomprimerad, wireBytes är antal byte över nätet.
+     */
+    public record Response(
+            int statusCode,
+            byte[] body,
+            String charset,
+            HttpHeaders headers,
+            URI uri,
+            long wireBytes
+    ) {
+
+        public String bodyAsString() {
+            return new String(body, charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8);
+        }
+
+        public String header(String name) {
+            return headers.firstValue(name).orElse(null);
+        }
+    }
+
+    static final String DEFAULT_USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64)";
+
+    private static final Map<String, String> DEFAULT_HEADERS = Map.of(
+            "User-Agent", DEFAULT_USER_AGENT,
+            "Referer", "https://www.google.com"
+    );
+
+    // Hanteras av klienten själv – får inte sättas av scrapers
+    private static final Set<String> MANAGED_HEADERS = Set.of(
+            "connection", "accept-encoding", "host", "content-length", "upgrade", "expect"
+    );
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final int perHostLimit;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final FetchMode mode;
+    private final ResponseFixtures fixtures;
+    private final ScraperResilience resilience;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Autowired
+    public ScraperHttpClient(
+            @Value("${app.scraper.http.timeout-ms:15000}") long timeoutMs,
+            @Value("${app.scraper.http.per-host-limit:2}") int perHostLimit,
+            @Value("${app.scraper.fetch-mode:live}") FetchMode mode,
+            @Value("${app.scraper.fixtures-dir:.scraper-fixtures}") Path fixturesDir,
+            ScraperResilience resilience
+    ) {
+        this(
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build(),
+                Duration.ofMillis(timeoutMs),
+                perHostLimit,
+                mode,
+                new ResponseFixtures(fixturesDir),
+                resilience
+        );
+
+        if (mode != FetchMode.LIVE) {
+            System.out.println("ScraperHttpClient: " + mode + " mot " + fixturesDir.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Live-klient utan fixtures (tester och benchmarks).
+     */
+    public ScraperHttpClient(long timeoutMs, int perHostLimit) {
+        this(timeoutMs, perHostLimit, FetchMode.LIVE, Path.of(".scraper-fixtures"));
+    }
+
+    /**
+     * Klient utan omförsök och brytare (tester och benchmarks).
+     */
+    public ScraperHttpClient(long timeoutMs, int perHostLimit, FetchMode mode, Path fixturesDir) {
+        this(timeoutMs, perHostLimit, mode, fixturesDir, ScraperResilience.disabled());
+    }
+
+    ScraperHttpClient(HttpClient client, Duration requestTimeout, int perHostLimit,
+                      FetchMode mode, ResponseFixtures fixtures, ScraperResilience resilience) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+        this.perHostLimit = perHostLimit;
+        this.mode = mode;
+        this.fixtures = fixtures;
+        this.resilience = resilience;
+    }
+
+    /**
+     * Klient som endast svarar från inspelade fixtures (benchmarks, tester).
+     */
+    public static ScraperHttpClient replaying(Path fixturesDir) {
+        return new ScraperHttpClient(15_000, 2, FetchMode.REPLAY, fixturesDir);
+    }
+
+    public FetchMode mode() {
+        return mode;
+    }
+
+    // ============================================================
+    // HTML
+    // ============================================================
+
+    /**
+     * Hämtar och parsar en HTML-sida med standardheaders.
+     */
+    public Document fetchDocument(String url) throws IOException {
+        return fetchDocument(url, Map.of());
+    }
+
+    /**
+     * Hämtar och parsar en HTML-sida. Extra headers läggs ovanpå standardheaders.
+     */
+    public Document fetchDocument(String url, Map<String, String> headers) throws IOException {
+        FetchContext context = FetchContext.current();
+        if (context != null) {
+            return context.fetchDocument(url, headers);
+        }
+
+        return parse(getOk(url, headers), url);
+    }
+
+    /**
+     * Parsar ett redan hämtat svar med Jsoup direkt från bytes.
+     */
+    static Document parse(Response response, String url) throws IOException {
+        String baseUri = response.uri() != null ? response.uri().toString() : url;
+        return Jsoup.parse(new ByteArrayInputStream(response.body()), response.charset(), baseUri);
+    }
+
+    // ============================================================
+    // JSON
+    // ============================================================
+
+    /**
+     * Hämtar JSON från ett externt API som en Map.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> fetchJson(String url) {
+        try {
+            Response response = getOk(url, Map.of("Accept", "application/json"));
+            return mapper.readValue(response.body(), Map.class);
+        } catch (Exception e) {
+            throw new RuntimeException("Misslyckades hämta JSON från " + url, e);
+        }
+    }
+
+    // ============================================================
+    // Rå hämtning
+    // ============================================================
+
+    /**
+     * GET som kräver status 2xx, annars HttpStatusException (som Jsoup).
+     */
+    Response getOk(String url, Map<String, String> headers) throws IOException {
+        Response response = get(url, headers);
+        if (response.statusCode() < 200 || response.statusCode() >= 400) {
+            throw new HttpStatusException("HTTP error fetching URL", response.statusCode(), url);
+        }
+        return response;
+    }
+
+    /**
+     * GET utan statuskontroll. Används av scrapers som själva hanterar
+     * statuskoder samt av FetchContext för villkorade anrop (304).
+     * I REPLAY-läge svarar fixtures, i RECORD-läge sparas svaret.
+     */
+    public Response get(String url, Map<String, String> headers) throws IOException {
+        if (mode == FetchMode.REPLAY) {
+            return fixtures.load(url);
+        }
+
+        Response response = resilience.execute(url, () -> send(url, headers));
+
+        // 304 saknar kropp – behåll tidigare inspelning
+        if (mode == FetchMode.RECORD && response.statusCode() != 304) {
+            fixtures.save(url, response);
+        }
+        return response;
+    }
+
+    private Response send(String url, Map<String, String> headers) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Accept-Encoding", "gzip")
+                .GET();
+
+        DEFAULT_HEADERS.forEach((name, value) -> {
+            if (!containsIgnoreCase(headers, name)) {
+                request.header(name, value);
+            }
+        });
+        headers.forEach((name, value) -> {
+            if (!MANAGED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                request.header(name, value);
+            }
+        });
+
+        Semaphore permits = hostPermits.computeIfAbsent(
+                URI.create(url).getHost(), h -> new Semaphore(perHostLimit, true));
+
+        try {
+            permits.acquire();
+            try {
+                return toResponse(client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray()));
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Avbruten hämtning: " + url, e);
+        }
+    }
+
+    private Response toResponse(HttpResponse<byte[]> response) throws IOException {
+        boolean gzip = response.headers()
+                .firstValue("Content-Encoding")
+                .map(v -> v.toLowerCase(Locale.ROOT).contains("gzip"))
+                .orElse(false);
+
+        byte[] body = response.body();
+        long wireBytes = body.length;
+        if (gzip && body.length > 0) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = in.readAllBytes();
+            }
+        }
+
+        return new Response(
+                response.statusCode(),
+                body,
+                charset(response.headers()),
+                response.headers(),
+                response.uri(),
+                wireBytes
+        );
+    }
+
+    private static String charset(HttpHeaders headers) {
+        return headers.firstValue("Content-Type")
+                .map(type -> {
+                    for (String part : type.split(";")) {
+                        String p = part.trim();
+                        if (p.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                            return p.substring("charset=".length()).replace("\"", "").trim();
+                        }
+                    }
+                    return null;
+                })
+                .orElse(null);
+    }
+
+    private static boolean containsIgnoreCase(Map<String, String> headers, String name) {
+        return headers.keySet().stream().anyMatch(h -> h.equalsIgnoreCase(name));
+    }
+}
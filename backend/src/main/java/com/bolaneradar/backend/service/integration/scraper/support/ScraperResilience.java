@@ -0,0 +1,274 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ================================================================
+ * SCRAPER RESILIENCE
+ * ================================================================
+ * <p>
+ * Omförsök, hedge-anrop och brytare runt ScraperHttpClients anrop.
+ * <p>
+ * Ansvar:
+ * - Omförsök med exponentiell backoff och jitter vid nätverksfel,
+ *   5xx och 429 (app.scraper.http.retry.*)
+ * - Hedge-anrop: om svaret dröjer längre än hedge-after-ms skickas
+ *   ett andra identiskt anrop och det första svaret vinner
+ * - Brytare per värd (CircuitBreaker): en värd som fallerat upprepade
+ *   gånger avvisas direkt i stället för att vänta ut timeouts
+ * <p>
+ * Designprinciper:
+ * - 4xx (utom 429) är slutgiltiga och returneras utan omförsök
+ * - Avbrott (bankens tidsgräns) avbryter även backoff och hedge-anrop
+ * - Statistik rapporteras till trådens ResilienceTracker
+ * ================================================================
+ */
+@Component
+public class ScraperResilience {
+
+    /**
+     * Ett enskilt anrop som kan upprepas.
+     */
+    @FunctionalInterface
+    interface Call {
+        ScraperHttpClient.Response send() throws IOException;
+    }
+
+    /**
+     * Kastas när värdens brytare är öppen – inget anrop gjordes.
+     */
+    public static class CircuitOpenException extends IOException {
+        public CircuitOpenException(String host) {
+            super("Brytaren är öppen för " + host + " – hoppar över anropet");
+        }
+    }
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration hedgeAfter;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ExecutorService hedgeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public ScraperResilience(
+            @Value("${app.scraper.http.retry.max-attempts:3}") int maxAttempts,
+            @Value("${app.scraper.http.retry.base-delay-ms:500}") long baseDelayMs,
+            @Value("${app.scraper.http.retry.max-delay-ms:5000}") long maxDelayMs,
+            @Value("${app.scraper.http.hedge-after-ms:0}") long hedgeAfterMs,
+            @Value("${app.scraper.http.breaker.failure-threshold:3}") int failureThreshold,
+            @Value("${app.scraper.http.breaker.open-seconds:300}") long openSeconds
+    ) {
+        this(maxAttempts, Duration.ofMillis(baseDelayMs), Duration.ofMillis(maxDelayMs),
+                Duration.ofMillis(hedgeAfterMs), failureThreshold, Duration.ofSeconds(openSeconds),
+                Clock.systemUTC());
+    }
+
+    ScraperResilience(int maxAttempts, Duration baseDelay, Duration maxDelay, Duration hedgeAfter,
+                      int failureThreshold, Duration openDuration, Clock clock) {
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.hedgeAfter = hedgeAfter;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Ett försök, ingen hedge, ingen brytare (tester och benchmarks).
+     */
+    public static ScraperResilience disabled() {
+        return new ScraperResilience(1, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+                0, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * Brytartillstånd för en värd (CLOSED om värden inte anropats).
+     */
+    public CircuitBreaker.State state(String host) {
+        CircuitBreaker breaker = breakers.get(normalizeHost(host));
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.state();
+    }
+
+    // ============================================================
+    // Körning
+    // ============================================================
+
+    /**
+     * Kör call med brytare, omförsök och hedge.
+     * <p>
+     * Returnerar första svaret som inte ska försökas igen. Om alla försök
+     * gav 5xx / 429 returneras sista svaret (anroparen avgör felet),
+     * vid nätverksfel kastas sista undantaget.
+     */
+    ScraperHttpClient.Response execute(String url, Call call) throws IOException {
+        String host = normalizeHost(URI.create(url).getHost());
+        CircuitBreaker breaker = breakers.computeIfAbsent(
+                host, h -> new CircuitBreaker(failureThreshold, openDuration, clock));
+        ResilienceTracker tracker = ResilienceTracker.current();
+
+        if (!breaker.tryAcquire()) {
+            if (tracker != null) {
+                tracker.rejected();
+                tracker.observe(breaker.state());
+            }
+            throw new CircuitOpenException(host);
+        }
+
+        ScraperHttpClient.Response lastResponse = null;
+        IOException lastError = null;
+        boolean resolved = false;
+
+        try {
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                if (attempt > 1) {
+                    if (tracker != null) tracker.retry();
+                    sleep(backoff(attempt - 1), url);
+                }
+                if (tracker != null) tracker.attempt();
+
+                try {
+                    ScraperHttpClient.Response response = hedgeAfter.isZero()
+                            ? call.send()
+                            : sendHedged(call, url, tracker);
+
+                    if (!isRetryable(response.statusCode())) {
+                        breaker.onSuccess();
+                        resolved = true;
+                        return response;
+                    }
+                    lastResponse = response;
+                    lastError = null;
+                } catch (IOException e) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw e;
+                    }
+                    lastError = e;
+                    lastResponse = null;
+                }
+            }
+
+            breaker.onFailure();
+            resolved = true;
+        } finally {
+            // Avbrutet provanrop får inte låsa brytaren i HALF_OPEN
+            if (!resolved) {
+                breaker.onAbandoned();
+            }
+            if (tracker != null) {
+                tracker.observe(breaker.state());
+            }
+        }
+
+        if (lastResponse != null) {
+            return lastResponse;
+        }
+        throw lastError;
+    }
+
+    /**
+     * Skickar call och, om inget svar kommit inom hedgeAfter, ett andra
+     * identiskt anrop. Första lyckade svaret vinner, det andra avbryts.
+     */
+    private ScraperHttpClient.Response sendHedged(Call call, String url, ResilienceTracker tracker)
+            throws IOException {
+
+        ExecutorCompletionService<ScraperHttpClient.Response> race =
+                new ExecutorCompletionService<>(hedgeExecutor);
+        List<Future<ScraperHttpClient.Response>> started = new ArrayList<>();
+
+        try {
+            started.add(race.submit(call::send));
+
+            Future<ScraperHttpClient.Response> done = race.poll(hedgeAfter.toMillis(), TimeUnit.MILLISECONDS);
+            if (done == null) {
+                if (tracker != null) tracker.hedge();
+                started.add(race.submit(call::send));
+                done = race.take();
+            }
+
+            for (int remaining = started.size(); ; remaining--) {
+                try {
+                    return done.get();
+                } catch (ExecutionException e) {
+                    if (remaining == 1) {
+                        throw e.getCause() instanceof IOException io
+                                ? io
+                                : new IOException("Hämtning misslyckades: " + url, e.getCause());
+                    }
+                    done = race.take();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Avbruten hämtning: " + url, e);
+        } finally {
+            started.forEach(f -> f.cancel(true));
+        }
+    }
+
+    // ============================================================
+    // Hjälpmetoder
+    // ============================================================
+
+    /**
+     * Exponentiell backoff med jitter: halva fördröjningen fast,
+     * andra halvan slumpad, så att banker inte försöker i takt.
+     */
+    Duration backoff(int retry) {
+        long exp = baseDelay.toMillis() << Math.min(retry - 1, 20);
+        long capped = Math.min(exp, maxDelay.toMillis());
+        if (capped <= 0) {
+            return Duration.ZERO;
+        }
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(capped - half + 1));
+    }
+
+    private static boolean isRetryable(int statusCode) {
+        return statusCode >= 500 || statusCode == 429;
+    }
+
+    private static void sleep(Duration delay, String url) throws IOException {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Avbruten hämtning: " + url, e);
+        }
+    }
+
+    private static String normalizeHost(String host) {
+        if (host == null) {
+            return "";
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        return host.startsWith("www.") ? host.substring(4) : host;
+    }
+}
@@ -0,0 +1,80 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * ================================================================
+ * V4 – SEKVENSER FÖR MORTGAGE_RATES OCH RATE_UPDATE_LOG
+ * ================================================================
+ * <p>
+ * Id hämtas i block om 50 (allocationSize), så att Hibernate kan
+ * skicka INSERT i JDBC-batchar i stället för en per rad.
+ * <p>
+ * Steg per tabell:
+ * - Befintlig IDENTITY / SERIAL-default tas bort – id sätts av Hibernate
+ * - Sekvensen {tabell}_seq skapas med INCREMENT BY 50
+ * - Finns rader startar nästa block efter högsta befintliga id
+ * <p>
+ * Java i stället för SQL eftersom H2 (tester) saknar setval och
+ * DROP IDENTITY IF EXISTS; RESTART WITH kräver ett färdigt värde.
+ * ================================================================
+ */
+public class V4__Pooled_sequences extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final String[] TABLES = {"mortgage_rates", "rate_update_log"};
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                if (isIdentity(connection, table)) {
+                    statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY");
+                }
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP DEFAULT");
+
+                String sequence = table + "_seq";
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                        + " START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+
+                // Hibernate (pooled) tolkar värdet som blockets övre gräns
+                long maxId = maxId(statement, table);
+                if (maxId > 0) {
+                    statement.execute("ALTER SEQUENCE " + sequence
+                            + " RESTART WITH " + (maxId + ALLOCATION_SIZE));
+                }
+            }
+        }
+    }
+
+    private static boolean isIdentity(Connection connection, String table) throws SQLException {
+        String sql = """
+                SELECT is_identity
+                FROM information_schema.columns
+                WHERE LOWER(table_name) = ?
+                  AND LOWER(column_name) = 'id'
+                """;
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            query.setString(1, table);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next() && "YES".equalsIgnoreCase(rs.getString(1));
+            }
+        }
+    }
+
+    private static long maxId(Statement statement, String table) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
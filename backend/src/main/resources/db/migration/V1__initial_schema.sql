@@ -0,0 +1,32 @@
+-- =========================================================
+-- Ursprungligt schema (som Hibernate skapade det med ddl-auto=update)
+-- Befintliga databaser baslinjeras på denna version och
+-- kör endast V2 och framåt (spring.flyway.baseline-on-migrate).
+-- =========================================================
+CREATE TABLE banks (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name    VARCHAR(255) NOT NULL UNIQUE,
+    website VARCHAR(255)
+);
+
+CREATE TABLE mortgage_rates (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    bank_id           BIGINT       NOT NULL REFERENCES banks (id),
+    term              VARCHAR(255) NOT NULL,
+    rate_type         VARCHAR(255) NOT NULL,
+    rate_percent      NUMERIC(4, 2) NOT NULL,
+    effective_date    DATE         NOT NULL,
+    rate_change       NUMERIC(4, 2),
+    last_changed_date DATE
+);
+
+CREATE TABLE rate_update_log (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    occurred_at    TIMESTAMP(6)  NOT NULL,
+    source_name    VARCHAR(255)  NOT NULL,
+    imported_count INTEGER       NOT NULL,
+    bank_id        BIGINT REFERENCES banks (id),
+    success        BOOLEAN       NOT NULL,
+    error_message  VARCHAR(1000),
+    duration_ms    BIGINT        NOT NULL
+);
@@ -0,0 +1,8 @@
+-- =========================================================
+-- Intervallagring av listräntor (app.rates.storage-mode=interval)
+-- Kolumnen är nullbar: null = daglig rad.
+-- =========================================================
+ALTER TABLE mortgage_rates ADD COLUMN IF NOT EXISTS last_seen_date DATE;
+
+-- Befintliga dagliga rader slås ihop en gång (efter backup) med:
+--   java -jar bolaneradar-backend.jar --spring.profiles.active=prod --mode=compact-rates
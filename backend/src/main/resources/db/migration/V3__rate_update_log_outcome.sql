@@ -0,0 +1,9 @@
+-- =========================================================
+-- Utfall per scrapingkörning (SUCCESS / FAILED / TIMEOUT)
+-- Äldre rader fylls i från success.
+-- =========================================================
+ALTER TABLE rate_update_log ADD COLUMN IF NOT EXISTS outcome VARCHAR(16);
+
+UPDATE rate_update_log
+SET outcome = CASE WHEN success THEN 'SUCCESS' ELSE 'FAILED' END
+WHERE outcome IS NULL;
@@ -0,0 +1,17 @@
+-- =========================================================
+-- Index för de vanligaste räntefrågorna
+-- - Senaste ränta per bank + bindningstid + typ
+--   (findFirstBy...OrderByEffectiveDateDesc, MAX(effective_date)-
+--   subfrågor, snitträntor per månad)
+-- - Alla räntor av en typ per datum (findLatestRatesByType,
+--   findByRateTypeAndEffectiveDate, listräntor från datum)
+-- - Uppdateringslogg per bank, senaste först
+-- =========================================================
+CREATE INDEX IF NOT EXISTS idx_mortgage_rates_bank_term_type_date
+    ON mortgage_rates (bank_id, term, rate_type, effective_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_mortgage_rates_type_date
+    ON mortgage_rates (rate_type, effective_date);
+
+CREATE INDEX IF NOT EXISTS idx_rate_update_log_bank_occurred
+    ON rate_update_log (bank_id, occurred_at DESC);
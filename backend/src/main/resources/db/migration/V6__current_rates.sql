@@ -0,0 +1,28 @@
+-- =========================================================
+-- Aktuella räntor: en rad per bank + bindningstid + räntetyp
+-- Uppdateras av CurrentRateService i samma transaktion som
+-- historiken (mortgage_rates). Fylls här från befintlig historik;
+-- senaste effective_date vinner, vid samma datum högst id.
+-- =========================================================
+CREATE TABLE current_rates (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    bank_id           BIGINT        NOT NULL REFERENCES banks (id) ON DELETE CASCADE,
+    term              VARCHAR(255)  NOT NULL,
+    rate_type         VARCHAR(255)  NOT NULL,
+    rate_percent      NUMERIC(4, 2) NOT NULL,
+    rate_change       NUMERIC(4, 2),
+    last_changed_date DATE,
+    effective_date    DATE          NOT NULL,
+    CONSTRAINT uk_current_rates_bank_term_type UNIQUE (bank_id, term, rate_type)
+);
+
+INSERT INTO current_rates (bank_id, term, rate_type, rate_percent, rate_change, last_changed_date, effective_date)
+SELECT bank_id, term, rate_type, rate_percent, rate_change, last_changed_date, effective_date
+FROM (
+    SELECT m.*, ROW_NUMBER() OVER (
+        PARTITION BY m.bank_id, m.term, m.rate_type
+        ORDER BY m.effective_date DESC, m.id DESC
+    ) AS rn
+    FROM mortgage_rates m
+) latest
+WHERE rn = 1;
@@ -0,0 +1,7 @@
+-- =========================================================
+-- Index för sidvis bläddring i uppdateringsloggen
+-- - Keyset-paginering på (occurred_at, id), senaste först,
+--   utan bankfilter (med bankfilter används index från V5)
+-- =========================================================
+CREATE INDEX IF NOT EXISTS idx_rate_update_log_occurred_id
+    ON rate_update_log (occurred_at DESC, id DESC);
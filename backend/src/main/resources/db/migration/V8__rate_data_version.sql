@@ -0,0 +1,12 @@
+-- =========================================================
+-- Version för räntedata: en enda rad som ökas i varje
+-- transaktion som ändrar räntor eller banker (RateDataGeneration).
+-- Gör ändringar från batch-processen (--mode=scrape) synliga
+-- för webbappens svarscache och läsmodell.
+-- =========================================================
+CREATE TABLE rate_data_version (
+    id      INT    PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO rate_data_version (id, version) VALUES (1, 0);
@@ -2,6 +2,10 @@ package com.bolaneradar.backend.controller.admin.logs;
 
 import com.bolaneradar.backend.entity.core.Bank;
 import com.bolaneradar.backend.entity.core.RateUpdateLog;
+import com.bolaneradar.backend.entity.enums.ScrapeOutcome;
+import com.bolaneradar.backend.repository.RateUpdateLogFilter;
+import com.bolaneradar.backend.repository.projection.RateUpdateLogRow;
+import com.bolaneradar.backend.service.admin.RateUpdateLogPage;
 import com.bolaneradar.backend.service.admin.RateUpdateLogService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -18,6 +22,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -99,4 +104,34 @@ class AdminRateUpdateLogControllerIT {
                 .andExpect(jsonPath("$[0].sourceName").value("Scraper"))
                 .andExpect(jsonPath("$[0].importedCount").value(7));
     }
-}
\ No newline at end of file
+
+    // ============================================================
+    // GET /api/admin/rates/updates/page — sida med filter
+    // ============================================================
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getUpdateLogPage_passesFilterAndReturnsCursor() throws Exception {
+
+        LocalDateTime from = LocalDateTime.of(2025, 12, 1, 0, 0);
+        RateUpdateLogRow row = new RateUpdateLogRow(
+                42L, "SEB", "Scraper", 4, false, null, "timeout", 700L, from.plusHours(6)
+        );
+
+        when(rateUpdateLogService.getLogPage(
+                eq(new RateUpdateLogFilter("SEB", false, from, null)), eq("abc"), eq(20)))
+                .thenReturn(new RateUpdateLogPage(List.of(row), "next"));
+
+        mockMvc.perform(get("/api/admin/rates/updates/page")
+                        .param("cursor", "abc")
+                        .param("limit", "20")
+                        .param("bank", "SEB")
+                        .param("success", "false")
+                        .param("from", "2025-12-01T00:00:00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].bankName").value("SEB"))
+                .andExpect(jsonPath("$.items[0].outcome").value(ScrapeOutcome.FAILED.name()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+}
@@ -2,6 +2,10 @@ package com.bolaneradar.backend.controller.admin.rates;
 
 import com.bolaneradar.backend.dto.admin.MortgageRateDto;
 import com.bolaneradar.backend.service.admin.MortgageRateAdminService;
+import com.bolaneradar.backend.service.admin.MortgageRateCompactionService;
+import com.bolaneradar.backend.service.admin.RateCompactionResult;
+import com.bolaneradar.backend.service.core.CurrentRateCheckResult;
+import com.bolaneradar.backend.service.core.CurrentRateService;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -22,6 +26,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -36,6 +41,12 @@ class AdminMortgageRateControllerIT {
     @Autowired
     MortgageRateAdminService adminService;
 
+    @Autowired
+    MortgageRateCompactionService compactionService;
+
+    @Autowired
+    CurrentRateService currentRateService;
+
     @TestConfiguration
     static class TestConfig {
 
@@ -43,6 +54,16 @@ class AdminMortgageRateControllerIT {
         MortgageRateAdminService mortgageRateAdminService() {
             return Mockito.mock(MortgageRateAdminService.class);
         }
+
+        @Bean
+        MortgageRateCompactionService mortgageRateCompactionService() {
+            return Mockito.mock(MortgageRateCompactionService.class);
+        }
+
+        @Bean
+        CurrentRateService currentRateService() {
+            return Mockito.mock(CurrentRateService.class);
+        }
     }
 
     // =====================================================
@@ -143,4 +164,40 @@ class AdminMortgageRateControllerIT {
 
         verifyNoInteractions(adminService);
     }
-}
\ No newline at end of file
+
+    // =====================================================
+    // TEST 5: POST /api/admin/rates/compact – OK (ADMIN)
+    // =====================================================
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void compactListRates_returnsResult_whenAdmin() throws Exception {
+
+        when(compactionService.compactListRates())
+                .thenReturn(new RateCompactionResult(1300, 120, 1180));
+
+        mockMvc.perform(post("/api/admin/rates/compact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsScanned").value(1300))
+                .andExpect(jsonPath("$.rowsKept").value(120))
+                .andExpect(jsonPath("$.rowsDeleted").value(1180));
+    }
+
+    // =====================================================
+    // TEST 6: GET /api/admin/rates/current/check – OK (ADMIN)
+    // =====================================================
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void checkCurrentRates_returnsResult_whenAdmin() throws Exception {
+
+        when(currentRateService.check())
+                .thenReturn(new CurrentRateCheckResult(
+                        2, 2, List.of(), List.of("Swedbank FIXED_3Y LISTRATE"), List.of()
+                ));
+
+        mockMvc.perform(get("/api/admin/rates/current/check"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seriesInHistory").value(2))
+                .andExpect(jsonPath("$.stale[0]").value("Swedbank FIXED_3Y LISTRATE"))
+                .andExpect(jsonPath("$.consistent").value(false));
+    }
+}
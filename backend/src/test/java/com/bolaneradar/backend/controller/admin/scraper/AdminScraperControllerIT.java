@@ -1,6 +1,8 @@
 package com.bolaneradar.backend.controller.admin.scraper;
 
+import com.bolaneradar.backend.service.integration.scraper.core.ScrapeBatchResult;
 import com.bolaneradar.backend.service.integration.scraper.core.ScraperService;
+import com.bolaneradar.backend.service.integration.scraper.support.FetchStats;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +15,8 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,7 +49,8 @@ class AdminScraperControllerIT {
     void scrapeAllBanks_returnsSuccessMessage_whenServiceRunsWithoutError() throws Exception {
 
         // viktigt! annars körs riktiga scraping
-        doNothing().when(scraperService).scrapeAllBanks();
+        doReturn(new ScrapeBatchResult(12, 0, 0, 0, 0, List.of(), 0, FetchStats.NONE, 0))
+                .when(scraperService).scrapeAllBanks();
 
         mockMvc.perform(post("/api/admin/scrape/all"))
                 .andExpect(status().isOk())
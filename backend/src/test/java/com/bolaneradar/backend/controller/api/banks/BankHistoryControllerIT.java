@@ -0,0 +1,154 @@
+package com.bolaneradar.backend.controller.api.banks;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.repository.MortgageRateRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bolaneradar.backend.support.TestRates.rate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integrationstester för BankHistoryController mot H2.
+ * <p>
+ * Fokus:
+ *  - available-terms räknas med en enda SQL-sats (regressionsskydd)
+ *  - Samlade historikvyn returnerar termer och historik för vald term
+ *  - history/data: månadsmedel per fönster (12 / 24 / 60 / all)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class BankHistoryControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    BankRepository bankRepository;
+
+    @Autowired
+    MortgageRateRepository rateRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void insertHistory() {
+        Bank bank = bankRepository.save(new Bank("HistoryAlpha", null));
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+
+        List<MortgageRate> rates = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            LocalDate month = thisMonth.minusMonths(i);
+            // 3 mån och 2 år: tolv månader → tillgängliga
+            rates.add(rate(bank, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, "3.50", month));
+            rates.add(rate(bank, MortgageTerm.FIXED_2Y, RateType.AVERAGERATE, "3.20", month));
+            // 5 år: endast fyra månader → för lite historik
+            if (i < 4) rates.add(rate(bank, MortgageTerm.FIXED_5Y, RateType.AVERAGERATE, "3.10", month));
+        }
+        // Korrigering samma månad → månadsmedel
+        rates.add(rate(bank, MortgageTerm.FIXED_5Y, RateType.AVERAGERATE, "3.30", thisMonth.plusDays(1)));
+        // Äldre än 12 månader räknas inte
+        rates.add(rate(bank, MortgageTerm.FIXED_5Y, RateType.AVERAGERATE, "3.90", thisMonth.minusYears(3)));
+
+        rateRepository.saveAll(rates);
+        rateRepository.flush();
+    }
+
+    // =====================================================
+    // TEST 1: available-terms – en SQL-sats
+    // =====================================================
+    @Test
+    void availableTerms_usesSingleStatement() throws Exception {
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        mockMvc.perform(get("/api/banks/HistoryAlpha/history/available-terms"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value("VARIABLE_3M"))
+                .andExpect(jsonPath("$[1]").value("FIXED_2Y"));
+
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    // =====================================================
+    // TEST 2: okänd bank → 400 som tidigare
+    // =====================================================
+    @Test
+    void availableTerms_returns400_whenBankUnknown() throws Exception {
+
+        mockMvc.perform(get("/api/banks/NoSuchBank/history/available-terms"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // =====================================================
+    // TEST 3: samlad historikvy
+    // =====================================================
+    @Test
+    void history_returnsAvailableTermsAndHistory() throws Exception {
+
+        mockMvc.perform(get("/api/banks/HistoryAlpha/history").param("term", "FIXED_2Y"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTerms.length()").value(2))
+                .andExpect(jsonPath("$.term").value("FIXED_2Y"))
+                .andExpect(jsonPath("$.history.length()").value(12))
+                .andExpect(jsonPath("$.history[0].avgRate").value(3.20));
+
+        // Utan term → första tillgängliga
+        mockMvc.perform(get("/api/banks/HistoryAlpha/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.term").value("VARIABLE_3M"));
+    }
+
+    // =====================================================
+    // TEST 4: history/data – fönster och månadsmedel
+    // =====================================================
+    @Test
+    void historyData_aggregatesPerMonthWithinWindow() throws Exception {
+
+        String thisMonth = LocalDate.now().withDayOfMonth(1).toString();
+
+        // Standard 12 månader: fyra månader, senaste är medel av 3.10 och 3.30
+        mockMvc.perform(get("/api/banks/HistoryAlpha/history/data").param("term", "FIXED_5Y"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[3].month").value(thisMonth))
+                .andExpect(jsonPath("$[3].avgRate").value(3.20));
+
+        mockMvc.perform(get("/api/banks/HistoryAlpha/history/data")
+                        .param("term", "FIXED_5Y").param("window", "24"))
+                .andExpect(jsonPath("$.length()").value(4));
+
+        mockMvc.perform(get("/api/banks/HistoryAlpha/history/data")
+                        .param("term", "FIXED_5Y").param("window", "all"))
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].avgRate").value(3.90));
+
+        mockMvc.perform(get("/api/banks/HistoryAlpha/history/data")
+                        .param("term", "FIXED_5Y").param("window", "7"))
+                .andExpect(status().isBadRequest());
+    }
+}
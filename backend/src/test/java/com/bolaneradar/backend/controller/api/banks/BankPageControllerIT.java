@@ -0,0 +1,132 @@
+package com.bolaneradar.backend.controller.api.banks;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.service.core.CurrentRateService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bolaneradar.backend.support.TestRates.rate;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integrationstester för BankPageController mot H2.
+ * <p>
+ * Fokus:
+ *  - Varje sektion är identisk med motsvarande separata endpoint
+ *  - sections begränsar svaret (ingen bankuppslagning för bara texter)
+ *  - Okänd bank ger samma fel som /rates
+ * <p>
+ * Räntor och historik beräknas på egna trådar och ser därför bara
+ * committad data; testet committar sina rader och tar bort dem efteråt.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BankPageControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CurrentRateService currentRateService;
+
+    @Autowired
+    BankRepository bankRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    Bank bank;
+
+    @BeforeEach
+    void insertRates() {
+        bank = bankRepository.save(new Bank("PageBank", null));
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+
+        List<MortgageRate> rates = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            rates.add(rate(bank, MortgageTerm.FIXED_1Y, RateType.AVERAGERATE, "3.60", thisMonth.minusMonths(i)));
+        }
+        rates.add(rate(bank, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.95", thisMonth.minusDays(3)));
+        currentRateService.saveRates(rates);
+    }
+
+    @AfterEach
+    void deleteRates() {
+        jdbcTemplate.update("DELETE FROM current_rates WHERE bank_id = ?", bank.getId());
+        jdbcTemplate.update("DELETE FROM mortgage_rates WHERE bank_id = ?", bank.getId());
+        bankRepository.deleteById(bank.getId());
+    }
+
+    private JsonNode json(String url) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    // =====================================================
+    // TEST 1: räntor och historik som de separata endpoints
+    // =====================================================
+    @Test
+    void page_containsSameRatesAndHistory_asSeparateEndpoints() throws Exception {
+
+        JsonNode page = json("/api/banks/PageBank/page?window=24");
+
+        assertEquals(json("/api/banks/PageBank/rates"), page.get("rates"));
+        assertEquals(json("/api/banks/PageBank/history?window=24"), page.get("history"));
+        assertEquals("FIXED_1Y", page.get("history").get("term").asText());
+
+        // Ingen text för banken → tomma sektioner
+        assertTrue(page.get("intro").isNull());
+        assertTrue(page.get("details").isNull());
+    }
+
+    // =====================================================
+    // TEST 2: texter som de separata endpoints
+    // =====================================================
+    @Test
+    void page_containsSameContent_asSeparateEndpoints() throws Exception {
+
+        // swedbank finns inte i databasen – texter kräver ingen bankuppslagning
+        JsonNode page = json("/api/banks/swedbank/page?language=EN&sections=INTRO,INFO,DETAILS");
+
+        assertEquals(json("/api/banks/swedbank/intro?language=EN"), page.get("intro"));
+        assertEquals(json("/api/banks/swedbank/info?language=EN"), page.get("info"));
+        assertEquals(json("/api/banks/swedbank/details?language=EN"), page.get("details"));
+        assertTrue(page.get("rates").isNull());
+        assertTrue(page.get("history").isNull());
+    }
+
+    // =====================================================
+    // TEST 3: okänd bank med räntesektion → 400
+    // =====================================================
+    @Test
+    void page_unknownBank_withRates_returnsBadRequest() throws Exception {
+
+        mockMvc.perform(get("/api/banks/okandbank/page?sections=RATES"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bank not found: okandbank"));
+    }
+}
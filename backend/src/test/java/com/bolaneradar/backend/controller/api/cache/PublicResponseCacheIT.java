@@ -0,0 +1,202 @@
+package com.bolaneradar.backend.controller.api.cache;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.service.core.CurrentRateService;
+import com.bolaneradar.backend.service.core.RateDataGeneration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.bolaneradar.backend.support.TestRates.rate;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integrationstester för PublicResponseCache mot H2 (cachen aktiverad).
+ * <p>
+ * Fokus:
+ *  - Andra anropet besvaras från cachen med samma bytes och ETag
+ *  - If-None-Match → 304 utan kropp
+ *  - Accept-Encoding: gzip → förkomprimerat svar med samma innehåll
+ *  - Ny generation tömmer cachen och ger nytt innehåll
+ *  - Ny databasversion (skrivning från annan process) tömmer cachen
+ *  - Okända parametrar och utskrivna standardvärden ger samma post
+ *  - Fel cachas inte
+ * <p>
+ * Testerna körs i en transaktion som rullas tillbaka; generationen
+ * flyttas därför direkt i stället för via commit.
+ */
+@SpringBootTest(properties = "app.response-cache.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class PublicResponseCacheIT {
+
+    private static final String URL = "/api/rates/comparison?term=3m";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    PublicResponseCache cache;
+
+    @Autowired
+    RateDataGeneration rateDataGeneration;
+
+    @Autowired
+    BankRepository bankRepository;
+
+    @Autowired
+    CurrentRateService currentRateService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Bank bank;
+
+    @BeforeEach
+    void insertRates() {
+        bank = bankRepository.save(new Bank("CacheAlpha", null));
+        currentRateService.saveRates(List.of(
+                rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "3.50", LocalDate.now().minusDays(2))));
+        // Tidigare tester i samma kontext får inte lämna kvar svar
+        rateDataGeneration.advance();
+    }
+
+    // =====================================================
+    // TEST 1: träff, ETag och 304
+    // =====================================================
+    @Test
+    void secondRequest_isServedFromCache_andRevalidatesWith304() throws Exception {
+
+        MvcResult first = mockMvc.perform(get(URL))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertEquals(1, cache.size());
+
+        MvcResult second = mockMvc.perform(get(URL))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn();
+        assertArrayEquals(first.getResponse().getContentAsByteArray(), second.getResponse().getContentAsByteArray());
+        assertTrue(second.getResponse().getContentAsString().contains("CacheAlpha"));
+
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    // =====================================================
+    // TEST 2: gzip
+    // =====================================================
+    @Test
+    void acceptGzip_returnsPreCompressedBody() throws Exception {
+
+        byte[] plain = mockMvc.perform(get(URL))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MvcResult gzipped = mockMvc.perform(get(URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertEquals(new String(plain, StandardCharsets.UTF_8), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    // =====================================================
+    // TEST 3: ny generation → cachen töms
+    // =====================================================
+    @Test
+    void newGeneration_evictsAll_andServesNewData() throws Exception {
+
+        String oldEtag = mockMvc.perform(get(URL))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/rates/updates")).andExpect(status().isOk());
+        assertEquals(2, cache.size());
+
+        currentRateService.saveRates(List.of(rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "3.25", LocalDate.now())));
+        rateDataGeneration.advance();
+        assertEquals(0, cache.size());
+
+        MvcResult fresh = mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, oldEtag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(oldEtag, fresh.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(fresh.getResponse().getContentAsString().contains("3.25"));
+    }
+
+    // =====================================================
+    // TEST 4: databasversionen flyttas av en annan process
+    // =====================================================
+    @Test
+    void externalVersionBump_evictsAll() throws Exception {
+
+        mockMvc.perform(get(URL)).andExpect(status().isOk());
+        assertEquals(1, cache.size());
+
+        // Som en skrapning i en separat JVM: ingen lokal generation, bara databasen
+        jdbcTemplate.update("UPDATE rate_data_version SET version = version + 1");
+
+        assertEquals(0, cache.size());
+    }
+
+    // =====================================================
+    // TEST 5: nyckeln bygger på endpointens egna parametrar
+    // =====================================================
+    @Test
+    void unknownParameters_andDefaults_shareOneEntry() throws Exception {
+
+        String etag = mockMvc.perform(get(URL))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get(URL + "&x=" + i))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag));
+        }
+        assertEquals(1, cache.size());
+
+        // window=12 är standardvärdet → samma post som utan parametern
+        String history = "/api/banks/CacheAlpha/history/data?term=VARIABLE_3M";
+        mockMvc.perform(get(history)).andExpect(status().isOk());
+        mockMvc.perform(get(history + "&window=12&utm_source=mail")).andExpect(status().isOk());
+        assertEquals(2, cache.size());
+    }
+
+    // =====================================================
+    // TEST 6: fel cachas inte
+    // =====================================================
+    @Test
+    void errorResponse_isNotCached() throws Exception {
+
+        mockMvc.perform(get("/api/banks/nosuchbank/rates"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,105 @@
+package com.bolaneradar.backend.repository;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.bolaneradar.backend.support.TestRates.rate;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integrationstester för LatestRateQueries (ROW_NUMBER-varianten) mot H2.
+ * <p>
+ * Fokus:
+ *  - Endast senaste raden per bank + bindningstid returneras
+ *  - Samma senaste datum två gånger → raden med högst id
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class LatestRateQueriesIT {
+
+    @Autowired
+    MortgageRateRepository rateRepository;
+
+    @Autowired
+    BankRepository bankRepository;
+
+    Bank alpha;
+    Bank beta;
+
+    @BeforeEach
+    void insertHistory() {
+        alpha = bankRepository.save(new Bank("LatestAlpha", null));
+        beta = bankRepository.save(new Bank("LatestBeta", null));
+
+        rateRepository.saveAll(List.of(
+                // Alpha 3 mån: tre månader, senaste är december
+                rate(alpha, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, "4.10", "2025-10-01"),
+                rate(alpha, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, "4.00", "2025-11-01"),
+                rate(alpha, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, "3.90", "2025-12-01"),
+                // Alpha 1 år: korrigering samma månad → senast sparad vinner
+                rate(alpha, MortgageTerm.FIXED_1Y, RateType.AVERAGERATE, "3.70", "2025-12-01"),
+                rate(alpha, MortgageTerm.FIXED_1Y, RateType.AVERAGERATE, "3.65", "2025-12-01"),
+                // Beta 3 mån: äldre senaste månad
+                rate(beta, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, "4.20", "2025-09-01"),
+                rate(beta, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, "4.05", "2025-11-01"),
+                // Listränta med senare datum påverkar inte snitträntor
+                rate(alpha, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.50", "2026-01-15")
+        ));
+        rateRepository.flush();
+    }
+
+    // ============================================================
+    // findLatestRatesByType
+    // ============================================================
+    @Test
+    void latestRatesByType_returnsOneRowPerSeries() {
+        List<MortgageRate> latest = rateRepository.findLatestRatesByType(RateType.AVERAGERATE).stream()
+                .filter(r -> isTestBank(r.getBank()))
+                .sorted(Comparator.comparing((MortgageRate r) -> r.getBank().getName()).thenComparing(MortgageRate::getTerm))
+                .toList();
+
+        assertEquals(3, latest.size());
+        assertRate(latest.get(0), alpha, MortgageTerm.VARIABLE_3M, "3.90");
+        assertRate(latest.get(1), alpha, MortgageTerm.FIXED_1Y, "3.65");
+        assertRate(latest.get(2), beta, MortgageTerm.VARIABLE_3M, "4.05");
+        assertTrue(latest.stream().allMatch(r -> r.getRateType() == RateType.AVERAGERATE));
+    }
+
+    @Test
+    void latestRatesByType_listRate_returnsOnlyListRates() {
+        List<MortgageRate> latest = rateRepository.findLatestRatesByType(RateType.LISTRATE).stream()
+                .filter(r -> isTestBank(r.getBank()))
+                .toList();
+
+        assertEquals(1, latest.size());
+        assertEquals(LocalDate.of(2026, 1, 15), latest.getFirst().getEffectiveDate());
+    }
+
+    // ============================================================
+    // Hjälpmetoder
+    // ============================================================
+
+    private boolean isTestBank(Bank bank) {
+        return bank.getId().equals(alpha.getId()) || bank.getId().equals(beta.getId());
+    }
+
+    private static void assertRate(MortgageRate rate, Bank bank, MortgageTerm term, String percent) {
+        assertEquals(bank.getId(), rate.getBank().getId());
+        assertEquals(term, rate.getTerm());
+        assertEquals(0, new BigDecimal(percent).compareTo(rate.getRatePercent()));
+    }
+}
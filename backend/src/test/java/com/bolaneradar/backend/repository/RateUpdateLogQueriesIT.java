@@ -0,0 +1,131 @@
+package com.bolaneradar.backend.repository;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.RateUpdateLog;
+import com.bolaneradar.backend.repository.projection.RateUpdateLogRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integrationstester för RateUpdateLogQueries (keyset-paginering) mot H2.
+ * <p>
+ * Fokus:
+ *  - Bläddring med cursor ger alla rader exakt en gång, senaste först
+ *  - Rader med samma tidpunkt skiljs åt med id
+ *  - Filter på bank, success och tidsintervall
+ *  - Senaste logg per bank och global senaste tidpunkt
+ *  - Loggens stämpel (MAX(id), COUNT) ändras vid ny rad
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RateUpdateLogQueriesIT {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2031, 3, 1, 6, 0);
+
+    @Autowired
+    RateUpdateLogRepository logRepository;
+
+    @Autowired
+    BankRepository bankRepository;
+
+    Bank alpha;
+
+    @BeforeEach
+    void insertLogs() {
+        alpha = bankRepository.save(new Bank("LogAlpha", null));
+        Bank beta = bankRepository.save(new Bank("LogBeta", null));
+
+        List<RateUpdateLog> logs = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            // Samma tidpunkt för båda bankerna → id avgör ordningen
+            logs.add(new RateUpdateLog(BASE.plusDays(day), "Scraper", 10, alpha, day != 2, null, 100));
+            logs.add(new RateUpdateLog(BASE.plusDays(day), "Scraper", 8, beta, true, null, 100));
+        }
+        // Logg utan bank behålls (LEFT JOIN)
+        logs.add(new RateUpdateLog(BASE.plusDays(1), "ManualImport", 0, null, true, null, 5));
+
+        logRepository.saveAll(logs);
+        logRepository.flush();
+    }
+
+    /** Testdatan ligger efter all annan data, så filter from=BASE isolerar den. */
+    private static RateUpdateLogFilter onlyTestData(String bank, Boolean success) {
+        return new RateUpdateLogFilter(bank, success, BASE, null);
+    }
+
+    @Test
+    void findLogPage_walksAllRowsOnceInOrder() {
+        List<RateUpdateLogRow> all = new ArrayList<>();
+        LocalDateTime cursorAt = null;
+        Long cursorId = null;
+
+        for (int page = 0; page < 10; page++) {
+            List<RateUpdateLogRow> rows =
+                    logRepository.findLogPage(onlyTestData(null, null), cursorAt, cursorId, 3);
+            if (rows.isEmpty()) break;
+            all.addAll(rows);
+            cursorAt = rows.getLast().occurredAt();
+            cursorId = rows.getLast().id();
+        }
+
+        assertEquals(11, all.size());
+        assertEquals(11, all.stream().map(RateUpdateLogRow::id).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            RateUpdateLogRow prev = all.get(i - 1);
+            RateUpdateLogRow curr = all.get(i);
+            assertTrue(prev.occurredAt().isAfter(curr.occurredAt())
+                    || (prev.occurredAt().equals(curr.occurredAt()) && prev.id() > curr.id()));
+        }
+        assertTrue(all.stream().anyMatch(r -> r.bankName() == null));
+        assertTrue(all.stream().anyMatch(r -> "LogAlpha".equals(r.bankName())));
+    }
+
+    @Test
+    void findLogPage_appliesFilters() {
+        List<RateUpdateLogRow> failedAlpha =
+                logRepository.findLogPage(onlyTestData("logalpha", false), null, null, 50);
+
+        assertEquals(1, failedAlpha.size());
+        assertEquals(BASE.plusDays(2), failedAlpha.getFirst().occurredAt());
+        assertFalse(failedAlpha.getFirst().success());
+
+        List<RateUpdateLogRow> window = logRepository.findLogPage(
+                new RateUpdateLogFilter("LogAlpha", null, BASE.plusDays(1), BASE.plusDays(3)), null, null, 50);
+
+        assertEquals(List.of(BASE.plusDays(2), BASE.plusDays(1)),
+                window.stream().map(RateUpdateLogRow::occurredAt).toList());
+    }
+
+    @Test
+    void findLatestPerBank_returnsNewestLogPerBank() {
+        List<RateUpdateLog> latest = logRepository.findLatestPerBank().stream()
+                .filter(l -> l.getBank().getName().startsWith("Log"))
+                .toList();
+
+        assertEquals(2, latest.size());
+        assertTrue(latest.stream().allMatch(l -> l.getOccurredAt().equals(BASE.plusDays(4))));
+        assertEquals(BASE.plusDays(4), logRepository.findLatestOccurredAt());
+    }
+
+    @Test
+    void findMaxId_changesWhenLogIsWritten() {
+        Long before = logRepository.findMaxId();
+
+        RateUpdateLog added = logRepository.saveAndFlush(
+                new RateUpdateLog(BASE.plusDays(5), "Scraper", 1, alpha, true, null, 100));
+
+        assertEquals(added.getId(), logRepository.findMaxId());
+        assertTrue(added.getId() > before);
+    }
+}
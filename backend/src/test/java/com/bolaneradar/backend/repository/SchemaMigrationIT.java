@@ -0,0 +1,188 @@
+package com.bolaneradar.backend.repository;
+
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integrationstester för Flyway-migreringarna (db/migration) mot H2.
+ * <p>
+ * Fokus:
+ *  - Alla migreringar körs och Hibernate validerar schemat (ddl-auto=validate)
+ *  - Indexen för de vanligaste räntefrågorna finns, med rätt kolumnordning
+ *  - EXPLAIN på nyckelfrågorna använder indexen i stället för tabellscan
+ *    (med ett års data och ANALYZE, så att H2 har selektivitet att välja på)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaMigrationIT {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @BeforeEach
+    void insertYearOfRates() {
+        for (int b = 0; b < 6; b++) {
+            jdbc.update("INSERT INTO banks (name, website) VALUES (?, ?)", "Index" + b, null);
+        }
+        List<Long> bankIds = jdbc.queryForList("SELECT id FROM banks WHERE name LIKE 'Index%'", Long.class);
+
+        List<Object[]> rates = new ArrayList<>();
+        List<Object[]> logs = new ArrayList<>();
+        long id = 1_000_000;
+        LocalDate start = LocalDate.of(2025, 1, 1);
+
+        for (Long bankId : bankIds) {
+            for (MortgageTerm term : MortgageTerm.values()) {
+                for (int day = 0; day < 365; day += 7) {
+                    rates.add(new Object[]{id++, bankId, term.name(), "LISTRATE", new BigDecimal("4.10"), start.plusDays(day)});
+                }
+                for (int month = 0; month < 12; month++) {
+                    rates.add(new Object[]{id++, bankId, term.name(), "AVERAGERATE", new BigDecimal("3.90"), start.plusMonths(month)});
+                }
+            }
+            for (int day = 0; day < 365; day++) {
+                logs.add(new Object[]{id++, start.plusDays(day).atTime(6, 0), bankId});
+            }
+        }
+
+        jdbc.batchUpdate("""
+                INSERT INTO mortgage_rates (id, bank_id, term, rate_type, rate_percent, effective_date)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, rates);
+        jdbc.batchUpdate("""
+                INSERT INTO rate_update_log (id, occurred_at, source_name, imported_count, bank_id, success, duration_ms)
+                VALUES (?, ?, 'SchemaMigrationIT', 0, ?, TRUE, 0)
+                """, logs);
+        jdbc.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void deleteRates() {
+        jdbc.update("DELETE FROM rate_update_log WHERE source_name = 'SchemaMigrationIT'");
+        jdbc.update("DELETE FROM mortgage_rates WHERE bank_id IN (SELECT id FROM banks WHERE name LIKE 'Index%')");
+        jdbc.update("DELETE FROM banks WHERE name LIKE 'Index%'");
+    }
+
+    // ============================================================
+    // Migreringshistorik
+    // ============================================================
+    @Test
+    void allMigrationsAreApplied() {
+        List<String> versions = jdbc.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\""
+                        + " WHERE \"version\" IS NOT NULL AND \"success\" = TRUE ORDER BY \"installed_rank\"",
+                String.class);
+
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8"), versions);
+    }
+
+    // ============================================================
+    // Index finns med rätt kolumner
+    // ============================================================
+    @Test
+    void rateIndexes_existWithExpectedColumns() {
+        assertEquals(List.of("BANK_ID", "TERM", "RATE_TYPE", "EFFECTIVE_DATE DESC"),
+                indexColumns("IDX_MORTGAGE_RATES_BANK_TERM_TYPE_DATE"));
+        assertEquals(List.of("RATE_TYPE", "EFFECTIVE_DATE"),
+                indexColumns("IDX_MORTGAGE_RATES_TYPE_DATE"));
+        assertEquals(List.of("BANK_ID", "OCCURRED_AT DESC"),
+                indexColumns("IDX_RATE_UPDATE_LOG_BANK_OCCURRED"));
+        assertEquals(List.of("OCCURRED_AT DESC", "ID DESC"),
+                indexColumns("IDX_RATE_UPDATE_LOG_OCCURRED_ID"));
+    }
+
+    // ============================================================
+    // EXPLAIN – nyckelfrågorna använder indexen
+    // ============================================================
+    @Test
+    void latestRateForBankTermAndType_usesBankTermTypeDateIndex() {
+        // findFirstByBankIdAndTermAndRateTypeOrderByEffectiveDateDesc
+        String plan = explain("""
+                SELECT * FROM mortgage_rates
+                WHERE bank_id = (SELECT MIN(id) FROM banks) AND term = 'FIXED_1Y' AND rate_type = 'LISTRATE'
+                ORDER BY effective_date DESC
+                FETCH FIRST 1 ROWS ONLY
+                """);
+
+        assertTrue(plan.contains("IDX_MORTGAGE_RATES_BANK_TERM_TYPE_DATE"), plan);
+    }
+
+    @Test
+    void latestRatesByType_usesTypeDateIndex() {
+        // findLatestRatesByType (ROW_NUMBER-varianten)
+        String plan = explain(LatestRateQueriesImpl.latestPerSeriesSql(false, "*", "rate_type = 'LISTRATE'"));
+
+        assertTrue(plan.contains("IDX_MORTGAGE_RATES_TYPE_DATE"), plan);
+    }
+
+    @Test
+    void averageRatesForBankTermAndMonth_usesBankTermTypeDateIndex() {
+        // findAverageRatesForBankAndTermAndMonth
+        String plan = explain("""
+                SELECT * FROM mortgage_rates
+                WHERE bank_id = (SELECT MIN(id) FROM banks) AND term = 'VARIABLE_3M' AND rate_type = 'AVERAGERATE'
+                  AND effective_date >= DATE '2025-10-01' AND effective_date < DATE '2025-11-01'
+                ORDER BY effective_date DESC, last_changed_date DESC, id DESC
+                """);
+
+        assertTrue(plan.contains("IDX_MORTGAGE_RATES_BANK_TERM_TYPE_DATE"), plan);
+    }
+
+    @Test
+    void updateLogForBank_usesBankOccurredIndex() {
+        // findByBankOrderByOccurredAtDesc, begränsad till senaste perioden.
+        // H2 skapar ett eget index för bank_id-FK:n som annars väger lika;
+        // PostgreSQL har inget sådant index.
+        String plan = explain("""
+                SELECT * FROM rate_update_log
+                WHERE bank_id = 7 AND occurred_at >= TIMESTAMP '2025-12-01 00:00:00'
+                ORDER BY occurred_at DESC
+                """);
+
+        assertTrue(plan.contains("IDX_RATE_UPDATE_LOG_BANK_OCCURRED"), plan);
+    }
+
+    @Test
+    void updateLogPage_usesOccurredIdIndex() {
+        // RateUpdateLogQueries.findLogPage utan bankfilter, efter cursor
+        String plan = explain("""
+                SELECT * FROM rate_update_log
+                WHERE occurred_at < TIMESTAMP '2025-12-01 00:00:00'
+                   OR (occurred_at = TIMESTAMP '2025-12-01 00:00:00' AND id < 500)
+                ORDER BY occurred_at DESC, id DESC
+                FETCH FIRST 51 ROWS ONLY
+                """);
+
+        assertTrue(plan.contains("IDX_RATE_UPDATE_LOG_OCCURRED_ID"), plan);
+    }
+
+    // ============================================================
+    // Hjälpmetoder
+    // ============================================================
+
+    private String explain(String sql) {
+        return jdbc.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    private List<String> indexColumns(String indexName) {
+        return jdbc.queryForList("""
+                SELECT COLUMN_NAME || CASE WHEN ORDERING_SPECIFICATION = 'DESC' THEN ' DESC' ELSE '' END
+                FROM INFORMATION_SCHEMA.INDEX_COLUMNS
+                WHERE INDEX_NAME = ?
+                ORDER BY ORDINAL_POSITION
+                """, String.class, indexName);
+    }
+}
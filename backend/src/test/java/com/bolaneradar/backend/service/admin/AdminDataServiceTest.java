@@ -3,7 +3,9 @@ package com.bolaneradar.backend.service.admin;
 import com.bolaneradar.backend.entity.core.Bank;
 import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.repository.CurrentRateRepository;
 import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -31,9 +33,15 @@ class AdminDataServiceTest {
     @Mock
     MortgageRateRepository rateRepository;
 
+    @Mock
+    CurrentRateRepository currentRateRepository;
+
     @Mock
     RateUpdateLogService rateUpdateLogService;
 
+    @Mock
+    RateColumnStore rateColumnStore;
+
     @InjectMocks
     AdminDataService adminDataService;
 
@@ -46,9 +54,10 @@ class AdminDataServiceTest {
         adminDataService.clearDatabase();
 
         // Assert – se till att rätt metoder anropas
+        verify(currentRateRepository).deleteAllInBatch();
         verify(rateRepository).deleteAll();
         verify(rateUpdateLogService).clearAllLogs();
-        verifyNoMoreInteractions(rateRepository, rateUpdateLogService);
+        verifyNoMoreInteractions(rateRepository, currentRateRepository, rateUpdateLogService);
     }
 
     // ============================================================
@@ -93,6 +102,7 @@ class AdminDataServiceTest {
         // Assert
         assertEquals("Ingen bank hittades med namn: Okänd", result);
         verify(rateRepository, never()).deleteByBank(any());
+        verify(currentRateRepository, never()).deleteByBankId(any());
     }
 
     @Test
@@ -116,5 +126,6 @@ class AdminDataServiceTest {
         // Assert
         assertEquals("Rensade 3 räntor för Swedbank.", result);
         verify(rateRepository).deleteByBank(bank);
+        verify(currentRateRepository).deleteByBankId(bank.getId());
     }
 }
\ No newline at end of file
@@ -1,13 +1,11 @@
 package com.bolaneradar.backend.service.admin;
 
 import com.bolaneradar.backend.dto.admin.MortgageRateDto;
-import com.bolaneradar.backend.dto.mapper.admin.MortgageRateMapper;
 import com.bolaneradar.backend.entity.core.Bank;
-import com.bolaneradar.backend.entity.core.MortgageRate;
 import com.bolaneradar.backend.entity.enums.MortgageTerm;
 import com.bolaneradar.backend.entity.enums.RateType;
-import com.bolaneradar.backend.repository.MortgageRateRepository;
 import com.bolaneradar.backend.service.core.BankService;
+import com.bolaneradar.backend.service.core.CurrentRateService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -26,7 +24,7 @@ import static org.mockito.Mockito.*;
 class MortgageRateAdminServiceTest {
 
     @Mock
-    MortgageRateRepository rateRepository;
+    CurrentRateService currentRateService;
 
     @Mock
     BankService bankService;
@@ -55,12 +53,6 @@ class MortgageRateAdminServiceTest {
                 null
         );
 
-        // Mockad entity som mappas och sparas
-        MortgageRate mappedRate = MortgageRateMapper.toEntity(dto, bank);
-
-        // Repository returnerar samma objekt vid save
-        when(rateRepository.save(any(MortgageRate.class))).thenReturn(mappedRate);
-
         // Act
         List<MortgageRateDto> result = adminService.createRates(List.of(dto));
 
@@ -70,7 +62,9 @@ class MortgageRateAdminServiceTest {
         assertEquals(BigDecimal.valueOf(4.25), result.get(0).ratePercent());
 
         verify(bankService).getBankByName("Swedbank");
-        verify(rateRepository, times(1)).save(any(MortgageRate.class));
+        // En saveRates → historik (saveAll) + current_rates i samma transaktion
+        verify(currentRateService, times(1)).saveRates(anyList());
+        verifyNoMoreInteractions(currentRateService);
     }
 
     // ============================================================
@@ -100,6 +94,6 @@ class MortgageRateAdminServiceTest {
         );
 
         assertEquals("Bank inte hittad: FantomBank", ex.getMessage());
-        verify(rateRepository, never()).save(any());
+        verify(currentRateService, never()).saveRates(any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.bolaneradar.backend.service.admin;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.service.core.CurrentRateService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.bolaneradar.backend.support.TestRates.rate;
+import static com.bolaneradar.backend.support.TestRates.withId;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MortgageRateCompactionServiceTest {
+
+    @Mock
+    MortgageRateRepository rateRepository;
+
+    @Mock
+    CurrentRateService currentRateService;
+
+    @InjectMocks
+    MortgageRateCompactionService compactionService;
+
+    private long nextId = 1;
+
+    // ============================================================
+    // TEST 1: Oförändrade dagar slås ihop, ändringar bryter perioden
+    // ============================================================
+    @Test
+    void compactListRates_foldsUnchangedDaysIntoIntervals() {
+        Bank bank = bank(1L);
+        LocalDate d = LocalDate.of(2025, 3, 1);
+
+        MortgageRate a1 = withId(rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", d), nextId++);
+        MortgageRate a2 = withId(rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", d.plusDays(1)), nextId++);
+        MortgageRate a3 = withId(rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.100", d.plusDays(2)), nextId++);
+        MortgageRate b1 = withId(rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "3.95", d.plusDays(3)), nextId++);
+        MortgageRate b2 = withId(rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "3.95", d.plusDays(4)), nextId++);
+        MortgageRate c1 = withId(rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", d.plusDays(5)), nextId++);
+
+        when(rateRepository.findAllListRatesChronological())
+                .thenReturn(List.of(a1, a2, a3, b1, b2, c1));
+
+        RateCompactionResult result = compactionService.compactListRates();
+
+        assertEquals(6, result.rowsScanned());
+        assertEquals(3, result.rowsKept());
+        assertEquals(3, result.rowsDeleted());
+
+        assertEquals(d.plusDays(2), a1.getLastSeenDate());
+        assertEquals(d.plusDays(4), b1.getLastSeenDate());
+        assertEquals(d.plusDays(5), c1.getLastSeenDate());
+
+        verify(rateRepository).deleteAllByIdInBatch(List.of(a2.getId(), a3.getId(), b2.getId()));
+        verify(currentRateService).rebuild();
+    }
+
+    // ============================================================
+    // TEST 2: Ny bank eller bindningstid startar alltid ny period
+    // ============================================================
+    @Test
+    void compactListRates_doesNotMergeAcrossBanksOrTerms() {
+        LocalDate d = LocalDate.of(2025, 3, 1);
+
+        MortgageRate x = withId(rate(bank(1L), MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", d), nextId++);
+        MortgageRate y = withId(rate(bank(1L), MortgageTerm.FIXED_1Y, RateType.LISTRATE, "4.10", d), nextId++);
+        MortgageRate z = withId(rate(bank(2L), MortgageTerm.FIXED_1Y, RateType.LISTRATE, "4.10", d), nextId++);
+
+        when(rateRepository.findAllListRatesChronological()).thenReturn(List.of(x, y, z));
+
+        RateCompactionResult result = compactionService.compactListRates();
+
+        assertEquals(3, result.rowsKept());
+        assertEquals(0, result.rowsDeleted());
+        verify(rateRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    // ============================================================
+    // TEST 3: Redan kompakterade intervall behåller sitt slutdatum
+    // ============================================================
+    @Test
+    void compactListRates_isIdempotentForIntervals() {
+        LocalDate d = LocalDate.of(2025, 3, 1);
+
+        MortgageRate interval = withId(rate(bank(1L), MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", d), nextId++);
+        interval.setLastSeenDate(d.plusDays(30));
+        MortgageRate next = withId(rate(bank(1L), MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "3.90", d.plusDays(31)), nextId++);
+        next.setLastSeenDate(d.plusDays(40));
+
+        when(rateRepository.findAllListRatesChronological()).thenReturn(List.of(interval, next));
+
+        RateCompactionResult result = compactionService.compactListRates();
+
+        assertEquals(0, result.rowsDeleted());
+        assertEquals(d.plusDays(30), interval.getLastSeenDate());
+        assertEquals(d.plusDays(40), next.getLastSeenDate());
+    }
+
+    private Bank bank(Long id) {
+        Bank bank = new Bank("Bank " + id);
+        bank.setId(id);
+        return bank;
+    }
+
+}
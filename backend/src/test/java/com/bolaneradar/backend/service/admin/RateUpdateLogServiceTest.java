@@ -2,7 +2,10 @@ package com.bolaneradar.backend.service.admin;
 
 import com.bolaneradar.backend.entity.core.Bank;
 import com.bolaneradar.backend.entity.core.RateUpdateLog;
+import com.bolaneradar.backend.entity.enums.ScrapeOutcome;
+import com.bolaneradar.backend.repository.RateUpdateLogFilter;
 import com.bolaneradar.backend.repository.RateUpdateLogRepository;
+import com.bolaneradar.backend.repository.projection.RateUpdateLogRow;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -13,6 +16,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -79,53 +83,92 @@ class RateUpdateLogServiceTest {
     // getLatestLogsPerBank()
     // ============================================================
     @Test
-    void getLatestLogsPerBank_returnsLatestPerBank() {
+    void getLatestLogsPerBank_returnsFirstRowPerBankFromQuery() {
         Bank bank1 = new Bank("Swedbank");
+        bank1.setId(1L);
         Bank bank2 = new Bank("SEB");
+        bank2.setId(2L);
 
-        RateUpdateLog oldSwedbank = new RateUpdateLog(
-                LocalDateTime.now().minusHours(5), "Scraper", 2, bank1, true, null, 900
-        );
-        RateUpdateLog newSwedbank = new RateUpdateLog(
-                LocalDateTime.now(), "Scraper", 3, bank1, true, null, 1000
-        );
+        LocalDateTime now = LocalDateTime.now();
+        RateUpdateLog newSwedbank = new RateUpdateLog(now, "Scraper", 3, bank1, true, null, 1000);
+        // Samma tidpunkt, lägre id → kommer efter i frågans sortering
+        RateUpdateLog tiedSwedbank = new RateUpdateLog(now, "Scraper", 2, bank1, true, null, 900);
+        RateUpdateLog sebLog = new RateUpdateLog(now.minusMinutes(10), "Manual", 1, bank2, true, null, 300);
 
-        RateUpdateLog sebLog = new RateUpdateLog(
-                LocalDateTime.now().minusMinutes(10), "Manual", 1, bank2, true, null, 300
-        );
-
-        // Repo returnerar alla loggar i DESC order
-        when(rateUpdateLogRepository.findAllByOrderByOccurredAtDesc())
-                .thenReturn(List.of(newSwedbank, sebLog, oldSwedbank));
+        when(rateUpdateLogRepository.findMaxId()).thenReturn(3L);
+        when(rateUpdateLogRepository.findLatestPerBank())
+                .thenReturn(List.of(newSwedbank, tiedSwedbank, sebLog));
 
         List<RateUpdateLog> result = service.getLatestLogsPerBank();
 
-        assertEquals(2, result.size());
-        assertEquals("Swedbank", result.get(0).getBank().getName());
-        assertEquals(newSwedbank, result.get(0));
-        assertEquals(sebLog, result.get(1));
+        assertEquals(List.of(newSwedbank, sebLog), result);
+        verify(rateUpdateLogRepository, never()).findAllByOrderByOccurredAtDesc();
+    }
+
+    @Test
+    void getLatestLogsPerBank_isCachedWhileMaxId_isUnchanged() {
+        Bank bank = new Bank("Swedbank");
+        bank.setId(1L);
+        RateUpdateLog first = new RateUpdateLog(LocalDateTime.now().minusDays(1), "Scraper", 3, bank, true, null, 1000);
+        RateUpdateLog second = new RateUpdateLog(LocalDateTime.now(), "Scraper", 4, bank, true, null, 1000);
+
+        when(rateUpdateLogRepository.findMaxId()).thenReturn(1L, 1L, 2L);
+        when(rateUpdateLogRepository.findLatestPerBank()).thenReturn(List.of(first), List.of(second));
+
+        assertEquals(List.of(first), service.getLatestLogsPerBank());
+        assertEquals(List.of(first), service.getLatestLogsPerBank());
+        verify(rateUpdateLogRepository, times(1)).findLatestPerBank();
+
+        // Ny rad skriven av en annan process (batch-scrapern) → nytt högsta id
+        assertEquals(List.of(second), service.getLatestLogsPerBank());
+        verify(rateUpdateLogRepository, times(2)).findLatestPerBank();
+    }
+
+    @Test
+    void getLatestLogsPerBank_doesNotCache_whenLogIsWrittenDuringRead() {
+        Bank bank = new Bank("Swedbank");
+        bank.setId(1L);
+        RateUpdateLog log = new RateUpdateLog(LocalDateTime.now(), "Scraper", 3, bank, true, null, 1000);
+
+        when(rateUpdateLogRepository.findMaxId()).thenReturn(1L);
+        when(rateUpdateLogRepository.findLatestPerBank()).thenAnswer(invocation -> {
+            // Skrivning i samma process medan läsningen pågår
+            service.logUpdate(bank, "ScraperService", 4, true, null, 800);
+            return List.of(log);
+        });
+
+        service.getLatestLogsPerBank();
+        service.getLatestLogsPerBank();
+
+        verify(rateUpdateLogRepository, times(2)).findLatestPerBank();
     }
 
     // ============================================================
     // getLatestGlobalUpdate()
     // ============================================================
     @Test
-    void getLatestGlobalUpdate_returnsNewestTimestamp() {
-        Bank bank1 = new Bank("Swedbank");
+    void getLatestGlobalUpdate_returnsMaxOccurredAt() {
+        LocalDateTime latest = LocalDateTime.now();
+        when(rateUpdateLogRepository.findMaxId()).thenReturn(1L);
+        when(rateUpdateLogRepository.findLatestOccurredAt()).thenReturn(latest);
 
-        RateUpdateLog log1 = new RateUpdateLog(
-                LocalDateTime.now().minusHours(1), "Scraper", 2, bank1, true, null, 900
-        );
-        RateUpdateLog log2 = new RateUpdateLog(
-                LocalDateTime.now(), "Scraper", 3, bank1, true, null, 1000
-        );
-
-        when(rateUpdateLogRepository.findAllByOrderByOccurredAtDesc())
-                .thenReturn(List.of(log2, log1));
-
-        LocalDateTime result = service.getLatestGlobalUpdate();
+        assertEquals(latest, service.getLatestGlobalUpdate());
+    }
 
-        assertEquals(log2.getOccurredAt(), result);
+    @Test
+    void getLatestGlobalUpdate_isCachedUntilNextLog() {
+        LocalDateTime first = LocalDateTime.now().minusDays(1);
+        LocalDateTime second = LocalDateTime.now();
+        when(rateUpdateLogRepository.findMaxId()).thenReturn(1L, 1L, 2L);
+        when(rateUpdateLogRepository.findLatestOccurredAt()).thenReturn(first, second);
+
+        assertEquals(first, service.getLatestGlobalUpdate());
+        assertEquals(first, service.getLatestGlobalUpdate());
+        verify(rateUpdateLogRepository, times(1)).findLatestOccurredAt();
+
+        // Skrapning committad av batch-processen → nytt högsta id
+        assertEquals(second, service.getLatestGlobalUpdate());
+        verify(rateUpdateLogRepository, times(2)).findLatestOccurredAt();
     }
 
     // ============================================================
@@ -136,4 +179,45 @@ class RateUpdateLogServiceTest {
         service.clearAllLogs();
         verify(rateUpdateLogRepository, times(1)).deleteAll();
     }
-}
\ No newline at end of file
+
+    // ============================================================
+    // getLogPage()
+    // ============================================================
+    @Test
+    void getLogPage_returnsNextCursor_whenMoreRowsExist() {
+        LocalDateTime t = LocalDateTime.of(2025, 12, 1, 6, 0);
+        RateUpdateLogFilter filter = RateUpdateLogFilter.none();
+
+        when(rateUpdateLogRepository.findLogPage(filter, null, null, 3))
+                .thenReturn(List.of(row(30L, t), row(20L, t), row(10L, t.minusDays(1))));
+
+        RateUpdateLogPage first = service.getLogPage(filter, null, 2);
+
+        assertEquals(2, first.rows().size());
+        assertNotNull(first.nextCursor());
+
+        // Cursorn pekar på sista raden i sidan: (t, 20)
+        when(rateUpdateLogRepository.findLogPage(eq(filter), eq(t), eq(20L), eq(3)))
+                .thenReturn(List.of(row(10L, t.minusDays(1))));
+
+        RateUpdateLogPage second = service.getLogPage(filter, first.nextCursor(), 2);
+
+        assertEquals(1, second.rows().size());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void getLogPage_rejectsInvalidCursorAndLimit() {
+        RateUpdateLogFilter filter = RateUpdateLogFilter.none();
+
+        assertThrows(IllegalArgumentException.class, () -> service.getLogPage(filter, "not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.getLogPage(filter, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getLogPage(filter, null, RateUpdateLogService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(rateUpdateLogRepository);
+    }
+
+    private static RateUpdateLogRow row(Long id, LocalDateTime occurredAt) {
+        return new RateUpdateLogRow(id, "SEB", "Scraper", 1, true, ScrapeOutcome.SUCCESS, null, 100, occurredAt);
+    }
+}
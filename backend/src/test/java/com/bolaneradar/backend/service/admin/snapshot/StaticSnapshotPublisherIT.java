@@ -0,0 +1,163 @@
+package com.bolaneradar.backend.service.admin.snapshot;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.service.core.CurrentRateService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.bolaneradar.backend.support.TestRates.rate;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Integrationstester för StaticSnapshotPublisher mot H2.
+ * <p>
+ * Fokus:
+ *  - Filerna innehåller exakt samma JSON som API:et svarar med
+ *  - .gz-filen och sha256 i manifestet stämmer med JSON-filen
+ *  - Oförändrade filer skrivs inte om vid nästa publicering
+ *  - Ändrad data skriver endast berörda filer
+ * <p>
+ * Renderingen körs på egna trådar och ser därför bara committad data;
+ * testet committar sina rader och tar bort dem efteråt.
+ */
+@SpringBootTest(properties = "app.snapshot.output-dir=target/snapshot-it")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StaticSnapshotPublisherIT {
+
+    private static final Path OUTPUT = Path.of("target/snapshot-it");
+
+    @Autowired
+    StaticSnapshotPublisher publisher;
+
+    @Autowired
+    CurrentRateService currentRateService;
+
+    @Autowired
+    BankRepository bankRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    Bank bank;
+
+    @BeforeEach
+    void insertRates() throws Exception {
+        FileSystemUtils.deleteRecursively(OUTPUT);
+
+        bank = bankRepository.save(new Bank("SnapshotBank", null));
+        List<MortgageRate> rates = new ArrayList<>();
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i < 12; i++) {
+            rates.add(rate(bank, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, "3.40", thisMonth.minusMonths(i)));
+        }
+        rates.add(rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "3.90", thisMonth.minusDays(5)));
+        currentRateService.saveRates(rates);
+    }
+
+    @AfterEach
+    void deleteRates() {
+        jdbcTemplate.update("DELETE FROM current_rates WHERE bank_id = ?", bank.getId());
+        jdbcTemplate.update("DELETE FROM mortgage_rates WHERE bank_id = ?", bank.getId());
+        bankRepository.deleteById(bank.getId());
+    }
+
+    // =====================================================
+    // TEST 1: samma innehåll som API:et, gzip och manifest
+    // =====================================================
+    @Test
+    void publish_writesApiResponses_withGzipAndManifest() throws Exception {
+
+        SnapshotPublishResult result = publisher.publish();
+        assertEquals(0, result.failed());
+        assertEquals(result.rendered(), result.written() + result.skipped());
+
+        SnapshotManifest manifest = objectMapper.readValue(
+                OUTPUT.resolve(StaticSnapshotPublisher.MANIFEST).toFile(), SnapshotManifest.class);
+
+        for (String url : List.of(
+                "/api/rates/comparison?term=3m",
+                "/api/rates/comparison/all",
+                "/api/rates/updates",
+                "/api/rates/updates/latest/global",
+                "/api/banks/SnapshotBank/rates",
+                "/api/banks/SnapshotBank/history/data?term=VARIABLE_3M&window=12",
+                "/api/banks/swedbank/intro?language=EN"
+        )) {
+            SnapshotManifest.SnapshotFile file = manifest.files().get(url);
+            assertNotNull(file, url);
+
+            byte[] json = Files.readAllBytes(OUTPUT.resolve(file.file()));
+            String api = mockMvc.perform(get(url)).andReturn().getResponse().getContentAsString();
+            assertEquals(api, new String(json, StandardCharsets.UTF_8), url);
+
+            try (GZIPInputStream in = new GZIPInputStream(
+                    new ByteArrayInputStream(Files.readAllBytes(OUTPUT.resolve(file.file() + ".gz"))))) {
+                assertArrayEquals(json, in.readAllBytes(), url);
+            }
+            assertEquals(json.length, file.bytes());
+        }
+
+        assertEquals("api/rates/comparison/term-3m.json", manifest.files().get("/api/rates/comparison?term=3m").file());
+    }
+
+    // =====================================================
+    // TEST 2: oförändrad data → inga filer skrivs om
+    // =====================================================
+    @Test
+    void republish_skipsUnchangedFiles_andRewritesChangedOnes() throws Exception {
+
+        SnapshotPublishResult first = publisher.publish();
+        Path bankRates = OUTPUT.resolve("api/banks/SnapshotBank/rates.json");
+        Path intro = OUTPUT.resolve("api/banks/swedbank/intro/language-SV.json");
+        FileTime old = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(bankRates, old);
+        Files.setLastModifiedTime(intro, old);
+
+        SnapshotPublishResult second = publisher.publish();
+        assertEquals(first.rendered(), second.rendered());
+        assertEquals(0, second.written());
+        assertEquals(first.written(), second.unchanged());
+        assertEquals(old, Files.getLastModifiedTime(bankRates));
+
+        // Ny listränta → bankens räntor och jämförelsen skrivs, texterna inte
+        currentRateService.saveRates(List.of(
+                rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "3.75", LocalDate.now())));
+
+        SnapshotPublishResult third = publisher.publish();
+        assertTrue(third.written() > 0);
+        assertTrue(third.written() < third.rendered());
+        assertNotEquals(old, Files.getLastModifiedTime(bankRates));
+        assertEquals(old, Files.getLastModifiedTime(intro));
+    }
+}
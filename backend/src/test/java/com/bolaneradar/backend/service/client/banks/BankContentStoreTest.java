@@ -0,0 +1,125 @@
+package com.bolaneradar.backend.service.client.banks;
+
+import com.bolaneradar.backend.dto.api.BankIntroDto;
+import com.bolaneradar.backend.entity.enums.Language;
+import com.bolaneradar.backend.repository.RateDataVersionRepository;
+import com.bolaneradar.backend.service.core.RateDataGeneration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Enhetstester för BankContentStore.
+ * <p>
+ * Fokus:
+ *  - Classpath-innehållet läses in och förserialiseras
+ *  - Språkfallback och uppslagsregler per innehållstyp
+ *  - reload() byter innehåll atomiskt, flyttar generationen och
+ *    behåller det gamla innehållet vid fel
+ */
+class BankContentStoreTest {
+
+    // Samma inställningar som applikationens ObjectMapper (okända fält ignoreras)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final RateDataGeneration rateDataGeneration =
+            new RateDataGeneration(mock(RateDataVersionRepository.class), 0);
+
+    @TempDir
+    Path dir;
+
+    // ============================================================
+    // Classpath-innehåll
+    // ============================================================
+    @Test
+    void classpathContent_isLoadedPerBankAndLanguage() throws Exception {
+        BankContentStore store = new BankContentStore(objectMapper, rateDataGeneration, "");
+
+        var intro = store.intro("swedbank", Language.EN);
+        assertNotNull(intro);
+        assertEquals("swedbank", intro.dto().bankKey());
+        assertArrayEquals(objectMapper.writeValueAsBytes(intro.dto()), intro.json());
+
+        assertNotNull(store.info("SWEDBANK", Language.SV));
+        assertNotNull(store.details("swedbank", Language.SV));
+        assertNull(store.details("SWEDBANK", Language.SV));
+        assertNull(store.intro("okand", Language.SV));
+    }
+
+    @Test
+    void intro_echoesRequestedBankKey() throws Exception {
+        BankContentStore store = new BankContentStore(objectMapper, rateDataGeneration, "");
+
+        BankIntroDto dto = objectMapper.readValue(
+                store.intro("Swedbank", Language.SV).json(), BankIntroDto.class);
+
+        assertEquals("Swedbank", dto.bankKey());
+    }
+
+    @Test
+    void language_defaultsToSwedish() {
+        assertEquals(Language.EN, BankContentStore.language("en"));
+        assertEquals(Language.SV, BankContentStore.language("SV"));
+        assertEquals(Language.SV, BankContentStore.language("de"));
+    }
+
+    // ============================================================
+    // Katalog och reload()
+    // ============================================================
+    @Test
+    void contentDir_fallsBackToSwedish_andReloadSwapsContent() throws Exception {
+        writeContent("Första");
+        BankContentStore store = new BankContentStore(objectMapper, rateDataGeneration, dir.toString());
+
+        assertEquals("Första", store.intro("testbank", Language.EN).dto().description());
+        assertNull(store.info("testbank", Language.EN));
+        assertNotNull(store.info("testbank", Language.SV));
+
+        writeContent("Andra");
+        long generation = rateDataGeneration.current();
+        BankContentReloadResult result = store.reload();
+
+        assertEquals("Andra", store.intro("testbank", Language.SV).dto().description());
+        assertEquals(2, result.introEntries());
+        assertEquals(1, result.infoEntries());
+        assertEquals(2, result.detailsEntries());
+        assertEquals(generation + 1, rateDataGeneration.current());
+    }
+
+    @Test
+    void reload_keepsOldContent_whenFileIsInvalid() throws Exception {
+        writeContent("Första");
+        BankContentStore store = new BankContentStore(objectMapper, rateDataGeneration, dir.toString());
+
+        Files.writeString(dir.resolve("bankIntroData.json"), "{ trasig");
+
+        assertThrows(IOException.class, store::reload);
+        assertEquals("Första", store.intro("testbank", Language.SV).dto().description());
+    }
+
+    private void writeContent(String description) throws IOException {
+        Files.createDirectories(dir.resolve("bankinfo"));
+        write("bankIntroData.json", """
+                { "testbank": { "sv": { "description": "%s", "uspItems": ["A", "B"] } } }
+                """.formatted(description));
+        write("bankDetailsData.json", """
+                { "testbank": { "sv": { "description": "Detaljer" } } }
+                """);
+        write("bankinfo/testbank.json", """
+                { "sv": { "intro": "Info", "deepInsights": [], "faq": [] } }
+                """);
+    }
+
+    private void write(String file, String content) throws IOException {
+        Files.writeString(dir.resolve(file), content, StandardCharsets.UTF_8);
+    }
+}
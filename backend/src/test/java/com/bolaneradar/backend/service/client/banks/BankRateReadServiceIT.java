@@ -0,0 +1,77 @@
+package com.bolaneradar.backend.service.client.banks;
+
+import com.bolaneradar.backend.dto.api.BankRateRowDto;
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.service.core.CurrentRateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.bolaneradar.backend.support.TestRates.rate;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integrationstester för BankRateReadService mot H2.
+ * <p>
+ * Fokus:
+ *  - Banksidans tabell byggs från current_rates (projection)
+ *  - Snittränta visas endast för bankens senaste snitträntemånad
+ *  - Rader sorteras i bindningstidsordning
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BankRateReadServiceIT {
+
+    @Autowired
+    BankRateReadService bankRateReadService;
+
+    @Autowired
+    CurrentRateService currentRateService;
+
+    @Autowired
+    BankRepository bankRepository;
+
+    @Test
+    void getRatesForBank_buildsRowsFromCurrentRates() {
+        // Arrange
+        Bank bank = bankRepository.save(new Bank("ReadAlpha", null));
+        currentRateService.saveRates(List.of(
+                rate(bank, MortgageTerm.FIXED_2Y, RateType.LISTRATE, "3.40", "2025-12-10"),
+                rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "3.90", "2025-11-01"),
+                rate(bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "3.80", "2025-12-15"),
+                rate(bank, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, "3.60", "2025-12-01"),
+                // Snittränta från äldre månad visas inte
+                rate(bank, MortgageTerm.FIXED_2Y, RateType.AVERAGERATE, "3.30", "2025-10-01")
+        ));
+
+        // Act
+        Map<String, Object> result = bankRateReadService.getRatesForBank("readalpha");
+
+        // Assert
+        assertEquals(LocalDate.of(2025, 12, 1), result.get("month"));
+
+        @SuppressWarnings("unchecked")
+        List<BankRateRowDto> rows = (List<BankRateRowDto>) result.get("rows");
+        assertEquals(2, rows.size());
+
+        assertEquals("VARIABLE_3M", rows.get(0).term());
+        assertEquals(3.80, rows.get(0).currentRate());
+        assertEquals(3.60, rows.get(0).avgRate());
+
+        assertEquals("FIXED_2Y", rows.get(1).term());
+        assertEquals(3.40, rows.get(1).currentRate());
+        assertNull(rows.get(1).avgRate());
+    }
+
+}
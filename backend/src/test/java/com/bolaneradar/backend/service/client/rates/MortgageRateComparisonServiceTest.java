@@ -0,0 +1,123 @@
+package com.bolaneradar.backend.service.client.rates;
+
+import com.bolaneradar.backend.dto.api.MortgageRateComparisonDto;
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.CurrentRate;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.repository.CurrentRateRepository;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Enhetstester för MortgageRateComparisonService.
+ * <p>
+ * Fokus:
+ *  - Tabellen byggs i minnet från en query mot current_rates
+ *  - Alla flikar hämtas med samma två queries
+ */
+@ExtendWith(MockitoExtension.class)
+class MortgageRateComparisonServiceTest {
+
+    @Mock
+    BankRepository bankRepository;
+
+    @Mock
+    CurrentRateRepository currentRateRepository;
+
+    @Mock
+    RateColumnStore rateColumnStore;
+
+    @InjectMocks
+    MortgageRateComparisonService service;
+
+    Bank swedbank;
+    Bank nordea;
+
+    @BeforeEach
+    void setUp() {
+        swedbank = new Bank("Swedbank");
+        swedbank.setId(1L);
+        nordea = new Bank("Nordea");
+        nordea.setId(2L);
+        when(bankRepository.findAll()).thenReturn(List.of(swedbank, nordea));
+    }
+
+    private static CurrentRate current(Bank bank, MortgageTerm term, RateType type, String percent) {
+        return new CurrentRate(new MortgageRate(bank, term, type, new BigDecimal(percent), LocalDate.of(2025, 12, 1)));
+    }
+
+    // ============================================================
+    // getComparisonDataFull()
+    // ============================================================
+    @Test
+    void getComparisonDataFull_buildsRowPerBank_fromOneQuery() {
+        // Arrange
+        when(currentRateRepository.findByTerm(MortgageTerm.FIXED_1Y)).thenReturn(List.of(
+                current(swedbank, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.50"),
+                current(swedbank, MortgageTerm.FIXED_1Y, RateType.AVERAGERATE, "3.20")
+        ));
+
+        // Act
+        Map<String, Object> result = service.getComparisonDataFull("1y");
+
+        // Assert
+        List<MortgageRateComparisonDto> rows = rows(result);
+        assertEquals(2, rows.size());
+        assertEquals(3.50, rows.get(0).listRate());
+        assertEquals(3.20, rows.get(0).avgRate());
+        assertNull(rows.get(1).listRate());
+        assertEquals(LocalDate.of(2025, 12, 1), result.get("averageMonth"));
+        verify(currentRateRepository).findByTerm(MortgageTerm.FIXED_1Y);
+    }
+
+    // ============================================================
+    // getComparisonDataAllTerms()
+    // ============================================================
+    @Test
+    void getComparisonDataAllTerms_returnsEveryTab_withTwoQueries() {
+        // Arrange
+        when(currentRateRepository.findByTermIn(anyCollection())).thenReturn(List.of(
+                current(swedbank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10"),
+                current(nordea, MortgageTerm.FIXED_5Y, RateType.LISTRATE, "3.60")
+        ));
+
+        // Act
+        Map<String, Map<String, Object>> result = service.getComparisonDataAllTerms();
+
+        // Assert
+        assertEquals(List.of("3m", "1y", "2y", "3y", "4y", "5y", "7y", "10y"), List.copyOf(result.keySet()));
+        assertEquals(4.10, rows(result.get("3m")).get(0).listRate());
+        assertEquals(3.60, rows(result.get("5y")).get(1).listRate());
+        assertTrue(rows(result.get("1y")).stream().allMatch(r -> r.listRate() == null));
+
+        verify(bankRepository, times(1)).findAll();
+        verify(currentRateRepository, times(1)).findByTermIn(anyCollection());
+        verifyNoMoreInteractions(currentRateRepository);
+    }
+
+    // ============================================================
+    // Hjälpmetoder
+    // ============================================================
+
+    @SuppressWarnings("unchecked")
+    private static List<MortgageRateComparisonDto> rows(Map<String, Object> table) {
+        return (List<MortgageRateComparisonDto>) table.get("rows");
+    }
+}
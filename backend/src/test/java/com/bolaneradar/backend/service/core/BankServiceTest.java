@@ -2,6 +2,7 @@ package com.bolaneradar.backend.service.core;
 
 import com.bolaneradar.backend.entity.core.Bank;
 import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -27,6 +28,9 @@ class BankServiceTest {
     @Mock
     BankRepository bankRepository;
 
+    @Mock
+    RateColumnStore rateColumnStore;
+
     @InjectMocks
     BankService bankService;
 
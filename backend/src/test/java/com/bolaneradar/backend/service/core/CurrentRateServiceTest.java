@@ -0,0 +1,152 @@
+package com.bolaneradar.backend.service.core;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.CurrentRate;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.CurrentRateRepository;
+import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.bolaneradar.backend.support.TestRates.rate;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Enhetstester för CurrentRateService.
+ * <p>
+ * Fokus:
+ *  - Nyare historikrad uppdaterar current_rates, äldre ignoreras
+ *  - Ny serie skapar en rad
+ *  - Kontrollen hittar saknade, inaktuella och föräldralösa rader
+ */
+@ExtendWith(MockitoExtension.class)
+class CurrentRateServiceTest {
+
+    @Mock
+    MortgageRateRepository rateRepository;
+
+    @Mock
+    CurrentRateRepository currentRateRepository;
+
+    @Mock
+    RateColumnStore rateColumnStore;
+
+    @InjectMocks
+    CurrentRateService currentRateService;
+
+    Bank bank;
+
+    @BeforeEach
+    void setUp() {
+        bank = new Bank("Swedbank");
+        bank.setId(1L);
+    }
+
+    // ============================================================
+    // saveRates()
+    // ============================================================
+    @Test
+    void saveRates_newerRate_updatesCurrentRow() {
+        // Arrange
+        CurrentRate existing = new CurrentRate(rate(bank, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.50", "2025-11-01"));
+        when(currentRateRepository.findByBankIdIn(Set.of(1L))).thenReturn(List.of(existing));
+
+        List<MortgageRate> rates = List.of(rate(bank, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.40", "2025-12-01"));
+
+        // Act
+        currentRateService.saveRates(rates);
+
+        // Assert
+        verify(rateRepository).saveAll(rates);
+        assertEquals(0, new BigDecimal("3.40").compareTo(existing.getRatePercent()));
+        assertEquals(LocalDate.of(2025, 12, 1), existing.getEffectiveDate());
+        assertEquals(List.of(existing), savedCurrentRows());
+    }
+
+    @Test
+    void saveRates_olderRate_leavesCurrentRowUnchanged() {
+        // Arrange
+        CurrentRate existing = new CurrentRate(rate(bank, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.50", "2025-12-01"));
+        when(currentRateRepository.findByBankIdIn(Set.of(1L))).thenReturn(List.of(existing));
+
+        // Act
+        currentRateService.saveRates(List.of(rate(bank, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.90", "2025-06-01")));
+
+        // Assert
+        assertEquals(0, new BigDecimal("3.50").compareTo(existing.getRatePercent()));
+        assertTrue(savedCurrentRows().isEmpty());
+    }
+
+    @Test
+    void saveRates_newSeries_createsCurrentRow() {
+        // Arrange
+        when(currentRateRepository.findByBankIdIn(Set.of(1L))).thenReturn(List.of());
+
+        // Act
+        currentRateService.saveRates(List.of(rate(bank, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, "3.80", "2025-12-01")));
+
+        // Assert
+        List<CurrentRate> saved = savedCurrentRows();
+        assertEquals(1, saved.size());
+        assertEquals(MortgageTerm.VARIABLE_3M, saved.getFirst().getTerm());
+        assertEquals(RateType.AVERAGERATE, saved.getFirst().getRateType());
+        assertSame(bank, saved.getFirst().getBank());
+    }
+
+    // ============================================================
+    // check()
+    // ============================================================
+    @Test
+    void check_reportsMissingStaleAndOrphanedSeries() {
+        // Arrange
+        when(rateRepository.findLatestRatesByType(RateType.LISTRATE)).thenReturn(List.of(
+                rate(bank, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.40", "2025-12-01"),
+                rate(bank, MortgageTerm.FIXED_2Y, RateType.LISTRATE, "3.30", "2025-12-01")
+        ));
+        when(rateRepository.findLatestRatesByType(RateType.AVERAGERATE)).thenReturn(List.of());
+
+        when(currentRateRepository.findAll()).thenReturn(List.of(
+                // Inaktuell: äldre värde än historiken
+                new CurrentRate(rate(bank, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.50", "2025-11-01")),
+                // Utan historik
+                new CurrentRate(rate(bank, MortgageTerm.FIXED_5Y, RateType.LISTRATE, "3.10", "2025-12-01"))
+        ));
+
+        // Act
+        CurrentRateCheckResult result = currentRateService.check();
+
+        // Assert
+        assertFalse(result.isConsistent());
+        assertEquals(List.of("Swedbank FIXED_2Y LISTRATE"), result.missing());
+        assertEquals(List.of("Swedbank FIXED_1Y LISTRATE"), result.stale());
+        assertEquals(List.of("Swedbank FIXED_5Y LISTRATE"), result.orphaned());
+    }
+
+    // ============================================================
+    // Hjälpmetoder
+    // ============================================================
+
+    @SuppressWarnings("unchecked")
+    private List<CurrentRate> savedCurrentRows() {
+        ArgumentCaptor<Iterable<CurrentRate>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(currentRateRepository).saveAll(captor.capture());
+        List<CurrentRate> saved = new ArrayList<>();
+        captor.getValue().forEach(saved::add);
+        return saved;
+    }
+}
@@ -0,0 +1,315 @@
+package com.bolaneradar.backend.service.core.readmodel;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.repository.CurrentRateRepository;
+import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.service.admin.RateUpdateLogService;
+import com.bolaneradar.backend.service.client.banks.BankHistoryService;
+import com.bolaneradar.backend.service.client.banks.BankRateReadService;
+import com.bolaneradar.backend.service.client.rates.MortgageRateComparisonService;
+import com.bolaneradar.backend.service.client.rates.RateUpdatePublicService;
+import com.bolaneradar.backend.service.client.smartrate.SmartRateMarketDataServiceImpl;
+import com.bolaneradar.backend.service.core.CurrentRateService;
+import com.bolaneradar.backend.service.core.RateDataGeneration;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static com.bolaneradar.backend.support.TestRates.changed;
+import static com.bolaneradar.backend.support.TestRates.percent;
+import static com.bolaneradar.backend.support.TestRates.rate;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integrationstester för RateColumnStore mot H2 (läsmodellen aktiverad).
+ * <p>
+ * Fokus:
+ *  - Alla publika lässervices ger samma svar från minnet som via JPA
+ *  - Svaren från minnet kräver inga SQL-satser
+ *  - Omladdning av en bank kopierar övriga bankers rader
+ *  - Senaste rad per serie: senaste datum, vid lika datum högst id
+ *  - Ny databasversion (skrivning från annan process) laddar om allt
+ *    i bakgrunden; egna commits räknas som inlästa
+ * <p>
+ * Databasens version läses bara när testet ber om det (långt
+ * pollintervall), så att läsningar från minnet inte ger SQL-satser.
+ */
+@SpringBootTest(properties = {
+        "app.read-model.enabled=true",
+        "app.data-version.poll-ms=600000",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@Transactional
+class RateColumnStoreIT {
+
+    @Autowired
+    RateColumnStore store;
+
+    @Autowired
+    CurrentRateService currentRateService;
+
+    @Autowired
+    RateDataGeneration rateDataGeneration;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    BankRepository bankRepository;
+
+    @Autowired
+    MortgageRateRepository rateRepository;
+
+    @Autowired
+    CurrentRateRepository currentRateRepository;
+
+    @Autowired
+    MortgageRateComparisonService comparisonService;
+
+    @Autowired
+    BankRateReadService bankRateReadService;
+
+    @Autowired
+    BankHistoryService bankHistoryService;
+
+    @Autowired
+    RateUpdatePublicService rateUpdatePublicService;
+
+    @Autowired
+    RateUpdateLogService rateUpdateLogService;
+
+    @Autowired
+    SmartRateMarketDataServiceImpl marketDataService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    // Omladdningar i bakgrunden körs av testet
+    List<Runnable> reloads;
+
+    Bank alpha;
+    Bank beta;
+    LocalDate thisMonth;
+
+    @BeforeEach
+    void insertHistory() {
+        alpha = bankRepository.save(new Bank("ColumnAlpha", null));
+        beta = bankRepository.save(new Bank("ColumnBeta", null));
+        thisMonth = LocalDate.now().withDayOfMonth(1);
+
+        List<MortgageRate> rates = new ArrayList<>();
+        for (int i = 11; i >= 0; i--) {
+            LocalDate month = thisMonth.minusMonths(i);
+            rates.add(rate(alpha, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, percent(380 - i), month));
+            rates.add(rate(beta, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, percent(370 + i), month));
+            rates.add(rate(alpha, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, percent(400 - (i / 3) * 5), month));
+            rates.add(rate(beta, MortgageTerm.FIXED_2Y, RateType.LISTRATE, percent(350 + (i / 4) * 10), month.plusDays(2)));
+        }
+        // Korrigerad snittränta samma månad
+        rates.add(rate(alpha, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, percent(384), thisMonth.plusDays(3)));
+        // Äldre historik utanför standardfönstret
+        rates.add(rate(alpha, MortgageTerm.FIXED_5Y, RateType.AVERAGERATE, percent(450), thisMonth.minusYears(3)));
+        // Intervall som började för länge sedan men fortfarande gäller
+        MortgageRate interval = rate(beta, MortgageTerm.FIXED_1Y, RateType.LISTRATE, percent(360), thisMonth.minusYears(2));
+        interval.setLastSeenDate(thisMonth.minusMonths(2));
+        rates.add(interval);
+        rates.add(rate(beta, MortgageTerm.FIXED_1Y, RateType.LISTRATE, percent(340), thisMonth.minusMonths(1)));
+
+        rates.forEach(r -> changed(r, "-0.05", r.getEffectiveDate()));
+
+        currentRateService.saveRates(rates);
+        rateRepository.flush();
+
+        store.rebuild();
+
+        reloads = new ArrayList<>();
+        ReflectionTestUtils.setField(store, "reloadExecutor", (Executor) reloads::add);
+    }
+
+    /**
+     * Kör registrerade beforeCommit/afterCommit i testets transaktion
+     * (som rullas tillbaka), som vid en riktig commit.
+     */
+    private static void commitSynchronizations() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(s -> s.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    // =====================================================
+    // TEST 1: samma svar som JPA, inga SQL-satser
+    // =====================================================
+    @Test
+    void publicReads_matchJpaPath_withoutStatements() throws Exception {
+
+        RateColumnStore jpa = new RateColumnStore(rateRepository, bankRepository, rateDataGeneration, false);
+        MortgageRateComparisonService jpaComparison =
+                new MortgageRateComparisonService(bankRepository, currentRateRepository, jpa);
+        BankRateReadService jpaBankRates =
+                new BankRateReadService(bankRepository, currentRateRepository, jpa);
+        BankHistoryService jpaHistory = new BankHistoryService(bankRepository, rateRepository, jpa);
+        RateUpdatePublicService jpaUpdates = new RateUpdatePublicService(rateRepository, jpa, rateUpdateLogService);
+        SmartRateMarketDataServiceImpl jpaMarket =
+                new SmartRateMarketDataServiceImpl(rateRepository, currentRateRepository, jpa);
+
+        List<Object> expected = answers(jpaComparison, jpaBankRates, jpaHistory, jpaUpdates, jpaMarket);
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        List<Object> actual = answers(
+                comparisonService, bankRateReadService, bankHistoryService, rateUpdatePublicService, marketDataService);
+
+        assertEquals(0, stats.getPrepareStatementCount());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(json(expected.get(i)), json(actual.get(i)), "svar " + i);
+        }
+    }
+
+    // =====================================================
+    // TEST 2: omladdning av en bank
+    // =====================================================
+    @Test
+    void refreshBanks_reloadsGivenBank_andCopiesOthers() {
+
+        RateColumns before = store.columns();
+
+        rateRepository.saveAndFlush(rate(alpha, MortgageTerm.FIXED_3Y, RateType.LISTRATE, percent(310), thisMonth.plusDays(4)));
+        // Samma datum som befintlig listränta → senast sparad (högst id) vinner
+        rateRepository.saveAndFlush(rate(alpha, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, percent(399), thisMonth));
+        store.refreshBanks(List.of(alpha.getId()));
+
+        RateColumns after = store.columns();
+        assertEquals(before.generation() + 1, after.generation());
+        assertEquals(before.rowCount() + 2, after.rowCount());
+
+        int alphaIndex = after.bankIndex("columnalpha");
+        assertEquals(310, after.rateBps(after.latest(alphaIndex, MortgageTerm.FIXED_3Y, RateType.LISTRATE)));
+        assertEquals(399, after.rateBps(after.latest(alphaIndex, MortgageTerm.VARIABLE_3M, RateType.LISTRATE)));
+
+        int betaIndex = after.bankIndex("ColumnBeta");
+        assertEquals(
+                before.rateBps(before.latest(before.bankIndex("ColumnBeta"), MortgageTerm.FIXED_2Y, RateType.LISTRATE)),
+                after.rateBps(after.latest(betaIndex, MortgageTerm.FIXED_2Y, RateType.LISTRATE)));
+    }
+
+    // =====================================================
+    // TEST 3: skrivning från annan process
+    // =====================================================
+    @Test
+    void databaseVersionChange_rebuildsInBackground() {
+
+        RateColumns before = store.columns();
+
+        // Som en skrapning i en separat JVM: ny rad och ny version, ingen lokal omladdning
+        rateRepository.saveAndFlush(rate(beta, MortgageTerm.FIXED_5Y, RateType.LISTRATE, percent(420), thisMonth.plusDays(5)));
+        jdbcTemplate.update("UPDATE rate_data_version SET version = version + 1");
+        assertSame(before, store.columns());
+
+        // Pollintervallet har gått ut → omladdning startas, läsare får den gamla bilden
+        rateDataGeneration.refreshDatabaseVersion();
+        assertSame(before, store.columns());
+        assertSame(before, store.columns());
+        assertEquals(1, reloads.size());
+
+        reloads.removeFirst().run();
+
+        RateColumns after = store.columns();
+        assertEquals(before.rowCount() + 1, after.rowCount());
+        int betaIndex = after.bankIndex("ColumnBeta");
+        assertEquals(420, after.rateBps(after.latest(betaIndex, MortgageTerm.FIXED_5Y, RateType.LISTRATE)));
+        assertSame(after, store.columns());
+        assertTrue(reloads.isEmpty());
+    }
+
+    // =====================================================
+    // TEST 4: egen commit → riktad omladdning räknas som inläst
+    // =====================================================
+    @Test
+    void ownCommit_marksWrittenVersionAsLoaded() {
+
+        RateColumns before = store.columns();
+
+        MortgageRate added = rateRepository.saveAndFlush(
+                rate(alpha, MortgageTerm.FIXED_3Y, RateType.LISTRATE, percent(305), thisMonth.plusDays(6)));
+        store.refreshAfterCommit(List.of(alpha.getId()));
+        commitSynchronizations();
+
+        // Även saveRates i insertHistory() committas här: två egna versioner i följd
+        RateColumns after = store.columns();
+        assertEquals(before.rowCount() + 1, after.rowCount());
+        assertTrue(reloads.isEmpty());
+
+        // Versionen som commiten skrev är redan inläst → ingen full omladdning
+        rateDataGeneration.refreshDatabaseVersion();
+        assertSame(after, store.columns());
+        assertTrue(reloads.isEmpty(), "ingen omladdning för rad " + added.getId());
+    }
+
+    // =====================================================
+    // TEST 5: okänd bank → samma fel som JPA-vägen
+    // =====================================================
+    @Test
+    void unknownBank_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> bankRateReadService.getRatesForBank("NoSuchBank"));
+        assertThrows(IllegalArgumentException.class, () -> bankHistoryService.getAvailableTerms("NoSuchBank"));
+    }
+
+    // ============================================================
+    // Hjälpmetoder
+    // ============================================================
+
+    private List<Object> answers(
+            MortgageRateComparisonService comparison,
+            BankRateReadService bankRates,
+            BankHistoryService history,
+            RateUpdatePublicService updates,
+            SmartRateMarketDataServiceImpl market
+    ) {
+        List<Object> answers = new ArrayList<>();
+        answers.add(comparison.getComparisonDataAllTerms());
+        answers.add(comparison.getComparisonDataFull("2y"));
+        answers.add(bankRates.getRatesForBank("columnalpha"));
+        answers.add(bankRates.getRatesForBank("ColumnBeta"));
+        answers.add(history.getAvailableTerms("ColumnAlpha"));
+        answers.add(history.getHistory("ColumnAlpha", null, "all"));
+        answers.add(history.getHistoricalAverageRates("ColumnAlpha", MortgageTerm.FIXED_5Y, "60"));
+        answers.add(updates.getRateUpdates());
+        answers.add(market.getBankAverageRate(alpha.getId(), MortgageTerm.VARIABLE_3M));
+        answers.add(market.getMarketBestRate(MortgageTerm.VARIABLE_3M));
+        answers.add(market.getMarketMedianRate(MortgageTerm.VARIABLE_3M));
+        answers.add(market.getHistoricVariableRate(alpha.getId(), thisMonth));
+        answers.add(market.getMarketSnapshot(beta.getId(), Set.of(MortgageTerm.VARIABLE_3M, MortgageTerm.FIXED_2Y)));
+        return answers;
+    }
+
+    private String json(Object value) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(value);
+    }
+}
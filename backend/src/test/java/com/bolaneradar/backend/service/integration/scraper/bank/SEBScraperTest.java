@@ -0,0 +1,126 @@
+package com.bolaneradar.backend.service.integration.scraper.bank;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.service.integration.scraper.support.BrowserSessionPool;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Enhetstester för SEBScraper mot en lokal HTTP-server.
+ * <p>
+ * Fokus:
+ *  - Iframes läses via HTTP + Jsoup utan webbläsare
+ *  - Webbläsaren används endast för iframes som saknar tabell i HTML
+ */
+class SEBScraperTest {
+
+    HttpServer server;
+    String baseUrl;
+    volatile String listIframe;
+
+    final List<String> browserUrls = new CopyOnWriteArrayList<>();
+
+    /** Webbläsare som bara registrerar anrop. */
+    final BrowserSessionPool browser = new BrowserSessionPool() {
+        @Override
+        public <T> T withPage(String url, Duration timeout, PageAction<T> action) {
+            browserUrls.add(url);
+            throw new IllegalStateException("Ingen webbläsare i test");
+        }
+    };
+
+    @BeforeEach
+    void startServer() throws IOException {
+        listIframe = """
+                <html><body><table><tbody>
+                <tr><td>3 mån</td><td>4,10 %</td></tr>
+                <tr><td>1 år</td><td>3,95 %</td></tr>
+                </tbody></table></body></html>""";
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        respond("/bolanerantor", """
+                <html><body>
+                <iframe src="/mortgage-list"></iframe>
+                <iframe src="/mortgage-average"></iframe>
+                </body></html>""");
+        server.createContext("/mortgage-list", exchange -> write(exchange, listIframe));
+        respond("/mortgage-average", """
+                <html><body><p>Snitträntor för september 2025</p><table>
+                <tr><td>3 mån</td><td>3,80 %</td></tr>
+                </table></body></html>""");
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private void respond(String path, String html) {
+        server.createContext(path, exchange -> write(exchange, html));
+    }
+
+    private static void write(com.sun.net.httpserver.HttpExchange exchange, String html) throws IOException {
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private SEBScraper scraper() {
+        return new SEBScraper(new ScraperHttpClient(10_000, 2), browser, baseUrl + "/bolanerantor");
+    }
+
+    // ============================================================
+    // Statisk HTML → ingen webbläsare
+    // ============================================================
+    @Test
+    void staticIframes_areParsedWithoutBrowser() {
+        List<MortgageRate> rates = scraper().scrapeRates(new Bank("SEB", "https://seb.se"));
+
+        assertTrue(browserUrls.isEmpty());
+        assertEquals(3, rates.size());
+
+        MortgageRate avg = rates.stream()
+                .filter(r -> r.getRateType() == RateType.AVERAGERATE)
+                .findFirst().orElseThrow();
+        assertEquals(MortgageTerm.VARIABLE_3M, avg.getTerm());
+        assertEquals(0, new BigDecimal("3.80").compareTo(avg.getRatePercent()));
+        assertEquals(LocalDate.of(2025, 9, 1), avg.getEffectiveDate());
+    }
+
+    // ============================================================
+    // Tabell renderas med JavaScript → webbläsare för just den iframen
+    // ============================================================
+    @Test
+    void iframeWithoutTable_fallsBackToBrowser() {
+        listIframe = "<html><body><div id=\"app\"></div></body></html>";
+
+        List<MortgageRate> rates = scraper().scrapeRates(new Bank("SEB", "https://seb.se"));
+
+        assertEquals(List.of(baseUrl + "/mortgage-list"), browserUrls);
+        assertEquals(1, rates.size());
+        assertEquals(RateType.AVERAGERATE, rates.get(0).getRateType());
+    }
+}
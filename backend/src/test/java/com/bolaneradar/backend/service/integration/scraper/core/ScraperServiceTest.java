@@ -0,0 +1,513 @@
+package com.bolaneradar.backend.service.integration.scraper.core;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import com.bolaneradar.backend.entity.enums.ScrapeOutcome;
+import com.bolaneradar.backend.repository.BankRepository;
+import com.bolaneradar.backend.repository.CurrentRateRepository;
+import com.bolaneradar.backend.repository.MortgageRateRepository;
+import com.bolaneradar.backend.repository.projection.AverageRateKeyRow;
+import com.bolaneradar.backend.service.admin.RateUpdateLogService;
+import com.bolaneradar.backend.service.core.CurrentRateService;
+import com.bolaneradar.backend.service.integration.scraper.api.BankScraper;
+import com.bolaneradar.backend.service.integration.scraper.support.FetchCache;
+import com.bolaneradar.backend.service.integration.scraper.support.ScraperHttpClient;
+import com.bolaneradar.backend.service.core.readmodel.RateColumnStore;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bolaneradar.backend.support.TestRates.changed;
+import static com.bolaneradar.backend.support.TestRates.rate;
+import static com.bolaneradar.backend.support.TestRates.withId;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Enhetstester för ScraperService.
+ * <p>
+ * Fokus:
+ *  - Batch-körning (sekventiellt och parallellt)
+ *  - Schemaläggningsregeln att SEB körs sist
+ *  - Tidsmätning i ScrapeBatchResult
+ *  - Ändringskontroll mot förhämtad historik (runScrapeForBank)
+ *  - Intervallagring av listräntor
+ *  - Kortslutning när bankens sidor är oförändrade (fetch-cache)
+ *  - Tidsgränser per bank och batch (TIMEOUT, inget sparas)
+ */
+@ExtendWith(MockitoExtension.class)
+class ScraperServiceTest {
+
+    @Mock
+    BankRepository bankRepository;
+
+    @Mock
+    MortgageRateRepository mortgageRateRepository;
+
+    @Mock
+    RateUpdateLogService rateUpdateLogService;
+
+    @Mock
+    CurrentRateRepository currentRateRepository;
+
+    @Mock
+    RateColumnStore rateColumnStore;
+
+    final List<String> events = new CopyOnWriteArrayList<>();
+
+    Bank nordea;
+    Bank swedbank;
+    Bank seb;
+
+    @BeforeEach
+    void setUp() {
+        nordea = new Bank("Nordea", "https://www.nordea.se/privat/produkter/bolan/bolanerantor");
+        swedbank = new Bank("Swedbank", "https://www.swedbank.se/privat/boende-och-bolan/bolanerantor");
+        seb = new Bank("SEB", "https://seb.se/privat/bolan/bolanerantor");
+
+        // SEB först i listan – ska ändå köras sist
+        lenient().when(bankRepository.findAll()).thenReturn(List.of(seb, nordea, swedbank));
+        lenient().when(bankRepository.findByNameIgnoreCase(anyString())).thenAnswer(inv -> {
+            String name = inv.getArgument(0);
+            return List.of(nordea, swedbank, seb).stream()
+                    .filter(b -> b.getName().equalsIgnoreCase(name))
+                    .findFirst();
+        });
+    }
+
+    private ScraperService service(boolean parallel, BankScraper... scrapers) {
+        ScraperService service = new ScraperService(
+                bankRepository,
+                mortgageRateRepository,
+                List.of(scrapers),
+                rateUpdateLogService,
+                Optional.empty(),
+                new FetchCache(new ScraperHttpClient(10_000, 2), false, Path.of("unused"), 7),
+                new CurrentRateService(
+                        mortgageRateRepository, currentRateRepository, rateColumnStore)
+        );
+        ReflectionTestUtils.setField(service, "parallelEnabled", parallel);
+        ReflectionTestUtils.setField(service, "maxConcurrency", 4);
+        ReflectionTestUtils.setField(service, "perHostLimit", 1);
+        ReflectionTestUtils.setField(service, "storageMode", RateStorageMode.DAILY);
+        return service;
+    }
+
+    // ============================================================
+    // scrapeAllBanks() – parallellt läge
+    // ============================================================
+    @Test
+    void scrapeAllBanks_parallel_runsOtherBanksConcurrentlyAndSebLast() {
+        ScraperService service = service(true,
+                new FakeScraper("Nordea", 300, false),
+                new FakeScraper("Swedbank", 300, false),
+                new FakeScraper("SEB", 50, false));
+
+        ScrapeBatchResult result = service.scrapeAllBanks();
+
+        assertEquals(3, result.successfulBanks());
+        assertEquals(0, result.failedBanks());
+        assertEquals(3, result.bankTimings().size());
+
+        // Nordea och Swedbank överlappar
+        assertTrue(events.indexOf("start:Swedbank") < events.indexOf("end:Nordea")
+                || events.indexOf("start:Nordea") < events.indexOf("end:Swedbank"));
+
+        // SEB startar först när båda andra är klara
+        int sebStart = events.indexOf("start:SEB");
+        assertTrue(sebStart > events.indexOf("end:Nordea"));
+        assertTrue(sebStart > events.indexOf("end:Swedbank"));
+
+        // Parallell väggtid understiger den sekventiella summan
+        assertTrue(result.wallClockMs() < result.totalBankTimeMs());
+        assertTrue(result.criticalPathMs() >= 300);
+    }
+
+    // ============================================================
+    // scrapeAllBanks() – sekventiellt läge (standard)
+    // ============================================================
+    @Test
+    void scrapeAllBanks_sequential_countsFailuresAndKeepsSebLast() {
+        ScraperService service = service(false,
+                new FakeScraper("Nordea", 0, true),
+                new FakeScraper("Swedbank", 0, false),
+                new FakeScraper("SEB", 0, false));
+
+        ScrapeBatchResult result = service.scrapeAllBanks();
+
+        assertEquals(2, result.successfulBanks());
+        assertEquals(1, result.failedBanks());
+        assertEquals("SEB", result.bankTimings().getLast().bankName());
+        assertFalse(result.bankTimings().stream()
+                .filter(t -> t.bankName().equals("Nordea"))
+                .findFirst()
+                .orElseThrow()
+                .success());
+    }
+
+    // ============================================================
+    // runScrapeForBank() – ändringskontroll
+    // ============================================================
+    @Test
+    void runScrapeForBank_usesOnePrefetchPerBank_andSetsRateChange() {
+        nordea.setId(1L);
+        LocalDate today = LocalDate.now();
+        LocalDate lastMonth = today.minusMonths(1).withDayOfMonth(1);
+
+        MortgageRate prev3m = withId(changed(rate(nordea, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", today.minusDays(7)),
+                "-0.10", today.minusDays(30)), 10L);
+        MortgageRate prev1y = withId(changed(rate(nordea, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.90", today.minusDays(7)),
+                "0.05", today.minusDays(60)), 11L);
+
+        when(mortgageRateRepository.findLatestRatesForBank(1L)).thenReturn(List.of(prev3m, prev1y));
+        when(mortgageRateRepository.findAverageRateKeys(1L, Set.of(lastMonth)))
+                .thenReturn(List.of(averageKey(MortgageTerm.VARIABLE_3M, lastMonth, "4.05")));
+
+        MortgageRate changed = rate(nordea, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.25", today);
+        MortgageRate unchanged = rate(nordea, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.90", today);
+        MortgageRate firstEver = rate(nordea, MortgageTerm.FIXED_2Y, RateType.LISTRATE, "3.80", today);
+        MortgageRate duplicateAvg = rate(nordea, MortgageTerm.VARIABLE_3M, RateType.AVERAGERATE, "4.050", lastMonth);
+        MortgageRate newAvg = rate(nordea, MortgageTerm.FIXED_1Y, RateType.AVERAGERATE, "3.70", lastMonth);
+
+        ScraperService service = service(false,
+                new StaticScraper("Nordea", List.of(changed, unchanged, firstEver, duplicateAvg, newAvg)));
+
+        ScraperResult result = service.runScrapeForBank("Nordea");
+
+        assertTrue(result.success());
+        assertEquals(4, result.importedCount());
+
+        // Ny ränta → diff mot senaste raden
+        assertEquals(0, new BigDecimal("0.15").compareTo(changed.getRateChange()));
+        assertEquals(today, changed.getLastChangedDate());
+
+        // Oförändrad → ärver senaste ändring
+        assertEquals(0, new BigDecimal("0.05").compareTo(unchanged.getRateChange()));
+        assertEquals(today.minusDays(60), unchanged.getLastChangedDate());
+
+        // Ingen historik → lämnas orörd
+        assertNull(firstEver.getRateChange());
+
+        // Exakt samma snittränta hoppas över, oavsett skala
+        verify(mortgageRateRepository).saveAll(List.of(changed, unchanged, firstEver, newAvg));
+
+        // current_rates uppdateras i samma anrop: en uppslagning för banken
+        verify(currentRateRepository).findByBankIdIn(Set.of(1L));
+        verify(currentRateRepository).saveAll(any());
+
+        // Inga frågor per ränta
+        verify(mortgageRateRepository, times(1)).findLatestRatesForBank(1L);
+        verify(mortgageRateRepository, never())
+                .findByBankAndTermAndRateTypeOrderByEffectiveDateDesc(any(), any(), any());
+    }
+
+    @Test
+    void runScrapeForBank_sameLatestDateTwice_usesHighestId() {
+        nordea.setId(1L);
+        LocalDate today = LocalDate.now();
+        LocalDate lastWeek = today.minusDays(7);
+
+        MortgageRate older = withId(rate(nordea, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.00", lastWeek), 20L);
+        MortgageRate newer = withId(changed(rate(nordea, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.20", lastWeek),
+                "0.20", lastWeek), 21L);
+
+        when(mortgageRateRepository.findLatestRatesForBank(1L)).thenReturn(List.of(newer, older));
+
+        MortgageRate scraped = rate(nordea, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.20", today);
+
+        service(false, new StaticScraper("Nordea", List.of(scraped))).runScrapeForBank("Nordea");
+
+        assertEquals(0, new BigDecimal("0.20").compareTo(scraped.getRateChange()));
+        assertEquals(lastWeek, scraped.getLastChangedDate());
+        verify(mortgageRateRepository, never()).findAverageRateKeys(any(), any());
+    }
+
+    // ============================================================
+    // runScrapeForBank() – intervallagring
+    // ============================================================
+    @Test
+    void runScrapeForBank_intervalMode_extendsUnchangedAndOpensNewOnChange() {
+        nordea.setId(1L);
+        LocalDate today = LocalDate.now();
+
+        MortgageRate open3m = withId(changed(rate(nordea, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", today.minusDays(20)),
+                null, today.minusDays(20)), 30L);
+        open3m.setLastSeenDate(today.minusDays(1));
+        MortgageRate open1y = withId(rate(nordea, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.90", today.minusDays(20)), 31L);
+        open1y.setLastSeenDate(today.minusDays(1));
+
+        when(mortgageRateRepository.findLatestRatesForBank(1L)).thenReturn(List.of(open3m, open1y));
+
+        MortgageRate unchanged = rate(nordea, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", today);
+        MortgageRate changed = rate(nordea, MortgageTerm.FIXED_1Y, RateType.LISTRATE, "3.80", today);
+
+        ScraperService service = service(false, new StaticScraper("Nordea", List.of(unchanged, changed)));
+        ReflectionTestUtils.setField(service, "storageMode", RateStorageMode.INTERVAL);
+
+        ScraperResult result = service.runScrapeForBank("Nordea");
+
+        assertTrue(result.success());
+
+        // Oförändrad → befintlig rad förlängs, ingen ny rad
+        assertEquals(today, open3m.getLastSeenDate());
+
+        // Ändrad → nytt intervall som börjar och slutar idag
+        assertEquals(today, changed.getLastSeenDate());
+        assertEquals(0, new BigDecimal("-0.10").compareTo(changed.getRateChange()));
+
+        // Ny rad och förlängd rad sparas var för sig; bara den nya räknas som importerad
+        verify(mortgageRateRepository).saveAll(List.of(changed));
+        verify(mortgageRateRepository).saveAll(List.of(open3m));
+        assertEquals(1, result.importedCount());
+    }
+
+    @Test
+    void runScrapeForBank_intervalMode_sameDayRerun_savesNothing() {
+        nordea.setId(1L);
+        LocalDate today = LocalDate.now();
+
+        MortgageRate open3m = withId(changed(rate(nordea, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", today.minusDays(20)),
+                null, today.minusDays(20)), 30L);
+        open3m.setLastSeenDate(today);
+
+        when(mortgageRateRepository.findLatestRatesForBank(1L)).thenReturn(List.of(open3m));
+
+        MortgageRate unchanged = rate(nordea, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", today);
+
+        ScraperService service = service(false, new StaticScraper("Nordea", List.of(unchanged)));
+        ReflectionTestUtils.setField(service, "storageMode", RateStorageMode.INTERVAL);
+
+        ScraperResult result = service.runScrapeForBank("Nordea");
+
+        assertTrue(result.success());
+        assertEquals(0, result.importedCount());
+        verify(mortgageRateRepository, never()).saveAll(any());
+        verify(rateColumnStore, never()).refreshAfterCommit(any());
+    }
+
+    // ============================================================
+    // runScrapeForBank() – oförändrade sidor (fetch-cache)
+    // ============================================================
+    @Test
+    void runScrapeForBank_unchangedPages_skipsParsingAndExtendsIntervals(@TempDir Path tempDir) throws Exception {
+        nordea.setId(1L);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/rates", exchange -> {
+            byte[] bytes = "<html><body>4,10 %</body></html>".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+
+        try {
+            String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/rates";
+            AtomicInteger parses = new AtomicInteger();
+            ScraperHttpClient http = new ScraperHttpClient(10_000, 2);
+
+            BankScraper scraper = new StaticScraper("Nordea", List.of()) {
+                @Override
+                public List<MortgageRate> scrapeRates(Bank bank) throws IOException {
+                    parses.incrementAndGet();
+                    http.fetchDocument(url);
+                    return List.of(rate(nordea, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", LocalDate.now()));
+                }
+
+                @Override
+                public boolean supportsConditionalFetch() {
+                    return true;
+                }
+            };
+
+            ScraperService service = new ScraperService(
+                    bankRepository,
+                    mortgageRateRepository,
+                    List.of(scraper),
+                    rateUpdateLogService,
+                    Optional.empty(),
+                    new FetchCache(http, true, tempDir.resolve("cache.json"), 7),
+                    new CurrentRateService(
+                            mortgageRateRepository, currentRateRepository, rateColumnStore)
+            );
+            ReflectionTestUtils.setField(service, "storageMode", RateStorageMode.INTERVAL);
+
+            MortgageRate open = withId(
+                    rate(nordea, MortgageTerm.VARIABLE_3M, RateType.LISTRATE, "4.10", LocalDate.now().minusDays(10)), 40L);
+            open.setLastSeenDate(LocalDate.now().minusDays(1));
+            when(mortgageRateRepository.findLatestRatesForBank(1L)).thenReturn(List.of(open));
+
+            ScraperResult first = service.runScrapeForBank("Nordea");
+            assertFalse(first.shortCircuited());
+
+            open.setLastSeenDate(LocalDate.now().minusDays(1));
+            ScraperResult second = service.runScrapeForBank("Nordea");
+
+            assertTrue(second.success());
+            assertTrue(second.shortCircuited());
+            assertEquals(0, second.importedCount());
+            assertEquals(1, second.fetchStats().pagesUnchanged());
+            assertEquals(1, parses.get());
+            assertEquals(LocalDate.now(), open.getLastSeenDate());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // ============================================================
+    // Tidsgränser
+    // ============================================================
+    @Test
+    void runScrapeForBank_hungScraper_isCancelledAndLoggedAsTimeout() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        ScraperService service = service(false, new FakeScraper("Nordea", 10_000, false) {
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        });
+        ReflectionTestUtils.setField(service, "perBankDeadlineSeconds", 1L);
+
+        long start = System.currentTimeMillis();
+        ScraperResult result = service.runScrapeForBank("Nordea");
+
+        assertTrue(System.currentTimeMillis() - start < 5_000);
+        assertFalse(result.success());
+        assertEquals(ScrapeOutcome.TIMEOUT, result.outcome());
+        assertTrue(cancelled.get());
+        verify(mortgageRateRepository, never()).saveAll(any());
+        verify(rateUpdateLogService).logUpdate(eq(nordea), anyString(), eq(0),
+                eq(ScrapeOutcome.TIMEOUT), anyString(), anyLong());
+    }
+
+    @Test
+    void scrapeAllBanks_batchDeadline_marksRemainingBanksAsTimeout() {
+        ScraperService service = service(false,
+                new FakeScraper("Nordea", 10_000, false),
+                new FakeScraper("Swedbank", 0, false),
+                new FakeScraper("SEB", 0, false));
+        ReflectionTestUtils.setField(service, "batchDeadlineSeconds", 1L);
+
+        ScrapeBatchResult result = service.scrapeAllBanks();
+
+        assertTrue(result.wallClockMs() < 5_000);
+        assertEquals(0, result.successfulBanks());
+        assertEquals(3, result.failedBanks());
+        assertEquals(3, result.timedOutBanks());
+
+        // Banker efter gränsen startas aldrig
+        assertFalse(events.contains("start:Swedbank"));
+        assertFalse(events.contains("start:SEB"));
+        verify(mortgageRateRepository, never()).saveAll(any());
+    }
+
+    private AverageRateKeyRow averageKey(MortgageTerm term, LocalDate date, String percent) {
+        return new AverageRateKeyRow() {
+            @Override public MortgageTerm getTerm() { return term; }
+            @Override public LocalDate getEffectiveDate() { return date; }
+            @Override public BigDecimal getRatePercent() { return new BigDecimal(percent); }
+        };
+    }
+
+    /**
+     * Scraper som returnerar en fast lista räntor.
+     */
+    static class StaticScraper implements BankScraper {
+
+        private final String name;
+        private final List<MortgageRate> rates;
+
+        StaticScraper(String name, List<MortgageRate> rates) {
+            this.name = name;
+            this.rates = rates;
+        }
+
+        @Override
+        public String getBankName() {
+            return name;
+        }
+
+        @Override
+        public List<MortgageRate> scrapeRates(Bank bank) throws IOException {
+            return rates;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Enkel scraper som loggar start/slut och returnerar en listränta.
+     */
+    class FakeScraper implements BankScraper {
+
+        private final String name;
+        private final long delayMs;
+        private final boolean fail;
+
+        FakeScraper(String name, long delayMs, boolean fail) {
+            this.name = name;
+            this.delayMs = delayMs;
+            this.fail = fail;
+        }
+
+        @Override
+        public String getBankName() {
+            return name;
+        }
+
+        @Override
+        public List<MortgageRate> scrapeRates(Bank bank) {
+            events.add("start:" + name);
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add("end:" + name);
+
+            if (fail) {
+                throw new IllegalStateException("Sidan svarade inte");
+            }
+
+            return List.of(new MortgageRate(
+                    bank, MortgageTerm.VARIABLE_3M, RateType.LISTRATE,
+                    new BigDecimal("4.25"), LocalDate.now()
+            ));
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import com.sun.net.httpserver.HttpServer;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Enhetstester för FetchCache / FetchContext mot en lokal HTTP-server.
+ * <p>
+ * Fokus:
+ *  - Villkorade anrop (ETag → 304)
+ *  - Hash-jämförelse när servern saknar validatorer
+ *  - Persistens mellan körningar
+ *  - Ingen cache-uppdatering när banken misslyckas
+ */
+class FetchCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    HttpServer server;
+    String baseUrl;
+
+    final ScraperHttpClient http = new ScraperHttpClient(10_000, 2);
+
+    final AtomicReference<String> body = new AtomicReference<>("<html><body><table>4,10 %</table></body></html>");
+    final AtomicReference<String> etag = new AtomicReference<>("\"v1\"");
+    final AtomicInteger fullResponses = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/rates", exchange -> {
+            String currentTag = etag.get();
+            if (currentTag != null && currentTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+
+            byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            if (currentTag != null) {
+                exchange.getResponseHeaders().add("ETag", currentTag);
+            }
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+            fullResponses.incrementAndGet();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private FetchCache cache() {
+        return new FetchCache(http, true, tempDir.resolve("fetch-cache.json"), 7);
+    }
+
+    /**
+     * Simulerar en lyckad full skrapning av banken.
+     */
+    private void fullScrape(FetchCache cache) throws IOException {
+        try (FetchContext context = cache.open("Nordea")) {
+            assertFalse(context.allPagesUnchanged());
+            Document doc = http.fetchDocument(baseUrl + "/rates");
+            assertTrue(doc.text().contains("4,10"));
+            context.commitParsed();
+        }
+    }
+
+    // ============================================================
+    // ETag → 304 → banken hoppas över
+    // ============================================================
+    @Test
+    void unchangedPage_withEtag_isShortCircuitedWith304() throws IOException {
+        fullScrape(cache());
+
+        // Ny process: cachen läses från disk
+        FetchCache reloaded = cache();
+
+        try (FetchContext context = reloaded.open("Nordea")) {
+            assertTrue(context.allPagesUnchanged());
+
+            FetchStats stats = context.stats();
+            assertEquals(1, stats.pagesRequested());
+            assertEquals(1, stats.pagesNotModified());
+            assertEquals(0, stats.bytesDownloaded());
+            assertTrue(stats.bytesSaved() > 0);
+        }
+
+        assertEquals(1, fullResponses.get());
+    }
+
+    // ============================================================
+    // Ingen ETag → samma hash räknas som oförändrad
+    // ============================================================
+    @Test
+    void unchangedPage_withoutValidators_isDetectedByHash() throws IOException {
+        etag.set(null);
+        FetchCache cache = cache();
+        fullScrape(cache);
+
+        try (FetchContext context = cache.open("Nordea")) {
+            assertTrue(context.allPagesUnchanged());
+            assertEquals(1, context.stats().pagesUnchanged());
+        }
+    }
+
+    // ============================================================
+    // Ändrad sida → preflight-svaret återanvänds av scrapern
+    // ============================================================
+    @Test
+    void changedPage_isDownloadedOnceAndParsed() throws IOException {
+        FetchCache cache = cache();
+        fullScrape(cache);
+
+        body.set("<html><body><table>3,95 %</table></body></html>");
+        etag.set("\"v2\"");
+
+        try (FetchContext context = cache.open("Nordea")) {
+            assertFalse(context.allPagesUnchanged());
+
+            Document doc = http.fetchDocument(baseUrl + "/rates");
+            assertTrue(doc.text().contains("3,95"));
+            assertEquals(1, context.stats().pagesRequested());
+            context.commitParsed();
+        }
+
+        // En nedladdning för första körningen + en för den ändrade sidan
+        assertEquals(2, fullResponses.get());
+    }
+
+    // ============================================================
+    // Misslyckad bank → cachen rörs inte
+    // ============================================================
+    @Test
+    void failedScrape_doesNotUpdateCache() throws IOException {
+        FetchCache cache = cache();
+
+        try (FetchContext context = cache.open("Nordea")) {
+            http.fetchDocument(baseUrl + "/rates");
+            // Ingen commitParsed() – parsningen "misslyckades"
+        }
+
+        try (FetchContext context = cache.open("Nordea")) {
+            assertFalse(context.allPagesUnchanged());
+        }
+        assertFalse(Files.exists(tempDir.resolve("fetch-cache.json")));
+    }
+
+    // ============================================================
+    // Avstängd cache → ingen kontext på tråden
+    // ============================================================
+    @Test
+    void disabledCache_fallsBackToPlainFetch() throws IOException {
+        FetchCache disabled = new FetchCache(http, false, tempDir.resolve("unused.json"), 7);
+
+        try (FetchContext context = disabled.open("Nordea")) {
+            assertFalse(context.allPagesUnchanged());
+            assertNull(FetchContext.current());
+            assertNotNull(http.fetchDocument(baseUrl + "/rates"));
+            assertEquals(FetchStats.NONE, context.stats());
+        }
+    }
+}
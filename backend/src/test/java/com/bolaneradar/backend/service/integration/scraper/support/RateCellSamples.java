@@ -0,0 +1,37 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import java.util.List;
+
+/**
+ * Celltexter i den form bankernas tabeller har dem (efter Jsoup .text()).
+ * Delas av RateTextTokenizerTest och RateTextTokenizerBenchmark.
+ */
+final class RateCellSamples {
+
+    private RateCellSamples() {}
+
+    static final List<String> TERMS = List.of(
+            "3 mån", "3 mån.", "Rörlig (3 mån)", "Rörlig", "rörligt", "3 månader",
+            "1 år", "2 år", "3 år", "4 år", "5 år", "6 år", "7 år", "8 år", "9 år", "10 år",
+            "Bunden 1 år", "Bindningstid 5 år", "10 år ", " 7 år",
+            "1 år 3 mån", "3 år (snitt)", "11 år", "21 år",
+            "3 Månader", "5 ÅR", "Three months", "One year", "two years", "ten year fixed",
+            "three years", "Five Year", "nine years", "seven year", "eight year",
+            "5 år", "3 mån", "Ej tillgänglig", "", "Totalt", "Bindningstid"
+    );
+
+    static final List<String> RATES = List.of(
+            "4,10 %", "4,10%", "3,85 % ", " 4.35", "4.5", "4", "04,10", "−0,15", "-0,20", "+0,05",
+            "0,00 %", "3,99 %", "4,10 ", "n/a", "N/A", "-", "–", "Ej", "inte", "NaN", "na",
+            "", "   ", "%", "4,1,0", "4 10", "4.10e0", "1234567890123456789", ".5", "5.", ",",
+            "ca 4,10 %", "4,10 % *", "- 4,10", "4,10 -", "–0,15"
+    );
+
+    static final List<String> MONTHS = List.of(
+            "september 2025", "Oktober 2025", "Snitträntor för augusti 2025",
+            "Genomsnittlig ränta januari 2024", "Avser månad: december 2023",
+            "maj 2025", "Mars 2025", "juni 2025", "juli 2025", "april 2025",
+            "februari 2025", "november 2025", "2025 oktober", "oktober", "2025",
+            "Uppdaterad 2025-10-03", ""
+    );
+}
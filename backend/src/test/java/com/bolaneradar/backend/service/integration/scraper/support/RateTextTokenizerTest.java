@@ -0,0 +1,75 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Enhetstester för RateTextTokenizer.
+ * <p>
+ * Fokus:
+ *  - Samma resultat som tidigare ScraperUtils-parsning på riktiga celltexter
+ *  - Prioritet mellan bindningstider i samma text
+ *  - Skala på räntor (4,10 → 4.10, inte 4.1)
+ */
+class RateTextTokenizerTest {
+
+    // ============================================================
+    // Samma resultat som tidigare implementation
+    // ============================================================
+    @Test
+    void parseTerm_matchesLegacyOnSamples() {
+        for (String cell : RateCellSamples.TERMS) {
+            assertEquals(LegacyScraperParsers.parseTerm(cell), ScraperUtils.parseTerm(cell), cell);
+        }
+        assertNull(ScraperUtils.parseTerm(null));
+    }
+
+    @Test
+    void parseRate_matchesLegacyOnSamples() {
+        for (String cell : RateCellSamples.RATES) {
+            // equals (inte compareTo): även skalan ska vara densamma
+            assertEquals(LegacyScraperParsers.parseRate(cell), ScraperUtils.parseRate(cell), cell);
+        }
+        assertNull(ScraperUtils.parseRate(null));
+    }
+
+    @Test
+    void parseSwedishMonth_matchesLegacyOnSamples() {
+        for (String cell : RateCellSamples.MONTHS) {
+            assertEquals(LegacyScraperParsers.parseSwedishMonth(cell), ScraperUtils.parseSwedishMonth(cell), cell);
+        }
+        assertEquals(YearMonth.from(LocalDate.now()), ScraperUtils.parseSwedishMonth(null));
+    }
+
+    // ============================================================
+    // Explicita fall
+    // ============================================================
+    @Test
+    void parseTerm_lowestPriorityKeywordWins() {
+        // "3 mån" slår "1 år" även om "1 år" står först
+        assertEquals(MortgageTerm.VARIABLE_3M, RateTextTokenizer.parseTerm("1 år 3 mån"));
+        assertEquals(MortgageTerm.FIXED_10Y, RateTextTokenizer.parseTerm("10 år"));
+        assertEquals(MortgageTerm.FIXED_3Y, RateTextTokenizer.parseTerm("Three years"));
+        assertNull(RateTextTokenizer.parseTerm("Bindningstid"));
+    }
+
+    @Test
+    void parseRate_keepsScaleAndSign() {
+        assertEquals(new BigDecimal("4.10"), RateTextTokenizer.parseRate("4,10 %"));
+        assertEquals(new BigDecimal("-0.15"), RateTextTokenizer.parseRate("−0,15"));
+        assertNull(RateTextTokenizer.parseRate("n/a"));
+        assertNull(RateTextTokenizer.parseRate(" % "));
+    }
+
+    @Test
+    void parseSwedishMonth_firstMonthInTextWins() {
+        assertEquals(YearMonth.of(2025, 9), RateTextTokenizer.parseSwedishMonth("september 2025 (jämfört med augusti)"));
+        assertNull(RateTextTokenizer.parseSwedishMonth("oktober"));
+    }
+}
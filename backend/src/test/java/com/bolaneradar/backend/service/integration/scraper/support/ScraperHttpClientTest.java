@@ -0,0 +1,130 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import com.sun.net.httpserver.HttpServer;
+import org.jsoup.HttpStatusException;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Enhetstester för ScraperHttpClient mot en lokal HTTP-server.
+ * <p>
+ * Fokus:
+ *  - gzip-dekomprimering innan Jsoup parsar
+ *  - Standardheaders som kan skrivas över av scrapern
+ *  - Felbeteende vid HTTP-status >= 400
+ *  - Inspelning och uppspelning av svar (FetchMode)
+ */
+class ScraperHttpClientTest {
+
+    @TempDir
+    Path tempDir;
+
+    HttpServer server;
+    String baseUrl;
+
+    final ScraperHttpClient http = new ScraperHttpClient(10_000, 2);
+    final AtomicReference<String> userAgent = new AtomicReference<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip", exchange -> {
+            userAgent.set(exchange.getRequestHeaders().getFirst("User-Agent"));
+
+            byte[] html = "<html><body><p>Listränta 4,10 %</p></body></html>".getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(html);
+            }
+            byte[] bytes = compressed.toByteArray();
+
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    // ============================================================
+    // gzip → dekomprimerad kropp → Jsoup
+    // ============================================================
+    @Test
+    void gzipBody_isDecompressedBeforeParsing() throws IOException {
+        Document doc = http.fetchDocument(baseUrl + "/gzip");
+
+        assertEquals("Listränta 4,10 %", doc.select("p").text());
+        assertEquals(ScraperHttpClient.DEFAULT_USER_AGENT, userAgent.get());
+
+        ScraperHttpClient.Response raw = http.get(baseUrl + "/gzip", Map.of());
+        assertTrue(raw.wireBytes() > 0);
+        assertTrue(raw.bodyAsString().contains("Listränta"));
+    }
+
+    // ============================================================
+    // Scraperns headers vinner över standardheaders
+    // ============================================================
+    @Test
+    void callerHeaders_overrideDefaults() throws IOException {
+        http.fetchDocument(baseUrl + "/gzip", Map.of("user-agent", "BolaneRadar-Test/1.0"));
+
+        assertEquals("BolaneRadar-Test/1.0", userAgent.get());
+    }
+
+    // ============================================================
+    // 4xx → HttpStatusException (samma som Jsoup)
+    // ============================================================
+    @Test
+    void errorStatus_throwsHttpStatusException() {
+        HttpStatusException e = assertThrows(HttpStatusException.class,
+                () -> http.fetchDocument(baseUrl + "/missing"));
+
+        assertEquals(404, e.getStatusCode());
+    }
+
+    // ============================================================
+    // RECORD → REPLAY utan nätverk
+    // ============================================================
+    @Test
+    void recordedResponse_isReplayedWithoutServer() throws IOException {
+        ScraperHttpClient recorder = new ScraperHttpClient(10_000, 2, FetchMode.RECORD, tempDir);
+        recorder.fetchDocument(baseUrl + "/gzip");
+
+        server.stop(0);
+
+        ScraperHttpClient replay = ScraperHttpClient.replaying(tempDir);
+        assertEquals(FetchMode.REPLAY, replay.mode());
+
+        Document doc = replay.fetchDocument(baseUrl + "/gzip");
+        assertEquals("Listränta 4,10 %", doc.select("p").text());
+
+        assertThrows(IOException.class, () -> replay.fetchDocument(baseUrl + "/never-recorded"));
+    }
+}
@@ -0,0 +1,210 @@
+package com.bolaneradar.backend.service.integration.scraper.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jsoup.HttpStatusException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Enhetstester för ScraperResilience via ScraperHttpClient mot en lokal HTTP-server.
+ * <p>
+ * Fokus:
+ *  - Omförsök vid 5xx, inga omförsök vid 4xx
+ *  - Hedge-anrop när första svaret dröjer
+ *  - Brytare: öppnar efter upprepade fel, släpper ett provanrop efter väntetiden
+ *  - Statistik i ResilienceTracker
+ */
+class ScraperResilienceTest {
+
+    HttpServer server;
+    String baseUrl;
+
+    final AtomicInteger flakyCalls = new AtomicInteger();
+    final AtomicInteger slowCalls = new AtomicInteger();
+    final AtomicInteger downCalls = new AtomicInteger();
+    final AtomicInteger missingCalls = new AtomicInteger();
+    volatile boolean down = true;
+
+    final MutableClock clock = new MutableClock();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+
+        // 503 två gånger, sedan 200
+        server.createContext("/flaky", exchange ->
+                respond(exchange, flakyCalls.incrementAndGet() <= 2 ? 503 : 200));
+
+        // Första anropet hänger, följande svarar direkt
+        server.createContext("/slow", exchange -> {
+            if (slowCalls.incrementAndGet() == 1) {
+                sleep(3_000);
+            }
+            respond(exchange, 200);
+        });
+
+        server.createContext("/down", exchange -> {
+            downCalls.incrementAndGet();
+            respond(exchange, down ? 503 : 200);
+        });
+
+        server.createContext("/missing", exchange -> {
+            missingCalls.incrementAndGet();
+            respond(exchange, 404);
+        });
+
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private ScraperHttpClient client(int maxAttempts, long hedgeAfterMs, int failureThreshold) {
+        ScraperResilience resilience = new ScraperResilience(
+                maxAttempts, Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(hedgeAfterMs),
+                failureThreshold, Duration.ofMinutes(5), clock);
+        return new ScraperHttpClient(HttpClient.newHttpClient(), Duration.ofSeconds(10), 4,
+                FetchMode.LIVE, new ResponseFixtures(Path.of("unused")), resilience);
+    }
+
+    // ============================================================
+    // Omförsök
+    // ============================================================
+    @Test
+    void transient5xx_isRetriedUntilSuccess() throws IOException {
+        ScraperHttpClient http = client(3, 0, 0);
+
+        try (ResilienceTracker tracker = ResilienceTracker.open()) {
+            assertEquals(200, http.get(baseUrl + "/flaky", Map.of()).statusCode());
+
+            ResilienceStats stats = tracker.stats();
+            assertEquals(3, stats.attempts());
+            assertEquals(2, stats.retries());
+            assertEquals(CircuitBreaker.State.CLOSED, stats.breakerState());
+        }
+    }
+
+    @Test
+    void clientError_isNotRetried() {
+        ScraperHttpClient http = client(3, 0, 0);
+
+        assertThrows(HttpStatusException.class, () -> http.fetchDocument(baseUrl + "/missing"));
+        assertEquals(1, missingCalls.get());
+    }
+
+    // ============================================================
+    // Hedge
+    // ============================================================
+    @Test
+    void slowResponse_isHedgedAndFirstAnswerWins() throws IOException {
+        ScraperHttpClient http = client(1, 200, 0);
+
+        try (ResilienceTracker tracker = ResilienceTracker.open()) {
+            long start = System.currentTimeMillis();
+            assertEquals(200, http.get(baseUrl + "/slow", Map.of()).statusCode());
+
+            assertTrue(System.currentTimeMillis() - start < 2_000);
+            assertEquals(1, tracker.stats().hedges());
+            assertEquals(2, slowCalls.get());
+        }
+    }
+
+    // ============================================================
+    // Brytare
+    // ============================================================
+    @Test
+    void breaker_opensAfterRepeatedFailures_andClosesAfterSuccessfulTrial() throws IOException {
+        ScraperHttpClient http = client(1, 0, 2);
+        String url = baseUrl + "/down";
+
+        assertEquals(503, http.get(url, Map.of()).statusCode());
+        assertEquals(503, http.get(url, Map.of()).statusCode());
+
+        // Öppen brytare → inget anrop görs
+        try (ResilienceTracker tracker = ResilienceTracker.open()) {
+            assertThrows(ScraperResilience.CircuitOpenException.class, () -> http.get(url, Map.of()));
+            assertEquals(2, downCalls.get());
+            assertEquals(1, tracker.stats().rejected());
+            assertEquals(CircuitBreaker.State.OPEN, tracker.stats().breakerState());
+        }
+
+        // Efter väntetiden släpps ett provanrop igenom
+        down = false;
+        clock.advance(Duration.ofMinutes(6));
+
+        assertEquals(200, http.get(url, Map.of()).statusCode());
+        assertEquals(3, downCalls.get());
+        assertEquals(200, http.get(url, Map.of()).statusCode());
+    }
+
+    // ============================================================
+    // Hjälpmetoder
+    // ============================================================
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        byte[] body = "<html><body>ok</body></html>".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Klocka som testet kan flytta fram.
+     */
+    static class MutableClock extends Clock {
+
+        private volatile Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bolaneradar.backend.support;
+
+import com.bolaneradar.backend.entity.core.Bank;
+import com.bolaneradar.backend.entity.core.MortgageRate;
+import com.bolaneradar.backend.entity.enums.MortgageTerm;
+import com.bolaneradar.backend.entity.enums.RateType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Gemensam fabrik för MortgageRate i tester.
+ * Delas av alla tester som bygger räntehistorik (enhets- och IT-tester).
+ */
+public final class TestRates {
+
+    private TestRates() {}
+
+    public static MortgageRate rate(Bank bank, MortgageTerm term, RateType type, String percent, LocalDate date) {
+        return new MortgageRate(bank, term, type, new BigDecimal(percent), date);
+    }
+
+    /** Som ovan, med datum i ISO-format (yyyy-MM-dd). */
+    public static MortgageRate rate(Bank bank, MortgageTerm term, RateType type, String percent, String date) {
+        return rate(bank, term, type, percent, LocalDate.parse(date));
+    }
+
+    /** Procentsats från hundradelar, t.ex. 385 → "3.85". */
+    public static String percent(int hundredths) {
+        return BigDecimal.valueOf(hundredths, 2).toPlainString();
+    }
+
+    /** Sätter förändring och senaste ändringsdatum (change får vara null). */
+    public static MortgageRate changed(MortgageRate rate, String change, LocalDate lastChanged) {
+        rate.setRateChange(change == null ? null : new BigDecimal(change));
+        rate.setLastChangedDate(lastChanged);
+        return rate;
+    }
+
+    /** Sätter id som om raden vore sparad (enhetstester utan databas). */
+    public static MortgageRate withId(MortgageRate rate, long id) {
+        ReflectionTestUtils.setField(rate, "id", id);
+        return rate;
+    }
+}